@@ -0,0 +1,62 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/** Time to first query: connection creation followed by a single query. */
+@State(Scope.Benchmark)
+@Warmup(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 5)
+@Threads(value = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Connect_Select_1 {
+
+  @State(Scope.Thread)
+  public static class MyState {
+
+    // conf
+    public final String host = System.getProperty("TEST_HOST", "localhost");
+    public final int port = Integer.parseInt(System.getProperty("TEST_PORT", "5506"));
+    public final String username = System.getProperty("TEST_USERNAME", "root");
+    public final String password = System.getProperty("TEST_PASSWORD", "password");
+    public final String database = System.getProperty("TEST_DATABASE", "test");
+
+    // 0 : server variables are read on each connection
+    @Param({"0", "60000"})
+    String serverVariablesCacheTtl;
+
+    protected String url;
+    protected java.sql.Driver driver;
+
+    @Setup(Level.Trial)
+    public void doSetup() {
+      url =
+          String.format(
+              "jdbc:singlestore://%s:%s/%s?user=%s&password=%s&serverVariablesCacheTtl=%s",
+              host, port, database, username, password, serverVariablesCacheTtl);
+      driver = new Driver();
+    }
+  }
+
+  @Benchmark
+  public int run(MyState state) throws Throwable {
+    try (Connection conn = state.driver.connect(state.url, new Properties());
+        Statement st = conn.createStatement()) {
+      ResultSet rs = st.executeQuery("select 1");
+      rs.next();
+      return rs.getInt(1);
+    }
+  }
+}
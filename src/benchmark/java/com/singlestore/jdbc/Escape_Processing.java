@@ -0,0 +1,38 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class Escape_Processing extends Common {
+
+  private static final String SQL =
+      "SELECT {fn ucase('a')}, {fn TIMESTAMPDIFF(SQL_TSI_HOUR, {ts '1997-05-24 10:30:29'}, "
+          + "{fn now()})}, {d '1997-05-24'}, {fn convert('1', SQL_INTEGER)}";
+
+  @Benchmark
+  public String nativeSql(MyState state) throws SQLException {
+    return state.connectionText.nativeSQL(SQL);
+  }
+
+  @Benchmark
+  public String nativeSqlNoEscape(MyState state) throws SQLException {
+    return state.connectionText.nativeSQL("SELECT * FROM range_1_10000 WHERE n = 5");
+  }
+
+  @Benchmark
+  public int select(MyState state) throws SQLException {
+    try (Statement st = state.connectionText.createStatement()) {
+      ResultSet rs = st.executeQuery(SQL);
+      rs.next();
+      return rs.getInt(4);
+    }
+  }
+}
@@ -0,0 +1,97 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc;
+
+import com.singlestore.jdbc.client.socket.PacketReader;
+import com.singlestore.jdbc.client.socket.ReadAheadBufferedStream;
+import com.singlestore.jdbc.util.MutableInt;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Socket read throughput of large results, without server: a local stand-in server streams row
+ * packets continuously, read through {@link ReadAheadBufferedStream} with different maximum buffer
+ * sizes.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 5)
+@Threads(value = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class Read_Ahead_Throughput {
+
+  private static final int ROW_SIZE = 200;
+  private static final int ROWS = 10_000;
+
+  @State(Scope.Thread)
+  public static class MyState {
+
+    @Param({"16384", "262144", "1048576"})
+    int maxBufferSize;
+
+    @Param({"0", "1048576"})
+    int receiveBufferSize;
+
+    private ServerSocket server;
+    private Socket socket;
+    protected PacketReader reader;
+
+    @Setup(Level.Trial)
+    public void doSetup() throws Exception {
+      server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+      Thread writer = new Thread(this::streamRows);
+      writer.setDaemon(true);
+      writer.start();
+
+      socket = new Socket();
+      if (receiveBufferSize > 0) socket.setReceiveBufferSize(receiveBufferSize);
+      socket.connect(server.getLocalSocketAddress());
+      reader =
+          new PacketReader(
+              new ReadAheadBufferedStream(socket.getInputStream(), maxBufferSize),
+              Configuration.parse("jdbc:singlestore://localhost/"),
+              new MutableInt());
+    }
+
+    private void streamRows() {
+      byte[] packets = new byte[100 * (ROW_SIZE + 4)];
+      for (int i = 0; i < 100; i++) {
+        int pos = i * (ROW_SIZE + 4);
+        packets[pos] = (byte) ROW_SIZE;
+        packets[pos + 3] = (byte) i;
+      }
+      try (Socket client = server.accept()) {
+        OutputStream out = client.getOutputStream();
+        while (true) out.write(packets);
+      } catch (IOException e) {
+        // benchmark ended
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void doTearDown() throws IOException {
+      socket.close();
+      server.close();
+    }
+  }
+
+  @Benchmark
+  public int readRows(MyState state) throws IOException {
+    int sum = 0;
+    for (int i = 0; i < ROWS; i++) {
+      sum += state.reader.readPacket(true).readableBytes();
+    }
+    return sum;
+  }
+}
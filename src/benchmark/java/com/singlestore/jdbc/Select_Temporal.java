@@ -0,0 +1,113 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+
+public class Select_Temporal extends Common {
+  private static final int COLUMNS = 10;
+  private static final String sql;
+
+  static {
+    StringBuilder sb = new StringBuilder("SELECT ");
+    for (int i = 0; i < COLUMNS; i++) {
+      if (i > 0) sb.append(", ");
+      sb.append("CAST(TIMESTAMPADD(SECOND, n * ")
+          .append(i + 1)
+          .append(", '2021-01-01 00:00:00.123456') AS DATETIME(6)) as t")
+          .append(i);
+    }
+    for (int i = 0; i < COLUMNS; i++) {
+      sb.append(", CAST(DATE_ADD('2021-01-01', INTERVAL n DAY) AS DATE) as d").append(i);
+    }
+    sql = sb.append(" FROM range_1_10000 LIMIT 1000").toString();
+  }
+
+  @Benchmark
+  public Object[] timestampText(MyState state) throws Throwable {
+    return run(state.connectionText, Timestamp.class, 1);
+  }
+
+  @Benchmark
+  public Object[] timestampBinary(MyState state) throws Throwable {
+    return run(state.connectionBinary, Timestamp.class, 1);
+  }
+
+  @Benchmark
+  public Object[] localDateTimeText(MyState state) throws Throwable {
+    return run(state.connectionText, LocalDateTime.class, 1);
+  }
+
+  @Benchmark
+  public Object[] localDateTimeBinary(MyState state) throws Throwable {
+    return run(state.connectionBinary, LocalDateTime.class, 1);
+  }
+
+  @Benchmark
+  public Object[] zonedDateTimeText(MyState state) throws Throwable {
+    return run(state.connectionText, ZonedDateTime.class, 1);
+  }
+
+  @Benchmark
+  public Object[] zonedDateTimeBinary(MyState state) throws Throwable {
+    return run(state.connectionBinary, ZonedDateTime.class, 1);
+  }
+
+  @Benchmark
+  public Object[] localTimeText(MyState state) throws Throwable {
+    return run(state.connectionText, LocalTime.class, 1);
+  }
+
+  @Benchmark
+  public Object[] localTimeBinary(MyState state) throws Throwable {
+    return run(state.connectionBinary, LocalTime.class, 1);
+  }
+
+  @Benchmark
+  public Object[] localDateText(MyState state) throws Throwable {
+    return run(state.connectionText, LocalDate.class, COLUMNS + 1);
+  }
+
+  @Benchmark
+  public Object[] localDateBinary(MyState state) throws Throwable {
+    return run(state.connectionBinary, LocalDate.class, COLUMNS + 1);
+  }
+
+  @Benchmark
+  public Object[] dateText(MyState state) throws Throwable {
+    return run(state.connectionText, Date.class, COLUMNS + 1);
+  }
+
+  @Benchmark
+  public Object[] dateBinary(MyState state) throws Throwable {
+    return run(state.connectionBinary, Date.class, COLUMNS + 1);
+  }
+
+  private Object[] run(Connection con, Class<?> type, int firstColumn) throws Throwable {
+    try (PreparedStatement st = con.prepareStatement(sql)) {
+
+      ResultSet rs = st.executeQuery();
+      Object[] res = new Object[1000 * COLUMNS];
+      int i = 0;
+      while (rs.next()) {
+        for (int col = firstColumn; col < firstColumn + COLUMNS; col++) {
+          res[i++] = rs.getObject(col, type);
+        }
+      }
+      return res;
+    }
+  }
+}
@@ -0,0 +1,82 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare local transports: TCP loopback, unix domain socket using native library, and unix domain
+ * socket using NIO channels (java 16+). Server must be local, with unix socket path set with
+ * TEST_SOCKET system property. Table range_1_10000 is created by {@link Common} benchmarks.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 5)
+@Threads(value = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Select_Transport {
+
+  @State(Scope.Thread)
+  public static class MyState {
+
+    // conf
+    public final String host = System.getProperty("TEST_HOST", "localhost");
+    public final int port = Integer.parseInt(System.getProperty("TEST_PORT", "5506"));
+    public final String socket = System.getProperty("TEST_SOCKET", "/var/lib/memsql/memsql.sock");
+    public final String username = System.getProperty("TEST_USERNAME", "root");
+    public final String password = System.getProperty("TEST_PASSWORD", "password");
+    public final String database = System.getProperty("TEST_DATABASE", "test");
+
+    @Param({"tcp", "native", "nio"})
+    String transport;
+
+    protected Connection connection;
+
+    @Setup(Level.Trial)
+    public void doSetup() throws Exception {
+      String url =
+          String.format(
+              "jdbc:singlestore://%s:%s/%s?user=%s&password=%s&sslMode=DISABLED",
+              host, port, database, username, password);
+      if (!"tcp".equals(transport)) {
+        url += "&localSocket=" + socket + "&localSocketTransport=" + transport;
+      }
+      connection = new Driver().connect(url, new Properties());
+    }
+
+    @TearDown(Level.Trial)
+    public void doTearDown() throws Exception {
+      connection.close();
+    }
+  }
+
+  @Benchmark
+  public int select1(MyState state) throws Throwable {
+    try (Statement st = state.connection.createStatement()) {
+      ResultSet rs = st.executeQuery("select 1");
+      rs.next();
+      return rs.getInt(1);
+    }
+  }
+
+  @Benchmark
+  public int select1000Rows(MyState state) throws Throwable {
+    try (Statement st = state.connection.createStatement()) {
+      ResultSet rs = st.executeQuery("select * from range_1_10000 limit 1000");
+      int sum = 0;
+      while (rs.next()) sum += rs.getInt(1);
+      return sum;
+    }
+  }
+}
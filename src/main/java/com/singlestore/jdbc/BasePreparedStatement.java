@@ -9,6 +9,7 @@ import com.singlestore.jdbc.codec.*;
 import com.singlestore.jdbc.codec.list.*;
 import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
 import com.singlestore.jdbc.message.server.PrepareResultPacket;
+import com.singlestore.jdbc.util.BatchParameters;
 import com.singlestore.jdbc.util.ParameterList;
 import java.io.InputStream;
 import java.io.Reader;
@@ -22,7 +23,7 @@ import java.util.concurrent.locks.ReentrantLock;
 
 public abstract class BasePreparedStatement extends Statement implements PreparedStatement {
   protected ParameterList parameters;
-  protected List<ParameterList> batchParameters;
+  protected BatchParameters batchParameters;
   protected final String sql;
   protected PrepareResultPacket prepareResult = null;
 
@@ -209,7 +210,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setNull(int parameterIndex, int sqlType) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, Parameter.NULL_PARAMETER);
+    parameters.setNull(parameterIndex - 1);
   }
 
   /**
@@ -225,7 +226,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setBoolean(int parameterIndex, boolean x) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, new Parameter<>(BooleanCodec.INSTANCE, x));
+    parameters.setBoolean(parameterIndex - 1, x);
   }
 
   /**
@@ -241,7 +242,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setByte(int parameterIndex, byte x) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, new Parameter<>(ByteCodec.INSTANCE, x));
+    parameters.setByte(parameterIndex - 1, x);
   }
 
   /**
@@ -257,7 +258,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setShort(int parameterIndex, short x) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, new Parameter<>(ShortCodec.INSTANCE, x));
+    parameters.setShort(parameterIndex - 1, x);
   }
 
   /**
@@ -273,7 +274,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setInt(int parameterIndex, int x) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, new Parameter<>(IntCodec.INSTANCE, x));
+    parameters.setInt(parameterIndex - 1, x);
   }
 
   /**
@@ -289,7 +290,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setLong(int parameterIndex, long x) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, new Parameter<>(LongCodec.INSTANCE, x));
+    parameters.setLong(parameterIndex - 1, x);
   }
 
   /**
@@ -305,7 +306,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setFloat(int parameterIndex, float x) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, new Parameter<>(FloatCodec.INSTANCE, x));
+    parameters.setFloat(parameterIndex - 1, x);
   }
 
   /**
@@ -321,7 +322,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setDouble(int parameterIndex, double x) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, new Parameter<>(DoubleCodec.INSTANCE, x));
+    parameters.setDouble(parameterIndex - 1, x);
   }
 
   /**
@@ -355,7 +356,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setString(int parameterIndex, String x) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, new Parameter<>(StringCodec.INSTANCE, x));
+    parameters.setString(parameterIndex - 1, x);
   }
 
   /**
@@ -373,7 +374,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setBytes(int parameterIndex, byte[] x) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, new Parameter<>(ByteArrayCodec.INSTANCE, x));
+    parameters.setBytes(parameterIndex - 1, x);
   }
 
   /**
@@ -11,6 +11,7 @@ import com.singlestore.jdbc.message.client.*;
 import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
 import com.singlestore.jdbc.message.server.Completion;
 import com.singlestore.jdbc.message.server.OkPacket;
+import com.singlestore.jdbc.util.BatchParameters;
 import com.singlestore.jdbc.util.ClientParser;
 import com.singlestore.jdbc.util.ParameterList;
 import com.singlestore.jdbc.util.constants.Capabilities;
@@ -260,9 +261,9 @@ public class ClientPreparedStatement extends BasePreparedStatement {
   @Override
   public void addBatch() throws SQLException {
     validParameters();
-    if (batchParameters == null) batchParameters = new ArrayList<>();
+    if (batchParameters == null) batchParameters = new BatchParameters();
     batchParameters.add(parameters);
-    parameters = new ParameterList();
+    parameters.clear();
   }
 
   protected void validParameters() throws SQLException {
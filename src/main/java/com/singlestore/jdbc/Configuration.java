@@ -11,6 +11,10 @@ import com.singlestore.jdbc.plugin.credential.CredentialPluginLoader;
 import com.singlestore.jdbc.util.constants.HaMode;
 import com.singlestore.jdbc.util.options.OptionAliases;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.*;
@@ -52,6 +56,16 @@ public class Configuration {
   private static final Pattern URL_PARAMETER =
       Pattern.compile("(\\/([^\\?]*))?(\\?(.+))*", Pattern.DOTALL);
 
+  // least recently used parsed configurations, by digest of url and properties
+  private static final int PARSE_CACHE_SIZE = 256;
+  private static final Map<ParseKey, Configuration> parseCache =
+      new LinkedHashMap<ParseKey, Configuration>(PARSE_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ParseKey, Configuration> eldest) {
+          return size() > PARSE_CACHE_SIZE;
+        }
+      };
+
   // standard options
   private String user = null;
   private String password = null;
@@ -85,6 +99,10 @@ public class Configuration {
   private int socketTimeout = 0;
   private boolean useReadAheadInput = true;
   private String tlsSocketType = null;
+  private String localSocketTransport = null;
+  private int tcpRcvBuf = 0;
+  private int tcpSndBuf = 0;
+  private int readAheadMaxBufferSize = 256 * 1024;
 
   // SSL
   private SslMode sslMode = SslMode.DISABLE;
@@ -100,6 +118,10 @@ public class Configuration {
   private boolean allowLocalInfile = false;
   private boolean useCompression = false;
   private boolean useAffectedRows = false;
+  private boolean lazySessionState = false;
+  private int columnDefinitionCacheSize = 100;
+  private int resultSetSpillSize = 0;
+  private int serverVariablesCacheTtl = 0;
 
   // prepare
   private boolean cachePrepStmts = true;
@@ -119,11 +141,16 @@ public class Configuration {
   private boolean dumpQueriesOnException = false;
   private boolean includeInnodbStatusInDeadlockExceptions = false;
   private boolean includeThreadDumpInDeadlockExceptions = false;
+  private int metadataCacheTtl = 0;
 
   // HA options
   private int retriesAllDown = 120;
   private String galeraAllowedState = null;
   private boolean transactionReplay = false;
+  private int transactionReplaySize = 64 * 1024 * 1024;
+  private int transactionReplaySpillSize = 64 * 1024 * 1024;
+  private boolean controlConnection = true;
+  private int controlConnectionMaxPending = 32;
 
   // Pool options
   private boolean pool = false;
@@ -134,6 +161,15 @@ public class Configuration {
   private boolean registerJmxPool = true;
   private int poolValidMinDelay = 1000;
   private boolean useResetConnection = false;
+  private int maxTotalPoolSize = 0;
+  private int poolFillParallelism = 4;
+  private int userPoolMinSize = 0;
+  private int userPoolMaxSize = 0;
+
+  // tracing
+  private double traceSampleRate = 0;
+  private boolean tracePackets = false;
+  private String queryListener = null;
 
   // MySQL sha authentication
   private String serverRsaPublicKeyFile = null;
@@ -205,7 +241,27 @@ public class Configuration {
       int poolValidMinDelay,
       boolean useResetConnection,
       String serverRsaPublicKeyFile,
-      boolean allowPublicKeyRetrieval) {
+      boolean allowPublicKeyRetrieval,
+      String localSocketTransport,
+      int tcpRcvBuf,
+      int tcpSndBuf,
+      int readAheadMaxBufferSize,
+      boolean lazySessionState,
+      int columnDefinitionCacheSize,
+      int resultSetSpillSize,
+      int serverVariablesCacheTtl,
+      int metadataCacheTtl,
+      int transactionReplaySize,
+      int transactionReplaySpillSize,
+      boolean controlConnection,
+      int controlConnectionMaxPending,
+      int maxTotalPoolSize,
+      int poolFillParallelism,
+      int userPoolMinSize,
+      int userPoolMaxSize,
+      double traceSampleRate,
+      boolean tracePackets,
+      String queryListener) {
     this.user = user;
     this.password = password;
     this.database = database;
@@ -268,6 +324,26 @@ public class Configuration {
     this.useResetConnection = useResetConnection;
     this.serverRsaPublicKeyFile = serverRsaPublicKeyFile;
     this.allowPublicKeyRetrieval = allowPublicKeyRetrieval;
+    this.localSocketTransport = localSocketTransport;
+    this.tcpRcvBuf = tcpRcvBuf;
+    this.tcpSndBuf = tcpSndBuf;
+    this.readAheadMaxBufferSize = readAheadMaxBufferSize;
+    this.lazySessionState = lazySessionState;
+    this.columnDefinitionCacheSize = columnDefinitionCacheSize;
+    this.resultSetSpillSize = resultSetSpillSize;
+    this.serverVariablesCacheTtl = serverVariablesCacheTtl;
+    this.metadataCacheTtl = metadataCacheTtl;
+    this.transactionReplaySize = transactionReplaySize;
+    this.transactionReplaySpillSize = transactionReplaySpillSize;
+    this.controlConnection = controlConnection;
+    this.controlConnectionMaxPending = controlConnectionMaxPending;
+    this.maxTotalPoolSize = maxTotalPoolSize;
+    this.poolFillParallelism = poolFillParallelism;
+    this.userPoolMinSize = userPoolMinSize;
+    this.userPoolMaxSize = userPoolMaxSize;
+    this.traceSampleRate = traceSampleRate;
+    this.tracePackets = tracePackets;
+    this.queryListener = queryListener;
     this.initialUrl = buildUrl(this);
   }
 
@@ -333,6 +409,26 @@ public class Configuration {
       Boolean transactionReplay,
       String geometryDefaultType,
       String restrictedAuth,
+      String localSocketTransport,
+      Integer tcpRcvBuf,
+      Integer tcpSndBuf,
+      Integer readAheadMaxBufferSize,
+      Boolean lazySessionState,
+      Integer columnDefinitionCacheSize,
+      Integer resultSetSpillSize,
+      Integer serverVariablesCacheTtl,
+      Integer metadataCacheTtl,
+      Integer transactionReplaySize,
+      Integer transactionReplaySpillSize,
+      Boolean controlConnection,
+      Integer controlConnectionMaxPending,
+      Integer maxTotalPoolSize,
+      Integer poolFillParallelism,
+      Integer userPoolMinSize,
+      Integer userPoolMaxSize,
+      Double traceSampleRate,
+      Boolean tracePackets,
+      String queryListener,
       Properties nonMappedOptions)
       throws SQLException {
     this.database = database;
@@ -412,6 +508,29 @@ public class Configuration {
     if (keyStore != null) this.keyStore = keyStore;
     if (keyStorePassword != null) this.keyStorePassword = keyStorePassword;
     if (keyStoreType != null) this.keyStoreType = keyStoreType;
+    if (localSocketTransport != null) this.localSocketTransport = localSocketTransport;
+    if (tcpRcvBuf != null) this.tcpRcvBuf = tcpRcvBuf;
+    if (tcpSndBuf != null) this.tcpSndBuf = tcpSndBuf;
+    if (readAheadMaxBufferSize != null) this.readAheadMaxBufferSize = readAheadMaxBufferSize;
+    if (lazySessionState != null) this.lazySessionState = lazySessionState;
+    if (columnDefinitionCacheSize != null)
+      this.columnDefinitionCacheSize = columnDefinitionCacheSize;
+    if (resultSetSpillSize != null) this.resultSetSpillSize = resultSetSpillSize;
+    if (serverVariablesCacheTtl != null) this.serverVariablesCacheTtl = serverVariablesCacheTtl;
+    if (metadataCacheTtl != null) this.metadataCacheTtl = metadataCacheTtl;
+    if (transactionReplaySize != null) this.transactionReplaySize = transactionReplaySize;
+    if (transactionReplaySpillSize != null)
+      this.transactionReplaySpillSize = transactionReplaySpillSize;
+    if (controlConnection != null) this.controlConnection = controlConnection;
+    if (controlConnectionMaxPending != null)
+      this.controlConnectionMaxPending = controlConnectionMaxPending;
+    if (maxTotalPoolSize != null) this.maxTotalPoolSize = maxTotalPoolSize;
+    if (poolFillParallelism != null) this.poolFillParallelism = poolFillParallelism;
+    if (userPoolMinSize != null) this.userPoolMinSize = userPoolMinSize;
+    if (userPoolMaxSize != null) this.userPoolMaxSize = userPoolMaxSize;
+    if (traceSampleRate != null) this.traceSampleRate = traceSampleRate;
+    if (tracePackets != null) this.tracePackets = tracePackets;
+    if (queryListener != null) this.queryListener = queryListener;
 
     // *************************************************************
     // host primary check
@@ -444,6 +563,38 @@ public class Configuration {
     } catch (IllegalArgumentException | IllegalAccessException ie) {
       // eat
     }
+    if (this.poolFillParallelism < 1) {
+      throw new SQLException(
+          String.format(
+              "Value for poolFillParallelism must be >= 1 (value is %s)",
+              this.poolFillParallelism));
+    }
+    if (this.controlConnectionMaxPending < 1) {
+      throw new SQLException(
+          String.format(
+              "Value for controlConnectionMaxPending must be >= 1 (value is %s)",
+              this.controlConnectionMaxPending));
+    }
+    if (this.userPoolMinSize > userPoolMaxSize()) {
+      throw new SQLException(
+          String.format(
+              "Value for userPoolMinSize must be <= userPoolMaxSize (value is %s)",
+              this.userPoolMinSize));
+    }
+    if (!(this.traceSampleRate >= 0 && this.traceSampleRate <= 1)) {
+      throw new SQLException(
+          String.format(
+              "Value for traceSampleRate must be between 0 and 1 (value is %s)",
+              this.traceSampleRate));
+    }
+    if (this.localSocketTransport != null
+        && !"nio".equalsIgnoreCase(this.localSocketTransport)
+        && !"native".equalsIgnoreCase(this.localSocketTransport)) {
+      throw new SQLException(
+          String.format(
+              "Value for localSocketTransport must be 'nio' or 'native' (value is %s)",
+              this.localSocketTransport));
+    }
   }
 
   /**
@@ -476,6 +627,34 @@ public class Configuration {
     return null;
   }
 
+  /**
+   * Parse url connection string with additional properties, reusing configuration previously
+   * parsed for same url and properties. Returned configuration is shared, and must not be modified.
+   * Contrary to {@link #parse(String, Properties)}, properties are not modified.
+   *
+   * @param url connection string
+   * @param prop properties
+   * @return configuration, or null if url is not a SingleStore url
+   * @throws SQLException if parsing exception occur
+   */
+  public static Configuration parseCached(final String url, Properties prop) throws SQLException {
+    if (!acceptsUrl(url)) return null;
+    Properties copy = new Properties();
+    if (prop != null) copy.putAll(prop);
+    ParseKey key = new ParseKey(url, copy);
+    Configuration conf;
+    synchronized (parseCache) {
+      conf = parseCache.get(key);
+    }
+    if (conf == null) {
+      conf = parseInternal(url, copy);
+      synchronized (parseCache) {
+        parseCache.put(key, conf);
+      }
+    }
+    return conf;
+  }
+
   /**
    * Parses the connection URL in order to set the UrlParser instance with all the information
    * provided through the URL.
@@ -593,6 +772,15 @@ public class Configuration {
                     String.format(
                         "Optional parameter %s must be Integer, was '%s'", keyObj, propertyValue));
               }
+            } else if (field.getGenericType().equals(Double.class)) {
+              try {
+                final Double value = Double.parseDouble(propertyValue.toString());
+                field.set(builder, value);
+              } catch (NumberFormatException n) {
+                throw new IllegalArgumentException(
+                    String.format(
+                        "Optional parameter %s must be Double, was '%s'", keyObj, propertyValue));
+              }
             }
           } catch (NoSuchFieldException nfe) {
             // keep unknown option:
@@ -711,7 +899,27 @@ public class Configuration {
         this.poolValidMinDelay,
         this.useResetConnection,
         this.serverRsaPublicKeyFile,
-        this.allowPublicKeyRetrieval);
+        this.allowPublicKeyRetrieval,
+        this.localSocketTransport,
+        this.tcpRcvBuf,
+        this.tcpSndBuf,
+        this.readAheadMaxBufferSize,
+        this.lazySessionState,
+        this.columnDefinitionCacheSize,
+        this.resultSetSpillSize,
+        this.serverVariablesCacheTtl,
+        this.metadataCacheTtl,
+        this.transactionReplaySize,
+        this.transactionReplaySpillSize,
+        this.controlConnection,
+        this.controlConnectionMaxPending,
+        this.maxTotalPoolSize,
+        this.poolFillParallelism,
+        this.userPoolMinSize,
+        this.userPoolMaxSize,
+        this.traceSampleRate,
+        this.tracePackets,
+        this.queryListener);
   }
 
   public String database() {
@@ -971,6 +1179,86 @@ public class Configuration {
     return restrictedAuth;
   }
 
+  public String localSocketTransport() {
+    return localSocketTransport;
+  }
+
+  public int tcpRcvBuf() {
+    return tcpRcvBuf;
+  }
+
+  public int tcpSndBuf() {
+    return tcpSndBuf;
+  }
+
+  public int readAheadMaxBufferSize() {
+    return readAheadMaxBufferSize;
+  }
+
+  public boolean lazySessionState() {
+    return lazySessionState;
+  }
+
+  public int columnDefinitionCacheSize() {
+    return columnDefinitionCacheSize;
+  }
+
+  public int resultSetSpillSize() {
+    return resultSetSpillSize;
+  }
+
+  public int serverVariablesCacheTtl() {
+    return serverVariablesCacheTtl;
+  }
+
+  public int metadataCacheTtl() {
+    return metadataCacheTtl;
+  }
+
+  public int transactionReplaySize() {
+    return transactionReplaySize;
+  }
+
+  public int transactionReplaySpillSize() {
+    return transactionReplaySpillSize;
+  }
+
+  public boolean controlConnection() {
+    return controlConnection;
+  }
+
+  public int controlConnectionMaxPending() {
+    return controlConnectionMaxPending;
+  }
+
+  public int maxTotalPoolSize() {
+    return maxTotalPoolSize;
+  }
+
+  public int poolFillParallelism() {
+    return poolFillParallelism;
+  }
+
+  public int userPoolMinSize() {
+    return userPoolMinSize;
+  }
+
+  public int userPoolMaxSize() {
+    return userPoolMaxSize > 0 ? userPoolMaxSize : maxPoolSize;
+  }
+
+  public double traceSampleRate() {
+    return traceSampleRate;
+  }
+
+  public boolean tracePackets() {
+    return tracePackets;
+  }
+
+  public String queryListener() {
+    return queryListener;
+  }
+
   public Codec<?>[] codecs() {
     return codecs;
   }
@@ -995,7 +1283,7 @@ public class Configuration {
   }
 
   protected static String buildUrl(Configuration conf) {
-    Configuration defaultConf = new Configuration();
+    Configuration defaultConf = DefaultOptions.CONF;
     StringBuilder sb = new StringBuilder();
     sb.append("jdbc:singlestore:");
     if (conf.haMode != HaMode.NONE) {
@@ -1029,14 +1317,7 @@ public class Configuration {
       // - set values
       boolean first = true;
 
-      Field[] fields = Configuration.class.getDeclaredFields();
-      for (Field field : fields) {
-        if ("database".equals(field.getName())
-            || "haMode".equals(field.getName())
-            || "$jacocoData".equals(field.getName())
-            || "addresses".equals(field.getName())) {
-          continue;
-        }
+      for (Field field : DefaultOptions.FIELDS) {
         Object obj = field.get(conf);
 
         if (obj != null && (!(obj instanceof Properties) || ((Properties) obj).size() > 0)) {
@@ -1109,13 +1390,8 @@ public class Configuration {
     return sb.toString();
   }
 
-  @SuppressWarnings("rawtypes")
   private void loadCodecs() {
-    ServiceLoader<Codec> loader =
-        ServiceLoader.load(Codec.class, Configuration.class.getClassLoader());
-    List<Codec<?>> result = new ArrayList<>();
-    loader.iterator().forEachRemaining(result::add);
-    codecs = result.toArray(new Codec<?>[0]);
+    codecs = DefaultOptions.CODECS;
   }
 
   @Override
@@ -1123,6 +1399,91 @@ public class Configuration {
     return initialUrl.hashCode();
   }
 
+  /** Values shared by all configurations, initialized on first use. */
+  private static final class DefaultOptions {
+    private static final Configuration CONF = new Configuration();
+    private static final Field[] FIELDS = optionFields();
+    // codecs are stateless: service loader is only scanned once
+    private static final Codec<?>[] CODECS = loadCodecs();
+
+    private static Field[] optionFields() {
+      List<Field> fields = new ArrayList<>();
+      for (Field field : Configuration.class.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers())
+            || "database".equals(field.getName())
+            || "haMode".equals(field.getName())
+            || "$jacocoData".equals(field.getName())
+            || "addresses".equals(field.getName())) {
+          continue;
+        }
+        fields.add(field);
+      }
+      return fields.toArray(new Field[0]);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Codec<?>[] loadCodecs() {
+      ServiceLoader<Codec> loader =
+          ServiceLoader.load(Codec.class, Configuration.class.getClassLoader());
+      List<Codec<?>> result = new ArrayList<>();
+      loader.iterator().forEachRemaining(result::add);
+      return result.toArray(new Codec<?>[0]);
+    }
+  }
+
+  /**
+   * Key of parsed configuration cache: SHA-256 digest of url and properties, so cache doesn't keep
+   * credentials that url or properties may contain.
+   */
+  private static final class ParseKey {
+    private final byte[] digest;
+    private final int hash;
+
+    ParseKey(String url, Properties properties) {
+      MessageDigest md;
+      try {
+        md = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException("SHA-256 MessageDigest expected to be always available", e);
+      }
+      update(md, url);
+      // properties order doesn't matter
+      TreeMap<String, String> sorted = new TreeMap<>();
+      for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+        sorted.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+      }
+      for (Map.Entry<String, String> entry : sorted.entrySet()) {
+        update(md, entry.getKey());
+        update(md, entry.getValue());
+      }
+      this.digest = md.digest();
+      this.hash = Arrays.hashCode(digest);
+    }
+
+    private static void update(MessageDigest md, String value) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      // length prefix, so that ("ab", "c") and ("a", "bc") differ
+      md.update((byte) (bytes.length >>> 24));
+      md.update((byte) (bytes.length >>> 16));
+      md.update((byte) (bytes.length >>> 8));
+      md.update((byte) bytes.length);
+      md.update(bytes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof ParseKey)) return false;
+      ParseKey that = (ParseKey) o;
+      return hash == that.hash && Arrays.equals(digest, that.digest);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
   /** A builder for {@link Configuration} instances. */
   public static final class Builder implements Cloneable {
 
@@ -1157,6 +1518,10 @@ public class Configuration {
     private Integer socketTimeout;
     private Boolean useReadAheadInput;
     private String tlsSocketType;
+    private String localSocketTransport;
+    private Integer tcpRcvBuf;
+    private Integer tcpSndBuf;
+    private Integer readAheadMaxBufferSize;
 
     // SSL
     private String sslMode;
@@ -1172,6 +1537,10 @@ public class Configuration {
     private Boolean allowLocalInfile;
     private Boolean useCompression;
     private Boolean useAffectedRows;
+    private Boolean lazySessionState;
+    private Integer columnDefinitionCacheSize;
+    private Integer resultSetSpillSize;
+    private Integer serverVariablesCacheTtl;
 
     // prepare
     private Boolean cachePrepStmts;
@@ -1191,11 +1560,16 @@ public class Configuration {
     private Boolean dumpQueriesOnException;
     private Boolean includeInnodbStatusInDeadlockExceptions;
     private Boolean includeThreadDumpInDeadlockExceptions;
+    private Integer metadataCacheTtl;
 
     // HA options
     private Integer retriesAllDown;
     private String galeraAllowedState;
     private Boolean transactionReplay;
+    private Integer transactionReplaySize;
+    private Integer transactionReplaySpillSize;
+    private Boolean controlConnection;
+    private Integer controlConnectionMaxPending;
 
     // Pool options
     private Boolean pool;
@@ -1206,6 +1580,15 @@ public class Configuration {
     private Boolean registerJmxPool;
     private Integer poolValidMinDelay;
     private Boolean useResetConnection;
+    private Integer maxTotalPoolSize;
+    private Integer poolFillParallelism;
+    private Integer userPoolMinSize;
+    private Integer userPoolMaxSize;
+
+    // tracing
+    private Double traceSampleRate;
+    private Boolean tracePackets;
+    private String queryListener;
 
     // MySQL sha authentication
     private String serverRsaPublicKeyFile;
@@ -1653,6 +2036,231 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * Unix domain socket implementation: "nio" (channels, java 16+) or "native". Default: channels
+     * when supported by java runtime.
+     *
+     * @param localSocketTransport "nio" or "native"
+     * @return this {@link Builder}
+     */
+    public Builder localSocketTransport(String localSocketTransport) {
+      this.localSocketTransport = nullOrEmpty(localSocketTransport);
+      return this;
+    }
+
+    /**
+     * Socket receive buffer size (SO_RCVBUF) in bytes. 0 keeps system default.
+     *
+     * @param tcpRcvBuf receive buffer size
+     * @return this {@link Builder}
+     */
+    public Builder tcpRcvBuf(Integer tcpRcvBuf) {
+      this.tcpRcvBuf = tcpRcvBuf;
+      return this;
+    }
+
+    /**
+     * Socket send buffer size (SO_SNDBUF) in bytes. 0 keeps system default.
+     *
+     * @param tcpSndBuf send buffer size
+     * @return this {@link Builder}
+     */
+    public Builder tcpSndBuf(Integer tcpSndBuf) {
+      this.tcpSndBuf = tcpSndBuf;
+      return this;
+    }
+
+    /**
+     * Maximum size in bytes the read-ahead input buffer can grow to when reading large results.
+     *
+     * @param readAheadMaxBufferSize maximum read-ahead buffer size
+     * @return this {@link Builder}
+     */
+    public Builder readAheadMaxBufferSize(Integer readAheadMaxBufferSize) {
+      this.readAheadMaxBufferSize = readAheadMaxBufferSize;
+      return this;
+    }
+
+    /**
+     * Defer setAutoCommit, setCatalog and setTransactionIsolation commands until next statement.
+     *
+     * @param lazySessionState defer session changes
+     * @return this {@link Builder}
+     */
+    public Builder lazySessionState(Boolean lazySessionState) {
+      this.lazySessionState = lazySessionState;
+      return this;
+    }
+
+    /**
+     * Number of result-set column definitions cached by connection.
+     *
+     * @param columnDefinitionCacheSize column definition cache size
+     * @return this {@link Builder}
+     */
+    public Builder columnDefinitionCacheSize(Integer columnDefinitionCacheSize) {
+      this.columnDefinitionCacheSize = columnDefinitionCacheSize;
+      return this;
+    }
+
+    /**
+     * Size in bytes above which a fully loaded result-set is spilled to a temporary file. 0
+     * disables spilling.
+     *
+     * @param resultSetSpillSize spill threshold
+     * @return this {@link Builder}
+     */
+    public Builder resultSetSpillSize(Integer resultSetSpillSize) {
+      this.resultSetSpillSize = resultSetSpillSize;
+      return this;
+    }
+
+    /**
+     * Time in milliseconds server variables read on connection are reused by new connections to
+     * same host. 0 disables cache.
+     *
+     * @param serverVariablesCacheTtl server variables cache ttl
+     * @return this {@link Builder}
+     */
+    public Builder serverVariablesCacheTtl(Integer serverVariablesCacheTtl) {
+      this.serverVariablesCacheTtl = serverVariablesCacheTtl;
+      return this;
+    }
+
+    /**
+     * Time in seconds DatabaseMetaData results are cached by connection. 0 disables cache.
+     *
+     * @param metadataCacheTtl metadata cache ttl
+     * @return this {@link Builder}
+     */
+    public Builder metadataCacheTtl(Integer metadataCacheTtl) {
+      this.metadataCacheTtl = metadataCacheTtl;
+      return this;
+    }
+
+    /**
+     * Maximum size in bytes of commands saved for transaction replay.
+     *
+     * @param transactionReplaySize maximum replay journal size
+     * @return this {@link Builder}
+     */
+    public Builder transactionReplaySize(Integer transactionReplaySize) {
+      this.transactionReplaySize = transactionReplaySize;
+      return this;
+    }
+
+    /**
+     * Size in bytes of saved commands above which transaction replay journal is spilled to a mapped
+     * file.
+     *
+     * @param transactionReplaySpillSize replay journal spill threshold
+     * @return this {@link Builder}
+     */
+    public Builder transactionReplaySpillSize(Integer transactionReplaySpillSize) {
+      this.transactionReplaySpillSize = transactionReplaySpillSize;
+      return this;
+    }
+
+    /**
+     * Share a control connection by host for KILL commands. When disabled, a new connection is
+     * created for each command.
+     *
+     * @param controlConnection use shared control connection
+     * @return this {@link Builder}
+     */
+    public Builder controlConnection(Boolean controlConnection) {
+      this.controlConnection = controlConnection;
+      return this;
+    }
+
+    /**
+     * Maximum number of commands waiting for control connection of a host.
+     *
+     * @param controlConnectionMaxPending maximum pending commands
+     * @return this {@link Builder}
+     */
+    public Builder controlConnectionMaxPending(Integer controlConnectionMaxPending) {
+      this.controlConnectionMaxPending = controlConnectionMaxPending;
+      return this;
+    }
+
+    /**
+     * Maximum number of physical connections of pool and its per-user sub-pools. 0 means no limit.
+     *
+     * @param maxTotalPoolSize maximum total pool size
+     * @return this {@link Builder}
+     */
+    public Builder maxTotalPoolSize(Integer maxTotalPoolSize) {
+      this.maxTotalPoolSize = maxTotalPoolSize;
+      return this;
+    }
+
+    /**
+     * Number of pool connections created in parallel.
+     *
+     * @param poolFillParallelism connection creation parallelism
+     * @return this {@link Builder}
+     */
+    public Builder poolFillParallelism(Integer poolFillParallelism) {
+      this.poolFillParallelism = poolFillParallelism;
+      return this;
+    }
+
+    /**
+     * Minimum number of physical connections of per-user sub-pools.
+     *
+     * @param userPoolMinSize sub-pool minimum size
+     * @return this {@link Builder}
+     */
+    public Builder userPoolMinSize(Integer userPoolMinSize) {
+      this.userPoolMinSize = userPoolMinSize;
+      return this;
+    }
+
+    /**
+     * Maximum number of physical connections of per-user sub-pools. 0 means maxPoolSize value.
+     *
+     * @param userPoolMaxSize sub-pool maximum size
+     * @return this {@link Builder}
+     */
+    public Builder userPoolMaxSize(Integer userPoolMaxSize) {
+      this.userPoolMaxSize = userPoolMaxSize;
+      return this;
+    }
+
+    /**
+     * Proportion (between 0 and 1) of commands traced asynchronously.
+     *
+     * @param traceSampleRate trace sample rate
+     * @return this {@link Builder}
+     */
+    public Builder traceSampleRate(Double traceSampleRate) {
+      this.traceSampleRate = traceSampleRate;
+      return this;
+    }
+
+    /**
+     * Include exchanged packets in asynchronous traces.
+     *
+     * @param tracePackets trace packets
+     * @return this {@link Builder}
+     */
+    public Builder tracePackets(Boolean tracePackets) {
+      this.tracePackets = tracePackets;
+      return this;
+    }
+
+    /**
+     * Query listener class name, notified of each command execution.
+     *
+     * @param queryListener query listener class name
+     * @return this {@link Builder}
+     */
+    public Builder queryListener(String queryListener) {
+      this.queryListener = nullOrEmpty(queryListener);
+      return this;
+    }
+
     public Configuration build() throws SQLException {
       Configuration conf =
           new Configuration(
@@ -1717,6 +2325,26 @@ public class Configuration {
               this.transactionReplay,
               this.geometryDefaultType,
               this.restrictedAuth,
+              this.localSocketTransport,
+              this.tcpRcvBuf,
+              this.tcpSndBuf,
+              this.readAheadMaxBufferSize,
+              this.lazySessionState,
+              this.columnDefinitionCacheSize,
+              this.resultSetSpillSize,
+              this.serverVariablesCacheTtl,
+              this.metadataCacheTtl,
+              this.transactionReplaySize,
+              this.transactionReplaySpillSize,
+              this.controlConnection,
+              this.controlConnectionMaxPending,
+              this.maxTotalPoolSize,
+              this.poolFillParallelism,
+              this.userPoolMinSize,
+              this.userPoolMaxSize,
+              this.traceSampleRate,
+              this.tracePackets,
+              this.queryListener,
               this._nonMappedOptions);
       conf.initialUrl = buildUrl(conf);
       return conf;
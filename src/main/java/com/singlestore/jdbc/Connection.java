@@ -6,12 +6,14 @@
 package com.singlestore.jdbc;
 
 import com.singlestore.jdbc.client.Client;
-import com.singlestore.jdbc.client.ClientImpl;
+import com.singlestore.jdbc.client.ControlConnections;
 import com.singlestore.jdbc.client.context.Context;
 import com.singlestore.jdbc.message.client.ChangeDbPacket;
+import com.singlestore.jdbc.message.client.ClientMessage;
 import com.singlestore.jdbc.message.client.PingPacket;
 import com.singlestore.jdbc.message.client.QueryPacket;
 import com.singlestore.jdbc.message.client.ResetPacket;
+import com.singlestore.jdbc.message.server.Completion;
 import com.singlestore.jdbc.util.NativeSql;
 import com.singlestore.jdbc.util.constants.Capabilities;
 import com.singlestore.jdbc.util.constants.ConnectionState;
@@ -20,6 +22,7 @@ import com.singlestore.jdbc.util.exceptions.ExceptionFactory;
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -44,6 +47,8 @@ public class Connection implements java.sql.Connection {
   private final boolean canUseServerTimeout;
   private final boolean canUseServerMaxRows;
   private final int defaultFetchSize;
+  private final boolean lazySessionState;
+  private final MetadataCache metadataCache;
   private MariaDbPoolConnection poolConnection;
 
   public Connection(Configuration conf, ReentrantLock lock, Client client) {
@@ -56,6 +61,12 @@ public class Connection implements java.sql.Connection {
     this.canUseServerTimeout = false;
     this.canUseServerMaxRows = false;
     this.defaultFetchSize = context.getConf().defaultFetchSize();
+    this.lazySessionState = conf.lazySessionState();
+    int metadataCacheTtl = conf.metadataCacheTtl();
+    this.metadataCache =
+        metadataCacheTtl > 0
+            ? new MetadataCache(TimeUnit.SECONDS.toNanos(metadataCacheTtl))
+            : null;
   }
 
   public void setPoolConnection(MariaDbPoolConnection poolConnection) {
@@ -64,15 +75,13 @@ public class Connection implements java.sql.Connection {
   }
 
   /**
-   * Cancels the current query - clones the current protocol and executes a query using the new
-   * connection.
+   * Cancels the current query - executes a KILL QUERY command using the host control connection.
    *
-   * @throws SQLException never thrown
+   * @throws SQLException if control connection fails
    */
   public void cancelCurrentQuery() throws SQLException {
-    try (Client cli = new ClientImpl(conf, client.getHostAddress(), new ReentrantLock(), true)) {
-      cli.execute(new QueryPacket("KILL QUERY " + client.getContext().getThreadId()));
-    }
+    ControlConnections.execute(
+        conf, client.getHostAddress(), "KILL QUERY " + client.getContext().getThreadId());
   }
 
   @Override
@@ -146,6 +155,8 @@ public class Connection implements java.sql.Connection {
 
   @Override
   public boolean getAutoCommit() {
+    Boolean pending = client.getContext().getPendingAutoCommit();
+    if (pending != null) return pending;
     return (client.getContext().getServerStatus() & ServerStatus.AUTOCOMMIT) > 0;
   }
 
@@ -157,6 +168,16 @@ public class Connection implements java.sql.Connection {
     lock.lock();
     try {
       getContext().addStateFlag(ConnectionState.STATE_AUTOCOMMIT);
+      int serverStatus = client.getContext().getServerStatus();
+      // changing autocommit commits current transaction: must then be executed immediately
+      if (lazySessionState && (serverStatus & ServerStatus.IN_TRANSACTION) == 0) {
+        boolean serverAutoCommit = (serverStatus & ServerStatus.AUTOCOMMIT) > 0;
+        client
+            .getContext()
+            .setPendingAutoCommit(autoCommit == serverAutoCommit ? null : autoCommit);
+        return;
+      }
+      client.getContext().setPendingAutoCommit(null);
       client.execute(new QueryPacket("set autocommit=" + ((autoCommit) ? "1" : "0")));
     } finally {
       lock.unlock();
@@ -194,6 +215,7 @@ public class Connection implements java.sql.Connection {
       poolConnection.close();
       return;
     }
+    if (metadataCache != null) metadataCache.clear();
     client.close();
   }
 
@@ -254,6 +276,10 @@ public class Connection implements java.sql.Connection {
 
   @Override
   public String getCatalog() throws SQLException {
+    String pending = client.getContext().getPendingDatabase();
+    if (pending != null) {
+      return pending;
+    }
 
     if ((client.getContext().getServerCapabilities() & Capabilities.CLIENT_SESSION_TRACK) != 0) {
       return client.getContext().getDatabase();
@@ -268,13 +294,21 @@ public class Connection implements java.sql.Connection {
 
   @Override
   public void setCatalog(String catalog) throws SQLException {
-    if ((client.getContext().getServerCapabilities() & Capabilities.CLIENT_SESSION_TRACK) != 0
-        && catalog.equals(client.getContext().getDatabase())) {
+    boolean sessionTrack =
+        (client.getContext().getServerCapabilities() & Capabilities.CLIENT_SESSION_TRACK) != 0;
+    String pending = client.getContext().getPendingDatabase();
+    String database = pending != null ? pending : client.getContext().getDatabase();
+    if (sessionTrack && catalog.equals(database)) {
       return;
     }
     lock.lock();
     try {
       getContext().addStateFlag(ConnectionState.STATE_DATABASE);
+      if (lazySessionState) {
+        boolean current = sessionTrack && catalog.equals(client.getContext().getDatabase());
+        client.getContext().setPendingDatabase(current ? null : catalog);
+        return;
+      }
       client.execute(new ChangeDbPacket(catalog));
       client.getContext().setDatabase(catalog);
     } finally {
@@ -314,6 +348,31 @@ public class Connection implements java.sql.Connection {
 
   @Override
   public void setTransactionIsolation(int level) throws SQLException {
+    String query = isolationQuery(level);
+    lock.lock();
+    try {
+      checkNotClosed();
+      Context context = client.getContext();
+      boolean known = (context.getStateFlag() & ConnectionState.STATE_TRANSACTION_ISOLATION) != 0;
+      context.addStateFlag(ConnectionState.STATE_TRANSACTION_ISOLATION);
+      if (lazySessionState) {
+        // without pending change, known level is the server level
+        boolean current =
+            known
+                && context.getPendingIsolationQuery() == null
+                && context.getTransactionIsolationLevel() == level;
+        context.setTransactionIsolationLevel(level);
+        if (!current) context.setPendingIsolationQuery(query);
+        return;
+      }
+      context.setTransactionIsolationLevel(level);
+      client.execute(new QueryPacket(query));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static String isolationQuery(int level) throws SQLException {
     String query = "SET SESSION TRANSACTION ISOLATION LEVEL";
     switch (level) {
       case java.sql.Connection.TRANSACTION_READ_UNCOMMITTED:
@@ -331,15 +390,7 @@ public class Connection implements java.sql.Connection {
       default:
         throw new SQLException("Unsupported transaction isolation level");
     }
-    lock.lock();
-    try {
-      checkNotClosed();
-      getContext().addStateFlag(ConnectionState.STATE_TRANSACTION_ISOLATION);
-      client.getContext().setTransactionIsolationLevel(level);
-      client.execute(new QueryPacket(query));
-    } finally {
-      lock.unlock();
-    }
+    return query;
   }
 
   @Override
@@ -631,6 +682,7 @@ public class Connection implements java.sql.Connection {
       poolConnection.close();
       return;
     }
+    if (metadataCache != null) metadataCache.clear();
     client.abort(executor);
   }
 
@@ -685,6 +737,34 @@ public class Connection implements java.sql.Connection {
     return client;
   }
 
+  MetadataCache getMetadataCache() {
+    return metadataCache;
+  }
+
+  /**
+   * Send queries at once, then read results. Used for internal queries.
+   *
+   * @param messages queries
+   * @return results
+   * @throws SQLException if any query fails
+   */
+  List<Completion> executePipeline(ClientMessage[] messages) throws SQLException {
+    lock.lock();
+    try {
+      checkNotClosed();
+      return client.executePipeline(
+          messages,
+          null,
+          0,
+          0L,
+          ResultSet.CONCUR_READ_ONLY,
+          ResultSet.TYPE_FORWARD_ONLY,
+          false);
+    } finally {
+      lock.unlock();
+    }
+  }
+
   /**
    * Reset connection set has it was after creating a "fresh" new connection.
    * defaultTransactionIsolation must have been initialized.
@@ -697,37 +777,60 @@ public class Connection implements java.sql.Connection {
   public void reset() throws SQLException {
     boolean useComReset =
         conf.useResetConnection() && getMetaData().getVersion().versionGreaterOrEqual(7, 5, 2);
+    int stateFlag = getContext().getStateFlag();
 
-    if (useComReset) {
-      client.execute(ResetPacket.INSTANCE);
-    }
+    lock.lock();
+    try {
+      // session changes not sent yet are superseded by reset
+      getContext().clearPendingSessionState();
 
-    // in transaction => rollback
-    if ((client.getContext().getServerStatus() & ServerStatus.IN_TRANSACTION) > 0) {
-      client.execute(new QueryPacket("ROLLBACK"));
-    }
+      // local state first, since read-only change can change current client
+      if ((stateFlag & ConnectionState.STATE_READ_ONLY) != 0) {
+        setReadOnly(false); // default to master connection
+      }
+      if ((stateFlag & ConnectionState.STATE_NETWORK_TIMEOUT) != 0) {
+        client.setSocketTimeout(conf.socketTimeout());
+      }
 
-    int stateFlag = getContext().getStateFlag();
-    if (stateFlag != 0) {
-      try {
-        if ((stateFlag & ConnectionState.STATE_NETWORK_TIMEOUT) != 0) {
-          setNetworkTimeout(null, conf.socketTimeout());
-        }
-        if ((stateFlag & ConnectionState.STATE_AUTOCOMMIT) != 0) {
-          setAutoCommit(conf.autocommit());
-        }
-        if ((stateFlag & ConnectionState.STATE_DATABASE) != 0) {
-          setCatalog(conf.database());
-        }
-        if ((stateFlag & ConnectionState.STATE_READ_ONLY) != 0) {
-          setReadOnly(false); // default to master connection
-        }
-        if (!useComReset && (stateFlag & ConnectionState.STATE_TRANSACTION_ISOLATION) != 0) {
-          setTransactionIsolation(conf.transactionIsolation().getLevel());
-        }
-      } catch (SQLException sqle) {
-        throw exceptionFactory.create("error resetting connection");
+      // send all needed commands at once, then read results
+      List<ClientMessage> messages = new ArrayList<>(5);
+      if (useComReset) {
+        // reset rollback current transaction
+        messages.add(ResetPacket.INSTANCE);
+      } else if ((client.getContext().getServerStatus() & ServerStatus.IN_TRANSACTION) > 0) {
+        messages.add(new QueryPacket("ROLLBACK"));
+      }
+      if ((stateFlag & ConnectionState.STATE_AUTOCOMMIT) != 0
+          && (useComReset || getAutoCommit() != conf.autocommit())) {
+        messages.add(new QueryPacket("set autocommit=" + (conf.autocommit() ? "1" : "0")));
       }
+      boolean changeDatabase =
+          (stateFlag & ConnectionState.STATE_DATABASE) != 0
+              && conf.database() != null
+              && (useComReset || !conf.database().equals(client.getContext().getDatabase()));
+      if (changeDatabase) {
+        messages.add(new ChangeDbPacket(conf.database()));
+      }
+      if (!useComReset && (stateFlag & ConnectionState.STATE_TRANSACTION_ISOLATION) != 0) {
+        messages.add(new QueryPacket(isolationQuery(conf.transactionIsolation().getLevel())));
+        client.getContext().setTransactionIsolationLevel(conf.transactionIsolation().getLevel());
+      }
+
+      if (!messages.isEmpty()) {
+        client.executePipeline(
+            messages.toArray(new ClientMessage[0]),
+            null,
+            0,
+            0L,
+            ResultSet.CONCUR_READ_ONLY,
+            ResultSet.TYPE_FORWARD_ONLY,
+            false);
+      }
+      if (changeDatabase) client.getContext().setDatabase(conf.database());
+    } catch (SQLException sqle) {
+      throw exceptionFactory.create("error resetting connection", "HY000", sqle);
+    } finally {
+      lock.unlock();
     }
 
     client.reset();
@@ -8,11 +8,16 @@ package com.singlestore.jdbc;
 import com.singlestore.jdbc.client.result.CompleteResult;
 import com.singlestore.jdbc.client.result.Result;
 import com.singlestore.jdbc.codec.DataType;
+import com.singlestore.jdbc.message.client.ClientMessage;
+import com.singlestore.jdbc.message.client.QueryPacket;
+import com.singlestore.jdbc.message.server.Completion;
 import com.singlestore.jdbc.util.Version;
 import com.singlestore.jdbc.util.VersionFactory;
 import com.singlestore.jdbc.util.constants.ServerStatus;
 import java.sql.*;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
 public class DatabaseMetaData implements java.sql.DatabaseMetaData {
 
@@ -331,6 +336,44 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
     return rs;
   }
 
+  /**
+   * Get cached metadata of a database when option metadataCacheTtl is set, loading tables,
+   * columns, primary keys and indexes of the database in one pipelined exchange if needed.
+   *
+   * @param catalog catalog, null or empty for current database
+   * @return cached metadata, or null if metadata cache is disabled or there is no current database
+   * @throws SQLException if a database access error occurs
+   */
+  private MetadataCache.Schema cachedSchema(String catalog) throws SQLException {
+    MetadataCache cache = connection.getMetadataCache();
+    if (cache == null) return null;
+    String database = (catalog == null || catalog.isEmpty()) ? connection.getCatalog() : catalog;
+    if (database == null) return null;
+
+    int schemaVersion = connection.getContext().getSchemaVersion();
+    MetadataCache.Schema schema = cache.get(database, schemaVersion);
+    if (schema == null) {
+      ClientMessage[] queries =
+          new ClientMessage[] {
+            new QueryPacket(tablesQuery(database, null, null)),
+            new QueryPacket(columnsQuery(database, null, null)),
+            new QueryPacket(primaryKeysQuery(database, null)),
+            new QueryPacket(indexInfoQuery(database, null, false))
+          };
+      List<CompleteResult> results = new ArrayList<>(queries.length);
+      for (Completion completion : connection.executePipeline(queries)) {
+        results.add((CompleteResult) completion);
+      }
+      schema = cache.put(database, schemaVersion, results);
+    }
+    return schema;
+  }
+
+  private static ResultSet aliased(Result rs) {
+    rs.useAliasAsName();
+    return rs;
+  }
+
   private String escapeQuote(String value) {
     return "'"
         + escapeString(
@@ -408,21 +451,24 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
    * @throws SQLException if a database access error occurs
    */
   public ResultSet getPrimaryKeys(String catalog, String schema, String table) throws SQLException {
-    // MySQL 8 now use 'PRI' in place of 'pri'
-    String sql =
-        "SELECT DISTINCT A.TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, A.TABLE_NAME, A.COLUMN_NAME, B.SEQ_IN_INDEX KEY_SEQ, B.INDEX_NAME PK_NAME "
-            + " FROM INFORMATION_SCHEMA.COLUMNS A JOIN INFORMATION_SCHEMA.STATISTICS B ON"
-            + " (A.TABLE_SCHEMA = B.TABLE_SCHEMA AND A.TABLE_NAME = B.TABLE_NAME AND A.COLUMN_NAME = B.COLUMN_NAME)"
-            + " WHERE A.COLUMN_KEY in ('PRI','pri') AND B.INDEX_NAME='PRIMARY' "
-            + " AND "
-            + catalogCond("A.TABLE_SCHEMA", catalog)
-            + " AND "
-            + catalogCond("B.TABLE_SCHEMA", catalog)
-            + patternCond("A.TABLE_NAME", table)
-            + patternCond("B.TABLE_NAME", table)
-            + " ORDER BY A.COLUMN_NAME";
+    MetadataCache.Schema cached = cachedSchema(catalog);
+    if (cached != null) return aliased(cached.primaryKeys(table));
+    return executeQuery(primaryKeysQuery(catalog, table));
+  }
 
-    return executeQuery(sql);
+  private String primaryKeysQuery(String catalog, String table) {
+    // MySQL 8 now use 'PRI' in place of 'pri'
+    return "SELECT DISTINCT A.TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, A.TABLE_NAME, A.COLUMN_NAME, B.SEQ_IN_INDEX KEY_SEQ, B.INDEX_NAME PK_NAME "
+        + " FROM INFORMATION_SCHEMA.COLUMNS A JOIN INFORMATION_SCHEMA.STATISTICS B ON"
+        + " (A.TABLE_SCHEMA = B.TABLE_SCHEMA AND A.TABLE_NAME = B.TABLE_NAME AND A.COLUMN_NAME = B.COLUMN_NAME)"
+        + " WHERE A.COLUMN_KEY in ('PRI','pri') AND B.INDEX_NAME='PRIMARY' "
+        + " AND "
+        + catalogCond("A.TABLE_SCHEMA", catalog)
+        + " AND "
+        + catalogCond("B.TABLE_SCHEMA", catalog)
+        + patternCond("A.TABLE_NAME", table)
+        + patternCond("B.TABLE_NAME", table)
+        + " ORDER BY A.COLUMN_NAME";
   }
 
   /**
@@ -466,7 +512,12 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
   public ResultSet getTables(
       String catalog, String schemaPattern, String tableNamePattern, String[] types)
       throws SQLException {
+    MetadataCache.Schema cached = cachedSchema(catalog);
+    if (cached != null) return aliased(cached.tables(tableNamePattern, types));
+    return executeQuery(tablesQuery(catalog, tableNamePattern, types));
+  }
 
+  private String tablesQuery(String catalog, String tableNamePattern, String[] types) {
     StringBuilder sql =
         new StringBuilder(
             "SELECT TABLE_SCHEMA TABLE_CAT, NULL  TABLE_SCHEM,  TABLE_NAME,"
@@ -497,8 +548,7 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
     }
 
     sql.append(" ORDER BY TABLE_TYPE, TABLE_SCHEMA, TABLE_NAME");
-
-    return executeQuery(sql.toString());
+    return sql.toString();
   }
 
   /**
@@ -593,44 +643,46 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
   public ResultSet getColumns(
       String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern)
       throws SQLException {
-    String fullTypeColumnName = "COLUMN_TYPE";
-
-    String sql =
-        "SELECT TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, TABLE_NAME, COLUMN_NAME,"
-            + dataTypeClause(fullTypeColumnName)
-            + " DATA_TYPE,"
-            + DataTypeClause(conf)
-            + " TYPE_NAME, "
-            + " CASE DATA_TYPE"
-            + DateTimeSizeClause(fullTypeColumnName)
-            + (conf.yearIsDateType() ? "" : " WHEN 'year' THEN 5")
-            + "  ELSE "
-            + "  IF(NUMERIC_PRECISION IS NULL, LEAST(CHARACTER_MAXIMUM_LENGTH,"
-            + Integer.MAX_VALUE
-            + "), NUMERIC_PRECISION) "
-            + " END"
-            + " COLUMN_SIZE, 65535 BUFFER_LENGTH, "
-            + " CONVERT (CASE DATA_TYPE"
-            + " WHEN 'year' THEN "
-            + (conf.yearIsDateType() ? "NUMERIC_SCALE" : "0")
-            + " WHEN 'tinyint' THEN "
-            + (conf.tinyInt1isBit() ? "0" : "NUMERIC_SCALE")
-            + " ELSE NUMERIC_SCALE END, UNSIGNED INTEGER) DECIMAL_DIGITS,"
-            + " 10 NUM_PREC_RADIX, IF(IS_NULLABLE = 'yes',1,0) NULLABLE,COLUMN_COMMENT REMARKS,"
-            + " COLUMN_DEFAULT COLUMN_DEF, 0 SQL_DATA_TYPE, 0 SQL_DATETIME_SUB,  "
-            + " LEAST(CHARACTER_OCTET_LENGTH,"
-            + Integer.MAX_VALUE
-            + ") CHAR_OCTET_LENGTH,"
-            + " ORDINAL_POSITION, IS_NULLABLE, NULL SCOPE_CATALOG, NULL SCOPE_SCHEMA, NULL SCOPE_TABLE, NULL SOURCE_DATA_TYPE,"
-            + " IF(EXTRA = 'auto_increment','YES','NO') IS_AUTOINCREMENT, "
-            + " IF(EXTRA in ('VIRTUAL', 'PERSISTENT', 'VIRTUAL GENERATED', 'STORED GENERATED', 'COMPUTED') ,'YES','NO') IS_GENERATEDCOLUMN "
-            + " FROM INFORMATION_SCHEMA.COLUMNS  WHERE "
-            + catalogCond("TABLE_SCHEMA", catalog)
-            + patternCond("TABLE_NAME", tableNamePattern)
-            + patternCond("COLUMN_NAME", columnNamePattern)
-            + " ORDER BY TABLE_CAT, TABLE_SCHEM, TABLE_NAME, ORDINAL_POSITION";
+    MetadataCache.Schema cached = cachedSchema(catalog);
+    if (cached != null) return aliased(cached.columns(tableNamePattern, columnNamePattern));
+    return executeQuery(columnsQuery(catalog, tableNamePattern, columnNamePattern));
+  }
 
-    return executeQuery(sql);
+  private String columnsQuery(String catalog, String tableNamePattern, String columnNamePattern) {
+    String fullTypeColumnName = "COLUMN_TYPE";
+    return "SELECT TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, TABLE_NAME, COLUMN_NAME,"
+        + dataTypeClause(fullTypeColumnName)
+        + " DATA_TYPE,"
+        + DataTypeClause(conf)
+        + " TYPE_NAME, "
+        + " CASE DATA_TYPE"
+        + DateTimeSizeClause(fullTypeColumnName)
+        + (conf.yearIsDateType() ? "" : " WHEN 'year' THEN 5")
+        + "  ELSE "
+        + "  IF(NUMERIC_PRECISION IS NULL, LEAST(CHARACTER_MAXIMUM_LENGTH,"
+        + Integer.MAX_VALUE
+        + "), NUMERIC_PRECISION) "
+        + " END"
+        + " COLUMN_SIZE, 65535 BUFFER_LENGTH, "
+        + " CONVERT (CASE DATA_TYPE"
+        + " WHEN 'year' THEN "
+        + (conf.yearIsDateType() ? "NUMERIC_SCALE" : "0")
+        + " WHEN 'tinyint' THEN "
+        + (conf.tinyInt1isBit() ? "0" : "NUMERIC_SCALE")
+        + " ELSE NUMERIC_SCALE END, UNSIGNED INTEGER) DECIMAL_DIGITS,"
+        + " 10 NUM_PREC_RADIX, IF(IS_NULLABLE = 'yes',1,0) NULLABLE,COLUMN_COMMENT REMARKS,"
+        + " COLUMN_DEFAULT COLUMN_DEF, 0 SQL_DATA_TYPE, 0 SQL_DATETIME_SUB,  "
+        + " LEAST(CHARACTER_OCTET_LENGTH,"
+        + Integer.MAX_VALUE
+        + ") CHAR_OCTET_LENGTH,"
+        + " ORDINAL_POSITION, IS_NULLABLE, NULL SCOPE_CATALOG, NULL SCOPE_SCHEMA, NULL SCOPE_TABLE, NULL SOURCE_DATA_TYPE,"
+        + " IF(EXTRA = 'auto_increment','YES','NO') IS_AUTOINCREMENT, "
+        + " IF(EXTRA in ('VIRTUAL', 'PERSISTENT', 'VIRTUAL GENERATED', 'STORED GENERATED', 'COMPUTED') ,'YES','NO') IS_GENERATEDCOLUMN "
+        + " FROM INFORMATION_SCHEMA.COLUMNS  WHERE "
+        + catalogCond("TABLE_SCHEMA", catalog)
+        + patternCond("TABLE_NAME", tableNamePattern)
+        + patternCond("COLUMN_NAME", columnNamePattern)
+        + " ORDER BY TABLE_CAT, TABLE_SCHEM, TABLE_NAME, ORDINAL_POSITION";
   }
 
   /**
@@ -2935,22 +2987,24 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
     if (table == null) {
       throw new SQLException("'table' parameter must not be null");
     }
-    String sql =
-        "SELECT TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, TABLE_NAME, NON_UNIQUE, "
-            + " TABLE_SCHEMA INDEX_QUALIFIER, INDEX_NAME, "
-            + tableIndexOther
-            + " TYPE,"
-            + " SEQ_IN_INDEX ORDINAL_POSITION, COLUMN_NAME, COLLATION ASC_OR_DESC,"
-            + " CARDINALITY, NULL PAGES, NULL FILTER_CONDITION"
-            + " FROM INFORMATION_SCHEMA.STATISTICS"
-            + " WHERE TABLE_NAME = "
-            + escapeQuote(table)
-            + " AND "
-            + catalogCond("TABLE_SCHEMA", catalog)
-            + ((unique) ? " AND NON_UNIQUE = 0" : "")
-            + " ORDER BY NON_UNIQUE, TYPE, INDEX_NAME, ORDINAL_POSITION";
-
-    return executeQuery(sql);
+    MetadataCache.Schema cached = cachedSchema(catalog);
+    if (cached != null) return aliased(cached.indexInfo(table, unique));
+    return executeQuery(indexInfoQuery(catalog, table, unique));
+  }
+
+  private String indexInfoQuery(String catalog, String table, boolean unique) {
+    return "SELECT TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, TABLE_NAME, NON_UNIQUE, "
+        + " TABLE_SCHEMA INDEX_QUALIFIER, INDEX_NAME, "
+        + tableIndexOther
+        + " TYPE,"
+        + " SEQ_IN_INDEX ORDINAL_POSITION, COLUMN_NAME, COLLATION ASC_OR_DESC,"
+        + " CARDINALITY, NULL PAGES, NULL FILTER_CONDITION"
+        + " FROM INFORMATION_SCHEMA.STATISTICS"
+        + " WHERE "
+        + (table == null ? "" : "TABLE_NAME = " + escapeQuote(table) + " AND ")
+        + catalogCond("TABLE_SCHEMA", catalog)
+        + ((unique) ? " AND NON_UNIQUE = 0" : "")
+        + " ORDER BY NON_UNIQUE, TYPE, INDEX_NAME, ORDINAL_POSITION";
   }
 
   /**
@@ -24,7 +24,7 @@ public final class Driver implements java.sql.Driver {
 
   static {
     try {
-      DriverManager.registerDriver(new Driver());
+      DriverManager.registerDriver(new Driver(), ControlConnections::closeAll);
     } catch (SQLException e) {
       // eat
     }
@@ -64,7 +64,7 @@ public final class Driver implements java.sql.Driver {
    * @throws SQLException if it is not possible to connect
    */
   public Connection connect(final String url, final Properties props) throws SQLException {
-    Configuration configuration = Configuration.parse(url, props);
+    Configuration configuration = Configuration.parseCached(url, props);
     if (configuration != null) {
       if (configuration.pool()) {
         return Pools.retrievePool(configuration).getPoolConnection().getConnection();
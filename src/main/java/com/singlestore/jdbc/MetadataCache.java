@@ -0,0 +1,260 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc;
+
+import com.singlestore.jdbc.client.result.CompleteResult;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Connection cache of database metadata (option metadataCacheTtl). Tables, columns, primary keys
+ * and indexes of a whole database are loaded at once, and metadata requests are then answered from
+ * memory, filtering loaded rows. Cached metadata expires after TTL, or when connection executes a
+ * DDL command. Evicted metadata results are closed, releasing their memory or spill file.
+ */
+final class MetadataCache {
+
+  private static final int TABLES = 0;
+  private static final int COLUMNS = 1;
+  private static final int PRIMARY_KEYS = 2;
+  private static final int INDEX_INFO = 3;
+
+  private final long ttl;
+  private final Map<String, Schema> schemas = new HashMap<>();
+
+  /**
+   * Constructor.
+   *
+   * @param ttl cached metadata time to live, in nanoseconds
+   */
+  MetadataCache(long ttl) {
+    this.ttl = ttl;
+  }
+
+  /**
+   * Get cached metadata of a database.
+   *
+   * @param database database name
+   * @param schemaVersion current connection schema version
+   * @return cached metadata, or null if not cached or expired
+   */
+  synchronized Schema get(String database, int schemaVersion) {
+    Schema schema = schemas.get(database);
+    if (schema == null) return null;
+    if (schema.schemaVersion != schemaVersion || System.nanoTime() - schema.loaded > ttl) {
+      schemas.remove(database).close();
+      return null;
+    }
+    return schema;
+  }
+
+  /**
+   * Cache metadata of a database.
+   *
+   * @param database database name
+   * @param schemaVersion connection schema version when metadata has been loaded
+   * @param results results of tables, columns, primary keys and index queries, in this order
+   * @return cached metadata
+   * @throws SQLException if results cannot be read
+   */
+  synchronized Schema put(String database, int schemaVersion, List<CompleteResult> results)
+      throws SQLException {
+    // metadata loaded before a DDL command is not valid anymore
+    Iterator<Schema> iterator = schemas.values().iterator();
+    while (iterator.hasNext()) {
+      Schema schema = iterator.next();
+      if (schema.schemaVersion != schemaVersion) {
+        iterator.remove();
+        schema.close();
+      }
+    }
+    Schema schema = new Schema(schemaVersion, results);
+    Schema previous = schemas.put(database, schema);
+    if (previous != null) previous.close();
+    return schema;
+  }
+
+  /** Remove all cached metadata, closing results. */
+  synchronized void clear() {
+    for (Schema schema : schemas.values()) {
+      schema.close();
+    }
+    schemas.clear();
+  }
+
+  /** Metadata of a database. */
+  static final class Schema {
+    private final int schemaVersion;
+    private final long loaded = System.nanoTime();
+    private final CompleteResult[] results;
+    // TABLE_NAME and next column value of each row, used for filtering
+    private final String[][] tableNames;
+    private final String[][] keys;
+
+    private Schema(int schemaVersion, List<CompleteResult> results) throws SQLException {
+      this.schemaVersion = schemaVersion;
+      this.results = results.toArray(new CompleteResult[0]);
+      tableNames = new String[this.results.length][];
+      keys = new String[this.results.length][];
+      for (int i = 0; i < this.results.length; i++) {
+        CompleteResult result = this.results[i];
+        tableNames[i] = new String[result.loadedRows()];
+        keys[i] = new String[result.loadedRows()];
+        for (int row = 0; result.next(); row++) {
+          tableNames[i][row] = result.getString(3);
+          keys[i][row] = result.getString(4);
+        }
+      }
+    }
+
+    private void close() {
+      for (CompleteResult result : results) {
+        try {
+          result.close();
+        } catch (SQLException e) {
+          // eat
+        }
+      }
+    }
+
+    /**
+     * Select tables.
+     *
+     * @param tableNamePattern table name pattern, null for all tables
+     * @param types table types, null for all types
+     * @return result-set
+     */
+    CompleteResult tables(String tableNamePattern, String[] types) {
+      boolean[] selected = select(TABLES, tableNamePattern);
+      boolean typeFilter = false;
+      if (types != null) {
+        for (String type : types) typeFilter |= type != null;
+      }
+      if (typeFilter) {
+        for (int row = 0; row < selected.length; row++) {
+          if (selected[row]) selected[row] = hasType(keys[TABLES][row], types);
+        }
+      }
+      return results[TABLES].subset(indexes(selected));
+    }
+
+    /**
+     * Select columns.
+     *
+     * @param tableNamePattern table name pattern, null for all tables
+     * @param columnNamePattern column name pattern, null for all columns
+     * @return result-set
+     */
+    CompleteResult columns(String tableNamePattern, String columnNamePattern) {
+      boolean[] selected = select(COLUMNS, tableNamePattern);
+      for (int row = 0; row < selected.length; row++) {
+        if (selected[row]) selected[row] = matches(keys[COLUMNS][row], columnNamePattern);
+      }
+      return results[COLUMNS].subset(indexes(selected));
+    }
+
+    /**
+     * Select primary key columns.
+     *
+     * @param table table name pattern, null for all tables
+     * @return result-set
+     */
+    CompleteResult primaryKeys(String table) {
+      return results[PRIMARY_KEYS].subset(indexes(select(PRIMARY_KEYS, table)));
+    }
+
+    /**
+     * Select index columns.
+     *
+     * @param table table name
+     * @param unique only unique indexes
+     * @return result-set
+     */
+    CompleteResult indexInfo(String table, boolean unique) {
+      boolean[] selected = new boolean[tableNames[INDEX_INFO].length];
+      for (int row = 0; row < selected.length; row++) {
+        selected[row] =
+            table.equalsIgnoreCase(tableNames[INDEX_INFO][row])
+                && (!unique || "0".equals(keys[INDEX_INFO][row]));
+      }
+      return results[INDEX_INFO].subset(indexes(selected));
+    }
+
+    private boolean[] select(int kind, String tableNamePattern) {
+      boolean[] selected = new boolean[tableNames[kind].length];
+      for (int row = 0; row < selected.length; row++) {
+        selected[row] = matches(tableNames[kind][row], tableNamePattern);
+      }
+      return selected;
+    }
+
+    private static boolean hasType(String tableType, String[] types) {
+      for (String type : types) {
+        if (type == null) continue;
+        // query returns 'TABLE' for base tables
+        if ("BASE TABLE".equalsIgnoreCase(type) || "SYSTEM VERSIONED".equalsIgnoreCase(type)) {
+          type = "TABLE";
+        }
+        if (type.equalsIgnoreCase(tableType)) return true;
+      }
+      return false;
+    }
+
+    private static int[] indexes(boolean[] selected) {
+      int count = 0;
+      for (boolean value : selected) {
+        if (value) count++;
+      }
+      int[] indexes = new int[count];
+      for (int row = 0, i = 0; row < selected.length; row++) {
+        if (selected[row]) indexes[i++] = row;
+      }
+      return indexes;
+    }
+  }
+
+  /**
+   * Check name the same way than metadata queries: equality if pattern has no wildcard, LIKE
+   * otherwise. Comparison is case-insensitive, as information schema collation.
+   *
+   * @param value name
+   * @param pattern name pattern, null matching any name
+   * @return true if name matches pattern
+   */
+  static boolean matches(String value, String pattern) {
+    if (pattern == null) return true;
+    if (value == null) return false;
+    if (pattern.indexOf('%') == -1 && pattern.indexOf('_') == -1) {
+      return pattern.equalsIgnoreCase(value);
+    }
+    return like(value, 0, pattern, 0);
+  }
+
+  private static boolean like(String value, int valueIdx, String pattern, int patternIdx) {
+    while (patternIdx < pattern.length()) {
+      char c = pattern.charAt(patternIdx++);
+      if (c == '%') {
+        for (int i = valueIdx; i <= value.length(); i++) {
+          if (like(value, i, pattern, patternIdx)) return true;
+        }
+        return false;
+      }
+      if (valueIdx == value.length()) return false;
+      if (c == '\\' && patternIdx < pattern.length()) {
+        c = pattern.charAt(patternIdx++);
+      } else if (c == '_') {
+        valueIdx++;
+        continue;
+      }
+      char v = value.charAt(valueIdx++);
+      if (c != v && Character.toUpperCase(c) != Character.toUpperCase(v)) return false;
+    }
+    return valueIdx == value.length();
+  }
+}
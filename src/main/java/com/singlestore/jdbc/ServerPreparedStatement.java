@@ -14,6 +14,7 @@ import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
 import com.singlestore.jdbc.message.server.Completion;
 import com.singlestore.jdbc.message.server.OkPacket;
 import com.singlestore.jdbc.message.server.PrepareResultPacket;
+import com.singlestore.jdbc.util.BatchParameters;
 import com.singlestore.jdbc.util.ParameterList;
 import com.singlestore.jdbc.util.constants.Capabilities;
 import java.sql.*;
@@ -236,7 +237,7 @@ public class ServerPreparedStatement extends BasePreparedStatement {
     // send COM_STMT_PREPARE
     List<Completion> tmpResults = new ArrayList<>();
     SQLException error = null;
-    for (ParameterList batchParameter : batchParameters) {
+    for (int i = 0; i < batchParameters.size(); i++) {
       // prepare is in loop, because if connection fail, prepare is reset, and need to be re
       // prepared
       if (prepareResult == null) {
@@ -246,7 +247,7 @@ public class ServerPreparedStatement extends BasePreparedStatement {
         }
       }
       try {
-        ExecutePacket execute = new ExecutePacket(prepareResult, batchParameter, cmd, this);
+        ExecutePacket execute = new ExecutePacket(prepareResult, batchParameters.get(i), cmd, this);
         tmpResults.addAll(con.getClient().execute(execute, this));
       } catch (SQLException e) {
         if (error == null) error = e;
@@ -406,9 +407,9 @@ public class ServerPreparedStatement extends BasePreparedStatement {
   @Override
   public void addBatch() throws SQLException {
     validParameters();
-    if (batchParameters == null) batchParameters = new ArrayList<>();
+    if (batchParameters == null) batchParameters = new BatchParameters();
     batchParameters.add(parameters);
-    parameters = new ParameterList(parameters.size());
+    parameters.clear();
   }
 
   protected void validParameters() throws SQLException {
@@ -423,7 +424,7 @@ public class ServerPreparedStatement extends BasePreparedStatement {
 
       if (batchParameters != null
           && !batchParameters.isEmpty()
-          && parameters.size() < batchParameters.get(0).size()) {
+          && parameters.size() < batchParameters.parameterCount(0)) {
         // ensure batch parameters set same number
         throw exceptionFactory()
             .create(
@@ -6,6 +6,7 @@
 package com.singlestore.jdbc;
 
 import com.singlestore.jdbc.pool.InternalPoolConnection;
+import com.singlestore.jdbc.pool.ParallelBatchExecutor;
 import com.singlestore.jdbc.pool.Pool;
 import com.singlestore.jdbc.pool.Pools;
 import java.io.Closeable;
@@ -14,6 +15,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLTimeoutException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 import javax.sql.ConnectionPoolDataSource;
 import javax.sql.DataSource;
@@ -24,6 +26,7 @@ public class SingleStorePoolDataSource
     implements DataSource, ConnectionPoolDataSource, XADataSource, Closeable, AutoCloseable {
 
   private final Pool pool;
+  private ParallelBatchExecutor batchExecutor;
 
   public SingleStorePoolDataSource(String url) throws SQLException {
     if (Configuration.acceptsUrl(url)) {
@@ -189,8 +192,40 @@ public class SingleStorePoolDataSource
     return pool.getPoolConnection(username, password);
   }
 
+  /**
+   * Execute a prepared statement batch concurrently on many pool connections. Batch is split into
+   * contiguous chunks executed on their own connection, update counts being returned in batch
+   * order. Order of execution between chunks is not guaranteed.
+   *
+   * <p>If autoCommit is false, each chunk runs in a transaction, all transactions being committed
+   * only if every chunk succeeds, and rolled back otherwise. Commits are best effort: if a commit
+   * fails after other chunks have been committed, those chunks stay committed, and only their
+   * update counts are reported in the thrown exception.
+   *
+   * @param sql prepared statement command
+   * @param parameters parameters of each batch command
+   * @param parallelism maximum number of connections used
+   * @param autoCommit if false, chunks are committed only if whole batch succeeds
+   * @return update counts, in batch order
+   * @throws SQLException if any chunk fails. Thrown exception is a {@link
+   *     java.sql.BatchUpdateException} containing update counts of succeeded commands.
+   */
+  public int[] executeParallelBatch(
+      String sql, List<Object[]> parameters, int parallelism, boolean autoCommit)
+      throws SQLException {
+    ParallelBatchExecutor executor;
+    synchronized (this) {
+      if (batchExecutor == null) batchExecutor = new ParallelBatchExecutor(pool);
+      executor = batchExecutor;
+    }
+    return executor.executeBatch(sql, parameters, parallelism, autoCommit);
+  }
+
   /** Close datasource. */
   public void close() {
+    synchronized (this) {
+      if (batchExecutor != null) batchExecutor.close();
+    }
     try {
       pool.close();
     } catch (Exception interrupted) {
@@ -198,6 +233,19 @@ public class SingleStorePoolDataSource
     }
   }
 
+  /**
+   * Wait until pool contains at least minPoolSize idle connections. Pool is filled in background
+   * when created, this permits to ensure it is ready before accepting traffic.
+   *
+   * @param timeout maximum time to wait
+   * @param unit timeout unit
+   * @return true if pool reached minPoolSize idle connections before timeout
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public boolean awaitMinimumIdle(long timeout, TimeUnit unit) throws InterruptedException {
+    return pool.awaitMinimumIdle(timeout, unit);
+  }
+
   public String getPoolName() {
     return pool.getPoolTag();
   }
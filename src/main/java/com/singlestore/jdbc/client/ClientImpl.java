@@ -18,14 +18,19 @@ import com.singlestore.jdbc.message.client.*;
 import com.singlestore.jdbc.message.server.Completion;
 import com.singlestore.jdbc.message.server.ErrorPacket;
 import com.singlestore.jdbc.message.server.InitialHandshakePacket;
+import com.singlestore.jdbc.message.server.OkPacket;
 import com.singlestore.jdbc.message.server.PrepareResultPacket;
 import com.singlestore.jdbc.plugin.credential.Credential;
 import com.singlestore.jdbc.plugin.credential.CredentialPlugin;
+import com.singlestore.jdbc.plugin.listener.QueryListener;
+import com.singlestore.jdbc.plugin.listener.QueryListenerLoader;
+import com.singlestore.jdbc.util.HashedWheelTimer;
 import com.singlestore.jdbc.util.MutableInt;
 import com.singlestore.jdbc.util.constants.Capabilities;
 import com.singlestore.jdbc.util.constants.ServerStatus;
 import com.singlestore.jdbc.util.exceptions.ExceptionFactory;
 import com.singlestore.jdbc.util.exceptions.MaxAllowedPacketException;
+import com.singlestore.jdbc.util.log.AsyncTracer;
 import com.singlestore.jdbc.util.log.Logger;
 import com.singlestore.jdbc.util.log.Loggers;
 import java.io.BufferedInputStream;
@@ -40,11 +45,14 @@ import java.sql.SQLNonTransientConnectionException;
 import java.sql.SQLPermission;
 import java.util.*;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
 import javax.net.ssl.SSLSocket;
 
 public class ClientImpl implements Client, AutoCloseable {
   private static final Logger logger = Loggers.getLogger(ClientImpl.class);
+  private static final String[] DDL_COMMANDS = {"CREATE", "ALTER", "DROP", "RENAME", "TRUNCATE"};
   private final Socket socket;
   private final MutableInt sequence = new MutableInt();
   private final MutableInt compressionSequence = new MutableInt();
@@ -52,6 +60,7 @@ public class ClientImpl implements Client, AutoCloseable {
   private final Configuration conf;
   private final HostAddress hostAddress;
   private boolean closed = false;
+  private HashedWheelTimer.Timeout queryTimeout;
   protected final ExceptionFactory exceptionFactory;
   protected PacketWriter writer;
   private PacketReader reader;
@@ -60,6 +69,18 @@ public class ClientImpl implements Client, AutoCloseable {
   private int socketTimeout;
   private int waitTimeout;
   private final boolean disablePipeline;
+  // DDL commands are tracked only to invalidate cached metadata
+  protected final boolean trackSchemaChanges;
+  private final double traceSampleRate;
+  private final boolean tracePackets;
+  private final QueryListener queryListener;
+  private final LongConsumer firstByteListener;
+  private boolean tracing;
+  private boolean asyncTraced;
+  private String traceSql;
+  private long traceStart;
+  private long traceBytesOut;
+  private long traceBytesIn;
   protected Context context;
 
   public ClientImpl(
@@ -72,6 +93,14 @@ public class ClientImpl implements Client, AutoCloseable {
     this.exceptionFactory = new ExceptionFactory(conf, hostAddress);
     this.disablePipeline =
         Boolean.parseBoolean(conf.nonMappedOptions().getProperty("disablePipeline", "false"));
+    this.trackSchemaChanges = conf.metadataCacheTtl() > 0;
+    this.traceSampleRate = conf.traceSampleRate();
+    this.tracePackets = conf.tracePackets();
+    this.queryListener = QueryListenerLoader.get(conf.queryListener());
+    this.firstByteListener =
+        queryListener == null
+            ? null
+            : nanos -> queryListener.afterFirstByte(traceSql, nanos - traceStart);
 
     String host = hostAddress != null ? hostAddress.host : null;
     this.socketTimeout = conf.socketTimeout();
@@ -82,10 +111,7 @@ public class ClientImpl implements Client, AutoCloseable {
       // creating socket
       // **********************************************************************
       OutputStream out = socket.getOutputStream();
-      InputStream in =
-          conf.useReadAheadInput()
-              ? new ReadAheadBufferedStream(socket.getInputStream())
-              : new BufferedInputStream(socket.getInputStream(), 16384);
+      InputStream in = bufferedInput(conf, socket.getInputStream());
 
       assignStream(out, in, conf, null);
 
@@ -103,6 +129,7 @@ public class ClientImpl implements Client, AutoCloseable {
       this.exceptionFactory.setThreadId(handshake.getThreadId());
       long clientCapabilities =
           ConnectionHelper.initializeClientCapabilities(conf, handshake.getCapabilities());
+      int columnDefinitionCacheSize = conf.columnDefinitionCacheSize();
       this.context =
           conf.transactionReplay()
               ? new RedoContext(
@@ -110,13 +137,15 @@ public class ClientImpl implements Client, AutoCloseable {
                   clientCapabilities,
                   conf,
                   this.exceptionFactory,
-                  new PrepareCache(conf.prepStmtCacheSize(), this))
+                  new PrepareCache(conf.prepStmtCacheSize(), this),
+                  new ColumnDefinitionCache(columnDefinitionCacheSize))
               : new BaseContext(
                   handshake,
                   clientCapabilities,
                   conf,
                   this.exceptionFactory,
-                  new PrepareCache(conf.prepStmtCacheSize(), this));
+                  new PrepareCache(conf.prepStmtCacheSize(), this),
+                  new ColumnDefinitionCache(columnDefinitionCacheSize));
 
       this.reader.setServerThreadId(handshake.getThreadId(), hostAddress);
       this.writer.setServerThreadId(handshake.getThreadId(), hostAddress);
@@ -132,10 +161,7 @@ public class ClientImpl implements Client, AutoCloseable {
 
       if (sslSocket != null) {
         out = sslSocket.getOutputStream();
-        in =
-            conf.useReadAheadInput()
-                ? new ReadAheadBufferedStream(sslSocket.getInputStream())
-                : new BufferedInputStream(sslSocket.getInputStream(), 16384);
+        in = bufferedInput(conf, sslSocket.getInputStream());
         assignStream(out, in, conf, handshake.getThreadId());
       }
 
@@ -197,6 +223,12 @@ public class ClientImpl implements Client, AutoCloseable {
     }
   }
 
+  private static InputStream bufferedInput(Configuration conf, InputStream in) {
+    if (!conf.useReadAheadInput()) return new BufferedInputStream(in, 16384);
+    // read-ahead buffer grows up to this size when streaming large results
+    return new ReadAheadBufferedStream(in, conf.readAheadMaxBufferSize());
+  }
+
   private void assignStream(OutputStream out, InputStream in, Configuration conf, Long threadId) {
     this.writer = new PacketWriter(out, conf.maxQuerySizeToLog(), sequence, compressionSequence);
     this.writer.setServerThreadId(threadId, hostAddress);
@@ -208,6 +240,8 @@ public class ClientImpl implements Client, AutoCloseable {
   /** Closing socket in case of Connection error after socket creation. */
   protected void destroySocket() {
     closed = true;
+    // server might have been restarted with different variables
+    ServerVariablesCache.invalidate(hostAddress);
     try {
       this.reader.close();
     } catch (IOException ee) {
@@ -227,7 +261,17 @@ public class ClientImpl implements Client, AutoCloseable {
 
   private void postConnectionQueries() throws SQLException {
     List<String> commands = new ArrayList<>();
-    commands.add("SELECT @@max_allowed_packet, @@wait_timeout");
+
+    // server variables are shared by all connections to a host: when recently read, reuse them
+    // instead of requesting them again
+    ServerVariablesCache.Entry cached =
+        ServerVariablesCache.get(hostAddress, conf.serverVariablesCacheTtl());
+    if (cached != null) {
+      waitTimeout = cached.getWaitTimeout();
+      writer.setMaxAllowedPacket(cached.getMaxAllowedPacket());
+    } else {
+      commands.add("SELECT @@max_allowed_packet, @@wait_timeout");
+    }
 
     List<String> galeraAllowedStates =
         conf.galeraAllowedState() == null
@@ -240,6 +284,9 @@ public class ClientImpl implements Client, AutoCloseable {
       commands.add("show status like 'wsrep_local_state'");
     }
 
+    // nothing left to ask server
+    if (commands.isEmpty()) return;
+
     try {
       List<Completion> res;
       ClientMessage[] msgs = new ClientMessage[commands.size()];
@@ -250,17 +297,24 @@ public class ClientImpl implements Client, AutoCloseable {
           executePipeline(
               msgs, null, 0, 0L, ResultSet.CONCUR_READ_ONLY, ResultSet.TYPE_FORWARD_ONLY, false);
 
-      // read max allowed packet
-      Result result = (Result) res.get(0);
-      result.next();
-
-      waitTimeout = Integer.parseInt(result.getString(2));
-      writer.setMaxAllowedPacket(Integer.parseInt(result.getString(1)));
+      int resIdx = 0;
+      if (cached == null) {
+        // read max allowed packet
+        Result result = (Result) res.get(resIdx++);
+        result.next();
+
+        waitTimeout = Integer.parseInt(result.getString(2));
+        int maxAllowedPacket = Integer.parseInt(result.getString(1));
+        writer.setMaxAllowedPacket(maxAllowedPacket);
+        if (conf.serverVariablesCacheTtl() > 0) {
+          ServerVariablesCache.put(hostAddress, maxAllowedPacket, waitTimeout);
+        }
+      }
 
       if (hostAddress != null
           && Boolean.TRUE.equals(hostAddress.primary)
           && !galeraAllowedStates.isEmpty()) {
-        ResultSet rs = (ResultSet) res.get(1);
+        ResultSet rs = (ResultSet) res.get(resIdx);
         rs.next();
         if (!galeraAllowedStates.contains(rs.getString(2))) {
           throw exceptionFactory.create(
@@ -285,6 +339,8 @@ public class ClientImpl implements Client, AutoCloseable {
       if (logger.isDebugEnabled() && message.description() != null) {
         logger.debug("execute query: {}", message.description());
       }
+      sendPendingSessionState();
+      if (trackSchemaChanges) trackSchemaChange(message);
       return message.encode(writer, context);
     } catch (IOException ioException) {
       if (ioException instanceof MaxAllowedPacketException) {
@@ -329,6 +385,177 @@ public class ClientImpl implements Client, AutoCloseable {
       int resultSetType,
       boolean closeOnCompletion)
       throws SQLException {
+    HashedWheelTimer.Timeout timeout = armQueryTimeout(stmt);
+    List<Completion> results = null;
+    boolean traced = startTrace(messages[0].description());
+    try {
+      results =
+          executeMessages(
+              messages,
+              stmt,
+              fetchSize,
+              maxRows,
+              resultSetConcurrency,
+              resultSetType,
+              closeOnCompletion);
+      return results;
+    } finally {
+      if (traced) endTrace(messages.length, results);
+      disarmQueryTimeout(timeout);
+    }
+  }
+
+  /**
+   * Arm client side query timeout of statement, if any: when expiring, running query is killed
+   * using a control connection (see {@link ControlConnections}). SQL command is not modified.
+   *
+   * @param stmt statement
+   * @return timeout to disarm when command ends, or null if none
+   * @throws SQLException if statement is closed
+   */
+  private HashedWheelTimer.Timeout armQueryTimeout(com.singlestore.jdbc.Statement stmt)
+      throws SQLException {
+    if (stmt == null || queryTimeout != null) return null;
+    int seconds = stmt.getQueryTimeout();
+    if (seconds <= 0) return null;
+    String killCmd = "KILL QUERY " + context.getThreadId();
+    queryTimeout =
+        HashedWheelTimer.shared()
+            .newTimeout(
+                () -> {
+                  try {
+                    ControlConnections.execute(conf, hostAddress, killCmd);
+                  } catch (SQLException e) {
+                    logger.debug("query timeout: KILL QUERY failed", e);
+                  }
+                },
+                seconds,
+                TimeUnit.SECONDS);
+    return queryTimeout;
+  }
+
+  private void disarmQueryTimeout(HashedWheelTimer.Timeout timeout) {
+    if (timeout != null) {
+      // waits for KILL QUERY to complete if expiring, so it cannot kill next command
+      timeout.cancel();
+      queryTimeout = null;
+    }
+  }
+
+  /**
+   * Send session changes that connection has deferred (option lazySessionState) before next
+   * command. Changes are pipelined, and their results are read before sending command: command
+   * must not run with previous autocommit, database or isolation level if a change fails.
+   *
+   * @throws IOException if socket error occurs
+   * @throws SQLException if packet encoding fails, or a session change fails
+   */
+  protected void sendPendingSessionState() throws IOException, SQLException {
+    if (!context.hasPendingSessionState()) return;
+    if (streamStmt != null) {
+      streamStmt.fetchRemaining();
+      streamStmt = null;
+    }
+    List<ClientMessage> messages = new ArrayList<>(3);
+    Boolean autoCommit = context.getPendingAutoCommit();
+    if (autoCommit != null) {
+      messages.add(new QueryPacket("set autocommit=" + (autoCommit ? "1" : "0")));
+    }
+    if (context.getPendingDatabase() != null) {
+      messages.add(new ChangeDbPacket(context.getPendingDatabase()));
+    }
+    if (context.getPendingIsolationQuery() != null) {
+      messages.add(new QueryPacket(context.getPendingIsolationQuery()));
+    }
+    for (ClientMessage message : messages) {
+      message.encode(writer, context);
+    }
+    SQLException error = readPendingSessionState(messages);
+    if (error != null) throw error;
+  }
+
+  /**
+   * Increment context schema version when command is a DDL command, to invalidate cached
+   * metadata. Leading comments are skipped; an executable comment (<code>/*!</code>) or an
+   * unterminated comment invalidates metadata conservatively.
+   *
+   * @param message command
+   */
+  protected void trackSchemaChange(ClientMessage message) {
+    String sql = message.description();
+    if (sql == null) return;
+    int len = sql.length();
+    int pos = 0;
+    while (pos < len) {
+      char c = sql.charAt(pos);
+      if (Character.isWhitespace(c) || c == '(') {
+        pos++;
+      } else if (c == '/' && pos + 1 < len && sql.charAt(pos + 1) == '*') {
+        int end = sql.indexOf("*/", pos + 2);
+        if (end == -1 || (pos + 2 < len && sql.charAt(pos + 2) == '!')) {
+          context.incrementSchemaVersion();
+          return;
+        }
+        pos = end + 2;
+      } else if (c == '#'
+          || (c == '-'
+              && pos + 1 < len
+              && sql.charAt(pos + 1) == '-'
+              && (pos + 2 == len || Character.isWhitespace(sql.charAt(pos + 2))))) {
+        int end = sql.indexOf('\n', pos);
+        if (end == -1) return;
+        pos = end + 1;
+      } else {
+        break;
+      }
+    }
+    for (String command : DDL_COMMANDS) {
+      if (sql.regionMatches(true, pos, command, 0, command.length())) {
+        context.incrementSchemaVersion();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Read results of deferred session changes.
+   *
+   * @param messages session change commands sent
+   * @return first error, or null if all session changes succeed
+   */
+  private SQLException readPendingSessionState(List<ClientMessage> messages) {
+    SQLException error = null;
+    for (ClientMessage message : messages) {
+      try {
+        readResults(
+            null,
+            message,
+            new ArrayList<>(1),
+            0,
+            0L,
+            ResultSet.CONCUR_READ_ONLY,
+            ResultSet.TYPE_FORWARD_ONLY,
+            false);
+        if (message instanceof ChangeDbPacket) {
+          context.setDatabase(context.getPendingDatabase());
+        }
+      } catch (SQLException sqle) {
+        if (error == null) error = sqle;
+      }
+    }
+    context.clearPendingSessionState();
+    return error;
+  }
+
+  private List<Completion> executeMessages(
+      ClientMessage[] messages,
+      com.singlestore.jdbc.Statement stmt,
+      int fetchSize,
+      long maxRows,
+      int resultSetConcurrency,
+      int resultSetType,
+      boolean closeOnCompletion)
+      throws SQLException {
     List<Completion> results = new ArrayList<>();
 
     int readCounter = 0;
@@ -416,9 +643,102 @@ public class ClientImpl implements Client, AutoCloseable {
       int resultSetType,
       boolean closeOnCompletion)
       throws SQLException {
-    sendQuery(message);
-    return readResponse(
-        stmt, message, fetchSize, maxRows, resultSetConcurrency, resultSetType, closeOnCompletion);
+    HashedWheelTimer.Timeout timeout = armQueryTimeout(stmt);
+    List<Completion> completions = null;
+    boolean traced = startTrace(message.description());
+    try {
+      sendQuery(message);
+      completions =
+          readResponse(
+              stmt,
+              message,
+              fetchSize,
+              maxRows,
+              resultSetConcurrency,
+              resultSetType,
+              closeOnCompletion);
+      return completions;
+    } finally {
+      if (traced) endTrace(1, completions);
+      disarmQueryTimeout(timeout);
+    }
+  }
+
+  /**
+   * Start command tracing if next command must be traced (see {@link AsyncTracer}) or query
+   * listener is set.
+   *
+   * @param sql command sql
+   * @return true if command is traced
+   */
+  private boolean startTrace(String sql) {
+    if (tracing || (traceSampleRate <= 0 && queryListener == null)) return false;
+    asyncTraced = traceSampleRate > 0 && AsyncTracer.sample(traceSampleRate);
+    if (!asyncTraced && queryListener == null) return false;
+    tracing = true;
+    traceSql = sql;
+    if (asyncTraced) {
+      writer.setAsyncTrace(tracePackets);
+      reader.setAsyncTrace(tracePackets);
+    }
+    traceBytesOut = writer.getBytesWritten();
+    traceBytesIn = reader.getBytesRead();
+    if (queryListener != null) {
+      queryListener.beforeSend(sql);
+      reader.setFirstByteListener(firstByteListener);
+    }
+    traceStart = System.nanoTime();
+    return true;
+  }
+
+  private void endTrace(int commands, List<Completion> completions) {
+    long duration = System.nanoTime() - traceStart;
+    String sql = traceSql;
+    tracing = false;
+    traceSql = null;
+    long rows = 0;
+    long affectedRows = 0;
+    if (completions != null) {
+      for (Completion completion : completions) {
+        if (completion instanceof Result) {
+          rows += ((Result) completion).loadedRows();
+        } else if (completion instanceof OkPacket) {
+          affectedRows += ((OkPacket) completion).getAffectedRows();
+        }
+      }
+    }
+    long bytesOut = writer.getBytesWritten() - traceBytesOut;
+    long bytesIn = reader.getBytesRead() - traceBytesIn;
+
+    if (queryListener != null) {
+      reader.setFirstByteListener(null);
+      queryListener.afterComplete(
+          sql,
+          duration,
+          bytesOut,
+          bytesIn,
+          rows,
+          completions != null,
+          (context.getServerStatus() & ServerStatus.NO_BACKSLASH_ESCAPES) != 0);
+    }
+
+    if (asyncTraced) {
+      writer.setAsyncTrace(false);
+      reader.setAsyncTrace(false);
+      if (sql != null && sql.length() > conf.maxQuerySizeToLog()) {
+        sql = sql.substring(0, conf.maxQuerySizeToLog()) + "...";
+      }
+      AsyncTracer.query(
+          context.getThreadId(),
+          sql,
+          commands,
+          duration,
+          bytesOut,
+          bytesIn,
+          rows,
+          affectedRows,
+          completions != null);
+    }
   }
 
   public List<Completion> readResponse(
@@ -655,8 +975,8 @@ public class ClientImpl implements Client, AutoCloseable {
       if (!lockStatus) {
         // lock not available : query is running
         // force end by executing an KILL connection
-        try (ClientImpl cli = new ClientImpl(conf, hostAddress, new ReentrantLock(), true)) {
-          cli.execute(new QueryPacket("KILL " + context.getThreadId()));
+        try {
+          ControlConnections.execute(conf, hostAddress, "KILL " + context.getThreadId());
         } catch (SQLException e) {
           // eat
         }
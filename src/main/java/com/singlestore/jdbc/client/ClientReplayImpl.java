@@ -29,8 +29,23 @@ public class ClientReplayImpl extends ClientImpl {
   public int sendQuery(ClientMessage message) throws SQLException {
     checkNotClosed();
     try {
-      if (message instanceof RedoableClientMessage)
-        ((RedoableClientMessage) message).ensureReplayable(context);
+      sendPendingSessionState();
+      if (trackSchemaChanges) trackSchemaChange(message);
+      if (message instanceof RedoableClientMessage) {
+        RedoableClientMessage redoable = (RedoableClientMessage) message;
+        redoable.ensureReplayable(context);
+        // record command as sent, to permit replaying it
+        TransactionSaver transactionSaver = ((RedoContext) context).getTransactionSaver();
+        transactionSaver.startMessage(redoable);
+        writer.setTransactionSaver(transactionSaver);
+        try {
+          int responseNumber = message.encode(writer, context);
+          transactionSaver.endMessage(responseNumber);
+          return responseNumber;
+        } finally {
+          writer.setTransactionSaver(null);
+        }
+      }
       return message.encode(writer, context);
     } catch (IOException ioException) {
       if (ioException instanceof MaxAllowedPacketException) {
@@ -65,17 +80,23 @@ public class ClientReplayImpl extends ClientImpl {
       int resultSetType,
       boolean closeOnCompletion)
       throws SQLException {
-    List<Completion> res =
-        super.executePipeline(
-            messages,
-            stmt,
-            fetchSize,
-            maxRows,
-            resultSetConcurrency,
-            resultSetType,
-            closeOnCompletion);
-    ((RedoContext) context).saveRedo(messages);
-    return res;
+    TransactionSaver transactionSaver = ((RedoContext) context).getTransactionSaver();
+    try {
+      List<Completion> res =
+          super.executePipeline(
+              messages,
+              stmt,
+              fetchSize,
+              maxRows,
+              resultSetConcurrency,
+              resultSetType,
+              closeOnCompletion);
+      transactionSaver.commit();
+      return res;
+    } catch (SQLException e) {
+      transactionSaver.discardPending();
+      throw e;
+    }
   }
 
   @Override
@@ -88,45 +109,46 @@ public class ClientReplayImpl extends ClientImpl {
       int resultSetType,
       boolean closeOnCompletion)
       throws SQLException {
-    List<Completion> completions =
-        super.execute(
-            message,
-            stmt,
-            fetchSize,
-            maxRows,
-            resultSetConcurrency,
-            resultSetType,
-            closeOnCompletion);
-    ((RedoContext) context).saveRedo(message);
-    return completions;
+    TransactionSaver transactionSaver = ((RedoContext) context).getTransactionSaver();
+    try {
+      List<Completion> completions =
+          super.execute(
+              message,
+              stmt,
+              fetchSize,
+              maxRows,
+              resultSetConcurrency,
+              resultSetType,
+              closeOnCompletion);
+      transactionSaver.commit();
+      return completions;
+    } catch (SQLException e) {
+      transactionSaver.discardPending();
+      throw e;
+    }
   }
 
   public void transactionReplay(TransactionSaver transactionSaver) throws SQLException {
-    List<RedoableClientMessage> buffers = transactionSaver.getBuffers();
+    TransactionSaver.Iterator journal = transactionSaver.iterator();
     try {
-      // replay all but last
-      PrepareResultPacket prepare;
-      for (RedoableClientMessage querySaver : buffers) {
-        int responseNo;
-        if (querySaver instanceof RedoableWithPrepareClientMessage) {
+      while (journal.next()) {
+        PrepareResultPacket prepare = null;
+        String cmd = journal.getPrepareCommand();
+        if (cmd != null) {
           // command is a prepare statement query
           // redo on new connection need to re-prepare query
           // and substitute statement id
-          RedoableWithPrepareClientMessage redoable =
-              ((RedoableWithPrepareClientMessage) querySaver);
-          String cmd = redoable.getCommand();
-          prepare = context.getPrepareCache().get(cmd, redoable.prep());
+          prepare = context.getPrepareCache().get(cmd, null);
           if (prepare == null) {
             PreparePacket preparePacket = new PreparePacket(cmd);
             sendQuery(preparePacket);
             prepare = (PrepareResultPacket) readPacket(preparePacket);
           }
-          responseNo = querySaver.reEncode(writer, context, prepare);
-        } else {
-          responseNo = querySaver.reEncode(writer, context, null);
         }
+        ReplayPacket replayPacket = new ReplayPacket(journal, prepare);
+        int responseNo = replayPacket.encode(writer, context);
         for (int j = 0; j < responseNo; j++) {
-          readResponse(querySaver);
+          readResponse(replayPacket);
         }
       }
     } catch (IOException e) {
@@ -0,0 +1,74 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.client;
+
+import com.singlestore.jdbc.client.socket.PacketReader;
+import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Column definitions of last executed queries. Column definition packets identical to the ones of
+ * the previous execution of a query are not parsed again: the already parsed definitions (and the
+ * codecs they resolved) are reused.
+ */
+public final class ColumnDefinitionCache extends LinkedHashMap<String, ColumnDefinitionPacket[]> {
+
+  private static final long serialVersionUID = -3285610785425138573L;
+  private final int maxSize;
+
+  public ColumnDefinitionCache(int size) {
+    super(size, .75f, true);
+    this.maxSize = size;
+  }
+
+  @Override
+  public boolean removeEldestEntry(Map.Entry<String, ColumnDefinitionPacket[]> eldest) {
+    return this.size() > maxSize;
+  }
+
+  /**
+   * Read column definition packets of a result-set.
+   *
+   * @param sql query, null if unknown
+   * @param fieldCount number of columns
+   * @param reader packet reader
+   * @param extendedInfo server send extended type information
+   * @param traceEnable must trace packets
+   * @return column definitions
+   * @throws IOException if any socket error occurs
+   */
+  public synchronized ColumnDefinitionPacket[] read(
+      String sql, int fieldCount, PacketReader reader, boolean extendedInfo, boolean traceEnable)
+      throws IOException {
+    ColumnDefinitionPacket[] cached = (sql == null || maxSize == 0) ? null : super.get(sql);
+    if (cached == null || cached.length != fieldCount) {
+      ColumnDefinitionPacket[] ci = new ColumnDefinitionPacket[fieldCount];
+      for (int i = 0; i < fieldCount; i++) {
+        ci[i] = new ColumnDefinitionPacket(reader.readPacket(false, traceEnable), extendedInfo);
+      }
+      if (sql != null && maxSize > 0) super.put(sql, ci);
+      return ci;
+    }
+
+    ColumnDefinitionPacket[] ci = cached;
+    for (int i = 0; i < fieldCount; i++) {
+      // packet is only compared, so can use reader reusable buffer
+      ReadableByteBuf buf = reader.readPacket(true, traceEnable);
+      if (!cached[i].sameDefinition(buf)) {
+        if (ci == cached) ci = Arrays.copyOf(cached, fieldCount);
+        byte[] packet = Arrays.copyOfRange(buf.buf(), buf.pos(), buf.limit());
+        ci[i] =
+            new ColumnDefinitionPacket(
+                new ReadableByteBuf(buf.getSequence(), packet, packet.length), extendedInfo);
+      }
+    }
+    if (ci != cached) super.put(sql, ci);
+    return ci;
+  }
+}
@@ -9,6 +9,7 @@ import com.singlestore.jdbc.Configuration;
 import com.singlestore.jdbc.HostAddress;
 import com.singlestore.jdbc.SslMode;
 import com.singlestore.jdbc.client.context.Context;
+import com.singlestore.jdbc.client.socket.ChannelSocket;
 import com.singlestore.jdbc.client.socket.PacketReader;
 import com.singlestore.jdbc.client.socket.PacketWriter;
 import com.singlestore.jdbc.client.socket.SocketHandlerFunction;
@@ -67,6 +68,21 @@ public final class ConnectionHelper {
     return socketHandler.apply(conf, hostAddress);
   }
 
+  /**
+   * Indicate if unix domain socket must use NIO channels (option localSocketTransport "nio"), or
+   * native implementation (option value "native"). By default, channels are used if java runtime
+   * supports them (java 16+).
+   *
+   * @param conf configuration
+   * @return true if unix domain socket must use channels
+   */
+  public static boolean useChannelSocket(Configuration conf) {
+    String transport = conf.localSocketTransport();
+    return transport == null
+        ? ChannelSocket.isUnixDomainSupported()
+        : "nio".equalsIgnoreCase(transport);
+  }
+
   /**
    * Use standard socket implementation.
    *
@@ -78,6 +94,10 @@ public final class ConnectionHelper {
    */
   public static Socket standardSocket(Configuration conf, HostAddress hostAddress)
       throws IOException, SQLException {
+    if (conf.localSocket() != null && useChannelSocket(conf)) {
+      // unix domain socket without native library
+      return ChannelSocket.unixDomain(conf.localSocket());
+    }
     SocketFactory socketFactory;
     String socketFactoryName = conf.socketFactory();
     if (socketFactoryName != null) {
@@ -0,0 +1,236 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.client;
+
+import com.singlestore.jdbc.Configuration;
+import com.singlestore.jdbc.HostAddress;
+import com.singlestore.jdbc.message.client.QueryPacket;
+import com.singlestore.jdbc.util.HashedWheelTimer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Control connections, used to send KILL / KILL QUERY commands. Instead of creating a new
+ * connection for each command, a connection is lazily created for each host and configuration,
+ * and shared by all connections: commands of concurrent threads are queued on it, so a
+ * cancellation costs a single round trip once connected.
+ *
+ * <p>Number of queued commands by host is bounded by option <code>controlConnectionMaxPending
+ * </code> (default 32). After a connection failure, new connection attempts are delayed for 1
+ * second, failing fast in the meantime. Option <code>controlConnection=false</code> reverts to a
+ * new connection per command.
+ *
+ * <p>Control connections are closed after 60 seconds without command, when their pool is closed,
+ * or when driver is deregistered. At most 64 control connections are kept, the least recently used
+ * one being closed when exceeded. Configurations are identified by a digest of their URL, so
+ * credentials are not kept once the control connection is closed.
+ */
+public final class ControlConnections {
+
+  private static final long RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final long IDLE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+  private static final int MAX_CHANNELS = 64;
+  private static final Map<Key, Channel> CHANNELS = new ConcurrentHashMap<>();
+
+  private ControlConnections() {}
+
+  /**
+   * Execute command using control connection of host.
+   *
+   * @param conf configuration
+   * @param hostAddress host
+   * @param sql command
+   * @throws SQLException if connection fails, or command fails
+   */
+  public static void execute(Configuration conf, HostAddress hostAddress, String sql)
+      throws SQLException {
+    if (!conf.controlConnection()) {
+      try (Client cli = new ClientImpl(conf, hostAddress, new ReentrantLock(), true)) {
+        cli.execute(new QueryPacket(sql));
+      }
+      return;
+    }
+    Key key = new Key(digest(conf), hostAddress);
+    Channel channel = CHANNELS.get(key);
+    if (channel == null) {
+      channel = CHANNELS.computeIfAbsent(key, k -> new Channel(k, conf));
+      if (CHANNELS.size() > MAX_CHANNELS) evictLeastRecentlyUsed(channel);
+    }
+    channel.execute(sql);
+  }
+
+  /**
+   * Close control connections of a configuration.
+   *
+   * @param conf configuration
+   */
+  public static void close(Configuration conf) {
+    byte[] digest = digest(conf);
+    for (Channel channel : CHANNELS.values()) {
+      if (Arrays.equals(digest, channel.key.digest)) channel.evict();
+    }
+  }
+
+  /** Close all control connections. */
+  public static void closeAll() {
+    for (Channel channel : CHANNELS.values()) {
+      channel.evict();
+    }
+  }
+
+  private static void evictLeastRecentlyUsed(Channel current) {
+    Channel eldest = null;
+    for (Channel channel : CHANNELS.values()) {
+      if (channel != current && (eldest == null || channel.lastUsed - eldest.lastUsed < 0)) {
+        eldest = channel;
+      }
+    }
+    if (eldest != null) eldest.evict();
+  }
+
+  private static byte[] digest(Configuration conf) {
+    try {
+      return MessageDigest.getInstance("SHA-256")
+          .digest(conf.initialUrl().getBytes(StandardCharsets.UTF_8));
+    } catch (NoSuchAlgorithmException e) {
+      // SHA-256 is mandatory for any java platform
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static final class Key {
+    private final byte[] digest;
+    private final HostAddress hostAddress;
+
+    private Key(byte[] digest, HostAddress hostAddress) {
+      this.digest = digest;
+      this.hostAddress = hostAddress;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Key)) return false;
+      Key key = (Key) o;
+      return Arrays.equals(digest, key.digest) && Objects.equals(hostAddress, key.hostAddress);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * Arrays.hashCode(digest) + Objects.hashCode(hostAddress);
+    }
+  }
+
+  private static final class Channel {
+    private final Key key;
+    private final Configuration conf;
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Semaphore pending;
+    private volatile long lastUsed = System.nanoTime();
+    private boolean idleCheckScheduled;
+    private ClientImpl client;
+    private SQLException connectError;
+    private long retryAfter;
+
+    private Channel(Key key, Configuration conf) {
+      this.key = key;
+      this.conf = conf;
+      this.pending = new Semaphore(conf.controlConnectionMaxPending());
+    }
+
+    private void execute(String sql) throws SQLException {
+      try {
+        if (!pending.tryAcquire(Math.max(conf.connectTimeout(), 1), TimeUnit.MILLISECONDS)) {
+          throw new SQLTransientConnectionException(
+              "Too many pending control commands for " + key.hostAddress, "08000");
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SQLTransientConnectionException("Interrupted", "08000", e);
+      }
+      lock.lock();
+      try {
+        boolean reconnected = false;
+        while (true) {
+          if (client == null || client.isClosed()) {
+            connect();
+            reconnected = true;
+          }
+          try {
+            client.execute(new QueryPacket(sql));
+            return;
+          } catch (SQLException e) {
+            // idle connection might have been closed by server: retry once on a new connection
+            if (reconnected || !client.isClosed()) throw e;
+          }
+        }
+      } finally {
+        lastUsed = System.nanoTime();
+        if (client != null && !idleCheckScheduled) {
+          idleCheckScheduled = true;
+          scheduleIdleCheck(IDLE_TIMEOUT_NANOS);
+        }
+        lock.unlock();
+        pending.release();
+      }
+    }
+
+    private void connect() throws SQLException {
+      client = null;
+      if (connectError != null && System.nanoTime() - retryAfter < 0) throw connectError;
+      try {
+        client = new ClientImpl(conf, key.hostAddress, new ReentrantLock(), true);
+        connectError = null;
+      } catch (SQLException e) {
+        connectError = e;
+        retryAfter = System.nanoTime() + RETRY_DELAY_NANOS;
+        throw e;
+      }
+    }
+
+    private void scheduleIdleCheck(long delayNanos) {
+      HashedWheelTimer.shared().newTimeout(this::checkIdle, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void checkIdle() {
+      lock.lock();
+      try {
+        long idle = System.nanoTime() - lastUsed;
+        if (idle < IDLE_TIMEOUT_NANOS) {
+          scheduleIdleCheck(IDLE_TIMEOUT_NANOS - idle);
+          return;
+        }
+        idleCheckScheduled = false;
+        evict();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void evict() {
+      CHANNELS.remove(key, this);
+      lock.lock();
+      try {
+        if (client != null) client.close();
+      } catch (SQLException e) {
+        // eat
+      } finally {
+        client = null;
+        lock.unlock();
+      }
+    }
+  }
+}
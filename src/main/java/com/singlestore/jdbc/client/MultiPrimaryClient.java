@@ -173,6 +173,17 @@ public class MultiPrimaryClient implements Client {
     // transaction replay
     if ((oldCli.getContext().getServerStatus() & ServerStatus.IN_TRANSACTION) > 0) {
       RedoContext ctx = (RedoContext) oldCli.getContext();
+      if (!ctx.getTransactionSaver().isReplayable()) {
+        // transaction was too big to be saved
+        throw new SQLTransientConnectionException(
+            String.format(
+                "Driver has reconnect connection after a "
+                    + "communications "
+                    + "link "
+                    + "failure with %s. In progress transaction was too big to be replayed",
+                oldCli.getHostAddress()),
+            "25S03");
+      }
       ((ClientReplayImpl) currentClient).transactionReplay(ctx.getTransactionSaver());
     }
   }
@@ -180,21 +191,30 @@ public class MultiPrimaryClient implements Client {
   public void syncNewState(Client oldCli) throws SQLException {
     Context oldCtx = oldCli.getContext();
     currentClient.getExceptionFactory().setConnection(oldCli.getExceptionFactory());
+    Context newCtx = currentClient.getContext();
     if ((oldCtx.getStateFlag() & ConnectionState.STATE_AUTOCOMMIT) > 0) {
-      if ((oldCtx.getServerStatus() & ServerStatus.AUTOCOMMIT)
-          != (currentClient.getContext().getServerStatus() & ServerStatus.AUTOCOMMIT)) {
-        currentClient.getContext().addStateFlag(ConnectionState.STATE_AUTOCOMMIT);
-        currentClient.execute(
-            new QueryPacket(
-                "set autocommit="
-                    + (((oldCtx.getServerStatus() & ServerStatus.AUTOCOMMIT) > 0) ? "1" : "0")));
+      newCtx.addStateFlag(ConnectionState.STATE_AUTOCOMMIT);
+      boolean oldAutoCommit = (oldCtx.getServerStatus() & ServerStatus.AUTOCOMMIT) > 0;
+      boolean newAutoCommit = (newCtx.getServerStatus() & ServerStatus.AUTOCOMMIT) > 0;
+      Boolean pendingAutoCommit = oldCtx.getPendingAutoCommit();
+      if (pendingAutoCommit != null) {
+        // deferred change is sent with next command
+        newCtx.setPendingAutoCommit(pendingAutoCommit == newAutoCommit ? null : pendingAutoCommit);
+      } else if (oldAutoCommit != newAutoCommit) {
+        currentClient.execute(new QueryPacket("set autocommit=" + (oldAutoCommit ? "1" : "0")));
       }
     }
 
-    if ((oldCtx.getStateFlag() & ConnectionState.STATE_DATABASE) > 0
-        && !Objects.equals(currentClient.getContext().getDatabase(), oldCtx.getDatabase())) {
-      currentClient.getContext().addStateFlag(ConnectionState.STATE_DATABASE);
-      currentClient.execute(new ChangeDbPacket(oldCtx.getDatabase()));
+    if ((oldCtx.getStateFlag() & ConnectionState.STATE_DATABASE) > 0) {
+      newCtx.addStateFlag(ConnectionState.STATE_DATABASE);
+      String pendingDatabase = oldCtx.getPendingDatabase();
+      if (pendingDatabase != null) {
+        // deferred change is sent with next command
+        newCtx.setPendingDatabase(
+            pendingDatabase.equals(newCtx.getDatabase()) ? null : pendingDatabase);
+      } else if (!Objects.equals(newCtx.getDatabase(), oldCtx.getDatabase())) {
+        currentClient.execute(new ChangeDbPacket(oldCtx.getDatabase()));
+      }
     }
 
     if ((oldCtx.getStateFlag() & ConnectionState.STATE_NETWORK_TIMEOUT) > 0) {
@@ -32,6 +32,10 @@ public final class ReadableByteBuf {
     return pos;
   }
 
+  public int limit() {
+    return limit;
+  }
+
   public byte[] buf() {
     return buf;
   }
@@ -0,0 +1,87 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.client;
+
+import com.singlestore.jdbc.HostAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server variables read after connection (max_allowed_packet and wait_timeout), shared by all
+ * connections to the same host. Permits skipping the initialization query while cached values are
+ * fresh, see option <code>serverVariablesCacheTtl</code>.
+ */
+public final class ServerVariablesCache {
+
+  private static final Map<HostAddress, Entry> CACHE = new ConcurrentHashMap<>();
+
+  private ServerVariablesCache() {}
+
+  /**
+   * Get cached server variables for host if not older than ttl.
+   *
+   * @param hostAddress host
+   * @param ttlMillis maximum age in milliseconds
+   * @return cached server variables, or null if none or expired
+   */
+  public static Entry get(HostAddress hostAddress, long ttlMillis) {
+    if (hostAddress == null || ttlMillis <= 0) return null;
+    Entry entry = CACHE.get(hostAddress);
+    if (entry == null) return null;
+    if (System.nanoTime() - entry.created > ttlMillis * 1_000_000L) {
+      CACHE.remove(hostAddress, entry);
+      return null;
+    }
+    return entry;
+  }
+
+  /**
+   * Store server variables read from host.
+   *
+   * @param hostAddress host
+   * @param maxAllowedPacket max_allowed_packet value
+   * @param waitTimeout wait_timeout value
+   */
+  public static void put(HostAddress hostAddress, int maxAllowedPacket, int waitTimeout) {
+    if (hostAddress != null) {
+      CACHE.put(hostAddress, new Entry(maxAllowedPacket, waitTimeout, System.nanoTime()));
+    }
+  }
+
+  /**
+   * Remove cached values for host, forcing next connection to read them again.
+   *
+   * @param hostAddress host
+   */
+  public static void invalidate(HostAddress hostAddress) {
+    if (hostAddress != null) CACHE.remove(hostAddress);
+  }
+
+  /** Remove all cached values. */
+  public static void clear() {
+    CACHE.clear();
+  }
+
+  public static final class Entry {
+    private final int maxAllowedPacket;
+    private final int waitTimeout;
+    private final long created;
+
+    private Entry(int maxAllowedPacket, int waitTimeout, long created) {
+      this.maxAllowedPacket = maxAllowedPacket;
+      this.waitTimeout = waitTimeout;
+      this.created = created;
+    }
+
+    public int getMaxAllowedPacket() {
+      return maxAllowedPacket;
+    }
+
+    public int getWaitTimeout() {
+      return waitTimeout;
+    }
+  }
+}
@@ -17,6 +17,14 @@ public class SocketHelper {
       socket.setSoLinger(true, 0);
     }
 
+    // socket buffer sizes must be set before connecting, for TCP window scaling
+    if (conf.tcpRcvBuf() > 0) {
+      socket.setReceiveBufferSize(conf.tcpRcvBuf());
+    }
+    if (conf.tcpSndBuf() > 0) {
+      socket.setSendBufferSize(conf.tcpSndBuf());
+    }
+
     // Bind the socket to a particular interface if the connection property
     // localSocketAddress has been defined.
     if (conf.localSocketAddress() != null) {
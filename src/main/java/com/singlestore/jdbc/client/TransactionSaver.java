@@ -6,21 +6,338 @@
 package com.singlestore.jdbc.client;
 
 import com.singlestore.jdbc.message.client.RedoableClientMessage;
-import java.util.ArrayList;
-import java.util.List;
+import com.singlestore.jdbc.message.client.RedoableWithPrepareClientMessage;
+import com.singlestore.jdbc.util.log.Logger;
+import com.singlestore.jdbc.util.log.Loggers;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 
+/**
+ * Journal of commands sent in current transaction, permitting to replay them on a new connection.
+ *
+ * <p>Commands are stored as sent on the wire (packet payloads), not as message objects, so
+ * parameters are not retained. Journal size is bounded: the first <code>spillSize</code> bytes are
+ * kept on heap, the following are written to a temporary memory-mapped file (when spill size is
+ * lower than max size). Once <code>maxSize</code> is exceeded, journal content is dropped and
+ * current transaction is marked as not replayable until next transaction.
+ *
+ * <p>Record format: kind (1 byte), expected response number (int), prepare command for commands
+ * using a prepared statement (int length + utf8 bytes), then packets (int length + payload),
+ * terminated by length -1.
+ */
 public class TransactionSaver {
-  private final List<RedoableClientMessage> buffers = new ArrayList<>();
 
-  public void add(RedoableClientMessage clientMessage) {
-    buffers.add(clientMessage);
+  private static final Logger logger = Loggers.getLogger(TransactionSaver.class);
+  private static final int MAX_PACKET_PAYLOAD = 0xffffff;
+  private static final int INITIAL_SIZE = 8192;
+  private static final byte KIND_QUERY = 0;
+  private static final byte KIND_PREPARED = 1;
+
+  private final long maxSize;
+  private final int spillSize;
+  private final byte[] intBuf = new byte[4];
+  private byte[] heap = new byte[0];
+  private MappedByteBuffer spill;
+  private long committed;
+  private long pos;
+  private long recordStart;
+  private boolean recording;
+  private boolean overflow;
+
+  /**
+   * Constructor.
+   *
+   * @param maxSize maximum journal size in bytes
+   * @param spillSize journal size kept on heap, remaining is stored in a memory-mapped file
+   */
+  public TransactionSaver(long maxSize, long spillSize) {
+    this.spillSize = (int) Math.min(Math.min(spillSize, maxSize), Integer.MAX_VALUE - 8);
+    // a single mapped region is used for spilled data
+    this.maxSize = Math.min(maxSize, this.spillSize + (long) Integer.MAX_VALUE);
+  }
+
+  /**
+   * Start recording a command. Following packets sent are added to the command, until {@link
+   * #endMessage(int)}.
+   *
+   * @param message command
+   */
+  public void startMessage(RedoableClientMessage message) {
+    if (overflow) return;
+    recordStart = pos;
+    if (message instanceof RedoableWithPrepareClientMessage) {
+      byte[] cmd =
+          ((RedoableWithPrepareClientMessage) message)
+              .getCommand()
+              .getBytes(StandardCharsets.UTF_8);
+      if (!ensureCapacity(9 + cmd.length)) return;
+      writeByte(KIND_PREPARED);
+      writeInt(0);
+      writeInt(cmd.length);
+      write(cmd, 0, cmd.length);
+    } else {
+      if (!ensureCapacity(5)) return;
+      writeByte(KIND_QUERY);
+      writeInt(0);
+    }
+    recording = true;
+  }
+
+  /**
+   * Add a packet payload to current command.
+   *
+   * @param buf buffer
+   * @param off payload offset
+   * @param len payload length
+   */
+  public void addPacket(byte[] buf, int off, int len) {
+    if (!recording) return;
+    if (!ensureCapacity(4 + len)) return;
+    writeInt(len);
+    write(buf, off, len);
+  }
+
+  /**
+   * End recording of current command.
+   *
+   * @param responseNumber number of responses the command produces
+   */
+  public void endMessage(int responseNumber) {
+    if (!recording) return;
+    recording = false;
+    if (!ensureCapacity(4)) return;
+    writeInt(-1);
+    // response number was reserved after the kind byte
+    long end = pos;
+    pos = recordStart + 1;
+    writeInt(responseNumber);
+    pos = end;
+  }
+
+  /** Commands recorded since last call are part of transaction. */
+  public void commit() {
+    recording = false;
+    committed = pos;
   }
 
+  /** Discard commands recorded since last {@link #commit()}, their execution having failed. */
+  public void discardPending() {
+    recording = false;
+    pos = committed;
+  }
+
+  /** New transaction: empty journal. */
   public void clear() {
-    buffers.clear();
+    recording = false;
+    overflow = false;
+    committed = 0;
+    pos = 0;
+    // free large heap buffer used by a big transaction
+    if (heap.length > INITIAL_SIZE * 16) heap = new byte[0];
+  }
+
+  /**
+   * Indicate if current transaction can be replayed.
+   *
+   * @return true if journal contains all commands of current transaction
+   */
+  public boolean isReplayable() {
+    return !overflow;
+  }
+
+  /**
+   * Current journal size in bytes.
+   *
+   * @return size
+   */
+  public long size() {
+    return committed;
+  }
+
+  /**
+   * Indicate if a payload is the last packet of a command.
+   *
+   * @param payloadLength packet payload length
+   * @return true if command ends with this packet
+   */
+  public static boolean isCommandEnd(int payloadLength) {
+    return payloadLength < MAX_PACKET_PAYLOAD;
+  }
+
+  /**
+   * Journal iterator over commands of current transaction.
+   *
+   * @return iterator
+   */
+  public Iterator iterator() {
+    return new Iterator();
   }
 
-  public List<RedoableClientMessage> getBuffers() {
-    return buffers;
+  private boolean ensureCapacity(int len) {
+    if (pos + len > maxSize) {
+      logger.debug(
+          "transaction replay journal exceed {} bytes, transaction will not be replayable",
+          maxSize);
+      disable();
+      return false;
+    }
+    long needed = Math.min(pos + len, spillSize);
+    if (needed > heap.length) {
+      int newSize = Math.max(heap.length, INITIAL_SIZE);
+      while (newSize < needed) newSize = (int) Math.min((long) newSize << 1, spillSize);
+      heap = Arrays.copyOf(heap, newSize);
+    }
+    if (pos + len > spillSize && spill == null) {
+      try {
+        spill = mapSpillFile(maxSize - spillSize);
+      } catch (IOException e) {
+        logger.debug("transaction replay journal spill file creation failed", e);
+        disable();
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void disable() {
+    overflow = true;
+    recording = false;
+    committed = 0;
+    pos = 0;
+    heap = new byte[0];
+    spill = null;
+  }
+
+  private static MappedByteBuffer mapSpillFile(long size) throws IOException {
+    File file = File.createTempFile("singlestore-replay", ".tmp");
+    try (FileChannel channel =
+        FileChannel.open(
+            file.toPath(),
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.DELETE_ON_CLOSE)) {
+      // mapping stays valid after channel is closed and file deleted
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(size, Integer.MAX_VALUE));
+    }
+  }
+
+  private void writeByte(byte value) {
+    intBuf[0] = value;
+    write(intBuf, 0, 1);
+  }
+
+  private void writeInt(int value) {
+    intBuf[0] = (byte) value;
+    intBuf[1] = (byte) (value >>> 8);
+    intBuf[2] = (byte) (value >>> 16);
+    intBuf[3] = (byte) (value >>> 24);
+    write(intBuf, 0, 4);
+  }
+
+  private void write(byte[] src, int off, int len) {
+    int heapLen = (int) Math.max(0, Math.min(len, spillSize - pos));
+    if (heapLen > 0) System.arraycopy(src, off, heap, (int) pos, heapLen);
+    if (heapLen < len) {
+      MappedByteBuffer dst = spill;
+      dst.position((int) (pos + heapLen - spillSize));
+      dst.put(src, off + heapLen, len - heapLen);
+    }
+    pos += len;
+  }
+
+  private void read(long from, byte[] dst, int off, int len) {
+    int heapLen = (int) Math.max(0, Math.min(len, spillSize - from));
+    if (heapLen > 0) System.arraycopy(heap, (int) from, dst, off, heapLen);
+    if (heapLen < len) {
+      ByteBuffer src = spill.duplicate();
+      src.position((int) (from + heapLen - spillSize));
+      src.get(dst, off + heapLen, len - heapLen);
+    }
+  }
+
+  /** Iterator over journal commands. */
+  public final class Iterator {
+    private long readPos;
+    private boolean inCommand;
+    private String prepareCommand;
+    private int responseNumber;
+    private final byte[] intBuffer = new byte[4];
+
+    private Iterator() {}
+
+    /**
+     * Move to next command.
+     *
+     * @return false if there is no more commands
+     */
+    public boolean next() {
+      // skip unread packets of current command
+      while (inCommand) nextPacket();
+      if (readPos >= committed) return false;
+      read(readPos++, intBuffer, 0, 1);
+      boolean prepared = intBuffer[0] == KIND_PREPARED;
+      responseNumber = readInt();
+      if (prepared) {
+        byte[] cmd = new byte[readInt()];
+        read(readPos, cmd, 0, cmd.length);
+        readPos += cmd.length;
+        prepareCommand = new String(cmd, StandardCharsets.UTF_8);
+      } else {
+        prepareCommand = null;
+      }
+      inCommand = true;
+      return true;
+    }
+
+    /**
+     * Prepare command, if command executes a prepared statement.
+     *
+     * @return prepare command, or null for text commands
+     */
+    public String getPrepareCommand() {
+      return prepareCommand;
+    }
+
+    /**
+     * Number of responses current command produces.
+     *
+     * @return response number
+     */
+    public int getResponseNumber() {
+      return responseNumber;
+    }
+
+    /**
+     * Read next packet payload of current command.
+     *
+     * @return payload, or null when all packets of current command have been read
+     */
+    public byte[] nextPacket() {
+      if (!inCommand) return null;
+      int len = readInt();
+      if (len == -1) {
+        inCommand = false;
+        return null;
+      }
+      byte[] payload = new byte[len];
+      read(readPos, payload, 0, len);
+      readPos += len;
+      return payload;
+    }
+
+    private int readInt() {
+      read(readPos, intBuffer, 0, 4);
+      readPos += 4;
+      return (intBuffer[0] & 0xff)
+          | ((intBuffer[1] & 0xff) << 8)
+          | ((intBuffer[2] & 0xff) << 16)
+          | ((intBuffer[3] & 0xff) << 24);
+    }
   }
 }
@@ -6,6 +6,7 @@
 package com.singlestore.jdbc.client.context;
 
 import com.singlestore.jdbc.Configuration;
+import com.singlestore.jdbc.client.ColumnDefinitionCache;
 import com.singlestore.jdbc.client.PrepareCache;
 import com.singlestore.jdbc.message.server.InitialHandshakePacket;
 import com.singlestore.jdbc.util.constants.Capabilities;
@@ -26,14 +27,20 @@ public class BaseContext implements Context {
   private int transactionIsolationLevel;
   private int warning;
   private final PrepareCache prepareCache;
+  private final ColumnDefinitionCache columnDefinitionCache;
   private int stateFlag = 0;
+  private Boolean pendingAutoCommit;
+  private String pendingDatabase;
+  private String pendingIsolationQuery;
+  private int schemaVersion;
 
   public BaseContext(
       InitialHandshakePacket handshake,
       long clientCapabilities,
       Configuration conf,
       ExceptionFactory exceptionFactory,
-      PrepareCache prepareCache) {
+      PrepareCache prepareCache,
+      ColumnDefinitionCache columnDefinitionCache) {
     this.threadId = handshake.getThreadId();
     this.seed = handshake.getSeed();
     this.serverCapabilities = handshake.getCapabilities();
@@ -45,6 +52,7 @@ public class BaseContext implements Context {
     this.database = conf.database();
     this.exceptionFactory = exceptionFactory;
     this.prepareCache = prepareCache;
+    this.columnDefinitionCache = columnDefinitionCache;
   }
 
   public long getThreadId() {
@@ -115,6 +123,10 @@ public class BaseContext implements Context {
     return prepareCache;
   }
 
+  public ColumnDefinitionCache getColumnDefinitionCache() {
+    return columnDefinitionCache;
+  }
+
   public int getStateFlag() {
     return stateFlag;
   }
@@ -126,4 +138,46 @@ public class BaseContext implements Context {
   public void addStateFlag(int state) {
     stateFlag |= state;
   }
+
+  public Boolean getPendingAutoCommit() {
+    return pendingAutoCommit;
+  }
+
+  public void setPendingAutoCommit(Boolean autoCommit) {
+    this.pendingAutoCommit = autoCommit;
+  }
+
+  public String getPendingDatabase() {
+    return pendingDatabase;
+  }
+
+  public void setPendingDatabase(String database) {
+    this.pendingDatabase = database;
+  }
+
+  public String getPendingIsolationQuery() {
+    return pendingIsolationQuery;
+  }
+
+  public void setPendingIsolationQuery(String query) {
+    this.pendingIsolationQuery = query;
+  }
+
+  public boolean hasPendingSessionState() {
+    return pendingAutoCommit != null || pendingDatabase != null || pendingIsolationQuery != null;
+  }
+
+  public void clearPendingSessionState() {
+    pendingAutoCommit = null;
+    pendingDatabase = null;
+    pendingIsolationQuery = null;
+  }
+
+  public int getSchemaVersion() {
+    return schemaVersion;
+  }
+
+  public void incrementSchemaVersion() {
+    schemaVersion++;
+  }
 }
@@ -6,6 +6,7 @@
 package com.singlestore.jdbc.client.context;
 
 import com.singlestore.jdbc.Configuration;
+import com.singlestore.jdbc.client.ColumnDefinitionCache;
 import com.singlestore.jdbc.client.PrepareCache;
 import com.singlestore.jdbc.util.exceptions.ExceptionFactory;
 
@@ -45,9 +46,31 @@ public interface Context {
 
   PrepareCache getPrepareCache();
 
+  ColumnDefinitionCache getColumnDefinitionCache();
+
   int getStateFlag();
 
   void resetStateFlag();
 
   void addStateFlag(int state);
+
+  Boolean getPendingAutoCommit();
+
+  void setPendingAutoCommit(Boolean autoCommit);
+
+  String getPendingDatabase();
+
+  void setPendingDatabase(String database);
+
+  String getPendingIsolationQuery();
+
+  void setPendingIsolationQuery(String query);
+
+  boolean hasPendingSessionState();
+
+  void clearPendingSessionState();
+
+  int getSchemaVersion();
+
+  void incrementSchemaVersion();
 }
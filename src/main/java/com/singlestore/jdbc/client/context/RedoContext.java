@@ -6,10 +6,9 @@
 package com.singlestore.jdbc.client.context;
 
 import com.singlestore.jdbc.Configuration;
+import com.singlestore.jdbc.client.ColumnDefinitionCache;
 import com.singlestore.jdbc.client.PrepareCache;
 import com.singlestore.jdbc.client.TransactionSaver;
-import com.singlestore.jdbc.message.client.ClientMessage;
-import com.singlestore.jdbc.message.client.RedoableClientMessage;
 import com.singlestore.jdbc.message.server.InitialHandshakePacket;
 import com.singlestore.jdbc.util.constants.ServerStatus;
 import com.singlestore.jdbc.util.exceptions.ExceptionFactory;
@@ -23,9 +22,17 @@ public class RedoContext extends BaseContext {
       long clientCapabilities,
       Configuration conf,
       ExceptionFactory exceptionFactory,
-      PrepareCache prepareCache) {
-    super(handshake, clientCapabilities, conf, exceptionFactory, prepareCache);
-    this.transactionSaver = new TransactionSaver();
+      PrepareCache prepareCache,
+      ColumnDefinitionCache columnDefinitionCache) {
+    super(
+        handshake,
+        clientCapabilities,
+        conf,
+        exceptionFactory,
+        prepareCache,
+        columnDefinitionCache);
+    this.transactionSaver =
+        new TransactionSaver(conf.transactionReplaySize(), conf.transactionReplaySpillSize());
   }
 
   public void setServerStatus(int serverStatus) {
@@ -33,18 +40,6 @@ public class RedoContext extends BaseContext {
     if ((serverStatus & ServerStatus.IN_TRANSACTION) == 0) transactionSaver.clear();
   }
 
-  public void saveRedo(ClientMessage msg) {
-    if (msg instanceof RedoableClientMessage) {
-      RedoableClientMessage redoMsg = (RedoableClientMessage) msg;
-      redoMsg.saveParameters();
-      transactionSaver.add(redoMsg);
-    }
-  }
-
-  public void saveRedo(ClientMessage[] msgs) {
-    for (ClientMessage msg : msgs) saveRedo(msg);
-  }
-
   public TransactionSaver getTransactionSaver() {
     return transactionSaver;
   }
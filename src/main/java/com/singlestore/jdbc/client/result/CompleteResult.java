@@ -10,6 +10,8 @@ import com.singlestore.jdbc.client.context.Context;
 import com.singlestore.jdbc.client.socket.PacketReader;
 import com.singlestore.jdbc.codec.DataType;
 import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
+import com.singlestore.jdbc.util.log.Logger;
+import com.singlestore.jdbc.util.log.Loggers;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.sql.ResultSet;
@@ -18,10 +20,23 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Result-set with all rows loaded when created.
+ *
+ * <p>When option <code>resultSetSpillSize</code> is set, rows are kept in memory until their total
+ * size reaches this number of bytes. Following rows are written to a temporary memory-mapped file
+ * ({@link RowSpillFile}), keeping random access to all rows.
+ */
 public class CompleteResult extends Result {
 
+  private static final Logger logger = Loggers.getLogger(CompleteResult.class);
   protected static final int BEFORE_FIRST_POS = -1;
 
+  private long spillSize;
+  private long memorySize;
+  private int memoryRows;
+  private RowSpillFile spillFile;
+
   public CompleteResult(
       Statement stmt,
       boolean binaryProtocol,
@@ -33,6 +48,48 @@ public class CompleteResult extends Result {
       boolean closeOnCompletion,
       boolean traceEnable)
       throws IOException, SQLException {
+    this(
+        stmt,
+        binaryProtocol,
+        maxRows,
+        metadataList,
+        reader,
+        context,
+        resultSetType,
+        closeOnCompletion,
+        traceEnable,
+        context.getConf().resultSetSpillSize());
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param stmt statement
+   * @param binaryProtocol binary protocol
+   * @param maxRows maximum number of rows
+   * @param metadataList columns metadata
+   * @param reader packet reader
+   * @param context connection context
+   * @param resultSetType result-set type
+   * @param closeOnCompletion close statement on completion
+   * @param traceEnable trace packets
+   * @param spillSize row size kept in memory before writing rows to a temporary file, 0 to keep
+   *     all rows in memory
+   * @throws IOException if any socket error occurs
+   * @throws SQLException if any error occurs
+   */
+  protected CompleteResult(
+      Statement stmt,
+      boolean binaryProtocol,
+      long maxRows,
+      ColumnDefinitionPacket[] metadataList,
+      PacketReader reader,
+      Context context,
+      int resultSetType,
+      boolean closeOnCompletion,
+      boolean traceEnable,
+      long spillSize)
+      throws IOException, SQLException {
 
     super(
         stmt,
@@ -44,7 +101,8 @@ public class CompleteResult extends Result {
         resultSetType,
         closeOnCompletion,
         traceEnable);
-    this.data = new byte[10][];
+    this.spillSize = spillSize;
+    initRowData(10);
     if (maxRows > 0) {
       while (readNext() && dataSize < maxRows) {}
       if (!loaded) skipRemaining();
@@ -113,10 +171,101 @@ public class CompleteResult extends Result {
     return new CompleteResult(columns, rows.toArray(new byte[0][0]), context);
   }
 
+  @Override
+  protected void addRowData(byte[] buf, int offset, int length) {
+    if (spillFile == null) {
+      if (spillSize == 0 || memorySize < spillSize) {
+        memorySize += length;
+        super.addRowData(buf, offset, length);
+        return;
+      }
+      try {
+        spillFile = new RowSpillFile();
+      } catch (IOException e) {
+        logger.debug("result-set spill file creation failed, keeping rows in memory", e);
+        spillSize = 0;
+        super.addRowData(buf, offset, length);
+        return;
+      }
+      memoryRows = dataSize;
+    }
+    try {
+      spillFile.add(buf, offset, length);
+      dataSize++;
+    } catch (IOException e) {
+      logger.debug("writing result-set spill file failed, loading rows in memory", e);
+      unspill();
+      super.addRowData(buf, offset, length);
+    }
+  }
+
+  /** Load spilled rows back in memory, and stop spilling. */
+  private void unspill() {
+    RowSpillFile file = spillFile;
+    spillFile = null;
+    spillSize = 0;
+    dataSize = memoryRows;
+    for (int i = 0; i < file.size(); i++) {
+      super.addRowData(file.get(i));
+    }
+    file.close();
+  }
+
+  /**
+   * Create a result containing some rows of this result, with same column definitions. Used to
+   * answer metadata requests from cached metadata.
+   *
+   * @param rowIndexes indexes of rows to keep, in order
+   * @return new result
+   */
+  public CompleteResult subset(int[] rowIndexes) {
+    byte[][] rows = new byte[rowIndexes.length][];
+    for (int i = 0; i < rowIndexes.length; i++) {
+      rows[i] = rowData(rowIndexes[i]);
+    }
+    return new CompleteResult(metadataList, rows, context);
+  }
+
+  @Override
+  protected byte[] rowData(int idx) {
+    if (spillFile == null || idx < memoryRows) return super.rowData(idx);
+    return spillFile.get(idx - memoryRows);
+  }
+
+  @Override
+  protected void setRowData(int idx) {
+    if (spillFile == null || idx < memoryRows) {
+      super.setRowData(idx);
+    } else {
+      row.setRow(spillFile.get(idx - memoryRows));
+    }
+  }
+
+  private void releaseSpillFile() {
+    if (spillFile != null) {
+      spillFile.close();
+      spillFile = null;
+      initRowData(0);
+      dataSize = 0;
+    }
+  }
+
+  @Override
+  public void close() throws SQLException {
+    super.close();
+    releaseSpillFile();
+  }
+
+  @Override
+  public void abort() {
+    super.abort();
+    releaseSpillFile();
+  }
+
   @Override
   public boolean next() throws SQLException {
     if (rowPointer < dataSize - 1) {
-      row.setRow(data[++rowPointer]);
+      setRowData(++rowPointer);
       return true;
     } else {
       // all data are reads and pointer is after last
@@ -137,6 +286,7 @@ public class CompleteResult extends Result {
   @Override
   public void closeFromStmtClose(ReentrantLock lock) {
     this.closed = true;
+    releaseSpillFile();
   }
 
   @Override
@@ -188,7 +338,7 @@ public class CompleteResult extends Result {
       row.setRow(null);
       return false;
     }
-    row.setRow(data[rowPointer]);
+    setRowData(rowPointer);
     return true;
   }
 
@@ -200,7 +350,7 @@ public class CompleteResult extends Result {
       row.setRow(null);
       return false;
     }
-    row.setRow(data[rowPointer]);
+    setRowData(rowPointer);
     return true;
   }
 
@@ -221,13 +371,13 @@ public class CompleteResult extends Result {
 
     if (idx > 0) {
       rowPointer = idx - 1;
-      row.setRow(data[rowPointer]);
+      setRowData(rowPointer);
       return true;
     } else {
       if (dataSize + idx >= 0) {
         // absolute position reverse from ending resultSet
         rowPointer = dataSize + idx;
-        row.setRow(data[rowPointer]);
+        setRowData(rowPointer);
         return true;
       }
       rowPointer = BEFORE_FIRST_POS;
@@ -250,7 +400,7 @@ public class CompleteResult extends Result {
       return false;
     } else {
       rowPointer = newPos;
-      row.setRow(data[rowPointer]);
+      setRowData(rowPointer);
       return true;
     }
   }
@@ -261,7 +411,7 @@ public class CompleteResult extends Result {
     if (rowPointer > BEFORE_FIRST_POS) {
       rowPointer--;
       if (rowPointer != BEFORE_FIRST_POS) {
-        row.setRow(data[rowPointer]);
+        setRowData(rowPointer);
         return true;
       }
     }
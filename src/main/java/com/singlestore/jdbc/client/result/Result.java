@@ -33,16 +33,27 @@ import java.util.concurrent.locks.ReentrantLock;
 
 public abstract class Result implements ResultSet, Completion {
 
+  // rows smaller than this size are copied into shared chunks
+  private static final int SMALL_ROW_SIZE = 1024;
+  private static final int MIN_CHUNK_SIZE = 4 * 1024;
+  private static final int MAX_CHUNK_SIZE = 64 * 1024;
+
   protected final int resultSetType;
   protected final ExceptionFactory exceptionFactory;
   protected final PacketReader reader;
   protected final Context context;
   private final int maxIndex;
   private final boolean closeOnCompletion;
-  protected final ColumnDefinitionPacket[] metadataList;
+  protected ColumnDefinitionPacket[] metadataList;
   protected final RowDecoder row;
   protected int dataSize = 0;
+  // row i is stored in data[i] from rowOffsets[i], with length rowLengths[i]. Small rows share the
+  // same array (chunk), to avoid allocating an array by row
   protected byte[][] data;
+  protected int[] rowOffsets;
+  protected int[] rowLengths;
+  private byte[] chunk;
+  private int chunkPos;
   protected boolean loaded;
   protected boolean outputParameter;
   protected int rowPointer = -1;
@@ -86,6 +97,9 @@ public abstract class Result implements ResultSet, Completion {
     this.context = context;
     this.data = data;
     this.dataSize = data.length;
+    this.rowOffsets = new int[data.length];
+    this.rowLengths = new int[data.length];
+    for (int i = 0; i < data.length; i++) rowLengths[i] = data[i].length;
     this.statement = null;
     this.resultSetType = TYPE_FORWARD_ONLY;
     this.closeOnCompletion = false;
@@ -95,19 +109,20 @@ public abstract class Result implements ResultSet, Completion {
 
   @SuppressWarnings("fallthrough")
   protected boolean readNext() throws SQLException, IOException {
-    byte[] buf = reader.readPacket(false, traceEnable).buf();
+    // small packets use reader reusable buffer, rows are then copied
+    ReadableByteBuf readBuf = reader.readPacket(true, traceEnable);
+    byte[] buf = readBuf.buf();
+    int length = readBuf.readableBytes();
     switch (buf[0]) {
       case (byte) 0xFF:
         loaded = true;
-        ErrorPacket errorPacket =
-            new ErrorPacket(new ReadableByteBuf(null, buf, buf.length), context);
+        ErrorPacket errorPacket = new ErrorPacket(readBuf, context);
         throw exceptionFactory.create(
             errorPacket.getMessage(), errorPacket.getSqlState(), errorPacket.getErrorCode());
 
       case (byte) 0xFE:
-        if ((context.isEofDeprecated() && buf.length < 16777215)
-            || (!context.isEofDeprecated() && buf.length < 8)) {
-          ReadableByteBuf readBuf = new ReadableByteBuf(null, buf, buf.length);
+        if ((context.isEofDeprecated() && length < 16777215)
+            || (!context.isEofDeprecated() && length < 8)) {
           readBuf.skip(); // skip header
           int serverStatus;
           int warnings;
@@ -133,10 +148,7 @@ public abstract class Result implements ResultSet, Completion {
         // continue reading rows
 
       default:
-        if (dataSize + 1 > data.length) {
-          growDataArray();
-        }
-        data[dataSize++] = buf;
+        addRowData(buf, 0, length);
     }
     return true;
   }
@@ -181,10 +193,23 @@ public abstract class Result implements ResultSet, Completion {
     }
   }
 
+  /**
+   * Initialize row storage.
+   *
+   * @param capacity initial row capacity
+   */
+  protected void initRowData(int capacity) {
+    data = new byte[capacity][];
+    rowOffsets = new int[capacity];
+    rowLengths = new int[capacity];
+  }
+
   /** Grow data array. */
   private void growDataArray() {
-    int newCapacity = data.length + (data.length >> 1);
+    int newCapacity = Math.max(10, data.length + (data.length >> 1));
     data = Arrays.copyOf(data, newCapacity);
+    rowOffsets = Arrays.copyOf(rowOffsets, newCapacity);
+    rowLengths = Arrays.copyOf(rowLengths, newCapacity);
   }
 
   @Override
@@ -198,6 +223,15 @@ public abstract class Result implements ResultSet, Completion {
     return loaded;
   }
 
+  /**
+   * Number of rows currently loaded in memory.
+   *
+   * @return loaded row number
+   */
+  public int loadedRows() {
+    return dataSize;
+  }
+
   public boolean isOutputParameter() {
     return outputParameter;
   }
@@ -232,18 +266,82 @@ public abstract class Result implements ResultSet, Completion {
   }
 
   protected byte[] getCurrentRowData() {
-    return data[0];
+    return rowData(0);
+  }
+
+  /**
+   * Get a copy of a row.
+   *
+   * @param idx row index
+   * @return row raw data
+   */
+  protected byte[] rowData(int idx) {
+    return Arrays.copyOfRange(data[idx], rowOffsets[idx], rowOffsets[idx] + rowLengths[idx]);
+  }
+
+  /**
+   * Set row decoder to a row.
+   *
+   * @param idx row index
+   */
+  protected void setRowData(int idx) {
+    row.setRow(data[idx], rowOffsets[idx], rowLengths[idx]);
   }
 
   protected void addRowData(byte[] buf) {
+    addRowData(buf, 0, buf.length);
+  }
+
+  /**
+   * Add a row. Small rows are copied into a shared chunk, so buffer can be reused by caller.
+   * Bigger rows must fill buffer, which is then kept as row storage.
+   *
+   * @param buf buffer containing row
+   * @param offset row offset in buffer
+   * @param length row length
+   */
+  protected void addRowData(byte[] buf, int offset, int length) {
     if (dataSize + 1 > data.length) {
       growDataArray();
     }
-    data[dataSize++] = buf;
+    if (length < SMALL_ROW_SIZE) {
+      if (chunk == null || chunk.length - chunkPos < length) {
+        // chunk size grows with result, to avoid big allocation for small results
+        chunk =
+            new byte[chunk == null ? MIN_CHUNK_SIZE : Math.min(chunk.length << 1, MAX_CHUNK_SIZE)];
+        chunkPos = 0;
+      }
+      System.arraycopy(buf, offset, chunk, chunkPos, length);
+      data[dataSize] = chunk;
+      rowOffsets[dataSize] = chunkPos;
+      chunkPos += length;
+    } else {
+      data[dataSize] =
+          offset == 0 && length == buf.length
+              ? buf
+              : Arrays.copyOfRange(buf, offset, offset + length);
+      rowOffsets[dataSize] = 0;
+    }
+    rowLengths[dataSize++] = length;
+  }
+
+  /**
+   * Remove a row.
+   *
+   * @param idx row index
+   */
+  protected void removeRowData(int idx) {
+    int moved = dataSize - 1 - idx;
+    System.arraycopy(data, idx + 1, data, idx, moved);
+    System.arraycopy(rowOffsets, idx + 1, rowOffsets, idx, moved);
+    System.arraycopy(rowLengths, idx + 1, rowLengths, idx, moved);
+    data[--dataSize] = null;
   }
 
   protected void updateRowData(byte[] rawData) {
     data[rowPointer] = rawData;
+    rowOffsets[rowPointer] = 0;
+    rowLengths[rowPointer] = rawData.length;
     row.setRow(rawData);
   }
 
@@ -820,9 +918,12 @@ public abstract class Result implements ResultSet, Completion {
   }
 
   public void useAliasAsName() {
-    for (ColumnDefinitionPacket packet : metadataList) {
-      packet.useAliasAsName();
+    // column definitions might be shared with other results
+    ColumnDefinitionPacket[] aliasedList = new ColumnDefinitionPacket[metadataList.length];
+    for (int i = 0; i < metadataList.length; i++) {
+      aliasedList[i] = metadataList[i].withAliasAsName();
     }
+    metadataList = aliasedList;
     forceAlias = true;
   }
 
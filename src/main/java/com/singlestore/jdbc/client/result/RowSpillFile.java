@@ -0,0 +1,104 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.client.result;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rows of a complete result-set that exceed memory limit, stored in a temporary file.
+ *
+ * <p>File is mapped in memory by segments, and an index keeps the location of each row, so rows
+ * can be read in any order without seeking. Each row is stored as its length (int) followed by row
+ * raw data. File is deleted when closed.
+ */
+final class RowSpillFile {
+
+  private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  private final FileChannel channel;
+  private final List<MappedByteBuffer> segments = new ArrayList<>();
+  // row location: segment index (high 32 bits) | position in segment (low 32 bits)
+  private long[] locations = new long[1024];
+  private int size;
+  private MappedByteBuffer current;
+  private long fileSize;
+
+  RowSpillFile() throws IOException {
+    File file = File.createTempFile("singlestore-result", ".tmp");
+    channel =
+        FileChannel.open(
+            file.toPath(),
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.DELETE_ON_CLOSE);
+  }
+
+  /**
+   * Append a row.
+   *
+   * @param buf buffer containing row raw data
+   * @param offset row offset in buffer
+   * @param length row length
+   * @throws IOException if file cannot be extended
+   */
+  void add(byte[] buf, int offset, int length) throws IOException {
+    if (current == null || current.remaining() < length + 4) {
+      int segmentSize = Math.max(SEGMENT_SIZE, length + 4);
+      current = channel.map(FileChannel.MapMode.READ_WRITE, fileSize, segmentSize);
+      fileSize += segmentSize;
+      segments.add(current);
+    }
+    if (size == locations.length) {
+      locations = Arrays.copyOf(locations, size + (size >> 1));
+    }
+    locations[size++] = ((long) (segments.size() - 1) << 32) | current.position();
+    current.putInt(length);
+    current.put(buf, offset, length);
+  }
+
+  /**
+   * Read a row.
+   *
+   * @param index row index in file
+   * @return row raw data
+   */
+  byte[] get(int index) {
+    long location = locations[index];
+    ByteBuffer segment = segments.get((int) (location >>> 32)).duplicate();
+    segment.position((int) location);
+    byte[] row = new byte[segment.getInt()];
+    segment.get(row);
+    return row;
+  }
+
+  /**
+   * Number of rows in file.
+   *
+   * @return row number
+   */
+  int size() {
+    return size;
+  }
+
+  /** Delete file. Mapped segments are released when garbage collected. */
+  void close() {
+    segments.clear();
+    current = null;
+    try {
+      channel.close();
+    } catch (IOException e) {
+      // eat
+    }
+  }
+}
@@ -9,13 +9,17 @@ import com.singlestore.jdbc.Statement;
 import com.singlestore.jdbc.client.context.Context;
 import com.singlestore.jdbc.client.socket.PacketReader;
 import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
+import com.singlestore.jdbc.util.HashedWheelTimer;
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class StreamingResult extends Result {
 
   private final ReentrantLock lock;
+  // read at execution, since statement can be closed while remaining rows are fetched
+  private final int queryTimeout;
   private int dataFetchTime;
   private int fetchSize;
 
@@ -44,9 +48,10 @@ public class StreamingResult extends Result {
         closeOnCompletion,
         traceEnable);
     this.lock = lock;
+    this.queryTimeout = stmt == null ? 0 : stmt.getQueryTimeout();
     this.dataFetchTime = 0;
     this.fetchSize = fetchSize;
-    this.data = new byte[Math.max(fetchSize, 10)][];
+    initRowData(Math.max(fetchSize, 10));
 
     addStreamingValue();
   }
@@ -74,7 +79,10 @@ public class StreamingResult extends Result {
 
   private void addStreamingValue() throws SQLException {
     lock.lock();
+    HashedWheelTimer.Timeout timeout = null;
     try {
+      // first fetch is covered by command execution timeout
+      if (dataFetchTime > 0) timeout = armFetchTimeout();
       // read only fetchSize values
       int fetchSizeTmp =
           (maxRows <= 0)
@@ -88,10 +96,34 @@ public class StreamingResult extends Result {
     } catch (IOException ioe) {
       throw exceptionFactory.create("Error while streaming resultSet data", "08000", ioe);
     } finally {
+      if (timeout != null) timeout.cancel();
       lock.unlock();
     }
   }
 
+  /**
+   * Arm statement query timeout for reading next rows: if server doesn't send them in time,
+   * query is killed.
+   *
+   * @return timeout, or null if statement has no query timeout
+   */
+  private HashedWheelTimer.Timeout armFetchTimeout() {
+    if (statement == null || queryTimeout <= 0) return null;
+    java.sql.Statement stmt = statement;
+    return HashedWheelTimer.shared()
+        .newTimeout(
+            () -> {
+              try {
+                // KILL QUERY only if fetch is still running
+                stmt.cancel();
+              } catch (SQLException e) {
+                // eat
+              }
+            },
+            queryTimeout,
+            TimeUnit.SECONDS);
+  }
+
   /**
    * When protocol has a current Streaming result (this) fetch all to permit another query is
    * executing.
@@ -112,7 +144,7 @@ public class StreamingResult extends Result {
     checkClose();
     if (rowPointer < dataSize - 1) {
       rowPointer++;
-      row.setRow(data[rowPointer]);
+      setRowData(rowPointer);
       return true;
     } else {
       if (!loaded) {
@@ -129,7 +161,7 @@ public class StreamingResult extends Result {
           // resultSet has been cleared. next value is pointer 0.
           rowPointer = 0;
           if (dataSize > 0) {
-            row.setRow(data[rowPointer]);
+            setRowData(rowPointer);
             return true;
           }
         } else {
@@ -137,7 +169,7 @@ public class StreamingResult extends Result {
           // results have been added to current resultSet
           rowPointer++;
           if (dataSize > rowPointer) {
-            row.setRow(data[rowPointer]);
+            setRowData(rowPointer);
             return true;
           }
         }
@@ -222,7 +254,7 @@ public class StreamingResult extends Result {
 
     rowPointer = 0;
     if (dataSize > 0) {
-      row.setRow(data[rowPointer]);
+      setRowData(rowPointer);
       return true;
     }
     row.setRow(null);
@@ -235,7 +267,7 @@ public class StreamingResult extends Result {
     fetchRemaining();
     rowPointer = dataSize - 1;
     if (dataSize > 0) {
-      row.setRow(data[rowPointer]);
+      setRowData(rowPointer);
       return true;
     }
     row.setRow(null);
@@ -264,7 +296,7 @@ public class StreamingResult extends Result {
 
     if (idx > 0 && idx <= dataSize) {
       rowPointer = idx - 1;
-      row.setRow(data[rowPointer]);
+      setRowData(rowPointer);
       return true;
     }
 
@@ -274,7 +306,7 @@ public class StreamingResult extends Result {
     if (idx > 0) {
       if (idx <= dataSize) {
         rowPointer = idx - 1;
-        row.setRow(data[rowPointer]);
+        setRowData(rowPointer);
         return true;
       }
 
@@ -286,7 +318,7 @@ public class StreamingResult extends Result {
       if (dataSize + idx >= 0) {
         // absolute position reverse from ending resultSet
         rowPointer = dataSize + idx;
-        row.setRow(data[rowPointer]);
+        setRowData(rowPointer);
         return true;
       }
       row.setRow(null);
@@ -316,7 +348,7 @@ public class StreamingResult extends Result {
     }
 
     rowPointer = newPos;
-    row.setRow(data[rowPointer]);
+    setRowData(rowPointer);
     return true;
   }
 
@@ -327,7 +359,7 @@ public class StreamingResult extends Result {
     if (rowPointer > -1) {
       rowPointer--;
       if (rowPointer != -1) {
-        row.setRow(data[rowPointer]);
+        setRowData(rowPointer);
         return true;
       }
     }
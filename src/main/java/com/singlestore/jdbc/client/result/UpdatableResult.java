@@ -57,7 +57,8 @@ public class UpdatableResult extends CompleteResult {
         context,
         resultSetType,
         closeOnCompletion,
-        traceEnable);
+        traceEnable,
+        0);
     checkIfUpdatable();
     parameters = new ParameterList(metadataList.length);
   }
@@ -684,9 +685,7 @@ public class UpdatableResult extends CompleteResult {
       deletePreparedStatement.executeUpdate();
 
       // remove data
-      System.arraycopy(data, rowPointer + 1, data, rowPointer, dataSize - 1 - rowPointer);
-      data[dataSize - 1] = null;
-      dataSize--;
+      removeRowData(rowPointer);
       previous();
     }
   }
@@ -977,7 +976,7 @@ public class UpdatableResult extends CompleteResult {
   private void resetToRowPointer() {
     rowPointer = savedRowPointer;
     if (rowPointer != BEFORE_FIRST_POS && rowPointer < dataSize - 1) {
-      row.setRow(data[rowPointer]);
+      setRowData(rowPointer);
     } else {
       // all data are reads and pointer is after last
       row.setRow(null);
@@ -0,0 +1,246 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.client.socket;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Socket using a NIO {@link SocketChannel}, used for unix domain sockets when java runtime
+ * supports them (java 16+), without native library.
+ *
+ * <p>Channel is non-blocking: read and write are first tried directly, waiting for the channel to
+ * be ready only when no data is available, in order to respect socket timeout. Streams transfer
+ * data directly from/to caller byte arrays, without intermediate buffer.
+ */
+public class ChannelSocket extends Socket {
+
+  private static final Method UNIX_ADDRESS_OF;
+
+  static {
+    Method init;
+    try {
+      init = Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", String.class);
+    } catch (Throwable t) {
+      // java runtime before 16
+      init = null;
+    }
+    UNIX_ADDRESS_OF = init;
+  }
+
+  private final SocketAddress address;
+  private SocketChannel channel;
+  private Selector readSelector;
+  private Selector writeSelector;
+  private InputStream is;
+  private OutputStream os;
+  private int timeout;
+  private volatile boolean closed;
+
+  /**
+   * Constructor.
+   *
+   * @param address channel address
+   */
+  public ChannelSocket(SocketAddress address) {
+    this.address = address;
+  }
+
+  /**
+   * Indicate if java runtime supports unix domain socket channels.
+   *
+   * @return true if supported
+   */
+  public static boolean isUnixDomainSupported() {
+    return UNIX_ADDRESS_OF != null;
+  }
+
+  /**
+   * Create a socket for a unix domain socket path.
+   *
+   * @param path unix domain socket path
+   * @return socket, not connected
+   * @throws IOException if java runtime doesn't support unix domain socket channels
+   */
+  public static ChannelSocket unixDomain(String path) throws IOException {
+    if (UNIX_ADDRESS_OF == null) {
+      throw new IOException("Unix domain socket channels require java 16+");
+    }
+    try {
+      return new ChannelSocket((SocketAddress) UNIX_ADDRESS_OF.invoke(null, path));
+    } catch (ReflectiveOperationException e) {
+      throw new IOException("Wrong unix domain socket path \"" + path + "\"", e);
+    }
+  }
+
+  @Override
+  public void connect(SocketAddress endpoint) throws IOException {
+    connect(endpoint, 0);
+  }
+
+  @Override
+  public void connect(SocketAddress endpoint, int timeout) throws IOException {
+    if (closed) throw new SocketException("Socket is closed");
+    // local connection: immediate, no need to use connect timeout
+    channel = SocketChannel.open(endpoint == null ? address : endpoint);
+    channel.configureBlocking(false);
+    readSelector = Selector.open();
+    writeSelector = Selector.open();
+    channel.register(readSelector, SelectionKey.OP_READ);
+    channel.register(writeSelector, SelectionKey.OP_WRITE);
+    is = new ChannelInputStream();
+    os = new ChannelOutputStream();
+  }
+
+  @Override
+  public boolean isConnected() {
+    return channel != null && channel.isConnected();
+  }
+
+  @Override
+  public boolean isClosed() {
+    return closed;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) return;
+    closed = true;
+    if (channel != null) {
+      // closing selectors wakes up threads waiting on channel
+      readSelector.close();
+      writeSelector.close();
+      channel.close();
+    }
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    if (is == null) throw new SocketException("Socket is not connected");
+    return is;
+  }
+
+  @Override
+  public OutputStream getOutputStream() throws IOException {
+    if (os == null) throw new SocketException("Socket is not connected");
+    return os;
+  }
+
+  @Override
+  public void setSoTimeout(int timeout) {
+    this.timeout = timeout;
+  }
+
+  @Override
+  public int getSoTimeout() {
+    return timeout;
+  }
+
+  @Override
+  public void shutdownInput() throws IOException {
+    if (channel != null) channel.shutdownInput();
+  }
+
+  @Override
+  public void shutdownOutput() throws IOException {
+    if (channel != null) channel.shutdownOutput();
+  }
+
+  @Override
+  public void setTcpNoDelay(boolean b) {
+    // do nothing
+  }
+
+  @Override
+  public void setKeepAlive(boolean b) {
+    // do nothing
+  }
+
+  @Override
+  public void setReceiveBufferSize(int size) {
+    // do nothing
+  }
+
+  @Override
+  public void setSendBufferSize(int size) {
+    // do nothing
+  }
+
+  @Override
+  public void setSoLinger(boolean b, int i) {
+    // do nothing
+  }
+
+  private void await(Selector selector, String timeoutMessage) throws IOException {
+    int ready;
+    try {
+      ready = selector.select(timeout);
+      selector.selectedKeys().clear();
+    } catch (ClosedSelectorException e) {
+      ready = 0;
+    }
+    if (closed) throw new SocketException("Socket is closed");
+    if (ready == 0 && timeout > 0) throw new SocketTimeoutException(timeoutMessage);
+  }
+
+  class ChannelInputStream extends InputStream {
+
+    @Override
+    public int read(byte[] bytes, int off, int len) throws IOException {
+      if (len == 0) return 0;
+      ByteBuffer buf = ByteBuffer.wrap(bytes, off, len);
+      int read;
+      while ((read = channel.read(buf)) == 0) {
+        await(readSelector, "Read timed out");
+      }
+      return read;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] bytes = new byte[1];
+      int bytesRead = read(bytes, 0, 1);
+      return bytesRead == -1 ? -1 : bytes[0] & 0xff;
+    }
+
+    @Override
+    public void close() throws IOException {
+      ChannelSocket.this.close();
+    }
+  }
+
+  class ChannelOutputStream extends OutputStream {
+
+    @Override
+    public void write(byte[] bytes, int off, int len) throws IOException {
+      ByteBuffer buf = ByteBuffer.wrap(bytes, off, len);
+      while (buf.hasRemaining()) {
+        if (channel.write(buf) == 0) await(writeSelector, "Write timed out");
+      }
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+      write(new byte[] {(byte) value}, 0, 1);
+    }
+
+    @Override
+    public void close() throws IOException {
+      ChannelSocket.this.close();
+    }
+  }
+}
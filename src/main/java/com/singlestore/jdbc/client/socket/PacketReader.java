@@ -9,12 +9,14 @@ import com.singlestore.jdbc.Configuration;
 import com.singlestore.jdbc.HostAddress;
 import com.singlestore.jdbc.client.ReadableByteBuf;
 import com.singlestore.jdbc.util.MutableInt;
+import com.singlestore.jdbc.util.log.AsyncTracer;
 import com.singlestore.jdbc.util.log.Logger;
 import com.singlestore.jdbc.util.log.LoggerHelper;
 import com.singlestore.jdbc.util.log.Loggers;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.function.LongConsumer;
 
 public class PacketReader {
 
@@ -29,6 +31,9 @@ public class PacketReader {
 
   private final MutableInt sequence;
   private String serverThreadLog = "";
+  private boolean asyncTrace;
+  private long bytesRead;
+  private LongConsumer firstByteListener;
 
   /**
    * Constructor of standard socket MySQL packet stream reader.
@@ -82,6 +87,12 @@ public class PacketReader {
       off += count;
     } while (remaining > 0);
 
+    if (firstByteListener != null) {
+      LongConsumer listener = firstByteListener;
+      firstByteListener = null;
+      listener.accept(System.nanoTime());
+    }
+
     int lastPacketLength =
         (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
     sequence.set(header[3]);
@@ -113,7 +124,8 @@ public class PacketReader {
       off += count;
     } while (remaining > 0);
 
-    if (traceEnable) {
+    // packets traced asynchronously are not dumped synchronously too
+    if (traceEnable && !asyncTrace) {
       logger.trace(
           "read: {}\n{}",
           serverThreadLog,
@@ -163,7 +175,7 @@ public class PacketReader {
           off += count;
         } while (remaining > 0);
 
-        if (traceEnable) {
+        if (traceEnable && !asyncTrace) {
           logger.trace(
               "read: {}\n{}",
               serverThreadLog,
@@ -175,9 +187,43 @@ public class PacketReader {
       } while (packetLength == MAX_PACKET_SIZE);
     }
 
+    bytesRead += lastPacketLength + 4;
+    if (asyncTrace) {
+      AsyncTracer.packet(
+          false, serverThreadLog, header, rawBytes, 0, lastPacketLength, maxQuerySizeToLog);
+    }
+
     return new ReadableByteBuf(sequence, rawBytes, lastPacketLength);
   }
 
+  /**
+   * Set if packets must be traced asynchronously, see {@link AsyncTracer}.
+   *
+   * @param asyncTrace must trace packets
+   */
+  public void setAsyncTrace(boolean asyncTrace) {
+    this.asyncTrace = asyncTrace;
+  }
+
+  /**
+   * Set listener to notify, with current nano time, when next packet header is read. Listener is
+   * notified only once.
+   *
+   * @param firstByteListener listener, null to remove current one
+   */
+  public void setFirstByteListener(LongConsumer firstByteListener) {
+    this.firstByteListener = firstByteListener;
+  }
+
+  /**
+   * Number of bytes read from socket since creation, including packet headers.
+   *
+   * @return read bytes
+   */
+  public long getBytesRead() {
+    return bytesRead;
+  }
+
   public MutableInt getSequence() {
     return sequence;
   }
@@ -6,8 +6,10 @@
 package com.singlestore.jdbc.client.socket;
 
 import com.singlestore.jdbc.HostAddress;
+import com.singlestore.jdbc.client.TransactionSaver;
 import com.singlestore.jdbc.util.MutableInt;
 import com.singlestore.jdbc.util.exceptions.MaxAllowedPacketException;
+import com.singlestore.jdbc.util.log.AsyncTracer;
 import com.singlestore.jdbc.util.log.Logger;
 import com.singlestore.jdbc.util.log.LoggerHelper;
 import com.singlestore.jdbc.util.log.Loggers;
@@ -28,6 +30,7 @@ public class PacketWriter {
   private static final int MEDIUM_BUFFER_SIZE = 128 * 1024;
   private static final int LARGE_BUFFER_SIZE = 1024 * 1024;
   private static final int MAX_PACKET_LENGTH = 0x00ffffff + 4;
+  private static final int MAX_SCRATCH_SIZE = 64 * 1024;
   protected final MutableInt sequence;
   protected final MutableInt compressSequence;
   private final int maxQuerySizeToLog;
@@ -39,8 +42,12 @@ public class PacketWriter {
   private long cmdLength;
   private boolean permitTrace = true;
   private String serverThreadLog = "";
+  private boolean asyncTrace;
+  private long bytesWritten;
+  private TransactionSaver transactionSaver;
   private int mark = -1;
   private boolean bufContainDataAfterMark = false;
+  private byte[] scratch;
 
   /**
    * Common feature to write data into socket, creating MariaDB Packet.
@@ -493,6 +500,36 @@ public class PacketWriter {
    */
   public void writeBytesEscaped(byte[] bytes, int len, boolean noBackslashEscapes)
       throws IOException {
+    writeBytesEscaped(bytes, 0, len, noBackslashEscapes);
+  }
+
+  /**
+   * Buffer for values that must be serialized before being written, like values escaped in text
+   * protocol. Buffer is reused by next call; buffers larger than 64KB are not kept.
+   *
+   * @param length minimum buffer length
+   * @return buffer
+   */
+  public byte[] scratchBuffer(int length) {
+    if (length > MAX_SCRATCH_SIZE) return new byte[length];
+    if (scratch == null || scratch.length < length) {
+      int size = scratch == null ? 256 : scratch.length * 2;
+      scratch = new byte[Math.min(MAX_SCRATCH_SIZE, Math.max(size, length))];
+    }
+    return scratch;
+  }
+
+  /**
+   * Write escape bytes to socket, reading from an offset of the source array.
+   *
+   * @param bytes bytes
+   * @param off source offset
+   * @param len len to write
+   * @param noBackslashEscapes escape method
+   * @throws IOException if socket error occur
+   */
+  public void writeBytesEscaped(byte[] bytes, int off, int len, boolean noBackslashEscapes)
+      throws IOException {
     if (len * 2 > buf.length - pos) {
 
       // makes buf bigger (up to 16M)
@@ -515,29 +552,29 @@ public class PacketWriter {
           // not enough space in buf, will fill buf
           if (noBackslashEscapes) {
             for (int i = 0; i < len; i++) {
-              if (QUOTE == bytes[i]) {
+              if (QUOTE == bytes[off + i]) {
                 buf[pos++] = QUOTE;
                 if (buf.length <= pos) {
                   writeSocket(false);
                 }
               }
-              buf[pos++] = bytes[i];
+              buf[pos++] = bytes[off + i];
               if (buf.length <= pos) {
                 writeSocket(false);
               }
             }
           } else {
             for (int i = 0; i < len; i++) {
-              if (bytes[i] == QUOTE
-                  || bytes[i] == BACKSLASH
-                  || bytes[i] == DBL_QUOTE
-                  || bytes[i] == ZERO_BYTE) {
+              if (bytes[off + i] == QUOTE
+                  || bytes[off + i] == BACKSLASH
+                  || bytes[off + i] == DBL_QUOTE
+                  || bytes[off + i] == ZERO_BYTE) {
                 buf[pos++] = '\\';
                 if (buf.length <= pos) {
                   writeSocket(false);
                 }
               }
-              buf[pos++] = bytes[i];
+              buf[pos++] = bytes[off + i];
               if (buf.length <= pos) {
                 writeSocket(false);
               }
@@ -551,20 +588,20 @@ public class PacketWriter {
     // sure to have enough place filling buf directly
     if (noBackslashEscapes) {
       for (int i = 0; i < len; i++) {
-        if (QUOTE == bytes[i]) {
+        if (QUOTE == bytes[off + i]) {
           buf[pos++] = QUOTE;
         }
-        buf[pos++] = bytes[i];
+        buf[pos++] = bytes[off + i];
       }
     } else {
       for (int i = 0; i < len; i++) {
-        if (bytes[i] == QUOTE
-            || bytes[i] == BACKSLASH
-            || bytes[i] == '"'
-            || bytes[i] == ZERO_BYTE) {
+        if (bytes[off + i] == QUOTE
+            || bytes[off + i] == BACKSLASH
+            || bytes[off + i] == '"'
+            || bytes[off + i] == ZERO_BYTE) {
           buf[pos++] = BACKSLASH; // add escape slash
         }
-        buf[pos++] = bytes[i];
+        buf[pos++] = bytes[off + i];
       }
     }
   }
@@ -642,8 +679,12 @@ public class PacketWriter {
     buf[2] = (byte) 0x00;
     buf[3] = this.sequence.incrementAndGet();
     out.write(buf, 0, 4);
+    bytesWritten += 4;
+    if (transactionSaver != null) transactionSaver.addPacket(buf, 4, 0);
 
-    if (logger.isTraceEnabled()) {
+    if (asyncTrace) {
+      AsyncTracer.packet(true, serverThreadLog, null, buf, 0, 4, maxQuerySizeToLog);
+    } else if (logger.isTraceEnabled()) {
       logger.trace(
           "send com : content length=0 {}\n{}", serverThreadLog, LoggerHelper.hex(buf, 0, 4));
     }
@@ -698,6 +739,33 @@ public class PacketWriter {
     }
   }
 
+  /**
+   * Set if packets must be traced asynchronously, see {@link AsyncTracer}.
+   *
+   * @param asyncTrace must trace packets
+   */
+  public void setAsyncTrace(boolean asyncTrace) {
+    this.asyncTrace = asyncTrace;
+  }
+
+  /**
+   * Number of bytes written to socket since creation, including packet headers.
+   *
+   * @return written bytes
+   */
+  public long getBytesWritten() {
+    return bytesWritten;
+  }
+
+  /**
+   * Set journal recording packets sent, for transaction replay.
+   *
+   * @param transactionSaver journal, null to stop recording
+   */
+  public void setTransactionSaver(TransactionSaver transactionSaver) {
+    this.transactionSaver = transactionSaver;
+  }
+
   public void permitTrace(boolean permitTrace) {
     this.permitTrace = permitTrace;
   }
@@ -790,8 +858,13 @@ public class PacketWriter {
       checkMaxAllowedLength(pos - 4);
       out.write(buf, 0, pos);
       cmdLength += pos - 4;
+      bytesWritten += pos;
+      if (transactionSaver != null) transactionSaver.addPacket(buf, 4, pos - 4);
 
-      if (logger.isTraceEnabled()) {
+      if (asyncTrace) {
+        AsyncTracer.packet(
+            true, serverThreadLog, null, permitTrace ? buf : null, 0, pos, maxQuerySizeToLog);
+      } else if (logger.isTraceEnabled()) {
         if (permitTrace) {
           logger.trace(
               "send: {}\n{}", serverThreadLog, LoggerHelper.hex(buf, 0, pos, maxQuerySizeToLog));
@@ -12,16 +12,36 @@ import java.io.InputStream;
 /**
  * Permit to buf socket data, reading not only asked bytes, but available number of bytes when
  * possible.
+ *
+ * <p>Buffer grows (up to a maximum size) when socket reads fill it, meaning that data is streaming
+ * faster than it is consumed, and shrinks back when reads are small again. Stream is owned by a
+ * single reader, and is not thread-safe.
  */
 public class ReadAheadBufferedStream extends FilterInputStream {
 
   private static final int BUF_SIZE = 16384;
-  private final byte[] buf;
+  // number of consecutive small reads before shrinking buffer
+  private static final int SHRINK_THRESHOLD = 8;
+  private final int maxBufferSize;
+  private byte[] buf;
   private int end;
   private int pos;
+  private boolean grow;
+  private int smallReads;
 
   public ReadAheadBufferedStream(InputStream in) {
+    this(in, BUF_SIZE);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param in socket input stream
+   * @param maxBufferSize maximum buffer size
+   */
+  public ReadAheadBufferedStream(InputStream in, int maxBufferSize) {
     super(in);
+    this.maxBufferSize = Math.max(BUF_SIZE, maxBufferSize);
     buf = new byte[BUF_SIZE];
     end = 0;
     pos = 0;
@@ -33,9 +53,9 @@ public class ReadAheadBufferedStream extends FilterInputStream {
    * @return byte value
    * @throws IOException if socket reading error.
    */
-  public synchronized int read() throws IOException {
+  public int read() throws IOException {
     if (pos >= end) {
-      fillbuf(1);
+      fillbuf();
       if (pos >= end) {
         return -1;
       }
@@ -52,7 +72,7 @@ public class ReadAheadBufferedStream extends FilterInputStream {
    * @return number of added bytes
    * @throws IOException if exception during socket reading
    */
-  public synchronized int read(byte[] externalBuf, int off, int len) throws IOException {
+  public int read(byte[] externalBuf, int off, int len) throws IOException {
 
     if (len == 0) {
       return 0;
@@ -75,7 +95,7 @@ public class ReadAheadBufferedStream extends FilterInputStream {
         } else {
 
           // filling internal buf
-          fillbuf(len - totalReads);
+          fillbuf();
           if (end <= 0) {
             return (totalReads == 0) ? -1 : totalReads;
           }
@@ -95,26 +115,49 @@ public class ReadAheadBufferedStream extends FilterInputStream {
   }
 
   /**
-   * Fill buf with required length, or available bytes.
+   * Fill buf with available bytes, blocking until at least one byte is available. Buffer is empty
+   * at this point, so can be resized according to previous reads.
    *
-   * @param minNeededBytes asked number of bytes
    * @throws IOException in case of failing reading stream.
    */
-  private void fillbuf(int minNeededBytes) throws IOException {
-    int lengthToReallyRead = Math.min(BUF_SIZE, Math.max(super.available(), minNeededBytes));
-    end = super.read(buf, 0, lengthToReallyRead);
+  private void fillbuf() throws IOException {
+    if (grow) {
+      buf = new byte[Math.min(buf.length << 1, maxBufferSize)];
+      grow = false;
+    } else if (smallReads >= SHRINK_THRESHOLD) {
+      buf = new byte[Math.max(buf.length >> 1, BUF_SIZE)];
+      smallReads = 0;
+    }
+    end = super.read(buf, 0, buf.length);
     pos = 0;
+    if (end == buf.length) {
+      grow = buf.length < maxBufferSize;
+      smallReads = 0;
+    } else if (buf.length > BUF_SIZE && end < buf.length >> 2) {
+      smallReads++;
+    } else {
+      smallReads = 0;
+    }
+  }
+
+  /**
+   * Current buffer size.
+   *
+   * @return buffer size
+   */
+  public int bufferSize() {
+    return buf.length;
   }
 
-  public synchronized long skip(long n) throws IOException {
+  public long skip(long n) throws IOException {
     throw new IOException("Skip from socket not implemented");
   }
 
-  public synchronized int available() throws IOException {
+  public int available() throws IOException {
     return end - pos + super.available();
   }
 
-  public synchronized void reset() throws IOException {
+  public void reset() throws IOException {
     throw new IOException("reset from socket not implemented");
   }
 
@@ -27,6 +27,9 @@ public class SocketUtility {
         if (conf.pipe() != null) {
           return new NamedPipeSocket(hostAddress != null ? hostAddress.host : null, conf.pipe());
         } else if (conf.localSocket() != null) {
+          if (ConnectionHelper.useChannelSocket(conf)) {
+            return ChannelSocket.unixDomain(conf.localSocket());
+          }
           try {
             return new UnixDomainSocket(conf.localSocket());
           } catch (RuntimeException re) {
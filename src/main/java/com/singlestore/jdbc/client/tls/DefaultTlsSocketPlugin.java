@@ -13,21 +13,40 @@ import com.singlestore.jdbc.util.log.Logger;
 import com.singlestore.jdbc.util.log.Loggers;
 import java.io.*;
 import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.security.KeyManagementException;
 import java.security.KeyStore;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.sql.SQLException;
-import java.util.Collection;
-import java.util.UUID;
+import java.util.*;
 import javax.net.ssl.*;
 
 public class DefaultTlsSocketPlugin implements TlsSocketPlugin {
   private static final Logger logger = Loggers.getLogger(DefaultTlsSocketPlugin.class);
+  private static final int MAX_CACHED_CONTEXT = 32;
+
+  /**
+   * Initialized socket factories by SSL configuration. Reusing the same SSLContext avoids reloading
+   * keystore/certificates for each connection, and permits TLS session resumption, since client
+   * sessions are cached by SSLContext.
+   */
+  private static final Map<SslContextKey, SSLSocketFactory> socketFactoryCache =
+      Collections.synchronizedMap(
+          new LinkedHashMap<SslContextKey, SSLSocketFactory>(MAX_CACHED_CONTEXT, .75f, true) {
+            private static final long serialVersionUID = -2056226427461340372L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SslContextKey, SSLSocketFactory> eldest) {
+              return size() > MAX_CACHED_CONTEXT;
+            }
+          });
 
   private static KeyManager loadClientCerts(
       String keyStoreUrl,
@@ -64,9 +83,27 @@ public class DefaultTlsSocketPlugin implements TlsSocketPlugin {
     return "DEFAULT";
   }
 
+  /** Remove all cached SSL contexts, forcing certificates and keystore reload. */
+  public static void clearCache() {
+    socketFactoryCache.clear();
+  }
+
   @Override
   public SSLSocketFactory getSocketFactory(Configuration conf, ExceptionFactory exceptionFactory)
       throws SQLException {
+    SslContextKey key = new SslContextKey(conf);
+    if (key.cacheable) {
+      SSLSocketFactory socketFactory = socketFactoryCache.get(key);
+      if (socketFactory != null) return socketFactory;
+    }
+    SSLSocketFactory socketFactory = createSocketFactory(conf, exceptionFactory, key);
+    if (key.cacheable) socketFactoryCache.put(key, socketFactory);
+    return socketFactory;
+  }
+
+  private static SSLSocketFactory createSocketFactory(
+      Configuration conf, ExceptionFactory exceptionFactory, SslContextKey key)
+      throws SQLException {
 
     TrustManager[] trustManager = null;
     KeyManager[] keyManager = null;
@@ -141,6 +178,8 @@ public class DefaultTlsSocketPlugin implements TlsSocketPlugin {
               };
         } catch (SQLException queryException) {
           keyManager = null;
+          // don't keep a context without client certificate: next connection will retry loading
+          key.cacheable = false;
           logger.error("Error loading key manager from system properties", queryException);
         }
       }
@@ -175,6 +214,106 @@ public class DefaultTlsSocketPlugin implements TlsSocketPlugin {
     }
   }
 
+  /**
+   * Identify an SSL configuration: options and system properties used to initialize an SSL
+   * context, and last modification time of local certificate/keystore files, so a certificate
+   * renewal on disk is taken in account. Keystore password is only kept as a SHA-256 digest.
+   *
+   * <p>Configuration is not cacheable when a certificate or keystore is loaded from a non-file
+   * URL, since content changes cannot be detected.
+   */
+  private static final class SslContextKey {
+    private final SslMode sslMode;
+    private final String serverSslCert;
+    private final long serverSslCertModified;
+    private final String keyStore;
+    private final byte[] keyStorePasswordHash;
+    private final String keyStoreType;
+    private final long keyStoreModified;
+    private final int hash;
+    private boolean cacheable;
+
+    SslContextKey(Configuration conf) {
+      sslMode = conf.sslMode();
+      serverSslCert = sslMode == SslMode.TRUST ? null : conf.serverSslCert();
+      serverSslCertModified = lastModified(serverSslCert);
+      if (conf.keyStore() != null) {
+        keyStore = conf.keyStore();
+        keyStorePasswordHash = digest(conf.keyStorePassword());
+        keyStoreType = conf.keyStoreType();
+      } else {
+        keyStore = System.getProperty("javax.net.ssl.keyStore");
+        keyStorePasswordHash =
+            digest(System.getProperty("javax.net.ssl.keyStorePassword", conf.keyStorePassword()));
+        keyStoreType = System.getProperty("javax.net.ssl.keyStoreType", conf.keyStoreType());
+      }
+      keyStoreModified = lastModified(keyStore);
+      cacheable = serverSslCertModified != -1L && keyStoreModified != -1L;
+      hash =
+          31
+                  * Objects.hash(
+                      sslMode,
+                      serverSslCert,
+                      serverSslCertModified,
+                      keyStore,
+                      keyStoreType,
+                      keyStoreModified)
+              + Arrays.hashCode(keyStorePasswordHash);
+    }
+
+    private static byte[] digest(String password) {
+      if (password == null) return null;
+      try {
+        return MessageDigest.getInstance("SHA-256")
+            .digest(password.getBytes(StandardCharsets.UTF_8));
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException("SHA-256 not available", e);
+      }
+    }
+
+    /**
+     * Last modification time of a certificate/keystore file.
+     *
+     * @param path file path or URL
+     * @return last modification time, 0 if there is no file, or -1 if unknown (non-file URL)
+     */
+    private static long lastModified(String path) {
+      if (path == null || path.startsWith("-----")) return 0L;
+      try {
+        File file;
+        try {
+          URL url = new URL(path);
+          if (!"file".equalsIgnoreCase(url.getProtocol())) return -1L;
+          file = new File(url.toURI());
+        } catch (MalformedURLException | URISyntaxException | IllegalArgumentException e) {
+          file = new File(path);
+        }
+        return file.lastModified();
+      } catch (SecurityException e) {
+        return -1L;
+      }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      SslContextKey that = (SslContextKey) o;
+      return serverSslCertModified == that.serverSslCertModified
+          && keyStoreModified == that.keyStoreModified
+          && sslMode == that.sslMode
+          && Objects.equals(serverSslCert, that.serverSslCert)
+          && Objects.equals(keyStore, that.keyStore)
+          && Arrays.equals(keyStorePasswordHash, that.keyStorePasswordHash)
+          && Objects.equals(keyStoreType, that.keyStoreType);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
   @Override
   public void verify(String host, SSLSession session, long serverThreadId) throws SSLException {
     try {
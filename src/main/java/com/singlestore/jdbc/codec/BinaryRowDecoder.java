@@ -13,10 +13,11 @@ import java.util.Calendar;
 
 public class BinaryRowDecoder extends RowDecoder {
 
-  private byte[] nullBitmap;
+  private final byte[] nullBitmap;
 
   public BinaryRowDecoder(int columnCount, ColumnDefinitionPacket[] columns, Configuration conf) {
     super(columnCount, columns, conf);
+    nullBitmap = new byte[(columnCount + 9) / 8];
   }
 
   @Override
@@ -60,10 +61,9 @@ public class BinaryRowDecoder extends RowDecoder {
   }
 
   @Override
-  public void setRow(byte[] buf) {
+  public void setRow(byte[] buf, int offset, int length) {
     if (buf != null) {
-      this.readBuf.buf(buf, buf.length).pos(1); // skip 0x00 header
-      nullBitmap = new byte[(columnCount + 9) / 8];
+      this.readBuf.buf(buf, offset + length).pos(offset + 1); // skip 0x00 header
       this.readBuf.readBytes(nullBitmap).mark();
     } else {
       this.readBuf.buf(null, 0);
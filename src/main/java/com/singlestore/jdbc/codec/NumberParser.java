@@ -0,0 +1,265 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.codec;
+
+import com.singlestore.jdbc.client.ReadableByteBuf;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Allocation free parsing of numeric values sent by server in text format.
+ *
+ * <p>Decimal values with at most 18 digits are built from an unscaled long. Floating point values
+ * with at most 19 significant digits are converted using Clinger's fast path, then Eisel-Lemire
+ * algorithm, with correct rounding (results are identical to {@link Double#parseDouble(String)}
+ * and {@link Float#parseFloat(String)}). Parsing does not move buffer position. Values in other
+ * formats (too many digits, white spaces, "Infinity", hexadecimal ...) are not handled, in which
+ * case caller must use the generic parsing.
+ */
+public final class NumberParser {
+
+  private static final long INVALID = -1L;
+  private static final int MAX_DECIMAL_DIGITS = 18;
+  private static final int MAX_SIGNIFICANT_DIGITS = 19;
+  private static final int SMALLEST_POWER_OF_FIVE = -342;
+  private static final int LARGEST_POWER_OF_FIVE = 308;
+
+  private static final double[] DOUBLE_POW10 = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+  private static final float[] FLOAT_POW10 = {
+    1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+  };
+
+  // 128 most significant bits of powers of five, from 5^-342 to 5^308
+  private static final long[] POW5_HIGH;
+  private static final long[] POW5_LOW;
+
+  static {
+    int size = LARGEST_POWER_OF_FIVE - SMALLEST_POWER_OF_FIVE + 1;
+    POW5_HIGH = new long[size];
+    POW5_LOW = new long[size];
+    BigInteger five = BigInteger.valueOf(5);
+    for (int q = SMALLEST_POWER_OF_FIVE; q <= LARGEST_POWER_OF_FIVE; q++) {
+      BigInteger value;
+      if (q >= 0) {
+        BigInteger pow = five.pow(q);
+        int bits = pow.bitLength();
+        value = bits <= 128 ? pow.shiftLeft(128 - bits) : pow.shiftRight(bits - 128);
+      } else {
+        // reciprocal, rounded up
+        BigInteger pow = five.pow(-q);
+        int bits = pow.bitLength();
+        int shift = q >= -27 ? bits + 127 : 2 * bits + 128;
+        value = BigInteger.ONE.shiftLeft(shift).divide(pow).add(BigInteger.ONE);
+        if (value.bitLength() > 128) value = value.shiftRight(value.bitLength() - 128);
+      }
+      POW5_HIGH[q - SMALLEST_POWER_OF_FIVE] = value.shiftRight(64).longValue();
+      POW5_LOW[q - SMALLEST_POWER_OF_FIVE] = value.longValue();
+    }
+  }
+
+  private NumberParser() {}
+
+  /**
+   * Parse a decimal value <code>[-+]digits[.digits]</code> with at most 18 digits.
+   *
+   * @param buf buffer, positioned at value
+   * @param length value length
+   * @return decimal value, or null if value format is not handled
+   */
+  public static BigDecimal parseDecimal(ReadableByteBuf buf, int length) {
+    if (length == 0 || length > MAX_DECIMAL_DIGITS + 2) return null;
+    byte[] b = buf.buf();
+    int p = buf.pos();
+    int end = p + length;
+    boolean negative = b[p] == '-';
+    if (negative || b[p] == '+') p++;
+    long unscaled = 0;
+    int digits = 0;
+    int scale = -1;
+    for (; p < end; p++) {
+      int d = b[p] - '0';
+      if (d >= 0 && d <= 9) {
+        unscaled = unscaled * 10 + d;
+        digits++;
+        if (scale >= 0) scale++;
+      } else if (b[p] == '.' && scale < 0) {
+        scale = 0;
+      } else {
+        return null;
+      }
+    }
+    if (digits == 0 || digits > MAX_DECIMAL_DIGITS) return null;
+    return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+  }
+
+  /**
+   * Parse a floating point value <code>[-+]digits[.digits][(e|E)[-+]digits]</code>.
+   *
+   * @param buf buffer, positioned at value
+   * @param length value length
+   * @return double value, or {@link Double#NaN} if value format is not handled
+   */
+  public static double parseDouble(ReadableByteBuf buf, int length) {
+    long bits = parse(buf.buf(), buf.pos(), length, false);
+    return bits == INVALID ? Double.NaN : Double.longBitsToDouble(bits);
+  }
+
+  /**
+   * Parse a floating point value <code>[-+]digits[.digits][(e|E)[-+]digits]</code>.
+   *
+   * @param buf buffer, positioned at value
+   * @param length value length
+   * @return float value, or {@link Float#NaN} if value format is not handled
+   */
+  public static float parseFloat(ReadableByteBuf buf, int length) {
+    long bits = parse(buf.buf(), buf.pos(), length, true);
+    return bits == INVALID ? Float.NaN : Float.intBitsToFloat((int) bits);
+  }
+
+  private static long parse(byte[] b, int p, int length, boolean isFloat) {
+    int end = p + length;
+    if (length == 0) return INVALID;
+    boolean negative = b[p] == '-';
+    if (negative || b[p] == '+') p++;
+
+    long mantissa = 0;
+    int digits = 0;
+    int significantDigits = 0;
+    int fractionDigits = 0;
+    boolean fraction = false;
+    for (; p < end; p++) {
+      int d = b[p] - '0';
+      if (d >= 0 && d <= 9) {
+        digits++;
+        if (fraction) fractionDigits++;
+        if (mantissa != 0 || d != 0) {
+          if (++significantDigits > MAX_SIGNIFICANT_DIGITS) return INVALID;
+          mantissa = mantissa * 10 + d;
+        }
+      } else if (b[p] == '.' && !fraction) {
+        fraction = true;
+      } else {
+        break;
+      }
+    }
+    if (digits == 0) return INVALID;
+
+    int exponent = 0;
+    if (p < end) {
+      if (b[p] != 'e' && b[p] != 'E') return INVALID;
+      if (++p == end) return INVALID;
+      boolean negativeExponent = b[p] == '-';
+      if (negativeExponent || b[p] == '+') p++;
+      if (p == end || end - p > 4) return INVALID;
+      for (; p < end; p++) {
+        int d = b[p] - '0';
+        if (d < 0 || d > 9) return INVALID;
+        exponent = exponent * 10 + d;
+      }
+      if (negativeExponent) exponent = -exponent;
+    }
+    int q = exponent - fractionDigits;
+
+    long bits =
+        isFloat
+            ? floatBits(mantissa, q) | (negative ? 0x8000_0000L : 0L)
+            : doubleBits(mantissa, q) | (negative ? Long.MIN_VALUE : 0L);
+    return bits;
+  }
+
+  private static long doubleBits(long mantissa, int q) {
+    if (mantissa == 0) return 0;
+    if (q >= -22 && q <= 22 && Long.compareUnsigned(mantissa, 1L << 53) <= 0) {
+      // mantissa and power of ten are exact doubles: single rounding
+      double d = mantissa;
+      return Double.doubleToRawLongBits(q < 0 ? d / DOUBLE_POW10[-q] : d * DOUBLE_POW10[q]);
+    }
+    if (q < -342) return 0;
+    if (q > 308) return 0x7ffL << 52;
+    return eiselLemire(mantissa, q, 52, -1023, 0x7ff, -4, 23);
+  }
+
+  private static long floatBits(long mantissa, int q) {
+    if (mantissa == 0) return 0;
+    if (q >= -10 && q <= 10 && Long.compareUnsigned(mantissa, 1L << 24) <= 0) {
+      float f = mantissa;
+      return Float.floatToRawIntBits(q < 0 ? f / FLOAT_POW10[-q] : f * FLOAT_POW10[q]);
+    }
+    if (q < -64) return 0;
+    if (q > 38) return 0xffL << 23;
+    return eiselLemire(mantissa, q, 23, -127, 0xff, -17, 10);
+  }
+
+  /**
+   * Eisel-Lemire conversion of mantissa * 10^q to IEEE 754 bits (without sign), see "Number
+   * Parsing at a Gigabyte per Second", Daniel Lemire, 2021.
+   */
+  private static long eiselLemire(
+      long w,
+      int q,
+      int mantissaBits,
+      int minimumExponent,
+      int infinitePower,
+      int minRoundToEven,
+      int maxRoundToEven) {
+    int lz = Long.numberOfLeadingZeros(w);
+    w <<= lz;
+    int index = q - SMALLEST_POWER_OF_FIVE;
+    long low = w * POW5_HIGH[index];
+    long high = unsignedMultiplyHigh(w, POW5_HIGH[index]);
+    long precisionMask = -1L >>> (mantissaBits + 3);
+    if ((high & precisionMask) == precisionMask) {
+      long secondHigh = unsignedMultiplyHigh(w, POW5_LOW[index]);
+      low += secondHigh;
+      if (Long.compareUnsigned(secondHigh, low) > 0) high++;
+    }
+    // product approximation may be too imprecise
+    if (low == -1L && (q < -27 || q > 55)) return INVALID;
+
+    int upperBit = (int) (high >>> 63);
+    long mantissa = high >>> (upperBit + 64 - mantissaBits - 3);
+    int power2 = ((217706 * q) >> 16) + 63 + upperBit - lz - minimumExponent;
+    if (power2 <= 0) {
+      // subnormal
+      if (-power2 + 1 >= 64) return 0;
+      mantissa >>>= -power2 + 1;
+      mantissa += mantissa & 1;
+      mantissa >>>= 1;
+      power2 = mantissa < (1L << mantissaBits) ? 0 : 1;
+      return mantissa | ((long) power2 << mantissaBits);
+    }
+    if (Long.compareUnsigned(low, 1) <= 0
+        && q >= minRoundToEven
+        && q <= maxRoundToEven
+        && (mantissa & 3) == 1
+        && (mantissa << (upperBit + 64 - mantissaBits - 3)) == high) {
+      // exactly between two values: round to even
+      mantissa &= ~1L;
+    }
+    mantissa += mantissa & 1;
+    mantissa >>>= 1;
+    if (mantissa >= (2L << mantissaBits)) {
+      mantissa = 1L << mantissaBits;
+      power2++;
+    }
+    mantissa &= ~(1L << mantissaBits);
+    if (power2 >= infinitePower) return (long) infinitePower << mantissaBits;
+    return mantissa | ((long) power2 << mantissaBits);
+  }
+
+  private static long unsignedMultiplyHigh(long x, long y) {
+    long x0 = x & 0xffffffffL;
+    long x1 = x >>> 32;
+    long y0 = y & 0xffffffffL;
+    long y1 = y >>> 32;
+    long p01 = x0 * y1;
+    long middle = x1 * y0 + ((x0 * y0) >>> 32) + (p01 & 0xffffffffL);
+    return x1 * y1 + (middle >>> 32) + (p01 >>> 32);
+  }
+}
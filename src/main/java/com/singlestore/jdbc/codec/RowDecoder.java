@@ -30,7 +30,19 @@ public abstract class RowDecoder {
   }
 
   public void setRow(byte[] buf) {
-    this.readBuf.buf(buf, buf == null ? 0 : buf.length).pos(0);
+    setRow(buf, 0, buf == null ? 0 : buf.length);
+  }
+
+  /**
+   * Set current row, that may be stored in a buffer shared with other rows.
+   *
+   * @param buf buffer containing row, null if there is no current row
+   * @param offset row offset in buffer
+   * @param length row length
+   */
+  public void setRow(byte[] buf, int offset, int length) {
+    this.readBuf.buf(buf, offset + length).pos(offset);
+    this.readBuf.mark();
     index = -1;
   }
 
@@ -71,10 +83,9 @@ public abstract class RowDecoder {
       return decode(defaultCodec, calendar);
     }
 
-    for (Codec<?> codec : conf.codecs()) {
-      if (codec.canDecode(column, type)) {
-        return decode((Codec<T>) codec, calendar);
-      }
+    Codec<T> codec = (Codec<T>) column.getCodec(conf, type);
+    if (codec != null) {
+      return decode(codec, calendar);
     }
     readBuf.skip(length);
     throw new SQLException(
@@ -0,0 +1,182 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.codec;
+
+import com.singlestore.jdbc.client.ReadableByteBuf;
+
+/**
+ * Allocation free parsing of temporal values sent by server in text format.
+ *
+ * <p>Only canonical server formats are handled: <code>YYYY-MM-DD</code> and <code>
+ * YYYY-MM-DD HH:MM:SS[.ffffff]</code>. Parsing does not move buffer position. Result is packed in
+ * a long (see field accessors), or {@link #INVALID} if value has another format, in which case
+ * caller must use the generic parsing.
+ */
+public final class TemporalParser {
+
+  /** Value is not in a canonical format. */
+  public static final long INVALID = -1L;
+
+  // packed value: year (14 bits) | month (4) | day (5) | hour (5) | minute (6) | second (6) |
+  // microseconds (20)
+  private static final int MICRO_BITS = 20;
+  private static final int SECOND_SHIFT = MICRO_BITS;
+  private static final int MINUTE_SHIFT = SECOND_SHIFT + 6;
+  private static final int HOUR_SHIFT = MINUTE_SHIFT + 6;
+  private static final int DAY_SHIFT = HOUR_SHIFT + 5;
+  private static final int MONTH_SHIFT = DAY_SHIFT + 5;
+  private static final int YEAR_SHIFT = MONTH_SHIFT + 4;
+  private static final long DATE_MASK = -1L << DAY_SHIFT;
+  private static final int[] MICRO_SCALE = {0, 100_000, 10_000, 1_000, 100, 10, 1};
+
+  private TemporalParser() {}
+
+  /**
+   * Parse a <code>YYYY-MM-DD HH:MM:SS[.ffffff]</code> or <code>YYYY-MM-DD</code> value.
+   *
+   * @param buf buffer, positioned at value
+   * @param length value length
+   * @return packed value, or {@link #INVALID}
+   */
+  public static long parseDateTime(ReadableByteBuf buf, int length) {
+    if (length == 10) return parseDate(buf, length);
+    if (length < 19 || length == 20 || length > 26) return INVALID;
+    byte[] b = buf.buf();
+    int p = buf.pos();
+    if (b[p + 10] != ' ' || b[p + 13] != ':' || b[p + 16] != ':') return INVALID;
+    long date = parseDate(b, p);
+    int hour = digits(b, p + 11);
+    int minute = digits(b, p + 14);
+    int second = digits(b, p + 17);
+    if (date == INVALID || (hour | minute | second) < 0) return INVALID;
+    if (hour > 23 || minute > 59 || second > 59) return INVALID;
+    int micros = 0;
+    if (length > 19) {
+      if (b[p + 19] != '.') return INVALID;
+      for (int i = p + 20; i < p + length; i++) {
+        int d = b[i] - '0';
+        if (d < 0 || d > 9) return INVALID;
+        micros = micros * 10 + d;
+      }
+      micros *= MICRO_SCALE[length - 20];
+    }
+    return date
+        | ((long) hour << HOUR_SHIFT)
+        | ((long) minute << MINUTE_SHIFT)
+        | ((long) second << SECOND_SHIFT)
+        | micros;
+  }
+
+  /**
+   * Parse a <code>YYYY-MM-DD</code> value.
+   *
+   * @param buf buffer, positioned at value
+   * @param length value length
+   * @return packed value, or {@link #INVALID}
+   */
+  public static long parseDate(ReadableByteBuf buf, int length) {
+    if (length != 10) return INVALID;
+    return parseDate(buf.buf(), buf.pos());
+  }
+
+  private static long parseDate(byte[] b, int p) {
+    if (b[p + 4] != '-' || b[p + 7] != '-') return INVALID;
+    int century = digits(b, p);
+    int yearOfCentury = digits(b, p + 2);
+    int month = digits(b, p + 5);
+    int day = digits(b, p + 8);
+    if ((century | yearOfCentury | month | day) < 0 || month > 12 || day > 31) return INVALID;
+    // only accept zero month and day in zero date
+    if ((month == 0 || day == 0) && (century | yearOfCentury | month | day) != 0) return INVALID;
+    return pack(century * 100 + yearOfCentury, month, day, 0, 0, 0, 0);
+  }
+
+  private static int digits(byte[] b, int p) {
+    int high = b[p] - '0';
+    int low = b[p + 1] - '0';
+    if (high < 0 || high > 9 || low < 0 || low > 9) return -1;
+    return high * 10 + low;
+  }
+
+  /**
+   * Pack temporal fields.
+   *
+   * @param year year (0-9999)
+   * @param month month (0-12)
+   * @param day day of month (0-31)
+   * @param hour hour (0-23)
+   * @param minute minute (0-59)
+   * @param second second (0-59)
+   * @param micros microseconds (0-999999)
+   * @return packed value
+   */
+  public static long pack(
+      int year, int month, int day, int hour, int minute, int second, int micros) {
+    return ((long) year << YEAR_SHIFT)
+        | ((long) month << MONTH_SHIFT)
+        | ((long) day << DAY_SHIFT)
+        | ((long) hour << HOUR_SHIFT)
+        | ((long) minute << MINUTE_SHIFT)
+        | ((long) second << SECOND_SHIFT)
+        | micros;
+  }
+
+  public static int year(long packed) {
+    return (int) (packed >>> YEAR_SHIFT);
+  }
+
+  public static int month(long packed) {
+    return (int) (packed >>> MONTH_SHIFT) & 0xf;
+  }
+
+  public static int day(long packed) {
+    return (int) (packed >>> DAY_SHIFT) & 0x1f;
+  }
+
+  public static int hour(long packed) {
+    return (int) (packed >>> HOUR_SHIFT) & 0x1f;
+  }
+
+  public static int minute(long packed) {
+    return (int) (packed >>> MINUTE_SHIFT) & 0x3f;
+  }
+
+  public static int second(long packed) {
+    return (int) (packed >>> SECOND_SHIFT) & 0x3f;
+  }
+
+  public static int micros(long packed) {
+    return (int) packed & ((1 << MICRO_BITS) - 1);
+  }
+
+  /**
+   * Indicate if date part is zero (0000-00-00).
+   *
+   * @param packed packed value
+   * @return true if date is zero
+   */
+  public static boolean isZeroDate(long packed) {
+    return (packed & DATE_MASK) == 0;
+  }
+
+  /**
+   * Number of days since 1970-01-01 in proleptic gregorian calendar.
+   *
+   * @param year year
+   * @param month month (1-12)
+   * @param day day of month
+   * @return epoch day
+   */
+  public static long epochDay(int year, int month, int day) {
+    // days from civil algorithm, see http://howardhinnant.github.io/date_algorithms.html
+    long y = month <= 2 ? year - 1 : year;
+    long era = Math.floorDiv(y, 400);
+    long yearOfEra = y - era * 400;
+    long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+    long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146097 + dayOfEra - 719468;
+  }
+}
@@ -71,7 +71,7 @@ public class TextRowDecoder extends RowDecoder {
   public void setPosition(int newIndex) {
     if (index >= newIndex) {
       index = 0;
-      readBuf.pos(0);
+      readBuf.reset();
     } else {
       index++;
     }
@@ -0,0 +1,143 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.codec;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conversion of local date-time to epoch milliseconds for a time zone, without {@link Calendar}
+ * for common values.
+ *
+ * <p>The offset of the last converted value is cached with the local time range in which it is
+ * valid (between two zone transitions). Values outside this range, values near a transition and
+ * values before 1900 are converted using a {@link GregorianCalendar}, so results are identical to
+ * calendar conversion.
+ */
+public final class ZoneOffsetCache {
+
+  private static final Map<String, ZoneOffsetCache> CACHE = new ConcurrentHashMap<>();
+  private static final Class<?> ZONE_INFO_CLASS = TimeZone.getTimeZone("UTC").getClass();
+  private static final long MILLIS_PER_DAY = 86_400_000L;
+  // 1900-01-01T00:00:00, earlier values always use calendar
+  private static final long MIN_CACHED_LOCAL_MILLIS = -2_208_988_800_000L;
+
+  private final TimeZone timeZone;
+  private final ZoneId zoneId;
+  private final ZoneRules rules;
+  private final Calendar calendar;
+  private volatile Range range;
+
+  private ZoneOffsetCache(TimeZone timeZone) {
+    this.timeZone = (TimeZone) timeZone.clone();
+    // transitions are only known for JDK time zones
+    this.zoneId = timeZone.getClass() == ZONE_INFO_CLASS ? timeZone.toZoneId() : null;
+    this.rules = zoneId != null ? zoneId.getRules() : null;
+    this.calendar = new GregorianCalendar(this.timeZone);
+  }
+
+  /**
+   * Get cache for calendar time zone.
+   *
+   * @param cal calendar, null for default time zone
+   * @return offset cache, or null if calendar is not a gregorian calendar
+   */
+  public static ZoneOffsetCache get(Calendar cal) {
+    if (cal == null) return get(TimeZone.getDefault());
+    if (cal.getClass() != GregorianCalendar.class) return null;
+    return get(cal.getTimeZone());
+  }
+
+  /**
+   * Get cache for time zone.
+   *
+   * @param timeZone time zone
+   * @return offset cache
+   */
+  public static ZoneOffsetCache get(TimeZone timeZone) {
+    ZoneOffsetCache cache = CACHE.get(timeZone.getID());
+    if (cache == null || !cache.timeZone.hasSameRules(timeZone)) {
+      cache = new ZoneOffsetCache(timeZone);
+      CACHE.put(timeZone.getID(), cache);
+    }
+    return cache;
+  }
+
+  public ZoneId getZoneId() {
+    return zoneId != null ? zoneId : timeZone.toZoneId();
+  }
+
+  /**
+   * Epoch milliseconds of a local date-time in this time zone.
+   *
+   * @param year year
+   * @param month month (1-12)
+   * @param day day of month
+   * @param hour hour
+   * @param minute minute
+   * @param second second
+   * @return epoch milliseconds
+   */
+  public long toEpochMillis(int year, int month, int day, int hour, int minute, int second) {
+    long local =
+        TemporalParser.epochDay(year, month, day) * MILLIS_PER_DAY
+            + hour * 3_600_000L
+            + minute * 60_000L
+            + second * 1_000L;
+    Range r = range;
+    if (r != null && local >= r.from && local < r.until) return local - r.offset;
+
+    long millis;
+    synchronized (calendar) {
+      calendar.clear();
+      calendar.set(year, month - 1, day, hour, minute, second);
+      millis = calendar.getTimeInMillis();
+    }
+    if (rules != null && local >= MIN_CACHED_LOCAL_MILLIS) cacheRange(local, millis);
+    return millis;
+  }
+
+  private void cacheRange(long local, long millis) {
+    Instant instant = Instant.ofEpochMilli(millis);
+    long offset = local - millis;
+    if (rules.getOffset(instant).getTotalSeconds() * 1000L != offset) return;
+    ZoneOffsetTransition previous = rules.previousTransition(instant);
+    ZoneOffsetTransition next = rules.nextTransition(instant);
+    // exclude gap and overlap of transitions, where local time is ambiguous
+    long from =
+        previous == null
+            ? MIN_CACHED_LOCAL_MILLIS
+            : Math.max(MIN_CACHED_LOCAL_MILLIS, localMillis(previous, true));
+    long until = next == null ? Long.MAX_VALUE : localMillis(next, false);
+    if (local >= from && local < until) range = new Range(from, until, offset);
+  }
+
+  private static long localMillis(ZoneOffsetTransition transition, boolean max) {
+    int before = transition.getOffsetBefore().getTotalSeconds();
+    int after = transition.getOffsetAfter().getTotalSeconds();
+    return (transition.toEpochSecond() + (max ? Math.max(before, after) : Math.min(before, after)))
+        * 1000L;
+  }
+
+  private static final class Range {
+    private final long from;
+    private final long until;
+    private final long offset;
+
+    private Range(long from, long until, long offset) {
+      this.from = from;
+      this.until = until;
+      this.offset = offset;
+    }
+  }
+}
@@ -10,6 +10,7 @@ import com.singlestore.jdbc.client.context.Context;
 import com.singlestore.jdbc.client.socket.PacketWriter;
 import com.singlestore.jdbc.codec.Codec;
 import com.singlestore.jdbc.codec.DataType;
+import com.singlestore.jdbc.codec.NumberParser;
 import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
 import java.io.IOException;
 import java.math.BigDecimal;
@@ -71,6 +72,11 @@ public class BigDecimalCodec implements Codec<BigDecimal> {
       case DECIMAL:
       case OLDDECIMAL:
       case YEAR:
+        BigDecimal decimal = NumberParser.parseDecimal(buf, length);
+        if (decimal != null) {
+          buf.skip(length);
+          return decimal;
+        }
         return new BigDecimal(buf.readAscii(length));
 
       case BLOB:
@@ -88,6 +94,11 @@ public class BigDecimalCodec implements Codec<BigDecimal> {
       case VARCHAR:
       case VARSTRING:
       case STRING:
+        BigDecimal parsed = NumberParser.parseDecimal(buf, length);
+        if (parsed != null) {
+          buf.skip(length);
+          return parsed;
+        }
         String str = buf.readString(length);
         try {
           return new BigDecimal(str);
@@ -191,6 +202,11 @@ public class BigDecimalCodec implements Codec<BigDecimal> {
       case STRING:
       case DECIMAL:
       case OLDDECIMAL:
+        BigDecimal decimal = NumberParser.parseDecimal(buf, length);
+        if (decimal != null) {
+          buf.skip(length);
+          return decimal;
+        }
         String str = buf.readString(length);
         try {
           return new BigDecimal(str);
@@ -10,6 +10,8 @@ import com.singlestore.jdbc.client.context.Context;
 import com.singlestore.jdbc.client.socket.PacketWriter;
 import com.singlestore.jdbc.codec.Codec;
 import com.singlestore.jdbc.codec.DataType;
+import com.singlestore.jdbc.codec.TemporalParser;
+import com.singlestore.jdbc.codec.ZoneOffsetCache;
 import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
 import java.io.IOException;
 import java.sql.Date;
@@ -85,6 +87,20 @@ public class DateCodec implements Codec<Date> {
       case VARSTRING:
       case STRING:
       case DATE:
+        long date = TemporalParser.parseDate(buf, length);
+        ZoneOffsetCache zone = ZoneOffsetCache.get(cal);
+        if (date != TemporalParser.INVALID && zone != null) {
+          buf.skip(length);
+          if (date == 0) return null;
+          return new Date(
+              zone.toEpochMillis(
+                  TemporalParser.year(date),
+                  TemporalParser.month(date),
+                  TemporalParser.day(date),
+                  0,
+                  0,
+                  0));
+        }
         String val = buf.readString(length);
         if ("0000-00-00".equals(val)) return null;
         String[] stDatePart = val.split("-| ");
@@ -175,7 +191,13 @@ public class DateCodec implements Codec<Date> {
 
       case DATE:
         if (length == 0) return null;
-        Calendar c = cal == null ? Calendar.getInstance() : cal;
+        ZoneOffsetCache zone = ZoneOffsetCache.get(cal);
+        if (zone != null) {
+          int year = buf.readShort();
+          int month = buf.readByte();
+          return new Date(zone.toEpochMillis(year, month, buf.readByte(), 0, 0, 0));
+        }
+        Calendar c = cal;
         synchronized (c) {
           c.clear();
           c.set(Calendar.YEAR, buf.readShort());
@@ -0,0 +1,154 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.codec.list;
+
+import com.singlestore.jdbc.client.ReadableByteBuf;
+import com.singlestore.jdbc.codec.DataType;
+import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.SQLDataException;
+import java.util.Arrays;
+
+/**
+ * double[] codec, using packed little-endian float64 binary form, as stored in SingleStore VECTOR
+ * columns of <code>F64</code> element type.
+ *
+ * <p>Geometry values are decoded to their coordinates, <code>[x0, y0, x1, y1, ...]</code> in WKB
+ * order, without creating geometry objects, for bulk geospatial reads.
+ */
+public class DoubleArrayCodec extends PackedArrayCodec<double[]> {
+
+  public static final DoubleArrayCodec INSTANCE = new DoubleArrayCodec();
+
+  // maximum nesting of geometry collections, protecting stack from malformed values
+  private static final int MAX_DEPTH = 32;
+
+  public DoubleArrayCodec() {
+    super(double[].class, "double", 8);
+  }
+
+  @Override
+  public boolean canDecode(ColumnDefinitionPacket column, Class<?> type) {
+    return super.canDecode(column, type)
+        || (column.getType() == DataType.GEOMETRY && type.isAssignableFrom(double[].class));
+  }
+
+  /**
+   * Pack values to little-endian binary form.
+   *
+   * @param values values
+   * @return packed bytes
+   */
+  public static byte[] pack(double[] values) {
+    byte[] bytes = new byte[values.length * 8];
+    ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().put(values);
+    return bytes;
+  }
+
+  @Override
+  protected double[] read(ByteBuffer buffer, int count) {
+    double[] values = new double[count];
+    buffer.asDoubleBuffer().get(values);
+    return values;
+  }
+
+  @Override
+  protected byte[] toBytes(double[] values) {
+    return pack(values);
+  }
+
+  @Override
+  protected double[] unpack(ReadableByteBuf buf, int length, ColumnDefinitionPacket column)
+      throws SQLDataException {
+    if (column.getType() == DataType.GEOMETRY) return coordinates(buf, length);
+    return super.unpack(buf, length, column);
+  }
+
+  /**
+   * Read geometry coordinates (SRID followed by WKB).
+   *
+   * @param buf buffer
+   * @param length value length
+   * @return coordinates
+   * @throws SQLDataException if WKB is malformed
+   */
+  private static double[] coordinates(ReadableByteBuf buf, int length) throws SQLDataException {
+    int end = buf.pos() + length;
+    try {
+      if (length <= 4) return new double[0];
+      buf.skip(4); // SRID
+      // upper bound, a point using at least 16 bytes
+      double[] coords = new double[(length - 4) / 8];
+      int count = readCoordinates(buf, end, coords, 0, 0);
+      return count == coords.length ? coords : Arrays.copyOf(coords, count);
+    } catch (RuntimeException e) {
+      throw new SQLDataException("Malformed geometry value", "22000", e);
+    } finally {
+      buf.pos(end);
+    }
+  }
+
+  private static int readCoordinates(
+      ReadableByteBuf buf, int end, double[] coords, int idx, int depth) throws SQLDataException {
+    boolean littleEndian = buf.readByte() == 0x01;
+    int wkbType = littleEndian ? buf.readInt() : buf.readIntBE();
+    switch (wkbType) {
+      case 1:
+        // wkbPoint
+        return readPoints(buf, end, littleEndian, 1, coords, idx);
+      case 2:
+        // wkbLineString
+        return readPoints(buf, end, littleEndian, readCount(buf, littleEndian), coords, idx);
+      case 3:
+        // wkbPolygon
+        int rings = readCount(buf, littleEndian);
+        for (int i = 0; i < rings; i++) {
+          idx = readPoints(buf, end, littleEndian, readCount(buf, littleEndian), coords, idx);
+        }
+        return idx;
+      case 4:
+      case 5:
+      case 6:
+      case 7:
+        // multi geometries and collection
+        if (depth >= MAX_DEPTH) {
+          throw new SQLDataException(
+              String.format("Malformed geometry value: nesting deeper than %d", MAX_DEPTH));
+        }
+        int geometries = readCount(buf, littleEndian);
+        for (int i = 0; i < geometries; i++) {
+          idx = readCoordinates(buf, end, coords, idx, depth + 1);
+        }
+        return idx;
+      default:
+        throw new SQLDataException(String.format("Unknown WKB geometry type %d", wkbType));
+    }
+  }
+
+  private static int readCount(ReadableByteBuf buf, boolean littleEndian) {
+    return littleEndian ? buf.readInt() : buf.readIntBE();
+  }
+
+  private static int readPoints(
+      ReadableByteBuf buf, int end, boolean littleEndian, int points, double[] coords, int idx)
+      throws SQLDataException {
+    if (points < 0 || points > (end - buf.pos()) / 16) {
+      throw new SQLDataException("Malformed geometry value: wrong number of points");
+    }
+    int values = points * 2;
+    if (littleEndian) {
+      ByteBuffer.wrap(buf.buf(), buf.pos(), values * 8)
+          .order(ByteOrder.LITTLE_ENDIAN)
+          .asDoubleBuffer()
+          .get(coords, idx, values);
+      buf.skip(values * 8);
+    } else {
+      for (int i = 0; i < values; i++) coords[idx + i] = buf.readDoubleBE();
+    }
+    return idx + values;
+  }
+}
@@ -10,6 +10,7 @@ import com.singlestore.jdbc.client.context.Context;
 import com.singlestore.jdbc.client.socket.PacketWriter;
 import com.singlestore.jdbc.codec.Codec;
 import com.singlestore.jdbc.codec.DataType;
+import com.singlestore.jdbc.codec.NumberParser;
 import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
 import java.io.IOException;
 import java.math.BigDecimal;
@@ -77,6 +78,11 @@ public class DoubleCodec implements Codec<Double> {
       case OLDDECIMAL:
       case DECIMAL:
       case YEAR:
+        double value = NumberParser.parseDouble(buf, length);
+        if (!Double.isNaN(value)) {
+          buf.skip(length);
+          return value;
+        }
         return Double.valueOf(buf.readAscii(length));
 
       case BLOB:
@@ -94,6 +100,11 @@ public class DoubleCodec implements Codec<Double> {
       case VARCHAR:
       case VARSTRING:
       case STRING:
+        double parsed = NumberParser.parseDouble(buf, length);
+        if (!Double.isNaN(parsed)) {
+          buf.skip(length);
+          return parsed;
+        }
         String str2 = buf.readString(length);
         try {
           return Double.valueOf(str2);
@@ -165,6 +176,11 @@ public class DoubleCodec implements Codec<Double> {
 
       case OLDDECIMAL:
       case DECIMAL:
+        double value = NumberParser.parseDouble(buf, length);
+        if (!Double.isNaN(value)) {
+          buf.skip(length);
+          return value;
+        }
         return new BigDecimal(buf.readAscii(length)).doubleValue();
 
       case BLOB:
@@ -182,6 +198,11 @@ public class DoubleCodec implements Codec<Double> {
       case VARCHAR:
       case VARSTRING:
       case STRING:
+        double parsed = NumberParser.parseDouble(buf, length);
+        if (!Double.isNaN(parsed)) {
+          buf.skip(length);
+          return parsed;
+        }
         String str2 = buf.readString(length);
         try {
           return Double.valueOf(str2);
@@ -0,0 +1,46 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.codec.list;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * float[] codec, using packed little-endian float32 binary form, as stored in SingleStore VECTOR
+ * columns and returned by <code>JSON_ARRAY_PACK</code>.
+ */
+public class FloatArrayCodec extends PackedArrayCodec<float[]> {
+
+  public static final FloatArrayCodec INSTANCE = new FloatArrayCodec();
+
+  public FloatArrayCodec() {
+    super(float[].class, "float", 4);
+  }
+
+  /**
+   * Pack values to little-endian binary form.
+   *
+   * @param values values
+   * @return packed bytes
+   */
+  public static byte[] pack(float[] values) {
+    byte[] bytes = new byte[values.length * 4];
+    ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().put(values);
+    return bytes;
+  }
+
+  @Override
+  protected float[] read(ByteBuffer buffer, int count) {
+    float[] values = new float[count];
+    buffer.asFloatBuffer().get(values);
+    return values;
+  }
+
+  @Override
+  protected byte[] toBytes(float[] values) {
+    return pack(values);
+  }
+}
@@ -10,6 +10,7 @@ import com.singlestore.jdbc.client.context.Context;
 import com.singlestore.jdbc.client.socket.PacketWriter;
 import com.singlestore.jdbc.codec.Codec;
 import com.singlestore.jdbc.codec.DataType;
+import com.singlestore.jdbc.codec.NumberParser;
 import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
 import java.io.IOException;
 import java.math.BigDecimal;
@@ -79,6 +80,11 @@ public class FloatCodec implements Codec<Float> {
       case DECIMAL:
       case FLOAT:
       case YEAR:
+        float value = NumberParser.parseFloat(buf, length);
+        if (!Float.isNaN(value)) {
+          buf.skip(length);
+          return value;
+        }
         return Float.valueOf(buf.readAscii(length));
 
       case BLOB:
@@ -96,6 +102,11 @@ public class FloatCodec implements Codec<Float> {
       case VARCHAR:
       case VARSTRING:
       case STRING:
+        float parsed = NumberParser.parseFloat(buf, length);
+        if (!Float.isNaN(parsed)) {
+          buf.skip(length);
+          return parsed;
+        }
         String val = buf.readString(length);
         try {
           return Float.valueOf(val);
@@ -168,6 +179,11 @@ public class FloatCodec implements Codec<Float> {
 
       case OLDDECIMAL:
       case DECIMAL:
+        float value = NumberParser.parseFloat(buf, length);
+        if (!Float.isNaN(value)) {
+          buf.skip(length);
+          return value;
+        }
         return new BigDecimal(buf.readAscii(length)).floatValue();
 
       case BLOB:
@@ -185,6 +201,11 @@ public class FloatCodec implements Codec<Float> {
       case VARCHAR:
       case VARSTRING:
       case STRING:
+        float parsed = NumberParser.parseFloat(buf, length);
+        if (!Float.isNaN(parsed)) {
+          buf.skip(length);
+          return parsed;
+        }
         String str2 = buf.readString(length);
         try {
           return Float.valueOf(str2);
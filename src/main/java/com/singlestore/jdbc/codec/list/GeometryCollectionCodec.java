@@ -20,6 +20,8 @@ public class GeometryCollectionCodec implements Codec<GeometryCollection> {
 
   public static final GeometryCollectionCodec INSTANCE = new GeometryCollectionCodec();
 
+  private static final byte[] TEXT_PREFIX = WkbEncoder.prefix("ST_GeomCollFromWKB");
+
   public String className() {
     return GeometryCollection.class.getName();
   }
@@ -61,7 +63,7 @@ public class GeometryCollectionCodec implements Codec<GeometryCollection> {
   public void encodeText(
       PacketWriter encoder, Context context, Object value, Calendar cal, Long maxLength)
       throws IOException {
-    encoder.writeBytes(("ST_GeomCollFromText('" + value.toString() + "')").getBytes());
+    WkbEncoder.encodeText(encoder, context, TEXT_PREFIX, (Geometry) value);
   }
 
   @Override
@@ -0,0 +1,46 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.codec.list;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * int[] codec, using packed little-endian int32 binary form, as stored in SingleStore VECTOR
+ * columns of <code>I32</code> element type.
+ */
+public class IntArrayCodec extends PackedArrayCodec<int[]> {
+
+  public static final IntArrayCodec INSTANCE = new IntArrayCodec();
+
+  public IntArrayCodec() {
+    super(int[].class, "int", 4);
+  }
+
+  /**
+   * Pack values to little-endian binary form.
+   *
+   * @param values values
+   * @return packed bytes
+   */
+  public static byte[] pack(int[] values) {
+    byte[] bytes = new byte[values.length * 4];
+    ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(values);
+    return bytes;
+  }
+
+  @Override
+  protected int[] read(ByteBuffer buffer, int count) {
+    int[] values = new int[count];
+    buffer.asIntBuffer().get(values);
+    return values;
+  }
+
+  @Override
+  protected byte[] toBytes(int[] values) {
+    return pack(values);
+  }
+}
@@ -20,6 +20,8 @@ public class LineStringCodec implements Codec<LineString> {
 
   public static final LineStringCodec INSTANCE = new LineStringCodec();
 
+  private static final byte[] TEXT_PREFIX = WkbEncoder.prefix("ST_LineFromWKB");
+
   public String className() {
     return LineString.class.getName();
   }
@@ -60,7 +62,7 @@ public class LineStringCodec implements Codec<LineString> {
   public void encodeText(
       PacketWriter encoder, Context context, Object value, Calendar cal, Long maxLength)
       throws IOException {
-    encoder.writeBytes(("ST_LineFromText('" + value.toString() + "')").getBytes());
+    WkbEncoder.encodeText(encoder, context, TEXT_PREFIX, (Geometry) value);
   }
 
   @Override
@@ -10,6 +10,7 @@ import com.singlestore.jdbc.client.context.Context;
 import com.singlestore.jdbc.client.socket.PacketWriter;
 import com.singlestore.jdbc.codec.Codec;
 import com.singlestore.jdbc.codec.DataType;
+import com.singlestore.jdbc.codec.TemporalParser;
 import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
 import java.io.IOException;
 import java.sql.SQLDataException;
@@ -93,11 +94,21 @@ public class LocalDateCodec implements Codec<LocalDate> {
         return LocalDate.of(y, 1, 1);
       case NEWDATE:
       case DATE:
+        long date = TemporalParser.parseDate(buf, length);
+        if (date != TemporalParser.INVALID) {
+          buf.skip(length);
+          return toLocalDate(date);
+        }
         parts = parseDate(buf, length);
         break;
 
       case TIMESTAMP:
       case DATETIME:
+        long dateTime = TemporalParser.parseDateTime(buf, length);
+        if (dateTime != TemporalParser.INVALID) {
+          buf.skip(length);
+          return toLocalDate(dateTime);
+        }
         parts = LocalDateTimeCodec.parseTimestamp(buf.readAscii(length));
         break;
 
@@ -143,6 +154,14 @@ public class LocalDateCodec implements Codec<LocalDate> {
     return LocalDate.of(parts[0], parts[1], parts[2]);
   }
 
+  private static LocalDate toLocalDate(long packed) {
+    if (packed == 0) return null;
+    // zero date with a time
+    if (TemporalParser.isZeroDate(packed)) return LocalDate.of(0, 1, 1);
+    return LocalDate.of(
+        TemporalParser.year(packed), TemporalParser.month(packed), TemporalParser.day(packed));
+  }
+
   @Override
   @SuppressWarnings("fallthrough")
   public LocalDate decodeBinary(
@@ -10,6 +10,7 @@ import com.singlestore.jdbc.client.context.Context;
 import com.singlestore.jdbc.client.socket.PacketWriter;
 import com.singlestore.jdbc.codec.Codec;
 import com.singlestore.jdbc.codec.DataType;
+import com.singlestore.jdbc.codec.TemporalParser;
 import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
 import java.io.IOException;
 import java.sql.SQLDataException;
@@ -93,6 +94,35 @@ public class LocalDateTimeCodec implements Codec<LocalDateTime> {
     return timestampsPart;
   }
 
+  /**
+   * Create LocalDateTime from value parsed by {@link TemporalParser}, with same zero date handling
+   * than {@link #parseTimestamp(String)}.
+   *
+   * @param packed parsed value
+   * @return LocalDateTime, or null for zero timestamp
+   */
+  static LocalDateTime toLocalDateTime(long packed) {
+    if (packed == 0) return null;
+    if (TemporalParser.isZeroDate(packed)) {
+      return LocalDateTime.of(
+          0,
+          1,
+          1,
+          TemporalParser.hour(packed),
+          TemporalParser.minute(packed),
+          TemporalParser.second(packed),
+          TemporalParser.micros(packed) * 1000);
+    }
+    return LocalDateTime.of(
+        TemporalParser.year(packed),
+        TemporalParser.month(packed),
+        TemporalParser.day(packed),
+        TemporalParser.hour(packed),
+        TemporalParser.minute(packed),
+        TemporalParser.second(packed),
+        TemporalParser.micros(packed) * 1000);
+  }
+
   public String className() {
     return LocalDateTime.class.getName();
   }
@@ -128,6 +158,16 @@ public class LocalDateTimeCodec implements Codec<LocalDateTime> {
       case STRING:
       case VARCHAR:
       case VARSTRING:
+        long value = TemporalParser.parseDateTime(buf, length);
+        if (value != TemporalParser.INVALID) {
+          try {
+            LocalDateTime localDateTime = toLocalDateTime(value);
+            buf.skip(length);
+            return localDateTime;
+          } catch (DateTimeException dte) {
+            // generic parsing will report error
+          }
+        }
         String val = buf.readString(length);
         try {
           parts = parseTimestamp(val);
@@ -141,12 +181,23 @@ public class LocalDateTimeCodec implements Codec<LocalDateTime> {
         }
 
       case DATE:
+        long date = TemporalParser.parseDate(buf, length);
+        if (date != TemporalParser.INVALID) {
+          buf.skip(length);
+          if (date == 0) return null;
+          return toLocalDateTime(date);
+        }
         parts = LocalDateCodec.parseDate(buf, length);
         if (parts == null) return null;
         return LocalDateTime.of(parts[0], parts[1], parts[2], 0, 0, 0);
 
       case DATETIME:
       case TIMESTAMP:
+        long dateTime = TemporalParser.parseDateTime(buf, length);
+        if (dateTime != TemporalParser.INVALID) {
+          buf.skip(length);
+          return toLocalDateTime(dateTime);
+        }
         parts = parseTimestamp(buf.readAscii(length));
         if (parts == null) return null;
         return LocalDateTime.of(parts[0], parts[1], parts[2], parts[3], parts[4], parts[5])
@@ -10,6 +10,7 @@ import com.singlestore.jdbc.client.context.Context;
 import com.singlestore.jdbc.client.socket.PacketWriter;
 import com.singlestore.jdbc.codec.Codec;
 import com.singlestore.jdbc.codec.DataType;
+import com.singlestore.jdbc.codec.TemporalParser;
 import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
 import java.io.IOException;
 import java.sql.SQLDataException;
@@ -109,6 +110,16 @@ public class LocalTimeCodec implements Codec<LocalTime> {
     switch (column.getType()) {
       case TIMESTAMP:
       case DATETIME:
+        long dateTime = TemporalParser.parseDateTime(buf, length);
+        if (dateTime != TemporalParser.INVALID) {
+          buf.skip(length);
+          if (dateTime == 0) return null;
+          return LocalTime.of(
+              TemporalParser.hour(dateTime),
+              TemporalParser.minute(dateTime),
+              TemporalParser.second(dateTime),
+              TemporalParser.micros(dateTime) * 1000);
+        }
         parts = LocalDateTimeCodec.parseTimestamp(buf.readString(length));
         if (parts == null) return null;
         return LocalTime.of(parts[3], parts[4], parts[5], parts[6]);
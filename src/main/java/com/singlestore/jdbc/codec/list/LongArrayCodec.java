@@ -0,0 +1,46 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.codec.list;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * long[] codec, using packed little-endian int64 binary form, as stored in SingleStore VECTOR
+ * columns of <code>I64</code> element type.
+ */
+public class LongArrayCodec extends PackedArrayCodec<long[]> {
+
+  public static final LongArrayCodec INSTANCE = new LongArrayCodec();
+
+  public LongArrayCodec() {
+    super(long[].class, "long", 8);
+  }
+
+  /**
+   * Pack values to little-endian binary form.
+   *
+   * @param values values
+   * @return packed bytes
+   */
+  public static byte[] pack(long[] values) {
+    byte[] bytes = new byte[values.length * 8];
+    ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().put(values);
+    return bytes;
+  }
+
+  @Override
+  protected long[] read(ByteBuffer buffer, int count) {
+    long[] values = new long[count];
+    buffer.asLongBuffer().get(values);
+    return values;
+  }
+
+  @Override
+  protected byte[] toBytes(long[] values) {
+    return pack(values);
+  }
+}
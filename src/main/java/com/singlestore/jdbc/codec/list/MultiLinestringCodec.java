@@ -23,6 +23,8 @@ public class MultiLinestringCodec implements Codec<MultiLineString> {
 
   public static final MultiLinestringCodec INSTANCE = new MultiLinestringCodec();
 
+  private static final byte[] TEXT_PREFIX = WkbEncoder.prefix("ST_MLineFromWKB");
+
   public String className() {
     return MultiLineString.class.getName();
   }
@@ -63,7 +65,7 @@ public class MultiLinestringCodec implements Codec<MultiLineString> {
   public void encodeText(
       PacketWriter encoder, Context context, Object value, Calendar cal, Long maxLength)
       throws IOException {
-    encoder.writeBytes(("ST_MLineFromText('" + value.toString() + "')").getBytes());
+    WkbEncoder.encodeText(encoder, context, TEXT_PREFIX, (Geometry) value);
   }
 
   @Override
@@ -22,6 +22,8 @@ public class MultiPointCodec implements Codec<MultiPoint> {
 
   public static final MultiPointCodec INSTANCE = new MultiPointCodec();
 
+  private static final byte[] TEXT_PREFIX = WkbEncoder.prefix("ST_MPointFromWKB");
+
   public String className() {
     return MultiPoint.class.getName();
   }
@@ -62,7 +64,7 @@ public class MultiPointCodec implements Codec<MultiPoint> {
   public void encodeText(
       PacketWriter encoder, Context context, Object value, Calendar cal, Long maxLength)
       throws IOException {
-    encoder.writeBytes(("ST_MPointFromText('" + value.toString() + "')").getBytes());
+    WkbEncoder.encodeText(encoder, context, TEXT_PREFIX, (Geometry) value);
   }
 
   @Override
@@ -20,6 +20,8 @@ public class MultiPolygonCodec implements Codec<MultiPolygon> {
 
   public static final MultiPolygonCodec INSTANCE = new MultiPolygonCodec();
 
+  private static final byte[] TEXT_PREFIX = WkbEncoder.prefix("ST_MPolyFromWKB");
+
   public String className() {
     return MultiPolygon.class.getName();
   }
@@ -60,7 +62,7 @@ public class MultiPolygonCodec implements Codec<MultiPolygon> {
   public void encodeText(
       PacketWriter encoder, Context context, Object value, Calendar cal, Long maxLength)
       throws IOException {
-    encoder.writeBytes(("ST_MPolyFromText('" + value.toString() + "')").getBytes());
+    WkbEncoder.encodeText(encoder, context, TEXT_PREFIX, (Geometry) value);
   }
 
   @Override
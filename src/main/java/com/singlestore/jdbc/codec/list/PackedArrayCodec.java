@@ -0,0 +1,154 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.codec.list;
+
+import com.singlestore.jdbc.client.ReadableByteBuf;
+import com.singlestore.jdbc.client.context.Context;
+import com.singlestore.jdbc.client.socket.PacketWriter;
+import com.singlestore.jdbc.codec.Codec;
+import com.singlestore.jdbc.codec.DataType;
+import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
+import com.singlestore.jdbc.util.constants.ServerStatus;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.SQLDataException;
+import java.util.Calendar;
+import java.util.EnumSet;
+
+/**
+ * Primitive array codec, using packed little-endian binary form, as stored in SingleStore VECTOR
+ * columns. Values are sent as binary strings in text protocol and as BLOB in binary protocol.
+ * Implementations only provide conversion between array and little-endian buffer.
+ *
+ * @param <T> primitive array type
+ */
+public abstract class PackedArrayCodec<T> implements Codec<T> {
+
+  private static final EnumSet<DataType> COMPATIBLE_TYPES =
+      EnumSet.of(
+          DataType.BLOB,
+          DataType.TINYBLOB,
+          DataType.MEDIUMBLOB,
+          DataType.LONGBLOB,
+          DataType.VARSTRING,
+          DataType.VARCHAR,
+          DataType.STRING);
+
+  private final Class<T> arrayClass;
+  private final String elementName;
+  private final int elementSize;
+
+  /**
+   * Constructor.
+   *
+   * @param arrayClass primitive array class
+   * @param elementName element type name, for error messages
+   * @param elementSize element size in bytes
+   */
+  protected PackedArrayCodec(Class<T> arrayClass, String elementName, int elementSize) {
+    this.arrayClass = arrayClass;
+    this.elementName = elementName;
+    this.elementSize = elementSize;
+  }
+
+  /**
+   * Read values from little-endian buffer.
+   *
+   * @param buffer little-endian buffer, positioned on first value
+   * @param count number of values
+   * @return values
+   */
+  protected abstract T read(ByteBuffer buffer, int count);
+
+  /**
+   * Pack values to little-endian binary form.
+   *
+   * @param values values
+   * @return packed bytes
+   */
+  protected abstract byte[] toBytes(T values);
+
+  public String className() {
+    return arrayClass.getName();
+  }
+
+  public boolean canDecode(ColumnDefinitionPacket column, Class<?> type) {
+    return COMPATIBLE_TYPES.contains(column.getType()) && type.isAssignableFrom(arrayClass);
+  }
+
+  public boolean canEncode(Object value) {
+    return arrayClass.isInstance(value);
+  }
+
+  @Override
+  public T decodeText(ReadableByteBuf buf, int length, ColumnDefinitionPacket column, Calendar cal)
+      throws SQLDataException {
+    return unpack(buf, length, column);
+  }
+
+  @Override
+  public T decodeBinary(
+      ReadableByteBuf buf, int length, ColumnDefinitionPacket column, Calendar cal)
+      throws SQLDataException {
+    return unpack(buf, length, column);
+  }
+
+  /**
+   * Decode packed value.
+   *
+   * @param buf buffer, positioned on value
+   * @param length value length
+   * @param column column metadata
+   * @return values
+   * @throws SQLDataException if column type is not compatible, or length is not a multiple of
+   *     element size
+   */
+  protected T unpack(ReadableByteBuf buf, int length, ColumnDefinitionPacket column)
+      throws SQLDataException {
+    if (!COMPATIBLE_TYPES.contains(column.getType())) {
+      buf.skip(length);
+      throw new SQLDataException(
+          String.format("Data type %s cannot be decoded as %s[]", column.getType(), elementName));
+    }
+    if (length % elementSize != 0) {
+      buf.skip(length);
+      throw new SQLDataException(
+          String.format(
+              "Data length %d is not a multiple of %s size (%d)",
+              length, elementName, elementSize));
+    }
+    T values =
+        read(
+            ByteBuffer.wrap(buf.buf(), buf.pos(), length).order(ByteOrder.LITTLE_ENDIAN),
+            length / elementSize);
+    buf.skip(length);
+    return values;
+  }
+
+  @Override
+  public void encodeText(
+      PacketWriter encoder, Context context, Object value, Calendar cal, Long maxLength)
+      throws IOException {
+    byte[] bytes = toBytes(arrayClass.cast(value));
+    encoder.writeBytes(ByteArrayCodec.BINARY_PREFIX);
+    encoder.writeBytesEscaped(
+        bytes, bytes.length, (context.getServerStatus() & ServerStatus.NO_BACKSLASH_ESCAPES) != 0);
+    encoder.writeByte('\'');
+  }
+
+  @Override
+  public void encodeBinary(PacketWriter encoder, Object value, Calendar cal, Long maxLength)
+      throws IOException {
+    byte[] bytes = toBytes(arrayClass.cast(value));
+    encoder.writeLength(bytes.length);
+    encoder.writeBytes(bytes, 0, bytes.length);
+  }
+
+  public int getBinaryEncodeType() {
+    return DataType.BLOB.get();
+  }
+}
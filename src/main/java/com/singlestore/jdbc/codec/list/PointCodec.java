@@ -20,6 +20,8 @@ public class PointCodec implements Codec<Point> {
 
   public static final PointCodec INSTANCE = new PointCodec();
 
+  private static final byte[] TEXT_PREFIX = WkbEncoder.prefix("ST_PointFromWKB");
+
   public String className() {
     return Point.class.getName();
   }
@@ -59,7 +61,7 @@ public class PointCodec implements Codec<Point> {
   public void encodeText(
       PacketWriter encoder, Context context, Object value, Calendar cal, Long maxLength)
       throws IOException {
-    encoder.writeBytes(("ST_PointFromText('" + value.toString() + "')").getBytes());
+    WkbEncoder.encodeText(encoder, context, TEXT_PREFIX, (Geometry) value);
   }
 
   @Override
@@ -23,6 +23,8 @@ public class PolygonCodec implements Codec<Polygon> {
 
   public static final PolygonCodec INSTANCE = new PolygonCodec();
 
+  private static final byte[] TEXT_PREFIX = WkbEncoder.prefix("ST_PolyFromWKB");
+
   public String className() {
     return Polygon.class.getName();
   }
@@ -63,7 +65,7 @@ public class PolygonCodec implements Codec<Polygon> {
   public void encodeText(
       PacketWriter encoder, Context context, Object value, Calendar cal, Long maxLength)
       throws IOException {
-    encoder.writeBytes(("ST_PolyFromText('" + value.toString() + "')").getBytes());
+    WkbEncoder.encodeText(encoder, context, TEXT_PREFIX, (Geometry) value);
   }
 
   @Override
@@ -10,6 +10,8 @@ import com.singlestore.jdbc.client.context.Context;
 import com.singlestore.jdbc.client.socket.PacketWriter;
 import com.singlestore.jdbc.codec.Codec;
 import com.singlestore.jdbc.codec.DataType;
+import com.singlestore.jdbc.codec.TemporalParser;
+import com.singlestore.jdbc.codec.ZoneOffsetCache;
 import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
 import java.io.IOException;
 import java.sql.Date;
@@ -99,6 +101,13 @@ public class TimestampCodec implements Codec<Timestamp> {
         }
 
       case DATE:
+        long date = TemporalParser.parseDate(buf, length);
+        ZoneOffsetCache dateZone = ZoneOffsetCache.get(calParam);
+        if (date != TemporalParser.INVALID && dateZone != null) {
+          buf.skip(length);
+          if (date == 0) return null;
+          return toTimestamp(dateZone, date);
+        }
         if (calParam == null || calParam.getTimeZone().equals(TimeZone.getDefault())) {
           String s = buf.readAscii(length);
           if ("0000-00-00".equals(s)) return null;
@@ -132,6 +141,14 @@ public class TimestampCodec implements Codec<Timestamp> {
       case VARSTRING:
       case TIMESTAMP:
       case DATETIME:
+        long packed = TemporalParser.parseDateTime(buf, length);
+        ZoneOffsetCache zone = ZoneOffsetCache.get(calParam);
+        if (packed != TemporalParser.INVALID && zone != null) {
+          buf.skip(length);
+          if (packed == 0) return null;
+          return toTimestamp(zone, packed);
+        }
+
         int pos = buf.pos();
         int nanoBegin = -1;
         int[] timestampsPart = new int[] {0, 0, 0, 0, 0, 0, 0};
@@ -209,12 +226,25 @@ public class TimestampCodec implements Codec<Timestamp> {
     }
   }
 
+  private static Timestamp toTimestamp(ZoneOffsetCache zone, long packed) {
+    Timestamp timestamp =
+        new Timestamp(
+            zone.toEpochMillis(
+                TemporalParser.year(packed),
+                TemporalParser.month(packed),
+                TemporalParser.day(packed),
+                TemporalParser.hour(packed),
+                TemporalParser.minute(packed),
+                TemporalParser.second(packed)));
+    timestamp.setNanos(TemporalParser.micros(packed) * 1000);
+    return timestamp;
+  }
+
   @Override
   @SuppressWarnings("fallthrough")
   public Timestamp decodeBinary(
       ReadableByteBuf buf, int length, ColumnDefinitionPacket column, Calendar calParam)
       throws SQLDataException {
-    Calendar cal = calParam == null ? Calendar.getInstance() : calParam;
     int year;
     int month = 1;
     long dayOfMonth = 1;
@@ -226,6 +256,7 @@ public class TimestampCodec implements Codec<Timestamp> {
     switch (column.getType()) {
       case TIME:
         // specific case for TIME, to handle value not in 00:00:00-23:59:59
+        Calendar cal = calParam == null ? Calendar.getInstance() : calParam;
         boolean negate = buf.readByte() == 1;
         dayOfMonth = buf.readUnsignedInt();
         hour = buf.readByte();
@@ -307,10 +338,17 @@ public class TimestampCodec implements Codec<Timestamp> {
             String.format("Data type %s cannot be decoded as Timestamp", column.getType()));
     }
     Timestamp timestamp;
-    synchronized (cal) {
-      cal.clear();
-      cal.set(year, month - 1, (int) dayOfMonth, hour, minutes, seconds);
-      timestamp = new Timestamp(cal.getTimeInMillis());
+    ZoneOffsetCache zone = ZoneOffsetCache.get(calParam);
+    if (zone != null) {
+      timestamp =
+          new Timestamp(
+              zone.toEpochMillis(year, month, (int) dayOfMonth, hour, minutes, seconds));
+    } else {
+      synchronized (calParam) {
+        calParam.clear();
+        calParam.set(year, month - 1, (int) dayOfMonth, hour, minutes, seconds);
+        timestamp = new Timestamp(calParam.getTimeInMillis());
+      }
     }
     timestamp.setNanos((int) (microseconds * 1000));
     return timestamp;
@@ -0,0 +1,153 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.codec.list;
+
+import com.singlestore.jdbc.client.context.Context;
+import com.singlestore.jdbc.client.socket.PacketWriter;
+import com.singlestore.jdbc.type.*;
+import com.singlestore.jdbc.util.constants.ServerStatus;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encode geometries in text protocol as WKB literal (little-endian), wrapped in a
+ * <code>ST_xxxFromWKB</code> function, avoiding WKT formatting and parsing. WKB size is computed
+ * first, then WKB is built in the scratch buffer of connection packet writer.
+ */
+final class WkbEncoder {
+
+  private static final byte[] SUFFIX = {'\'', ')'};
+
+  private final byte[] buf;
+  private int pos;
+
+  private WkbEncoder(byte[] buf) {
+    this.buf = buf;
+  }
+
+  /**
+   * Function prefix, like <code>ST_PointFromWKB(_binary'</code>.
+   *
+   * @param function WKB function name
+   * @return prefix bytes
+   */
+  static byte[] prefix(String function) {
+    return (function + "(_binary'").getBytes(StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Write geometry as WKB function call.
+   *
+   * @param encoder packet writer
+   * @param context connection context
+   * @param prefix function prefix (see {@link #prefix(String)})
+   * @param geometry geometry
+   * @throws IOException if socket error occurs
+   */
+  static void encodeText(PacketWriter encoder, Context context, byte[] prefix, Geometry geometry)
+      throws IOException {
+    WkbEncoder wkb = new WkbEncoder(encoder.scratchBuffer(size(geometry)));
+    wkb.write(geometry);
+    encoder.writeBytes(prefix);
+    encoder.writeBytesEscaped(
+        wkb.buf, wkb.pos, (context.getServerStatus() & ServerStatus.NO_BACKSLASH_ESCAPES) != 0);
+    encoder.writeBytes(SUFFIX);
+  }
+
+  /**
+   * WKB length of geometry: 5 bytes header, 4 bytes count for each list, 16 bytes by point.
+   *
+   * @param geo geometry
+   * @return WKB length
+   */
+  private static int size(Geometry geo) {
+    if (geo instanceof Point) return 21;
+    if (geo instanceof LineString) return 9 + 16 * ((LineString) geo).getPoints().length;
+    int size = 9;
+    if (geo instanceof Polygon) {
+      for (LineString ls : ((Polygon) geo).getLines()) size += 4 + 16 * ls.getPoints().length;
+    } else if (geo instanceof MultiPoint) {
+      size += 21 * ((MultiPoint) geo).getPoints().length;
+    } else if (geo instanceof MultiLineString) {
+      for (LineString ls : ((MultiLineString) geo).getLines()) size += size(ls);
+    } else if (geo instanceof MultiPolygon) {
+      for (Polygon poly : ((MultiPolygon) geo).getPolygons()) size += size(poly);
+    } else {
+      for (Geometry g : ((GeometryCollection) geo).getGeometries()) size += size(g);
+    }
+    return size;
+  }
+
+  private void write(Geometry geo) {
+    if (geo instanceof Point) {
+      writeHeader(1);
+      writePoint((Point) geo);
+    } else if (geo instanceof LineString) {
+      writeHeader(2);
+      writePoints(((LineString) geo).getPoints());
+    } else if (geo instanceof Polygon) {
+      writeHeader(3);
+      LineString[] lines = ((Polygon) geo).getLines();
+      writeInt(lines.length);
+      for (LineString ls : lines) writePoints(ls.getPoints());
+    } else if (geo instanceof MultiPoint) {
+      writeHeader(4);
+      Point[] points = ((MultiPoint) geo).getPoints();
+      writeInt(points.length);
+      for (Point pt : points) write(pt);
+    } else if (geo instanceof MultiLineString) {
+      writeHeader(5);
+      LineString[] lines = ((MultiLineString) geo).getLines();
+      writeInt(lines.length);
+      for (LineString ls : lines) write(ls);
+    } else if (geo instanceof MultiPolygon) {
+      writeHeader(6);
+      Polygon[] polygons = ((MultiPolygon) geo).getPolygons();
+      writeInt(polygons.length);
+      for (Polygon poly : polygons) write(poly);
+    } else {
+      writeHeader(7);
+      Geometry[] geometries = ((GeometryCollection) geo).getGeometries();
+      writeInt(geometries.length);
+      for (Geometry g : geometries) write(g);
+    }
+  }
+
+  private void writeHeader(int wkbType) {
+    buf[pos++] = 0x01; // LITTLE ENDIAN
+    writeInt(wkbType);
+  }
+
+  private void writePoints(Point[] points) {
+    writeInt(points.length);
+    for (Point pt : points) writePoint(pt);
+  }
+
+  private void writePoint(Point pt) {
+    writeLong(Double.doubleToLongBits(pt.getX()));
+    writeLong(Double.doubleToLongBits(pt.getY()));
+  }
+
+  private void writeInt(int value) {
+    buf[pos] = (byte) value;
+    buf[pos + 1] = (byte) (value >> 8);
+    buf[pos + 2] = (byte) (value >> 16);
+    buf[pos + 3] = (byte) (value >> 24);
+    pos += 4;
+  }
+
+  private void writeLong(long value) {
+    buf[pos] = (byte) value;
+    buf[pos + 1] = (byte) (value >> 8);
+    buf[pos + 2] = (byte) (value >> 16);
+    buf[pos + 3] = (byte) (value >> 24);
+    buf[pos + 4] = (byte) (value >> 32);
+    buf[pos + 5] = (byte) (value >> 40);
+    buf[pos + 6] = (byte) (value >> 48);
+    buf[pos + 7] = (byte) (value >> 56);
+    pos += 8;
+  }
+}
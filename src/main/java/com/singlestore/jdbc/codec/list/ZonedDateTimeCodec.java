@@ -10,10 +10,12 @@ import com.singlestore.jdbc.client.context.Context;
 import com.singlestore.jdbc.client.socket.PacketWriter;
 import com.singlestore.jdbc.codec.Codec;
 import com.singlestore.jdbc.codec.DataType;
+import com.singlestore.jdbc.codec.ZoneOffsetCache;
 import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
 import java.io.IOException;
 import java.sql.SQLDataException;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoField;
 import java.util.Calendar;
@@ -58,8 +60,7 @@ public class ZonedDateTimeCodec implements Codec<ZonedDateTime> {
     LocalDateTime localDateTime =
         LocalDateTimeCodec.INSTANCE.decodeText(buf, length, column, calParam);
     if (localDateTime == null) return null;
-    Calendar cal = calParam == null ? Calendar.getInstance() : calParam;
-    return localDateTime.atZone(cal.getTimeZone().toZoneId());
+    return localDateTime.atZone(zoneId(calParam));
   }
 
   @Override
@@ -69,8 +70,12 @@ public class ZonedDateTimeCodec implements Codec<ZonedDateTime> {
     LocalDateTime localDateTime =
         LocalDateTimeCodec.INSTANCE.decodeBinary(buf, length, column, calParam);
     if (localDateTime == null) return null;
-    Calendar cal = calParam == null ? Calendar.getInstance() : calParam;
-    return localDateTime.atZone(cal.getTimeZone().toZoneId());
+    return localDateTime.atZone(zoneId(calParam));
+  }
+
+  private static ZoneId zoneId(Calendar calParam) {
+    ZoneOffsetCache zone = ZoneOffsetCache.get(calParam);
+    return zone != null ? zone.getZoneId() : calParam.getTimeZone().toZoneId();
   }
 
   @Override
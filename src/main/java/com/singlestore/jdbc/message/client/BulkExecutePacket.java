@@ -8,24 +8,21 @@ package com.singlestore.jdbc.message.client;
 import com.singlestore.jdbc.ServerPreparedStatement;
 import com.singlestore.jdbc.client.context.Context;
 import com.singlestore.jdbc.client.socket.PacketWriter;
-import com.singlestore.jdbc.codec.Parameter;
 import com.singlestore.jdbc.message.server.PrepareResultPacket;
-import com.singlestore.jdbc.util.ParameterList;
+import com.singlestore.jdbc.util.BatchParameters;
+import com.singlestore.jdbc.util.Parameters;
 import java.io.IOException;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
 
 public final class BulkExecutePacket implements RedoableWithPrepareClientMessage {
-  private List<ParameterList> batchParameterList;
+  private final BatchParameters batchParameterList;
   private final String command;
   private final ServerPreparedStatement prep;
   private PrepareResultPacket prepareResult;
 
   public BulkExecutePacket(
       PrepareResultPacket prepareResult,
-      List<ParameterList> batchParameterList,
+      BatchParameters batchParameterList,
       String command,
       ServerPreparedStatement prep) {
     this.batchParameterList = batchParameterList;
@@ -34,14 +31,6 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
     this.prep = prep;
   }
 
-  public void saveParameters() {
-    List<ParameterList> savedList = new ArrayList<>(batchParameterList.size());
-    for (int i = 0; i < batchParameterList.size(); i++) {
-      savedList.add(batchParameterList.get(i).clone());
-    }
-    this.batchParameterList = savedList;
-  }
-
   public int encode(PacketWriter writer, Context context, PrepareResultPacket newPrepareResult)
       throws IOException, SQLException {
 
@@ -50,15 +39,15 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
             ? newPrepareResult.getStatementId()
             : (this.prepareResult != null ? this.prepareResult.getStatementId() : -1);
 
-    Iterator<ParameterList> paramIterator = batchParameterList.iterator();
-    ParameterList parameters = paramIterator.next();
+    int batchSize = batchParameterList.size();
+    int rowIndex = 0;
+    Parameters parameters = batchParameterList.get(rowIndex);
     int parameterCount = parameters.size();
 
-    @SuppressWarnings("rawtypes")
-    Parameter<?>[] parameterHeaderType = new Parameter[parameterCount];
+    int[] parameterHeaderType = new int[parameterCount];
     // set header type
     for (int i = 0; i < parameterCount; i++) {
-      parameterHeaderType[i] = parameters.get(i);
+      parameterHeaderType[i] = parameters.getBinaryEncodeType(i);
     }
     byte[] lastCmdData = null;
     int bulkPacketNo = 0;
@@ -81,7 +70,7 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
       writer.writeShort((short) 128); // always SEND_TYPES_TO_SERVER
 
       for (int i = 0; i < parameterCount; i++) {
-        writer.writeShort((short) parameterHeaderType[i].getBinaryEncodeType());
+        writer.writeShort((short) parameterHeaderType[i]);
       }
 
       if (lastCmdData != null) {
@@ -89,21 +78,20 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
         writer.writeBytes(lastCmdData);
         writer.mark();
         lastCmdData = null;
-        if (!paramIterator.hasNext()) {
+        if (++rowIndex >= batchSize) {
           break;
         }
-        parameters = paramIterator.next();
+        parameters = batchParameterList.get(rowIndex);
       }
 
       parameter_loop:
       while (true) {
         for (int i = 0; i < parameterCount; i++) {
-          Parameter<?> param = parameters.get(i);
-          if (param.isNull()) {
+          if (parameters.isNull(i)) {
             writer.writeByte(0x01); // value is null
           } else {
             writer.writeByte(0x00); // value follow
-            param.encodeBinary(writer);
+            parameters.encodeBinary(i, writer);
           }
         }
 
@@ -111,13 +99,13 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
           // parameter were too big to fit in a MySQL packet
           // need to finish the packet separately
           writer.flush();
-          if (!paramIterator.hasNext()) {
+          if (++rowIndex >= batchSize) {
             break main_loop;
           }
-          parameters = paramIterator.next();
+          parameters = batchParameterList.get(rowIndex);
           // reset header type
           for (int j = 0; j < parameterCount; j++) {
-            parameterHeaderType[j] = parameters.get(j);
+            parameterHeaderType[j] = parameters.getBinaryEncodeType(j);
           }
           break parameter_loop;
         }
@@ -130,20 +118,19 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
           break;
         }
 
-        if (!paramIterator.hasNext()) {
+        if (++rowIndex >= batchSize) {
           break main_loop;
         }
 
-        parameters = paramIterator.next();
+        parameters = batchParameterList.get(rowIndex);
 
         // ensure type has not changed
         for (int i = 0; i < parameterCount; i++) {
-          if (parameterHeaderType[i].getBinaryEncodeType()
-              != parameters.get(i).getBinaryEncodeType()) {
+          if (parameterHeaderType[i] != parameters.getBinaryEncodeType(i)) {
             writer.flush();
             // reset header type
             for (int j = 0; j < parameterCount; j++) {
-              parameterHeaderType[j] = parameters.get(j);
+              parameterHeaderType[j] = parameters.getBinaryEncodeType(j);
             }
             break parameter_loop;
           }
@@ -147,12 +147,15 @@ public interface ClientMessage {
             ci = ((BasePreparedStatement) stmt).getMeta();
           } else {
             // read columns information's
-            ci = new ColumnDefinitionPacket[fieldCount];
-            for (int i = 0; i < fieldCount; i++) {
-              ci[i] =
-                  new ColumnDefinitionPacket(
-                      reader.readPacket(false, traceEnable), context.isExtendedInfo());
-            }
+            ci =
+                context
+                    .getColumnDefinitionCache()
+                    .read(
+                        description(),
+                        fieldCount,
+                        reader,
+                        context.isExtendedInfo(),
+                        traceEnable);
             ((BasePreparedStatement) stmt).updateMeta(ci);
             if (!context.isEofDeprecated()) {
               // skip intermediate EOF
@@ -160,13 +163,11 @@ public interface ClientMessage {
             }
           }
         } else {
-          // read columns information's
-          ci = new ColumnDefinitionPacket[fieldCount];
-          for (int i = 0; i < fieldCount; i++) {
-            ci[i] =
-                new ColumnDefinitionPacket(
-                    reader.readPacket(false, traceEnable), context.isExtendedInfo());
-          }
+          // read columns information's, reusing previous definitions when identical
+          ci =
+              context
+                  .getColumnDefinitionCache()
+                  .read(description(), fieldCount, reader, context.isExtendedInfo(), traceEnable);
           if (!context.isEofDeprecated()) {
             // skip intermediate EOF
             reader.readPacket(true, traceEnable);
@@ -11,20 +11,20 @@ import com.singlestore.jdbc.client.socket.PacketWriter;
 import com.singlestore.jdbc.codec.Parameter;
 import com.singlestore.jdbc.codec.list.ByteArrayCodec;
 import com.singlestore.jdbc.message.server.PrepareResultPacket;
-import com.singlestore.jdbc.util.ParameterList;
+import com.singlestore.jdbc.util.Parameters;
 import java.io.IOException;
 import java.sql.SQLException;
 
 /** See https://mariadb.com/kb/en/com_stmt_execute/ for documentation */
 public final class ExecutePacket implements RedoableWithPrepareClientMessage {
-  private ParameterList parameters;
+  private final Parameters parameters;
   private final String command;
   private final ServerPreparedStatement prep;
   private PrepareResultPacket prepareResult;
 
   public ExecutePacket(
       PrepareResultPacket prepareResult,
-      ParameterList parameters,
+      Parameters parameters,
       String command,
       ServerPreparedStatement prep) {
     this.parameters = parameters;
@@ -33,16 +33,12 @@ public final class ExecutePacket implements RedoableWithPrepareClientMessage {
     this.prep = prep;
   }
 
-  public void saveParameters() {
-    this.parameters = this.parameters.clone();
-  }
-
   @Override
   public void ensureReplayable(Context context) throws IOException, SQLException {
     int parameterCount = parameters.size();
     for (int i = 0; i < parameterCount; i++) {
-      Parameter<?> p = parameters.get(i);
-      if (!p.isNull() && p.canEncodeLongData()) {
+      if (!parameters.isNull(i) && parameters.canEncodeLongData(i)) {
+        Parameter<?> p = parameters.get(i);
         this.parameters.set(i, new Parameter<>(ByteArrayCodec.INSTANCE, p.encodeData()));
       }
     }
@@ -60,9 +56,8 @@ public final class ExecutePacket implements RedoableWithPrepareClientMessage {
 
     // send long data value in separate packet
     for (int i = 0; i < parameterCount; i++) {
-      Parameter<?> p = parameters.get(i);
-      if (!p.isNull() && p.canEncodeLongData()) {
-        new LongDataPacket(statementId, p, i).encode(writer, context);
+      if (!parameters.isNull(i) && parameters.canEncodeLongData(i)) {
+        new LongDataPacket(statementId, parameters.get(i), i).encode(writer, context);
       }
     }
 
@@ -85,10 +80,9 @@ public final class ExecutePacket implements RedoableWithPrepareClientMessage {
 
       // Store types of parameters in first in first package that is sent to the server.
       for (int i = 0; i < parameterCount; i++) {
-        Parameter<?> p = parameters.get(i);
-        writer.writeByte(p.getBinaryEncodeType());
+        writer.writeByte(parameters.getBinaryEncodeType(i));
         writer.writeByte(0);
-        if (p.isNull()) {
+        if (parameters.isNull(i)) {
           nullBitsBuffer[i / 8] |= (1 << (i % 8));
         }
       }
@@ -98,9 +92,8 @@ public final class ExecutePacket implements RedoableWithPrepareClientMessage {
 
       // send not null parameter, not long data
       for (int i = 0; i < parameterCount; i++) {
-        Parameter<?> p = parameters.get(i);
-        if (!p.isNull() && !p.canEncodeLongData()) {
-          p.encodeBinary(writer);
+        if (!parameters.isNull(i) && !parameters.canEncodeLongData(i)) {
+          parameters.encodeBinary(i, writer);
         }
       }
     }
@@ -10,7 +10,7 @@ import com.singlestore.jdbc.client.socket.PacketWriter;
 import com.singlestore.jdbc.codec.Parameter;
 import com.singlestore.jdbc.codec.list.ByteArrayCodec;
 import com.singlestore.jdbc.util.ClientParser;
-import com.singlestore.jdbc.util.ParameterList;
+import com.singlestore.jdbc.util.Parameters;
 import java.io.IOException;
 import java.sql.SQLException;
 
@@ -18,10 +18,10 @@ public final class QueryWithParametersPacket implements RedoableClientMessage {
 
   private final String preSqlCmd;
   private final ClientParser parser;
-  private ParameterList parameters;
+  private final Parameters parameters;
 
   public QueryWithParametersPacket(
-      String preSqlCmd, ClientParser parser, ParameterList parameters) {
+      String preSqlCmd, ClientParser parser, Parameters parameters) {
     this.preSqlCmd = preSqlCmd;
     this.parser = parser;
     this.parameters = parameters;
@@ -31,17 +31,13 @@ public final class QueryWithParametersPacket implements RedoableClientMessage {
   public void ensureReplayable(Context context) throws IOException, SQLException {
     int parameterCount = parameters.size();
     for (int i = 0; i < parameterCount; i++) {
-      Parameter<?> p = parameters.get(i);
-      if (!p.isNull() && p.canEncodeLongData()) {
+      if (!parameters.isNull(i) && parameters.canEncodeLongData(i)) {
+        Parameter<?> p = parameters.get(i);
         this.parameters.set(i, new Parameter<>(ByteArrayCodec.INSTANCE, p.encodeData()));
       }
     }
   }
 
-  public void saveParameters() {
-    this.parameters = this.parameters.clone();
-  }
-
   @Override
   public int encode(PacketWriter encoder, Context context) throws IOException, SQLException {
     encoder.initPacket();
@@ -52,10 +48,10 @@ public final class QueryWithParametersPacket implements RedoableClientMessage {
     } else {
       encoder.writeBytes(parser.getQueryParts().get(0));
       for (int i = 0; i < parser.getParamCount(); i++) {
-        if (parameters.get(i).isNull()) {
+        if (parameters.isNull(i)) {
           encoder.writeAscii("null");
         } else {
-          parameters.get(i).encodeText(encoder, context);
+          parameters.encodeText(i, encoder, context);
         }
         encoder.writeBytes(parser.getQueryParts().get(i + 1));
       }
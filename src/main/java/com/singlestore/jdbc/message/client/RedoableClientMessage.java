@@ -13,8 +13,6 @@ import java.sql.SQLException;
 
 public interface RedoableClientMessage extends ClientMessage {
 
-  default void saveParameters() {}
-
   default void ensureReplayable(Context context) throws IOException, SQLException {}
 
   default int encode(PacketWriter writer, Context context, PrepareResultPacket newPrepareResult)
@@ -0,0 +1,64 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.message.client;
+
+import com.singlestore.jdbc.client.TransactionSaver;
+import com.singlestore.jdbc.client.context.Context;
+import com.singlestore.jdbc.client.socket.PacketWriter;
+import com.singlestore.jdbc.message.server.PrepareResultPacket;
+import java.io.IOException;
+
+/**
+ * Send again a command saved in transaction journal. Statement id of commands using a prepared
+ * statement (COM_STMT_EXECUTE, COM_STMT_SEND_LONG_DATA, COM_STMT_BULK_EXECUTE) is replaced by the
+ * id of the statement prepared on the new connection.
+ */
+public final class ReplayPacket implements ClientMessage {
+
+  private final TransactionSaver.Iterator journal;
+  private final PrepareResultPacket prepareResult;
+
+  public ReplayPacket(TransactionSaver.Iterator journal, PrepareResultPacket prepareResult) {
+    this.journal = journal;
+    this.prepareResult = prepareResult;
+  }
+
+  @Override
+  public int encode(PacketWriter writer, Context context) throws IOException {
+    boolean commandStart = true;
+    byte[] payload;
+    while ((payload = journal.nextPacket()) != null) {
+      if (commandStart) {
+        writer.initPacket();
+        if (prepareResult != null && payload.length >= 5 && usesStatementId(payload[0])) {
+          int statementId = prepareResult.getStatementId();
+          payload[1] = (byte) statementId;
+          payload[2] = (byte) (statementId >>> 8);
+          payload[3] = (byte) (statementId >>> 16);
+          payload[4] = (byte) (statementId >>> 24);
+        }
+      }
+      writer.writeBytes(payload);
+      commandStart = TransactionSaver.isCommandEnd(payload.length);
+      if (commandStart) writer.flush();
+    }
+    return journal.getResponseNumber();
+  }
+
+  private static boolean usesStatementId(byte command) {
+    return command == 0x17 || command == 0x18 || command == (byte) 0xfa;
+  }
+
+  @Override
+  public boolean binaryProtocol() {
+    return prepareResult != null;
+  }
+
+  @Override
+  public String description() {
+    return journal.getPrepareCommand();
+  }
+}
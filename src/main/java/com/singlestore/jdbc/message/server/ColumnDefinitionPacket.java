@@ -26,7 +26,10 @@ public class ColumnDefinitionPacket implements ServerMessage {
   private final int flags;
   private final int[] stringPos;
   private final String extTypeName;
-  private boolean useAliasAsName;
+  private final boolean useAliasAsName;
+  // last codec resolutions, kept since column definitions are shared by results of a same query
+  private CodecResolution defaultCodec;
+  private CodecResolution typeCodec;
 
   private ColumnDefinitionPacket(
       ReadableByteBuf buf,
@@ -35,7 +38,9 @@ public class ColumnDefinitionPacket implements ServerMessage {
       DataType dataType,
       byte decimals,
       int flags,
-      int[] stringPos) {
+      int[] stringPos,
+      String extTypeName,
+      boolean useAliasAsName) {
     this.buf = buf;
     this.charset = charset;
     this.length = length;
@@ -43,7 +48,8 @@ public class ColumnDefinitionPacket implements ServerMessage {
     this.decimals = decimals;
     this.flags = flags;
     this.stringPos = stringPos;
-    this.extTypeName = null;
+    this.extTypeName = extTypeName;
+    this.useAliasAsName = useAliasAsName;
   }
 
   public ColumnDefinitionPacket(ReadableByteBuf buf, boolean extendedInfo) {
@@ -85,6 +91,7 @@ public class ColumnDefinitionPacket implements ServerMessage {
     this.dataType = DataType.of(buf.readUnsignedByte());
     this.flags = buf.readUnsignedShort();
     this.decimals = buf.readByte();
+    this.useAliasAsName = false;
   }
 
   public static ColumnDefinitionPacket create(String name, DataType type) {
@@ -135,32 +142,72 @@ public class ColumnDefinitionPacket implements ServerMessage {
         type,
         (byte) 0,
         ColumnFlags.PRIMARY_KEY,
-        stringPos);
+        stringPos,
+        null,
+        false);
+  }
+
+  /**
+   * Read length encoded string at position, without changing buffer position, permitting
+   * concurrent reads of a shared definition.
+   *
+   * @param pos string position
+   * @return string value
+   */
+  private String readString(int pos) {
+    byte[] arr = buf.buf();
+    int len = arr[pos++] & 0xff;
+    switch (len) {
+      case 252:
+        len = (arr[pos] & 0xff) + ((arr[pos + 1] & 0xff) << 8);
+        pos += 2;
+        break;
+      case 253:
+        len = (arr[pos] & 0xff) + ((arr[pos + 1] & 0xff) << 8) + ((arr[pos + 2] & 0xff) << 16);
+        pos += 3;
+        break;
+      default:
+        break;
+    }
+    return new String(arr, pos, len, StandardCharsets.UTF_8);
   }
 
   public String getSchema() {
-    buf.pos(stringPos[0]);
-    return buf.readString(buf.readLength());
+    return readString(stringPos[0]);
   }
 
   public String getTableAlias() {
-    buf.pos(stringPos[1]);
-    return buf.readString(buf.readLength());
+    return readString(stringPos[1]);
   }
 
   public String getTable() {
-    buf.pos(stringPos[useAliasAsName ? 1 : 2]);
-    return buf.readString(buf.readLength());
+    return readString(stringPos[useAliasAsName ? 1 : 2]);
   }
 
   public String getColumnAlias() {
-    buf.pos(stringPos[3]);
-    return buf.readString(buf.readLength());
+    return readString(stringPos[3]);
   }
 
   public String getColumn() {
-    buf.pos(stringPos[4]);
-    return buf.readString(buf.readLength());
+    return readString(stringPos[4]);
+  }
+
+  /**
+   * Indicate if packet has the same content as this column definition.
+   *
+   * @param packet column definition packet
+   * @return true if packet bytes are identical to the ones this definition was read from
+   */
+  public boolean sameDefinition(ReadableByteBuf packet) {
+    int len = packet.readableBytes();
+    if (len != buf.limit()) return false;
+    byte[] arr = buf.buf();
+    byte[] other = packet.buf();
+    int otherPos = packet.pos();
+    for (int i = 0; i < len; i++) {
+      if (arr[i] != other[otherPos + i]) return false;
+    }
+    return true;
   }
 
   public long getLength() {
@@ -332,6 +379,35 @@ public class ColumnDefinitionPacket implements ServerMessage {
   }
 
   public Codec<?> getDefaultCodec(Configuration conf) {
+    CodecResolution resolution = defaultCodec;
+    if (resolution != null && resolution.conf == conf) return resolution.codec;
+    Codec<?> codec = resolveDefaultCodec(conf);
+    defaultCodec = new CodecResolution(conf, null, codec);
+    return codec;
+  }
+
+  /**
+   * Return the first configured codec able to decode this column to the requested type.
+   *
+   * @param conf configuration
+   * @param type requested java type
+   * @return codec, or null if none can decode this column to type
+   */
+  public Codec<?> getCodec(Configuration conf, Class<?> type) {
+    CodecResolution resolution = typeCodec;
+    if (resolution != null && resolution.type == type && resolution.conf == conf) {
+      return resolution.codec;
+    }
+    for (Codec<?> codec : conf.codecs()) {
+      if (codec.canDecode(this, type)) {
+        typeCodec = new CodecResolution(conf, type, codec);
+        return codec;
+      }
+    }
+    return null;
+  }
+
+  private Codec<?> resolveDefaultCodec(Configuration conf) {
     switch (dataType) {
       case JSON:
       case VARCHAR:
@@ -419,7 +495,25 @@ public class ColumnDefinitionPacket implements ServerMessage {
     return Objects.hash(charset, length, dataType, decimals, flags);
   }
 
-  public void useAliasAsName() {
-    useAliasAsName = true;
+  /**
+   * Return a column definition using table alias as table name.
+   *
+   * @return column definition
+   */
+  public ColumnDefinitionPacket withAliasAsName() {
+    return new ColumnDefinitionPacket(
+        buf, charset, length, dataType, decimals, flags, stringPos, extTypeName, true);
+  }
+
+  private static final class CodecResolution {
+    private final Configuration conf;
+    private final Class<?> type;
+    private final Codec<?> codec;
+
+    private CodecResolution(Configuration conf, Class<?> type, Codec<?> codec) {
+      this.conf = conf;
+      this.type = type;
+      this.codec = codec;
+    }
   }
 }
@@ -0,0 +1,60 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.plugin.listener;
+
+/**
+ * Listener notified of each command execution, for profiling. Set with option <code>
+ * queryListener</code> using listener type. A single instance of a listener type is shared by all
+ * connections, so implementations must be thread-safe, and must not throw exceptions.
+ *
+ * <p>When multiple commands are pipelined, listener is notified once for the pipeline, with first
+ * command sql.
+ */
+public interface QueryListener {
+
+  /**
+   * Listener type.
+   *
+   * @return listener type
+   */
+  String type();
+
+  /**
+   * Called before sending command.
+   *
+   * @param sql command sql, null if unknown
+   */
+  void beforeSend(String sql);
+
+  /**
+   * Called when the first byte of server response is received.
+   *
+   * @param sql command sql, null if unknown
+   * @param elapsedNanos nanoseconds since command send
+   */
+  void afterFirstByte(String sql, long elapsedNanos);
+
+  /**
+   * Called once command response is read. Rows of streaming results fetched afterward are not
+   * counted.
+   *
+   * @param sql command sql, null if unknown
+   * @param elapsedNanos nanoseconds since command send
+   * @param bytesSent bytes sent, including packet headers
+   * @param bytesReceived bytes received, including packet headers
+   * @param rows rows read
+   * @param success true if command succeeded
+   * @param noBackslashEscapes true if server NO_BACKSLASH_ESCAPES mode is set, for sql parsing
+   */
+  void afterComplete(
+      String sql,
+      long elapsedNanos,
+      long bytesSent,
+      long bytesReceived,
+      long rows,
+      boolean success,
+      boolean noBackslashEscapes);
+}
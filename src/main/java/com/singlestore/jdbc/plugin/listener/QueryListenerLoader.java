@@ -0,0 +1,46 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.plugin.listener;
+
+import com.singlestore.jdbc.Driver;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provider of query listeners. Custom listeners can be added implementing QueryListener and
+ * registering it in resources services.
+ */
+public final class QueryListenerLoader {
+
+  private static final Map<String, QueryListener> listeners = new ConcurrentHashMap<>();
+
+  /**
+   * Get query listener according to option `queryListener`. The same instance is returned for a
+   * type.
+   *
+   * @param type listener type
+   * @return query listener, null if type is null
+   * @throws SQLException if no listener with this type is in classpath
+   */
+  public static QueryListener get(String type) throws SQLException {
+    if (type == null) return null;
+    QueryListener listener = listeners.get(type);
+    if (listener != null) return listener;
+
+    ServiceLoader<QueryListener> loader =
+        ServiceLoader.load(QueryListener.class, Driver.class.getClassLoader());
+    for (QueryListener implClass : loader) {
+      if (type.equals(implClass.type())) {
+        QueryListener existing = listeners.putIfAbsent(type, implClass);
+        return existing != null ? existing : implClass;
+      }
+    }
+    throw new SQLException(
+        "No query listener registered with the type \"" + type + "\".", "08004", 1251);
+  }
+}
@@ -0,0 +1,113 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.plugin.listener.histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent latency histogram, with HDR-like log-linear buckets: values are recorded with a
+ * relative precision of 1/16 (about 6%), from 0 to Long.MAX_VALUE, in a fixed memory size.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+  private static final int BUCKET_LENGTH = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_LENGTH);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong sum = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  static int index(long value) {
+    if (value < SUB_BUCKETS) return (int) value;
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS + 1;
+    int subBucket = (int) (value >>> shift) - HALF_SUB_BUCKETS;
+    return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + subBucket;
+  }
+
+  static long highestEquivalentValue(int index) {
+    if (index < SUB_BUCKETS) return index;
+    int shift = (index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+    long subBucket = (index - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+    return ((subBucket + 1) << shift) - 1;
+  }
+
+  /**
+   * Record a value.
+   *
+   * @param nanos duration in nanoseconds
+   */
+  public void record(long nanos) {
+    if (nanos < 0) nanos = 0;
+    counts.incrementAndGet(index(nanos));
+    count.incrementAndGet();
+    sum.addAndGet(nanos);
+    long currentMax;
+    while (nanos > (currentMax = max.get())) {
+      if (max.compareAndSet(currentMax, nanos)) break;
+    }
+  }
+
+  public long getCount() {
+    return count.get();
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  public double getMean() {
+    long total = count.get();
+    return total == 0 ? 0 : (double) sum.get() / total;
+  }
+
+  /**
+   * Get value at percentile.
+   *
+   * @param percentile percentile, from 0 to 100
+   * @return value in nanoseconds, 0 if histogram is empty
+   */
+  public long getValueAtPercentile(double percentile) {
+    long total = count.get();
+    if (total == 0) return 0;
+    long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * total));
+    long cumulated = 0;
+    for (int i = 0; i < BUCKET_LENGTH; i++) {
+      cumulated += counts.get(i);
+      if (cumulated >= target) return Math.min(highestEquivalentValue(i), max.get());
+    }
+    return max.get();
+  }
+
+  /** Remove all recorded values. */
+  public void reset() {
+    for (int i = 0; i < BUCKET_LENGTH; i++) counts.set(i, 0);
+    count.set(0);
+    sum.set(0);
+    max.set(0);
+  }
+
+  @Override
+  public String toString() {
+    return "count="
+        + getCount()
+        + " mean="
+        + TimeUnit.NANOSECONDS.toMicros((long) getMean())
+        + "us p50="
+        + TimeUnit.NANOSECONDS.toMicros(getValueAtPercentile(50))
+        + "us p90="
+        + TimeUnit.NANOSECONDS.toMicros(getValueAtPercentile(90))
+        + "us p99="
+        + TimeUnit.NANOSECONDS.toMicros(getValueAtPercentile(99))
+        + "us max="
+        + TimeUnit.NANOSECONDS.toMicros(getMax())
+        + "us";
+  }
+}
@@ -0,0 +1,97 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.plugin.listener.histogram;
+
+import com.singlestore.jdbc.plugin.listener.QueryListener;
+import com.singlestore.jdbc.util.ClientParser;
+import com.singlestore.jdbc.util.log.Logger;
+import com.singlestore.jdbc.util.log.Loggers;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query listener aggregating command latencies per query template (see {@link
+ * ClientParser#normalize(String, boolean)}), with type "latencyHistogram". Commands slower than
+ * slow query threshold are logged.
+ *
+ * <p>Statistics can be retrieved with <code>
+ * ((LatencyHistogramListener) QueryListenerLoader.get("latencyHistogram")).getHistograms()</code>.
+ */
+public class LatencyHistogramListener implements QueryListener {
+
+  public static final String OTHER_TEMPLATES = "<other>";
+  private static final Logger logger = Loggers.getLogger(LatencyHistogramListener.class);
+  private static final int MAX_TEMPLATES = 512;
+
+  private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+  private volatile long slowQueryThresholdNanos = 0;
+
+  @Override
+  public String type() {
+    return "latencyHistogram";
+  }
+
+  @Override
+  public void beforeSend(String sql) {}
+
+  @Override
+  public void afterFirstByte(String sql, long elapsedNanos) {}
+
+  @Override
+  public void afterComplete(
+      String sql,
+      long elapsedNanos,
+      long bytesSent,
+      long bytesReceived,
+      long rows,
+      boolean success,
+      boolean noBackslashEscapes) {
+    String template =
+        sql == null ? OTHER_TEMPLATES : ClientParser.normalize(sql, noBackslashEscapes);
+    LatencyHistogram histogram = histograms.get(template);
+    if (histogram == null) {
+      if (histograms.size() >= MAX_TEMPLATES) template = OTHER_TEMPLATES;
+      histogram = histograms.computeIfAbsent(template, t -> new LatencyHistogram());
+    }
+    histogram.record(elapsedNanos);
+
+    long threshold = slowQueryThresholdNanos;
+    if (threshold > 0 && elapsedNanos >= threshold) {
+      logger.warn(
+          "slow query: {}ms sent={}B received={}B rows={} sql={}",
+          TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+          bytesSent,
+          bytesReceived,
+          rows,
+          sql);
+    }
+  }
+
+  /**
+   * Get latency histograms by query template.
+   *
+   * @return histograms
+   */
+  public Map<String, LatencyHistogram> getHistograms() {
+    return Collections.unmodifiableMap(histograms);
+  }
+
+  /**
+   * Set slow query threshold. Commands lasting longer are logged.
+   *
+   * @param millis threshold in milliseconds, 0 to disable
+   */
+  public void setSlowQueryThreshold(long millis) {
+    this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+
+  /** Remove all statistics. */
+  public void reset() {
+    histograms.clear();
+  }
+}
@@ -0,0 +1,240 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.pool;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Execute a prepared statement batch on many pool connections concurrently. Batch is split into
+ * contiguous chunks, each chunk being executed on its own connection, and update counts are
+ * gathered in batch order.
+ *
+ * <p>When auto-commit is disabled, each chunk is executed in a transaction. Transactions are
+ * committed only if all chunks succeed, and rolled back otherwise. Commits of the different
+ * connections are not atomic: if a commit fails after some others succeeded, those remain
+ * committed (best effort, as server doesn't provide distributed transactions).
+ */
+public final class ParallelBatchExecutor implements AutoCloseable {
+
+  private final Pool pool;
+  private final int maxParallelism;
+  private final ThreadPoolExecutor executor;
+
+  /**
+   * Constructor.
+   *
+   * @param pool pool providing connections
+   */
+  public ParallelBatchExecutor(Pool pool) {
+    this.pool = pool;
+    // a chunk holds a connection: no more chunks than pool connections
+    this.maxParallelism = Math.max(1, pool.getConf().maxPoolSize());
+    executor =
+        new ThreadPoolExecutor(
+            maxParallelism,
+            maxParallelism,
+            10,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new PoolThreadFactory(pool.getPoolTag() + "-batch"));
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Execute batch.
+   *
+   * @param sql prepared statement command
+   * @param parameters parameters of each batch command
+   * @param parallelism maximum number of connections used, limited to pool maximum size
+   * @param autoCommit if false, chunks are committed only if whole batch succeeds
+   * @return update counts, in batch order
+   * @throws SQLException if any chunk fails. Thrown exception is a {@link BatchUpdateException}
+   *     containing update counts of succeeded commands.
+   */
+  public int[] executeBatch(
+      String sql, List<Object[]> parameters, int parallelism, boolean autoCommit)
+      throws SQLException {
+    int size = parameters.size();
+    int[] updateCounts = new int[size];
+    if (size == 0) return updateCounts;
+    int chunkCount = Math.max(1, Math.min(parallelism, maxParallelism));
+    int chunkSize = (size + chunkCount - 1) / chunkCount;
+    List<Chunk> chunks = new ArrayList<>();
+    for (int start = 0; start < size; start += chunkSize) {
+      chunks.add(new Chunk(sql, parameters, start, Math.min(start + chunkSize, size), autoCommit));
+    }
+
+    try {
+      // first chunk is executed by current thread
+      for (int i = 1; i < chunks.size(); i++) {
+        Chunk chunk = chunks.get(i);
+        try {
+          chunk.future = executor.submit(chunk::execute);
+        } catch (RejectedExecutionException e) {
+          chunk.error = new SQLException("pool is closed", "08000", e);
+        }
+      }
+      chunks.get(0).execute();
+      // chunks hold connections: wait for all of them, even if interrupted
+      boolean interrupted = false;
+      for (Chunk chunk : chunks) {
+        while (chunk.future != null) {
+          try {
+            chunk.future.get();
+            break;
+          } catch (ExecutionException e) {
+            // chunks record their own SQL errors, keep any other failure
+            if (chunk.error == null) {
+              chunk.error = new SQLException(String.valueOf(e.getCause()), "HY000", e.getCause());
+            }
+            break;
+          } catch (InterruptedException e) {
+            interrupted = true;
+          }
+        }
+      }
+      if (interrupted) Thread.currentThread().interrupt();
+
+      SQLException error = null;
+      for (Chunk chunk : chunks) {
+        if (chunk.error != null) {
+          if (error == null) {
+            error = chunk.error;
+          } else {
+            error.setNextException(chunk.error);
+          }
+        }
+      }
+      if (!autoCommit) {
+        error = complete(chunks, error);
+      }
+      for (Chunk chunk : chunks) {
+        if (chunk.updateCounts != null && (autoCommit || chunk.committed)) {
+          System.arraycopy(
+              chunk.updateCounts, 0, updateCounts, chunk.start, chunk.updateCounts.length);
+        } else {
+          Arrays.fill(updateCounts, chunk.start, chunk.end, Statement.EXECUTE_FAILED);
+        }
+      }
+      if (error != null) {
+        throw new BatchUpdateException(
+            error.getMessage(), error.getSQLState(), error.getErrorCode(), updateCounts, error);
+      }
+      return updateCounts;
+    } finally {
+      for (Chunk chunk : chunks) chunk.close();
+    }
+  }
+
+  /**
+   * Commit all chunk transactions if no error occurs, or rollback them.
+   *
+   * @param chunks chunks
+   * @param error execution error, if any
+   * @return error, if any
+   */
+  private static SQLException complete(List<Chunk> chunks, SQLException error) {
+    for (Chunk chunk : chunks) {
+      if (chunk.connection == null) continue;
+      try {
+        if (error == null) {
+          chunk.connection.commit();
+          chunk.committed = true;
+        } else {
+          chunk.connection.rollback();
+        }
+      } catch (SQLException e) {
+        if (error == null) {
+          boolean partial = chunks.stream().anyMatch(c -> c.committed);
+          error =
+              partial
+                  ? new SQLException(
+                      "Parallel batch partially committed: " + e.getMessage(),
+                      e.getSQLState(),
+                      e.getErrorCode(),
+                      e)
+                  : e;
+        }
+      }
+    }
+    return error;
+  }
+
+  /** Close executor. Running batches are not interrupted. */
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+
+  private final class Chunk {
+    private final String sql;
+    private final List<Object[]> parameters;
+    private final int start;
+    private final int end;
+    private final boolean autoCommit;
+    private Future<?> future;
+    private Connection connection;
+    private int[] updateCounts;
+    private SQLException error;
+    private boolean committed;
+
+    Chunk(String sql, List<Object[]> parameters, int start, int end, boolean autoCommit) {
+      this.sql = sql;
+      this.parameters = parameters;
+      this.start = start;
+      this.end = end;
+      this.autoCommit = autoCommit;
+    }
+
+    void execute() {
+      if (error != null) return;
+      try {
+        connection = pool.getPoolConnection().getConnection();
+        connection.setAutoCommit(autoCommit);
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+          for (int i = start; i < end; i++) {
+            Object[] params = parameters.get(i);
+            for (int j = 0; j < params.length; j++) stmt.setObject(j + 1, params[j]);
+            stmt.addBatch();
+          }
+          updateCounts = stmt.executeBatch();
+        }
+      } catch (RuntimeException e) {
+        error = new SQLException(e.getMessage(), "HY000", e);
+      } catch (SQLException e) {
+        error = e;
+        if (autoCommit && e instanceof BatchUpdateException) {
+          int[] counts = ((BatchUpdateException) e).getUpdateCounts();
+          if (counts != null && counts.length == end - start) updateCounts = counts;
+        }
+      }
+    }
+
+    void close() {
+      if (connection != null) {
+        try {
+          // returns connection to pool, resetting its state
+          connection.close();
+        } catch (SQLException e) {
+          // eat
+        }
+      }
+    }
+  }
+}
@@ -8,15 +8,20 @@ package com.singlestore.jdbc.pool;
 import com.singlestore.jdbc.Configuration;
 import com.singlestore.jdbc.Connection;
 import com.singlestore.jdbc.Driver;
+import com.singlestore.jdbc.client.ControlConnections;
 import com.singlestore.jdbc.util.log.Logger;
 import com.singlestore.jdbc.util.log.Loggers;
 import java.lang.management.ManagementFactory;
 import java.sql.SQLException;
 import java.text.NumberFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import javax.management.MBeanServer;
@@ -35,17 +40,32 @@ public class Pool implements AutoCloseable, PoolMBean {
   private final AtomicInteger poolState = new AtomicInteger();
 
   private final Configuration conf;
+  private final int minPoolSize;
+  private final int maxPoolSize;
   private final AtomicInteger pendingRequestNumber = new AtomicInteger();
   private final AtomicInteger totalConnection = new AtomicInteger();
+  private final AtomicInteger connectionInCreation = new AtomicInteger();
+  private final Object connectionCreated = new Object();
 
   private final LinkedBlockingDeque<InternalPoolConnection> idleConnections;
   private final ThreadPoolExecutor connectionAppender;
   private final BlockingQueue<Runnable> connectionAppenderQueue;
+  private final ThreadPoolExecutor connectionResetter;
+  private final Set<InternalPoolConnection> resettingConnections = ConcurrentHashMap.newKeySet();
 
   private final String poolTag;
   private final ScheduledThreadPoolExecutor poolExecutor;
   private final ScheduledFuture<?> scheduledFuture;
 
+  // connections with credentials different from pool ones are pooled in sub-pools, sharing pool
+  // threads. Total number of connections of pool and sub-pools can be limited
+  private final Pool parent;
+  private final Map<List<String>, Pool> userPools;
+  private final int maxTotalPoolSize;
+  // connections of pool and sub-pools, existing or being created, when maxTotalPoolSize is set
+  private final AtomicInteger totalCapacity;
+  private volatile long lastAccess = System.nanoTime();
+
   /**
    * Create pool from configuration.
    *
@@ -56,21 +76,40 @@ public class Pool implements AutoCloseable, PoolMBean {
   public Pool(Configuration conf, int poolIndex, ScheduledThreadPoolExecutor poolExecutor) {
 
     this.conf = conf;
+    this.parent = null;
+    this.minPoolSize = conf.minPoolSize();
+    this.maxPoolSize = conf.maxPoolSize();
+    this.userPools = new ConcurrentHashMap<>();
+    this.maxTotalPoolSize = conf.maxTotalPoolSize();
+    this.totalCapacity = new AtomicInteger();
     poolTag = generatePoolTag(poolIndex);
 
-    // one thread to add new connection to pool.
-    connectionAppenderQueue = new ArrayBlockingQueue<>(conf.maxPoolSize());
+    // threads adding new connections to pool, creating up to poolFillParallelism connections
+    // at the same time
+    int parallelism = Math.max(1, Math.min(conf.maxPoolSize(), conf.poolFillParallelism()));
+    connectionAppenderQueue = new LinkedBlockingQueue<>();
     connectionAppender =
         new ThreadPoolExecutor(
-            1,
-            1,
+            parallelism,
+            parallelism,
             10,
             TimeUnit.SECONDS,
             connectionAppenderQueue,
             new PoolThreadFactory(poolTag + "-appender"));
     connectionAppender.allowCoreThreadTimeOut(true);
     // create workers, since driver only interact with queue after that (i.e. not using .execute() )
-    connectionAppender.prestartCoreThread();
+    connectionAppender.prestartAllCoreThreads();
+
+    // threads resetting state of connections returned to pool
+    connectionResetter =
+        new ThreadPoolExecutor(
+            parallelism,
+            parallelism,
+            10,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new PoolThreadFactory(poolTag + "-resetter"));
+    connectionResetter.allowCoreThreadTimeOut(true);
 
     idleConnections = new LinkedBlockingDeque<>();
     int minDelay =
@@ -89,36 +128,165 @@ public class Pool implements AutoCloseable, PoolMBean {
       }
     }
 
-    // create minimal connection in pool
+    // create minimal connection in pool, in background
+    for (int i = 0; i < minPoolSize; i++) {
+      addConnectionRequest();
+    }
+  }
+
+  /**
+   * Create sub-pool for connections with specific credentials. Sub-pool uses parent threads, and
+   * size is defined by options userPoolMinSize (default 0) and userPoolMaxSize (default
+   * maxPoolSize).
+   *
+   * @param parent parent pool
+   * @param conf configuration with sub-pool credentials
+   */
+  private Pool(Pool parent, Configuration conf) {
+    this.conf = conf;
+    this.parent = parent;
+    this.minPoolSize = conf.userPoolMinSize();
+    this.maxPoolSize = conf.userPoolMaxSize();
+    this.userPools = null;
+    this.maxTotalPoolSize = parent.maxTotalPoolSize;
+    this.totalCapacity = parent.totalCapacity;
+    poolTag = parent.poolTag + "-" + conf.user();
+    connectionAppenderQueue = parent.connectionAppenderQueue;
+    connectionAppender = parent.connectionAppender;
+    connectionResetter = parent.connectionResetter;
+    idleConnections = new LinkedBlockingDeque<>();
+    poolExecutor = parent.poolExecutor;
+    // idle connections are removed by parent pool task
+    scheduledFuture = null;
+
+    for (int i = 0; i < minPoolSize; i++) {
+      addConnectionRequest();
+    }
+  }
+
+  /**
+   * Add new connection if needed. Connections are created by appender threads, so new connection
+   * request will wait to newly created connection or for a released connection. Each request can
+   * lead to a new connection, so a burst of requests creates several connections at the same time.
+   */
+  private void addConnectionRequest() {
+    if (totalConnection.get() < maxPoolSize && poolState.get() == POOL_STATE_OK) {
+
+      // ensure to have workers if was timeout
+      connectionAppender.prestartAllCoreThreads();
+      connectionAppenderQueue.offer(this::addConnectionIfNeeded);
+    }
+  }
+
+  private void addConnectionIfNeeded() {
+    // connections already being created by other appender threads
+    int inCreation = connectionInCreation.getAndIncrement();
     try {
-      for (int i = 0; i < conf.minPoolSize(); i++) {
-        addConnection();
+      int total = totalConnection.get() + inCreation;
+      if ((total < minPoolSize || pendingRequestNumber.get() > inCreation)
+          && total < maxPoolSize
+          && poolState.get() == POOL_STATE_OK
+          && (parent == null ? this : parent).reserveTotalCapacity(this)) {
+        boolean added = false;
+        try {
+          added = addConnection();
+        } finally {
+          if (!added) releaseTotalCapacity();
+        }
       }
     } catch (SQLException sqle) {
-      logger.error("error initializing pool connection", sqle);
+      if (totalConnection.get() < minPoolSize) {
+        logger.error("error initializing pool connection", sqle);
+      }
+    } finally {
+      connectionInCreation.decrementAndGet();
     }
   }
 
   /**
-   * Add new connection if needed. Only one thread create new connection, so new connection request
-   * will wait to newly created connection or for a released connection.
+   * Reserve capacity for a new connection without exceeding maxTotalPoolSize connections for pool
+   * and sub-pools. When limit is reached, idle connection of the least recently used other
+   * sub-pool is closed.
+   *
+   * @param requester pool that will create a connection
+   * @return true if connection can be created
    */
-  private void addConnectionRequest() {
-    if (totalConnection.get() < conf.maxPoolSize() && poolState.get() == POOL_STATE_OK) {
-
-      // ensure to have one worker if was timeout
-      connectionAppender.prestartCoreThread();
-      connectionAppenderQueue.offer(
-          () -> {
-            if ((totalConnection.get() < conf.minPoolSize() || pendingRequestNumber.get() > 0)
-                && totalConnection.get() < conf.maxPoolSize()) {
-              try {
-                addConnection();
-              } catch (SQLException sqle) {
-                // eat
-              }
-            }
-          });
+  private boolean reserveTotalCapacity(Pool requester) {
+    if (maxTotalPoolSize <= 0) return true;
+    while (true) {
+      int total = totalCapacity.get();
+      if (total < maxTotalPoolSize) {
+        if (totalCapacity.compareAndSet(total, total + 1)) return true;
+        continue;
+      }
+      Pool victim = null;
+      for (Pool pool : userPools.values()) {
+        if (pool != requester
+            && !pool.idleConnections.isEmpty()
+            && (victim == null || pool.lastAccess - victim.lastAccess < 0)) {
+          victim = pool;
+        }
+      }
+      // evicted connection releases its capacity
+      if (victim == null || !victim.evictIdleConnection()) return false;
+    }
+  }
+
+  private void releaseTotalCapacity() {
+    if (maxTotalPoolSize > 0) totalCapacity.decrementAndGet();
+  }
+
+  /** Update counters when a physical connection is removed from pool. */
+  private void connectionRemoved() {
+    totalConnection.decrementAndGet();
+    releaseTotalCapacity();
+  }
+
+  /**
+   * Close least recently used idle connection.
+   *
+   * @return true if a connection has been closed
+   */
+  private boolean evictIdleConnection() {
+    Iterator<InternalPoolConnection> iterator = idleConnections.descendingIterator();
+    while (iterator.hasNext()) {
+      InternalPoolConnection item = iterator.next();
+      if (idleConnections.remove(item)) {
+        connectionRemoved();
+        silentCloseConnection(item.getConnection());
+        if (logger.isDebugEnabled()) {
+          logger.debug(
+              "pool {} idle connection evicted to respect maxTotalPoolSize (total:{})",
+              poolTag,
+              totalConnection.get());
+        }
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Wait until pool contains at least minPoolSize idle connections, for example to ensure pool is
+   * filled before accepting traffic.
+   *
+   * @param timeout maximum time to wait
+   * @param unit timeout unit
+   * @return true if pool reached minPoolSize idle connections, false if timeout elapsed or pool is
+   *     closed
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public boolean awaitMinimumIdle(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    synchronized (connectionCreated) {
+      while (idleConnections.size() < minPoolSize) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0 || poolState.get() != POOL_STATE_OK) return false;
+        // idle connections can also be returned by clients: recheck periodically
+        TimeUnit.NANOSECONDS.timedWait(
+            connectionCreated, Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(100)));
+      }
+      return true;
     }
   }
 
@@ -149,7 +317,7 @@ public class Pool implements AutoCloseable, PoolMBean {
         }
 
         //  idle has reach option maxIdleTime value and pool has more connections than minPoolSiz
-        if (timedOut && totalConnection.get() > conf.minPoolSize()) {
+        if (timedOut && totalConnection.get() > minPoolSize) {
           shouldBeReleased = true;
         }
 
@@ -159,7 +327,7 @@ public class Pool implements AutoCloseable, PoolMBean {
 
       if (shouldBeReleased && idleConnections.remove(item)) {
 
-        totalConnection.decrementAndGet();
+        connectionRemoved();
         silentCloseConnection(con);
         addConnectionRequest();
         if (logger.isDebugEnabled()) {
@@ -172,14 +340,33 @@ public class Pool implements AutoCloseable, PoolMBean {
         }
       }
     }
+
+    if (userPools != null) {
+      for (List<String> key : userPools.keySet()) {
+        // close sub-pools not used since maxIdleTime
+        userPools.computeIfPresent(
+            key,
+            (k, pool) -> {
+              pool.removeIdleTimeoutConnection();
+              long unusedTime = System.nanoTime() - pool.lastAccess;
+              if (unusedTime > TimeUnit.SECONDS.toNanos(conf.maxIdleTime())
+                  && pool.getActiveConnections() == 0) {
+                pool.close();
+                return null;
+              }
+              return pool;
+            });
+      }
+    }
   }
 
   /**
    * Create new connection.
    *
+   * @return true if connection has been added to pool
    * @throws SQLException if connection creation failed
    */
-  private void addConnection() throws SQLException {
+  private boolean addConnection() throws SQLException {
 
     // create new connection
     Connection connection = Driver.connect(conf);
@@ -191,17 +378,15 @@ public class Pool implements AutoCloseable, PoolMBean {
           public void connectionClosed(ConnectionEvent event) {
             InternalPoolConnection item = (InternalPoolConnection) event.getSource();
             if (poolState.get() == POOL_STATE_OK) {
-              try {
-                if (!idleConnections.contains(item)) {
-                  item.getConnection().reset();
-                  idleConnections.addFirst(item);
+              if (!idleConnections.contains(item) && resettingConnections.add(item)) {
+                // reset connection state in background. Connection is put back in idle queue
+                // only once reset is done
+                try {
+                  connectionResetter.execute(() -> resetConnection(item));
+                } catch (RejectedExecutionException ree) {
+                  // pool is closing
+                  resetConnection(item);
                 }
-              } catch (SQLException sqle) {
-
-                // sql exception during reset, removing connection from pool
-                totalConnection.decrementAndGet();
-                silentCloseConnection(item.getConnection());
-                logger.debug("connection removed from pool {} due to error during reset", poolTag);
               }
             } else {
               // pool is closed, should then not be render to pool, but closed.
@@ -210,7 +395,7 @@ public class Pool implements AutoCloseable, PoolMBean {
               } catch (SQLException sqle) {
                 // eat
               }
-              totalConnection.decrementAndGet();
+              connectionRemoved();
             }
           }
 
@@ -219,7 +404,7 @@ public class Pool implements AutoCloseable, PoolMBean {
 
             InternalPoolConnection item = ((InternalPoolConnection) event.getSource());
             if (idleConnections.remove(item)) {
-              totalConnection.decrementAndGet();
+              connectionRemoved();
             }
             silentCloseConnection(item.getConnection());
             addConnectionRequest();
@@ -233,8 +418,11 @@ public class Pool implements AutoCloseable, PoolMBean {
           }
         });
     if (poolState.get() == POOL_STATE_OK
-        && totalConnection.incrementAndGet() <= conf.maxPoolSize()) {
+        && totalConnection.incrementAndGet() <= maxPoolSize) {
       idleConnections.addFirst(item);
+      synchronized (connectionCreated) {
+        connectionCreated.notifyAll();
+      }
 
       if (logger.isDebugEnabled()) {
         logger.debug(
@@ -244,10 +432,33 @@ public class Pool implements AutoCloseable, PoolMBean {
             getActiveConnections(),
             pendingRequestNumber.get());
       }
-      return;
+      return true;
     }
 
     silentCloseConnection(connection);
+    return false;
+  }
+
+  private void resetConnection(InternalPoolConnection item) {
+    try {
+      item.getConnection().reset();
+      item.lastUsedToNow();
+      if (poolState.get() == POOL_STATE_OK) {
+        idleConnections.addFirst(item);
+        return;
+      }
+      // pool has been closed during reset
+      connectionRemoved();
+      silentCloseConnection(item.getConnection());
+    } catch (SQLException sqle) {
+      // sql exception during reset, removing connection from pool
+      connectionRemoved();
+      silentCloseConnection(item.getConnection());
+      addConnectionRequest();
+      logger.debug("connection removed from pool {} due to error during reset", poolTag);
+    } finally {
+      resettingConnections.remove(item);
+    }
   }
 
   /**
@@ -286,7 +497,7 @@ public class Pool implements AutoCloseable, PoolMBean {
           // eat
         }
 
-        totalConnection.decrementAndGet();
+        connectionRemoved();
 
         // validation failed
         silentAbortConnection(item.getConnection());
@@ -368,7 +579,8 @@ public class Pool implements AutoCloseable, PoolMBean {
 
   /**
    * Get new connection from pool if user and password correspond to pool. If username and password
-   * are different from pool, will return a dedicated connection.
+   * are different from pool, connection is retrieved from a sub-pool dedicated to these
+   * credentials.
    *
    * @param username username
    * @param password password
@@ -377,16 +589,25 @@ public class Pool implements AutoCloseable, PoolMBean {
    */
   public InternalPoolConnection getPoolConnection(String username, String password)
       throws SQLException {
-    if (username == null
-        ? conf.user() == null
-        : username.equals(conf.user()) && (password == null || password.isEmpty())
-            ? conf.password() == null
-            : password.equals(conf.password())) {
+    // configuration keeps empty user and password as null
+    String user = username == null || username.isEmpty() ? null : username;
+    String pwd = password == null || password.isEmpty() ? null : password;
+    if (Objects.equals(user, conf.user()) && Objects.equals(pwd, conf.password())) {
       return getPoolConnection();
     }
 
-    Configuration tmpConf = conf.clone(username, password);
-    return new InternalPoolConnection(Driver.connect(tmpConf));
+    if (parent != null) {
+      return parent.getPoolConnection(user, pwd);
+    }
+    Pool pool =
+        userPools.compute(
+            Arrays.asList(user, pwd),
+            (key, userPool) -> {
+              if (userPool == null) userPool = new Pool(this, conf.clone(user, pwd));
+              userPool.lastAccess = System.nanoTime();
+              return userPool;
+            });
+    return pool.getPoolConnection();
   }
 
   private String generatePoolTag(int poolIndex) {
@@ -405,17 +626,27 @@ public class Pool implements AutoCloseable, PoolMBean {
   public void close() {
     try {
       synchronized (this) {
-        Pools.remove(this);
         poolState.set(POOL_STATE_CLOSING);
         pendingRequestNumber.set(0);
 
-        scheduledFuture.cancel(false);
-        connectionAppender.shutdown();
+        // sub-pool threads belong to parent pool
+        if (parent == null) {
+          Pools.remove(this);
+          for (Pool pool : userPools.values()) {
+            pool.close();
+          }
+          userPools.clear();
 
-        try {
-          connectionAppender.awaitTermination(10, TimeUnit.SECONDS);
-        } catch (InterruptedException i) {
-          // eat
+          scheduledFuture.cancel(false);
+          connectionAppender.shutdown();
+          connectionResetter.shutdown();
+
+          try {
+            connectionAppender.awaitTermination(10, TimeUnit.SECONDS);
+            connectionResetter.awaitTermination(10, TimeUnit.SECONDS);
+          } catch (InterruptedException i) {
+            // eat
+          }
         }
 
         if (logger.isInfoEnabled()) {
@@ -430,10 +661,10 @@ public class Pool implements AutoCloseable, PoolMBean {
         ExecutorService connectionRemover =
             new ThreadPoolExecutor(
                 totalConnection.get(),
-                conf.maxPoolSize(),
+                Math.max(1, maxPoolSize),
                 10,
                 TimeUnit.SECONDS,
-                new LinkedBlockingQueue<>(conf.maxPoolSize()),
+                new LinkedBlockingQueue<>(Math.max(1, maxPoolSize)),
                 new PoolThreadFactory(poolTag + "-destroyer"));
 
         // loop for up to 10 seconds to close not used connection
@@ -451,9 +682,10 @@ public class Pool implements AutoCloseable, PoolMBean {
           closeAll(idleConnections);
         }
 
+        ControlConnections.close(conf);
         connectionRemover.shutdown();
         try {
-          unRegisterJmx();
+          if (parent == null) unRegisterJmx();
         } catch (Exception exception) {
           // eat
         }
@@ -468,7 +700,7 @@ public class Pool implements AutoCloseable, PoolMBean {
     synchronized (collection) { // synchronized mandatory to iterate Collections.synchronizedList()
       for (InternalPoolConnection item : collection) {
         collection.remove(item);
-        totalConnection.decrementAndGet();
+        connectionRemoved();
         silentAbortConnection(item.getConnection());
       }
     }
@@ -0,0 +1,379 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.util;
+
+import com.singlestore.jdbc.client.context.Context;
+import com.singlestore.jdbc.client.socket.PacketWriter;
+import com.singlestore.jdbc.codec.Parameter;
+import com.singlestore.jdbc.codec.list.ByteArrayCodec;
+import com.singlestore.jdbc.codec.list.StringCodec;
+import com.singlestore.jdbc.util.constants.ServerStatus;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * Columnar storage of the parameter sets added to a prepared statement batch.
+ *
+ * <p>Each row is copied when added, so the statement can reuse its own parameter list. Cells are
+ * stored row after row with a fixed stride:
+ *
+ * <ul>
+ *   <li>a kind per cell (null, primitive type, string, bytes or object)
+ *   <li>primitive values as <code>long</code> (raw bits for floating point values)
+ *   <li>strings (UTF-8 encoded) and byte arrays in a shared byte arena, the cell value being
+ *       <code>offset &lt;&lt; 32 | length</code>
+ *   <li>other values as {@link Parameter}, in an array only allocated when needed
+ * </ul>
+ *
+ * <p>Adding a row of primitives, strings or bytes then doesn't allocate once storage has grown,
+ * and encoders read values directly from storage through {@link #get(int)} row views.
+ */
+public final class BatchParameters implements Cloneable {
+  private static final int MAX_ARENA_SIZE = Integer.MAX_VALUE - 8;
+  private static final int ARENA_RETAINED_SIZE = 1024 * 1024;
+
+  private int width;
+  private int rows;
+  private int[] rowSizes = new int[16];
+  private byte[] kinds = new byte[0];
+  private long[] values = new long[0];
+  private Parameter<?>[] objects;
+  private byte[] arena = new byte[0];
+  private int arenaPos;
+
+  /**
+   * Copy a parameter set at the end of the batch.
+   *
+   * @param parameters parameter set
+   */
+  public void add(ParameterList parameters) {
+    int length = parameters.size();
+    if (length > width) widen(length);
+    if (rows == rowSizes.length) rowSizes = Arrays.copyOf(rowSizes, rows + (rows >> 1));
+    int cellsNeeded = (rows + 1) * width;
+    if (cellsNeeded > kinds.length) growCells(cellsNeeded);
+
+    int base = rows * width;
+    for (int i = 0; i < length; i++) {
+      byte kind = parameters.kinds[i];
+      int cell = base + i;
+      switch (kind) {
+        case ParameterKind.OBJECT:
+          setObject(cell, (Parameter<?>) parameters.elementData[i]);
+          break;
+        case ParameterKind.STRING:
+          String str = (String) parameters.elementData[i];
+          if (!appendUtf8(cell, str)) {
+            setObject(cell, new Parameter<>(StringCodec.INSTANCE, str));
+          }
+          break;
+        case ParameterKind.BYTES:
+          byte[] bytes = (byte[]) parameters.elementData[i];
+          if (!appendBytes(cell, bytes)) {
+            setObject(cell, new Parameter<>(ByteArrayCodec.INSTANCE, bytes));
+          }
+          break;
+        default:
+          kinds[cell] = kind;
+          values[cell] = parameters.primitives[i];
+      }
+    }
+    for (int i = length; i < width; i++) kinds[base + i] = ParameterKind.UNSET;
+    rowSizes[rows++] = length;
+  }
+
+  public int size() {
+    return rows;
+  }
+
+  public boolean isEmpty() {
+    return rows == 0;
+  }
+
+  public int parameterCount(int row) {
+    return rowSizes[row];
+  }
+
+  /**
+   * Parameter set view of a batch row. View reads directly from batch storage, and is only valid
+   * until the batch is cleared.
+   *
+   * @param row row index
+   * @return parameters of row
+   */
+  public Parameters get(int row) {
+    if (row >= rows)
+      throw new ArrayIndexOutOfBoundsException("wrong index " + row + " length:" + rows);
+    return new Row(row);
+  }
+
+  /** Remove all rows. Storage is kept for next batch, except a large string/bytes arena. */
+  public void clear() {
+    if (objects != null) Arrays.fill(objects, 0, rows * width, null);
+    if (arena.length > ARENA_RETAINED_SIZE) arena = new byte[0];
+    rows = 0;
+    width = 0;
+    arenaPos = 0;
+  }
+
+  @Override
+  public BatchParameters clone() {
+    BatchParameters batch = new BatchParameters();
+    batch.width = width;
+    batch.rows = rows;
+    batch.rowSizes = Arrays.copyOf(rowSizes, rowSizes.length);
+    batch.kinds = Arrays.copyOf(kinds, rows * width);
+    batch.values = Arrays.copyOf(values, rows * width);
+    if (objects != null) batch.objects = Arrays.copyOf(objects, rows * width);
+    batch.arena = Arrays.copyOf(arena, arenaPos);
+    batch.arenaPos = arenaPos;
+    return batch;
+  }
+
+  private void setObject(int cell, Parameter<?> param) {
+    if (objects == null) objects = new Parameter<?>[kinds.length];
+    kinds[cell] = ParameterKind.OBJECT;
+    objects[cell] = param;
+  }
+
+  private void growCells(int minLength) {
+    int newLength = Math.max(kinds.length + (kinds.length >> 1), minLength);
+    kinds = Arrays.copyOf(kinds, newLength);
+    values = Arrays.copyOf(values, newLength);
+    if (objects != null) objects = Arrays.copyOf(objects, newLength);
+  }
+
+  /**
+   * Change stride when a row has more parameters than previous ones. Rare case, since all sets of
+   * a batch normally have the same parameter number.
+   *
+   * @param newWidth new row stride
+   */
+  private void widen(int newWidth) {
+    if (rows > 0) {
+      byte[] newKinds = new byte[Math.max(kinds.length, (rows + 1) * newWidth)];
+      long[] newValues = new long[newKinds.length];
+      Parameter<?>[] newObjects = objects == null ? null : new Parameter<?>[newKinds.length];
+      for (int row = 0; row < rows; row++) {
+        System.arraycopy(kinds, row * width, newKinds, row * newWidth, width);
+        System.arraycopy(values, row * width, newValues, row * newWidth, width);
+        if (objects != null) {
+          System.arraycopy(objects, row * width, newObjects, row * newWidth, width);
+        }
+      }
+      kinds = newKinds;
+      values = newValues;
+      objects = newObjects;
+    }
+    width = newWidth;
+  }
+
+  private boolean ensureArena(long needed) {
+    long required = arenaPos + needed;
+    if (required > MAX_ARENA_SIZE) return false;
+    if (required > arena.length) {
+      long newLength = Math.max(arena.length + (arena.length >> 1), Math.max(required, 1024));
+      arena = Arrays.copyOf(arena, (int) Math.min(newLength, MAX_ARENA_SIZE));
+    }
+    return true;
+  }
+
+  private boolean appendBytes(int cell, byte[] bytes) {
+    if (!ensureArena(bytes.length)) return false;
+    System.arraycopy(bytes, 0, arena, arenaPos, bytes.length);
+    kinds[cell] = ParameterKind.BYTES;
+    values[cell] = ((long) arenaPos << 32) | bytes.length;
+    arenaPos += bytes.length;
+    return true;
+  }
+
+  private boolean appendUtf8(int cell, String str) {
+    int charsLength = str.length();
+    if (!ensureArena(charsLength * 3L)) return false;
+    int start = arenaPos;
+    int pos = start;
+    byte[] buf = arena;
+    for (int charsOffset = 0; charsOffset < charsLength; charsOffset++) {
+      char currChar = str.charAt(charsOffset);
+      if (currChar < 0x80) {
+        buf[pos++] = (byte) currChar;
+      } else if (currChar < 0x800) {
+        buf[pos++] = (byte) (0xc0 | (currChar >> 6));
+        buf[pos++] = (byte) (0x80 | (currChar & 0x3f));
+      } else if (currChar >= 0xD800 && currChar < 0xE000) {
+        // surrogate, see https://en.wikipedia.org/wiki/UTF-16
+        if (currChar < 0xDC00
+            && charsOffset + 1 < charsLength
+            && str.charAt(charsOffset + 1) >= 0xDC00
+            && str.charAt(charsOffset + 1) < 0xE000) {
+          char nextChar = str.charAt(++charsOffset);
+          int surrogatePairs =
+              ((currChar << 10) + nextChar) + (0x010000 - (0xD800 << 10) - 0xDC00);
+          buf[pos++] = (byte) (0xf0 | ((surrogatePairs >> 18)));
+          buf[pos++] = (byte) (0x80 | ((surrogatePairs >> 12) & 0x3f));
+          buf[pos++] = (byte) (0x80 | ((surrogatePairs >> 6) & 0x3f));
+          buf[pos++] = (byte) (0x80 | (surrogatePairs & 0x3f));
+        } else {
+          // unpaired surrogate
+          buf[pos++] = (byte) 0x3f;
+        }
+      } else {
+        buf[pos++] = (byte) (0xe0 | ((currChar >> 12)));
+        buf[pos++] = (byte) (0x80 | ((currChar >> 6) & 0x3f));
+        buf[pos++] = (byte) (0x80 | (currChar & 0x3f));
+      }
+    }
+    kinds[cell] = ParameterKind.STRING;
+    values[cell] = ((long) start << 32) | (pos - start);
+    arenaPos = pos;
+    return true;
+  }
+
+  private final class Row implements Parameters {
+    private final int base;
+    private final int length;
+
+    Row(int row) {
+      this.base = row * width;
+      this.length = rowSizes[row];
+    }
+
+    public int size() {
+      return length;
+    }
+
+    public boolean containsKey(int index) {
+      if (index >= 0 && length > index) {
+        return kinds[base + index] == ParameterKind.UNSET;
+      }
+      return true;
+    }
+
+    public Parameter<?> get(int index) {
+      if (index + 1 > length)
+        throw new ArrayIndexOutOfBoundsException("wrong index " + index + " length:" + length);
+      int cell = base + index;
+      switch (kinds[cell]) {
+        case ParameterKind.UNSET:
+          return null;
+        case ParameterKind.OBJECT:
+          return objects[cell];
+        case ParameterKind.NULL:
+          return Parameter.NULL_PARAMETER;
+        case ParameterKind.NULL_STRING:
+          return new Parameter<>(StringCodec.INSTANCE, null);
+        case ParameterKind.NULL_BYTES:
+          return new Parameter<>(ByteArrayCodec.INSTANCE, null);
+        case ParameterKind.STRING:
+          return new Parameter<>(
+              StringCodec.INSTANCE,
+              new String(arena, offset(cell), length(cell), StandardCharsets.UTF_8));
+        case ParameterKind.BYTES:
+          return new Parameter<>(
+              ByteArrayCodec.INSTANCE,
+              Arrays.copyOfRange(arena, offset(cell), offset(cell) + length(cell)));
+        default:
+          return ParameterKind.toParameter(kinds[cell], values[cell]);
+      }
+    }
+
+    public void set(int index, Parameter<?> element) {
+      if (index + 1 > length)
+        throw new ArrayIndexOutOfBoundsException("wrong index " + index + " length:" + length);
+      setObject(base + index, element);
+    }
+
+    public boolean isNull(int index) {
+      int cell = base + index;
+      if (kinds[cell] == ParameterKind.OBJECT) return objects[cell].isNull();
+      return ParameterKind.isNull(kinds[cell]);
+    }
+
+    public int getBinaryEncodeType(int index) {
+      int cell = base + index;
+      if (kinds[cell] == ParameterKind.OBJECT) return objects[cell].getBinaryEncodeType();
+      return ParameterKind.binaryEncodeType(kinds[cell]);
+    }
+
+    public boolean canEncodeLongData(int index) {
+      int cell = base + index;
+      return kinds[cell] == ParameterKind.OBJECT && objects[cell].canEncodeLongData();
+    }
+
+    public void encodeText(int index, PacketWriter encoder, Context context)
+        throws IOException, SQLException {
+      int cell = base + index;
+      switch (kinds[cell]) {
+        case ParameterKind.OBJECT:
+          objects[cell].encodeText(encoder, context);
+          break;
+        case ParameterKind.STRING:
+          encoder.writeByte('\'');
+          encoder.writeBytesEscaped(
+              arena,
+              offset(cell),
+              length(cell),
+              (context.getServerStatus() & ServerStatus.NO_BACKSLASH_ESCAPES) != 0);
+          encoder.writeByte('\'');
+          break;
+        case ParameterKind.BYTES:
+          encoder.writeBytes(ByteArrayCodec.BINARY_PREFIX);
+          encoder.writeBytesEscaped(
+              arena,
+              offset(cell),
+              length(cell),
+              (context.getServerStatus() & ServerStatus.NO_BACKSLASH_ESCAPES) != 0);
+          encoder.writeByte('\'');
+          break;
+        default:
+          ParameterKind.encodePrimitiveText(kinds[cell], values[cell], encoder);
+      }
+    }
+
+    public void encodeBinary(int index, PacketWriter encoder) throws IOException, SQLException {
+      int cell = base + index;
+      switch (kinds[cell]) {
+        case ParameterKind.OBJECT:
+          objects[cell].encodeBinary(encoder);
+          break;
+        case ParameterKind.STRING:
+        case ParameterKind.BYTES:
+          encoder.writeLength(length(cell));
+          encoder.writeBytes(arena, offset(cell), length(cell));
+          break;
+        default:
+          ParameterKind.encodePrimitiveBinary(kinds[cell], values[cell], encoder);
+      }
+    }
+
+    @Override
+    public ParameterList clone() {
+      ParameterList param = new ParameterList(length);
+      for (int i = 0; i < length; i++) {
+        int cell = base + i;
+        byte kind = kinds[cell];
+        if (ParameterKind.isPrimitive(kind) || ParameterKind.isNull(kind)) {
+          param.kinds[i] = kind;
+          param.primitives[i] = values[cell];
+        } else if (kind != ParameterKind.UNSET) {
+          param.set(i, get(i));
+        }
+      }
+      param.length = length;
+      return param;
+    }
+
+    private int offset(int cell) {
+      return (int) (values[cell] >>> 32);
+    }
+
+    private int length(int cell) {
+      return (int) values[cell];
+    }
+  }
+}
@@ -162,6 +162,164 @@ public final class ClientParser implements PrepareResult {
     return clientParser;
   }
 
+  /**
+   * Normalize query to a template, for query statistics: literals are replaced by <code>?</code>,
+   * lists of values are collapsed to a single <code>?</code>, comments are removed and whitespaces
+   * are collapsed. example : "SELECT * FROM t WHERE id IN (1, 2,3) AND name = 'a'" result is
+   * "SELECT * FROM t WHERE id IN (?) AND name = ?"
+   *
+   * @param queryString query
+   * @param noBackslashEscapes escape mode
+   * @return normalized query
+   */
+  public static String normalize(String queryString, boolean noBackslashEscapes) {
+    int length = queryString.length();
+    StringBuilder sb = new StringBuilder(length);
+    int i = 0;
+    while (i < length) {
+      char car = queryString.charAt(i);
+      switch (car) {
+        case '\'':
+        case '"':
+          i++;
+          while (i < length) {
+            char strCar = queryString.charAt(i);
+            if (strCar == '\\' && !noBackslashEscapes) {
+              i += 2;
+            } else if (strCar == car) {
+              // doubled quote is an escaped quote
+              if (i + 1 < length && queryString.charAt(i + 1) == car) {
+                i += 2;
+              } else {
+                break;
+              }
+            } else {
+              i++;
+            }
+          }
+          i++;
+          appendPlaceholder(sb);
+          break;
+
+        case '`':
+          int end = queryString.indexOf('`', i + 1);
+          if (end == -1) end = length - 1;
+          sb.append(queryString, i, end + 1);
+          i = end + 1;
+          break;
+
+        case '?':
+          appendPlaceholder(sb);
+          i++;
+          break;
+
+        case '#':
+          i = skipEndOfLine(queryString, i);
+          break;
+
+        case '-':
+          if (i + 1 < length
+              && queryString.charAt(i + 1) == '-'
+              && (i + 2 == length || Character.isWhitespace(queryString.charAt(i + 2)))) {
+            i = skipEndOfLine(queryString, i);
+          } else {
+            sb.append(car);
+            i++;
+          }
+          break;
+
+        case '/':
+          if (i + 1 < length && queryString.charAt(i + 1) == '*') {
+            int commentEnd = queryString.indexOf("*/", i + 2);
+            i = commentEnd == -1 ? length : commentEnd + 2;
+            appendSpace(sb);
+          } else {
+            sb.append(car);
+            i++;
+          }
+          break;
+
+        default:
+          if (Character.isWhitespace(car)) {
+            appendSpace(sb);
+            i++;
+          } else if (((car >= '0' && car <= '9')
+                  || (car == '.'
+                      && i + 1 < length
+                      && queryString.charAt(i + 1) >= '0'
+                      && queryString.charAt(i + 1) <= '9'))
+              && !endsWithIdentifier(sb)) {
+            i = skipNumber(queryString, i);
+            appendPlaceholder(sb);
+          } else {
+            sb.append(car);
+            i++;
+          }
+          break;
+      }
+    }
+    int sbLength = sb.length();
+    if (sbLength > 0 && sb.charAt(sbLength - 1) == ' ') sb.setLength(sbLength - 1);
+    return sb.toString();
+  }
+
+  private static void appendPlaceholder(StringBuilder sb) {
+    int len = sb.length();
+    // collapse list of values: "?, ?" => "?"
+    if (len >= 2 && sb.charAt(len - 1) == ',' && sb.charAt(len - 2) == '?') {
+      sb.setLength(len - 1);
+      return;
+    }
+    if (len >= 3
+        && sb.charAt(len - 1) == ' '
+        && sb.charAt(len - 2) == ','
+        && sb.charAt(len - 3) == '?') {
+      sb.setLength(len - 2);
+      return;
+    }
+    sb.append('?');
+  }
+
+  private static void appendSpace(StringBuilder sb) {
+    int len = sb.length();
+    if (len > 0 && sb.charAt(len - 1) != ' ') sb.append(' ');
+  }
+
+  private static boolean endsWithIdentifier(StringBuilder sb) {
+    if (sb.length() == 0) return false;
+    char last = sb.charAt(sb.length() - 1);
+    return Character.isLetterOrDigit(last) || last == '_' || last == '$';
+  }
+
+  private static int skipEndOfLine(String queryString, int pos) {
+    int end = queryString.indexOf('\n', pos);
+    return end == -1 ? queryString.length() : end;
+  }
+
+  private static int skipNumber(String queryString, int pos) {
+    int length = queryString.length();
+    if (pos + 1 < length
+        && queryString.charAt(pos) == '0'
+        && (queryString.charAt(pos + 1) == 'x' || queryString.charAt(pos + 1) == 'b')) {
+      // hexadecimal or binary literal
+      pos += 2;
+      while (pos < length && Character.isLetterOrDigit(queryString.charAt(pos))) pos++;
+      return pos;
+    }
+    while (pos < length) {
+      char car = queryString.charAt(pos);
+      if ((car >= '0' && car <= '9') || car == '.') {
+        pos++;
+      } else if ((car == 'e' || car == 'E') && pos + 1 < length) {
+        char next = queryString.charAt(pos + 1);
+        pos += (next == '+' || next == '-') ? 2 : 1;
+      } else {
+        break;
+      }
+    }
+    return pos;
+  }
+
   public String getSql() {
     return sql;
   }
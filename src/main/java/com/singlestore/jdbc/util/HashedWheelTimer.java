@@ -0,0 +1,238 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Timer for a large number of short-lived timeouts, like query timeouts, that are mostly cancelled
+ * before expiring. Timeouts are put in a wheel of buckets, one bucket by tick, so arming and
+ * cancelling a timeout are constant time operations; precision is one tick.
+ *
+ * <p>A single daemon thread advances the wheel, expired tasks being executed by separate daemon
+ * threads, so a task doing network operations doesn't delay other timeouts.
+ */
+public final class HashedWheelTimer {
+
+  private static final int PENDING = 0;
+  private static final int CANCELLED = 1;
+  private static final int RUNNING = 2;
+  private static final int DONE = 3;
+
+  private final long tickNanos;
+  private final Timeout[] wheel;
+  private final int mask;
+  private final String name;
+  private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+  private final ThreadPoolExecutor executor;
+  private volatile long startTime;
+  private Thread worker;
+
+  /**
+   * Constructor.
+   *
+   * @param tickDuration tick duration
+   * @param unit tick duration unit
+   * @param ticksPerWheel number of buckets, rounded up to a power of 2
+   * @param name thread name
+   */
+  public HashedWheelTimer(long tickDuration, TimeUnit unit, int ticksPerWheel, String name) {
+    this.tickNanos = Math.max(unit.toNanos(tickDuration), TimeUnit.MILLISECONDS.toNanos(1));
+    int size = Integer.highestOneBit(Math.max(ticksPerWheel, 2) - 1) << 1;
+    this.wheel = new Timeout[size];
+    this.mask = size - 1;
+    this.name = name;
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            0,
+            Integer.MAX_VALUE,
+            10,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            r -> {
+              Thread thread = new Thread(r, name + "-task-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /**
+   * Driver-wide timer, with 100ms ticks.
+   *
+   * @return shared timer
+   */
+  public static HashedWheelTimer shared() {
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Schedule task execution after delay, unless cancelled before.
+   *
+   * @param task task
+   * @param delay delay
+   * @param unit delay unit
+   * @return timeout handle
+   */
+  public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+    start();
+    Timeout timeout = new Timeout(task, System.nanoTime() + unit.toNanos(delay) - startTime);
+    added.add(timeout);
+    return timeout;
+  }
+
+  private synchronized void start() {
+    if (worker == null) {
+      startTime = System.nanoTime();
+      worker = new Thread(this::run, name);
+      worker.setDaemon(true);
+      worker.start();
+    }
+  }
+
+  private void run() {
+    long tick = 0;
+    while (true) {
+      long sleep = (tick + 1) * tickNanos - (System.nanoTime() - startTime);
+      if (sleep > 0) {
+        try {
+          TimeUnit.NANOSECONDS.sleep(sleep);
+        } catch (InterruptedException e) {
+          // daemon thread runs until JVM exit
+        }
+        continue;
+      }
+      transferAdded(tick);
+      expire((int) (tick & mask), (tick + 1) * tickNanos);
+      tick++;
+    }
+  }
+
+  private void transferAdded(long tick) {
+    for (int i = 0; i < 100_000; i++) {
+      Timeout timeout = added.poll();
+      if (timeout == null) return;
+      if (timeout.state != PENDING) continue;
+      long expireTick = Math.max(timeout.deadline / tickNanos, tick);
+      timeout.remainingRounds = (expireTick - tick) / wheel.length;
+      int idx = (int) (expireTick & mask);
+      timeout.next = wheel[idx];
+      wheel[idx] = timeout;
+    }
+  }
+
+  private void expire(int idx, long deadline) {
+    Timeout previous = null;
+    Timeout timeout = wheel[idx];
+    while (timeout != null) {
+      Timeout next = timeout.next;
+      boolean remove;
+      if (timeout.state != PENDING) {
+        remove = true;
+      } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+        remove = true;
+        if (timeout.fire()) {
+          try {
+            executor.execute(timeout);
+          } catch (RuntimeException e) {
+            timeout.done();
+          }
+        }
+      } else {
+        remove = false;
+        timeout.remainingRounds--;
+      }
+      if (remove) {
+        if (previous == null) {
+          wheel[idx] = next;
+        } else {
+          previous.next = next;
+        }
+        timeout.next = null;
+      } else {
+        previous = timeout;
+      }
+      timeout = next;
+    }
+  }
+
+  /** Timeout handle. */
+  public static final class Timeout implements Runnable {
+    private final Runnable task;
+    private final long deadline;
+    private long remainingRounds;
+    private Timeout next;
+    private volatile int state = PENDING;
+
+    private Timeout(Runnable task, long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    private synchronized boolean fire() {
+      if (state != PENDING) return false;
+      state = RUNNING;
+      return true;
+    }
+
+    private synchronized void done() {
+      state = DONE;
+      notifyAll();
+    }
+
+    @Override
+    public void run() {
+      try {
+        task.run();
+      } finally {
+        done();
+      }
+    }
+
+    /**
+     * Cancel timeout. If task is already running, wait for its end, so once this method returns,
+     * task will not be executing.
+     *
+     * @return true if cancelled before expiring
+     */
+    public synchronized boolean cancel() {
+      if (state == PENDING) {
+        state = CANCELLED;
+        return true;
+      }
+      boolean interrupted = false;
+      while (state == RUNNING) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) Thread.currentThread().interrupt();
+      return false;
+    }
+
+    /**
+     * Indicate if task has been executed, or is executing.
+     *
+     * @return true if expired
+     */
+    public boolean isExpired() {
+      int current = state;
+      return current == RUNNING || current == DONE;
+    }
+  }
+
+  private static final class Holder {
+    private static final HashedWheelTimer INSTANCE =
+        new HashedWheelTimer(100, TimeUnit.MILLISECONDS, 512, "singlestore-timer");
+  }
+}
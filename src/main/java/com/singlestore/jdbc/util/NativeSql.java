@@ -8,11 +8,56 @@ package com.singlestore.jdbc.util;
 import com.singlestore.jdbc.client.context.Context;
 import java.sql.SQLException;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class NativeSql {
 
+  private static final long MAX_CACHE_BYTES = 1024 * 1024;
+  private static final int MAX_CACHED_LENGTH = 16384;
+  // approximate memory used by map entry and string objects, besides characters
+  private static final int ENTRY_OVERHEAD = 128;
+  private static final Map<String, String> CACHE = new ConcurrentHashMap<>();
+  // guarded by CACHE
+  private static long cachedBytes;
+
+  /**
+   * Translate JDBC escapes (<code>{fn ...}</code>, <code>{ts ...}</code>, <code>{call ...}</code>
+   * ...) to native SQL. Translation doesn't depend on connection state, so results are cached by
+   * SQL text, cache being bounded to 1MB of commands.
+   *
+   * @param sql sql with JDBC escapes
+   * @param context connection context
+   * @return native sql
+   * @throws SQLException if escape is unknown
+   */
   public static String parse(String sql, Context context) throws SQLException {
-    if (!sql.contains("{")) {
+    if (sql.indexOf('{') == -1) {
+      return sql;
+    }
+    String nativeSql = CACHE.get(sql);
+    if (nativeSql != null) return nativeSql;
+
+    nativeSql = translate(sql, context);
+    if (sql.length() < MAX_CACHED_LENGTH) {
+      long weight = 2L * (sql.length() + nativeSql.length()) + ENTRY_OVERHEAD;
+      synchronized (CACHE) {
+        if (!CACHE.containsKey(sql)) {
+          // bounded: when full, restart from empty cache
+          if (cachedBytes + weight > MAX_CACHE_BYTES) {
+            CACHE.clear();
+            cachedBytes = 0;
+          }
+          CACHE.put(sql, nativeSql);
+          cachedBytes += weight;
+        }
+      }
+    }
+    return nativeSql;
+  }
+
+  private static String translate(String sql, Context context) throws SQLException {
+    if (sql.indexOf('{') == -1) {
       return sql;
     }
 
@@ -145,11 +190,11 @@ public final class NativeSql {
     String escapedLower = escaped.toLowerCase(Locale.ROOT);
     if (escaped.startsWith("{fn ")) {
       String resolvedParams = replaceFunctionParameter(escaped.substring(4, endIndex), context);
-      return parse(resolvedParams, context);
+      return translate(resolvedParams, context);
     } else if (escapedLower.startsWith("{oj ")) {
       // Outer join
       // the server supports "oj" in any case, even "oJ"
-      return parse(escaped.substring(4, endIndex), context);
+      return translate(escaped.substring(4, endIndex), context);
     } else if (escaped.startsWith("{d ")) {
       // date literal
       return escaped.substring(3, endIndex);
@@ -172,12 +217,12 @@ public final class NativeSql {
       // We support uppercase "{CALL" only because Connector/J supports it. It is not in the JDBC
       // spec.
 
-      return parse(escaped.substring(1, endIndex), context);
+      return translate(escaped.substring(1, endIndex), context);
     } else if (escaped.startsWith("{escape ")) {
       return escaped.substring(1, endIndex);
     } else if (escaped.startsWith("{?")) {
       // likely ?=call(...)
-      return parse(escaped.substring(1, endIndex), context);
+      return translate(escaped.substring(1, endIndex), context);
     } else if (escaped.startsWith("{ ") || escaped.startsWith("{\n")) {
       // Spaces and newlines before keyword, this is not JDBC compliant, however some it works in
       // some drivers,
@@ -0,0 +1,138 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.util;
+
+import com.singlestore.jdbc.client.socket.PacketWriter;
+import com.singlestore.jdbc.codec.DataType;
+import com.singlestore.jdbc.codec.Parameter;
+import com.singlestore.jdbc.codec.list.*;
+import java.io.IOException;
+
+/**
+ * Kind of value stored in a parameter slot. Primitive kinds keep their value in a <code>long
+ * </code> (raw bits for floating point values), avoiding a boxed {@link Parameter} per value.
+ */
+final class ParameterKind {
+  static final byte UNSET = 0;
+  static final byte OBJECT = 1;
+  static final byte NULL = 2;
+  static final byte BOOLEAN = 3;
+  static final byte BYTE = 4;
+  static final byte SHORT = 5;
+  static final byte INT = 6;
+  static final byte LONG = 7;
+  static final byte FLOAT = 8;
+  static final byte DOUBLE = 9;
+  static final byte STRING = 10;
+  static final byte BYTES = 11;
+  // null set by setString / setBytes, keeping binary type of non-null values
+  static final byte NULL_STRING = 12;
+  static final byte NULL_BYTES = 13;
+
+  private ParameterKind() {}
+
+  static boolean isPrimitive(byte kind) {
+    return kind >= BOOLEAN && kind <= DOUBLE;
+  }
+
+  static boolean isNull(byte kind) {
+    return kind == NULL || kind == NULL_STRING || kind == NULL_BYTES;
+  }
+
+  static int binaryEncodeType(byte kind) {
+    switch (kind) {
+      case BOOLEAN:
+      case BYTE:
+        return DataType.TINYINT.get();
+      case SHORT:
+        return DataType.SMALLINT.get();
+      case INT:
+        return DataType.INTEGER.get();
+      case LONG:
+        return DataType.BIGINT.get();
+      case FLOAT:
+        return DataType.FLOAT.get();
+      case DOUBLE:
+        return DataType.DOUBLE.get();
+      case STRING:
+      case NULL_STRING:
+        return DataType.VARSTRING.get();
+      case BYTES:
+      case NULL_BYTES:
+        return DataType.BLOB.get();
+      default:
+        return DataType.VARCHAR.get();
+    }
+  }
+
+  static void encodePrimitiveText(byte kind, long value, PacketWriter encoder)
+      throws IOException {
+    switch (kind) {
+      case BOOLEAN:
+        encoder.writeByte(value != 0 ? '1' : '0');
+        break;
+      case FLOAT:
+        encoder.writeAscii(Float.toString(Float.intBitsToFloat((int) value)));
+        break;
+      case DOUBLE:
+        encoder.writeAscii(Double.toString(Double.longBitsToDouble(value)));
+        break;
+      default:
+        encoder.writeAscii(Long.toString(value));
+    }
+  }
+
+  static void encodePrimitiveBinary(byte kind, long value, PacketWriter encoder)
+      throws IOException {
+    switch (kind) {
+      case BOOLEAN:
+        encoder.writeByte(value != 0 ? 1 : 0);
+        break;
+      case BYTE:
+        encoder.writeByte((byte) value);
+        break;
+      case SHORT:
+        encoder.writeShort((short) value);
+        break;
+      case INT:
+        encoder.writeInt((int) value);
+        break;
+      case FLOAT:
+        encoder.writeInt((int) value);
+        break;
+      case DOUBLE:
+      case LONG:
+      default:
+        encoder.writeLong(value);
+    }
+  }
+
+  /**
+   * Box a primitive slot into a standard parameter, for callers needing a {@link Parameter}.
+   *
+   * @param kind primitive kind
+   * @param value primitive value
+   * @return parameter
+   */
+  static Parameter<?> toParameter(byte kind, long value) {
+    switch (kind) {
+      case BOOLEAN:
+        return new Parameter<>(BooleanCodec.INSTANCE, value != 0);
+      case BYTE:
+        return new Parameter<>(ByteCodec.INSTANCE, (byte) value);
+      case SHORT:
+        return new Parameter<>(ShortCodec.INSTANCE, (short) value);
+      case INT:
+        return new Parameter<>(IntCodec.INSTANCE, (int) value);
+      case FLOAT:
+        return new Parameter<>(FloatCodec.INSTANCE, Float.intBitsToFloat((int) value));
+      case DOUBLE:
+        return new Parameter<>(DoubleCodec.INSTANCE, Double.longBitsToDouble(value));
+      default:
+        return new Parameter<>(LongCodec.INSTANCE, value);
+    }
+  }
+}
@@ -5,38 +5,135 @@
 
 package com.singlestore.jdbc.util;
 
+import com.singlestore.jdbc.client.context.Context;
+import com.singlestore.jdbc.client.socket.PacketWriter;
 import com.singlestore.jdbc.codec.Parameter;
+import com.singlestore.jdbc.codec.list.ByteArrayCodec;
+import com.singlestore.jdbc.codec.list.StringCodec;
+import com.singlestore.jdbc.util.constants.ServerStatus;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.util.Arrays;
 
-public class ParameterList implements Cloneable {
-  Parameter<?>[] elementData;
+/**
+ * Parameter set of a statement.
+ *
+ * <p>Primitive values, strings and byte arrays are stored without wrapping them in a {@link
+ * Parameter}, so setting a value does not allocate. Other values are kept as {@link Parameter}.
+ */
+public class ParameterList implements Parameters, Cloneable {
+  // kind of value per index, see ParameterKind
+  byte[] kinds;
+  // primitive values (raw bits for floating point)
+  long[] primitives;
+  // Parameter for OBJECT kind, String for STRING kind, byte[] for BYTES kind
+  Object[] elementData;
   int length;
 
   public ParameterList(int defaultSize) {
-    elementData = new Parameter<?>[defaultSize];
+    kinds = new byte[defaultSize];
+    primitives = new long[defaultSize];
+    elementData = new Object[defaultSize];
     length = 0;
   }
 
   public ParameterList() {
-    elementData = new Parameter<?>[10];
-    length = 0;
+    this(10);
   }
 
   public Parameter<?> get(int index) {
     if (index + 1 > length)
       throw new ArrayIndexOutOfBoundsException("wrong index " + index + " length:" + length);
-    return elementData[index];
+    switch (kinds[index]) {
+      case ParameterKind.UNSET:
+        return null;
+      case ParameterKind.OBJECT:
+        return (Parameter<?>) elementData[index];
+      case ParameterKind.NULL:
+        return Parameter.NULL_PARAMETER;
+      case ParameterKind.NULL_STRING:
+        return new Parameter<>(StringCodec.INSTANCE, null);
+      case ParameterKind.NULL_BYTES:
+        return new Parameter<>(ByteArrayCodec.INSTANCE, null);
+      case ParameterKind.STRING:
+        return new Parameter<>(StringCodec.INSTANCE, (String) elementData[index]);
+      case ParameterKind.BYTES:
+        return new Parameter<>(ByteArrayCodec.INSTANCE, (byte[]) elementData[index]);
+      default:
+        return ParameterKind.toParameter(kinds[index], primitives[index]);
+    }
   }
 
   public boolean containsKey(int index) {
     if (index >= 0 && length > index) {
-      return elementData[index] == null;
+      return kinds[index] == ParameterKind.UNSET;
     }
     return true;
   }
 
   public void set(int index, Parameter<?> element) {
-    if (elementData.length < index + 1) grow(index + 1);
+    if (element == null) {
+      setSlot(index, ParameterKind.UNSET, 0L, null);
+    } else if (element == Parameter.NULL_PARAMETER) {
+      setSlot(index, ParameterKind.NULL, 0L, null);
+    } else {
+      setSlot(index, ParameterKind.OBJECT, 0L, element);
+    }
+  }
+
+  public void setNull(int index) {
+    setSlot(index, ParameterKind.NULL, 0L, null);
+  }
+
+  public void setBoolean(int index, boolean value) {
+    setSlot(index, ParameterKind.BOOLEAN, value ? 1L : 0L, null);
+  }
+
+  public void setByte(int index, byte value) {
+    setSlot(index, ParameterKind.BYTE, value, null);
+  }
+
+  public void setShort(int index, short value) {
+    setSlot(index, ParameterKind.SHORT, value, null);
+  }
+
+  public void setInt(int index, int value) {
+    setSlot(index, ParameterKind.INT, value, null);
+  }
+
+  public void setLong(int index, long value) {
+    setSlot(index, ParameterKind.LONG, value, null);
+  }
+
+  public void setFloat(int index, float value) {
+    setSlot(index, ParameterKind.FLOAT, Float.floatToIntBits(value), null);
+  }
+
+  public void setDouble(int index, double value) {
+    setSlot(index, ParameterKind.DOUBLE, Double.doubleToLongBits(value), null);
+  }
+
+  public void setString(int index, String value) {
+    if (value == null) {
+      setSlot(index, ParameterKind.NULL_STRING, 0L, null);
+    } else {
+      setSlot(index, ParameterKind.STRING, 0L, value);
+    }
+  }
+
+  public void setBytes(int index, byte[] value) {
+    if (value == null) {
+      setSlot(index, ParameterKind.NULL_BYTES, 0L, null);
+    } else {
+      setSlot(index, ParameterKind.BYTES, 0L, value);
+    }
+  }
+
+  private void setSlot(int index, byte kind, long primitive, Object element) {
+    if (kinds.length < index + 1) grow(index + 1);
+    kinds[index] = kind;
+    primitives[index] = primitive;
     elementData[index] = element;
     if (index + 1 > length) length = index + 1;
   }
@@ -45,16 +142,95 @@ public class ParameterList implements Cloneable {
     return length;
   }
 
+  /** Remove all values, keeping allocated storage for next use. */
+  public void clear() {
+    Arrays.fill(kinds, 0, length, ParameterKind.UNSET);
+    Arrays.fill(elementData, 0, length, null);
+    length = 0;
+  }
+
+  public boolean isNull(int index) {
+    if (kinds[index] == ParameterKind.OBJECT) {
+      return ((Parameter<?>) elementData[index]).isNull();
+    }
+    return ParameterKind.isNull(kinds[index]);
+  }
+
+  public int getBinaryEncodeType(int index) {
+    if (kinds[index] == ParameterKind.OBJECT) {
+      return ((Parameter<?>) elementData[index]).getBinaryEncodeType();
+    }
+    return ParameterKind.binaryEncodeType(kinds[index]);
+  }
+
+  public boolean canEncodeLongData(int index) {
+    return kinds[index] == ParameterKind.OBJECT
+        && ((Parameter<?>) elementData[index]).canEncodeLongData();
+  }
+
+  public void encodeText(int index, PacketWriter encoder, Context context)
+      throws IOException, SQLException {
+    switch (kinds[index]) {
+      case ParameterKind.OBJECT:
+        ((Parameter<?>) elementData[index]).encodeText(encoder, context);
+        break;
+      case ParameterKind.STRING:
+        encoder.writeByte('\'');
+        encoder.writeStringEscaped(
+            (String) elementData[index],
+            (context.getServerStatus() & ServerStatus.NO_BACKSLASH_ESCAPES) != 0);
+        encoder.writeByte('\'');
+        break;
+      case ParameterKind.BYTES:
+        byte[] bytes = (byte[]) elementData[index];
+        encoder.writeBytes(ByteArrayCodec.BINARY_PREFIX);
+        encoder.writeBytesEscaped(
+            bytes,
+            bytes.length,
+            (context.getServerStatus() & ServerStatus.NO_BACKSLASH_ESCAPES) != 0);
+        encoder.writeByte('\'');
+        break;
+      default:
+        ParameterKind.encodePrimitiveText(kinds[index], primitives[index], encoder);
+    }
+  }
+
+  public void encodeBinary(int index, PacketWriter encoder) throws IOException, SQLException {
+    switch (kinds[index]) {
+      case ParameterKind.OBJECT:
+        ((Parameter<?>) elementData[index]).encodeBinary(encoder);
+        break;
+      case ParameterKind.STRING:
+        byte[] str = ((String) elementData[index]).getBytes(StandardCharsets.UTF_8);
+        encoder.writeLength(str.length);
+        encoder.writeBytes(str, 0, str.length);
+        break;
+      case ParameterKind.BYTES:
+        byte[] bytes = (byte[]) elementData[index];
+        encoder.writeLength(bytes.length);
+        encoder.writeBytes(bytes, 0, bytes.length);
+        break;
+      default:
+        ParameterKind.encodePrimitiveBinary(kinds[index], primitives[index], encoder);
+    }
+  }
+
   private void grow(int minLength) {
-    int currLength = elementData.length;
+    int currLength = kinds.length;
     int newLength = Math.max(currLength + (currLength >> 1), minLength);
+    kinds = Arrays.copyOf(kinds, newLength);
+    primitives = Arrays.copyOf(primitives, newLength);
     elementData = Arrays.copyOf(elementData, newLength);
   }
 
   @Override
   public ParameterList clone() {
     ParameterList param = new ParameterList(length);
-    if (length >= 0) System.arraycopy(elementData, 0, param.elementData, 0, length);
+    if (length >= 0) {
+      System.arraycopy(kinds, 0, param.kinds, 0, length);
+      System.arraycopy(primitives, 0, param.primitives, 0, length);
+      System.arraycopy(elementData, 0, param.elementData, 0, length);
+    }
     param.length = length;
     return param;
   }
@@ -0,0 +1,53 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.util;
+
+import com.singlestore.jdbc.client.context.Context;
+import com.singlestore.jdbc.client.socket.PacketWriter;
+import com.singlestore.jdbc.codec.Parameter;
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * One set of statement parameters, as read by the text and binary protocol encoders.
+ *
+ * <p>Values are addressed by index, so implementations can keep primitive values unboxed: {@link
+ * #get(int)} may materialize a {@link Parameter} and must not be used on the encoding path.
+ */
+public interface Parameters {
+
+  int size();
+
+  /**
+   * Indicate if parameter at index has <b>not</b> been set.
+   *
+   * @param index parameter index (0-based)
+   * @return true if no value has been set at index
+   */
+  boolean containsKey(int index);
+
+  Parameter<?> get(int index);
+
+  void set(int index, Parameter<?> element);
+
+  boolean isNull(int index);
+
+  int getBinaryEncodeType(int index);
+
+  boolean canEncodeLongData(int index);
+
+  void encodeText(int index, PacketWriter encoder, Context context)
+      throws IOException, SQLException;
+
+  void encodeBinary(int index, PacketWriter encoder) throws IOException, SQLException;
+
+  /**
+   * Copy current values, so caller can keep them after the statement parameters change.
+   *
+   * @return independent parameter copy
+   */
+  Parameters clone();
+}
@@ -0,0 +1,237 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.util.log;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Low overhead tracing of queries and packets.
+ *
+ * <p>Producers only copy event data into a bounded lock-free ring buffer; formatting (including
+ * packet hexadecimal dump) and logging are done by a background daemon thread. When buffer is
+ * full, events are dropped and counted, so I/O threads never block on logging.
+ *
+ * <p>Enabled per connection with option <code>traceSampleRate</code> (ratio of traced commands,
+ * from 0 to 1). Option <code>tracePackets</code> adds packet dumps to query summaries. Events are
+ * logged at INFO level.
+ */
+public final class AsyncTracer {
+
+  public static final String BUFFER_SIZE_PROPERTY = "singlestore.trace.bufferSize";
+  private static final Logger logger = Loggers.getLogger(AsyncTracer.class);
+  private static final TraceRingBuffer<Object> buffer =
+      new TraceRingBuffer<>(Integer.getInteger(BUFFER_SIZE_PROPERTY, 16384));
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private static volatile Thread drainer;
+  private static volatile boolean drainerWaiting;
+
+  private AsyncTracer() {}
+
+  /**
+   * Sampling decision.
+   *
+   * @param rate ratio of traced commands, from 0 to 1
+   * @return true if command must be traced
+   */
+  public static boolean sample(double rate) {
+    return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+  }
+
+  /**
+   * Trace a packet. Only packet copy is done on caller thread.
+   *
+   * @param send true if packet is sent, false if received
+   * @param serverThreadLog connection information
+   * @param header packet header, null if already contained in data
+   * @param data packet data, null if content must not be logged
+   * @param offset data offset
+   * @param length data length
+   * @param maxLength maximum number of bytes to log
+   */
+  public static void packet(
+      boolean send,
+      String serverThreadLog,
+      byte[] header,
+      byte[] data,
+      int offset,
+      int length,
+      int maxLength) {
+    byte[] copy = null;
+    if (data != null) {
+      int headerLength = header == null ? 0 : header.length;
+      int dataLength = Math.min(length, Math.max(0, maxLength - headerLength));
+      copy = new byte[headerLength + dataLength];
+      if (header != null) System.arraycopy(header, 0, copy, 0, headerLength);
+      System.arraycopy(data, offset, copy, headerLength, dataLength);
+    }
+    offer(new PacketEvent(send, serverThreadLog, copy, length));
+  }
+
+  /**
+   * Trace a command summary.
+   *
+   * @param threadId server thread id
+   * @param sql command, null if unknown
+   * @param commands number of commands pipelined
+   * @param durationNanos duration from command send to end of response
+   * @param bytesOut bytes sent
+   * @param bytesIn bytes received
+   * @param rows rows read
+   * @param affectedRows affected rows
+   * @param success command succeeded
+   */
+  public static void query(
+      long threadId,
+      String sql,
+      int commands,
+      long durationNanos,
+      long bytesOut,
+      long bytesIn,
+      long rows,
+      long affectedRows,
+      boolean success) {
+    offer(
+        new QueryEvent(
+            threadId,
+            sql,
+            commands,
+            durationNanos,
+            bytesOut,
+            bytesIn,
+            rows,
+            affectedRows,
+            success));
+  }
+
+  /**
+   * Number of events dropped because buffer was full.
+   *
+   * @return dropped event number
+   */
+  public static long droppedEvents() {
+    return buffer.dropped();
+  }
+
+  private static void offer(Object event) {
+    if (buffer.offer(event)) {
+      Thread thread = drainer;
+      if (thread == null) {
+        startDrainer();
+      } else if (drainerWaiting) {
+        LockSupport.unpark(thread);
+      }
+    }
+  }
+
+  private static synchronized void startDrainer() {
+    if (drainer == null) {
+      Thread thread = new Thread(AsyncTracer::drain, "singlestore-trace-writer");
+      thread.setDaemon(true);
+      thread.start();
+      drainer = thread;
+    }
+  }
+
+  private static void drain() {
+    long reportedDrops = 0;
+    while (true) {
+      Object event = buffer.poll();
+      if (event == null) {
+        long dropped = buffer.dropped();
+        if (dropped != reportedDrops) {
+          logger.warn("trace buffer full, {} events dropped", dropped - reportedDrops);
+          reportedDrops = dropped;
+        }
+        drainerWaiting = true;
+        if (buffer.isEmpty()) LockSupport.parkNanos(IDLE_PARK_NANOS);
+        drainerWaiting = false;
+        continue;
+      }
+      try {
+        logger.info(event.toString());
+      } catch (Throwable t) {
+        // logging must not stop trace thread
+      }
+    }
+  }
+
+  private static final class PacketEvent {
+    private final boolean send;
+    private final String serverThreadLog;
+    private final byte[] data;
+    private final int length;
+
+    private PacketEvent(boolean send, String serverThreadLog, byte[] data, int length) {
+      this.send = send;
+      this.serverThreadLog = serverThreadLog;
+      this.data = data;
+      this.length = length;
+    }
+
+    @Override
+    public String toString() {
+      String prefix = (send ? "send: " : "read: ") + serverThreadLog;
+      if (data == null) return prefix + " content length=" + length + " com=<hidden>";
+      return prefix + "\n" + LoggerHelper.hex(data, 0, data.length, data.length);
+    }
+  }
+
+  private static final class QueryEvent {
+    private final long threadId;
+    private final String sql;
+    private final int commands;
+    private final long durationNanos;
+    private final long bytesOut;
+    private final long bytesIn;
+    private final long rows;
+    private final long affectedRows;
+    private final boolean success;
+
+    private QueryEvent(
+        long threadId,
+        String sql,
+        int commands,
+        long durationNanos,
+        long bytesOut,
+        long bytesIn,
+        long rows,
+        long affectedRows,
+        boolean success) {
+      this.threadId = threadId;
+      this.sql = sql;
+      this.commands = commands;
+      this.durationNanos = durationNanos;
+      this.bytesOut = bytesOut;
+      this.bytesIn = bytesIn;
+      this.rows = rows;
+      this.affectedRows = affectedRows;
+      this.success = success;
+    }
+
+    @Override
+    public String toString() {
+      return "query: conn="
+          + threadId
+          + (success ? "" : " failed")
+          + " duration="
+          + TimeUnit.NANOSECONDS.toMicros(durationNanos)
+          + "us out="
+          + bytesOut
+          + "B in="
+          + bytesIn
+          + "B rows="
+          + rows
+          + " affected="
+          + affectedRows
+          + (commands > 1 ? " commands=" + commands : "")
+          + " sql="
+          + sql;
+    }
+  }
+}
@@ -0,0 +1,78 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.util.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue, with many producers and a single consumer. When full, new elements are
+ * dropped rather than blocking producers.
+ *
+ * @param <E> element type
+ */
+public final class TraceRingBuffer<E> {
+
+  private final AtomicReferenceArray<E> slots;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  // only written by consumer
+  private volatile long head;
+
+  public TraceRingBuffer(int capacity) {
+    int size = 2;
+    while (size < capacity) size <<= 1;
+    this.slots = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+  }
+
+  /**
+   * Add element if there is room.
+   *
+   * @param element element
+   * @return true if added, false if dropped
+   */
+  public boolean offer(E element) {
+    long current;
+    do {
+      current = tail.get();
+      if (current - head >= slots.length()) {
+        dropped.incrementAndGet();
+        return false;
+      }
+    } while (!tail.compareAndSet(current, current + 1));
+    slots.lazySet((int) current & mask, element);
+    return true;
+  }
+
+  /**
+   * Remove next element. Must only be called by the consumer thread.
+   *
+   * @return next element, or null if none is available
+   */
+  public E poll() {
+    long current = head;
+    int index = (int) current & mask;
+    E element = slots.get(index);
+    if (element == null) return null;
+    slots.lazySet(index, null);
+    head = current + 1;
+    return element;
+  }
+
+  public boolean isEmpty() {
+    return tail.get() == head;
+  }
+
+  public long dropped() {
+    return dropped.get();
+  }
+
+  public int capacity() {
+    return slots.length();
+  }
+}
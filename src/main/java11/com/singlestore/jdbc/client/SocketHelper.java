@@ -18,6 +18,18 @@ public class SocketHelper {
             socket.setSoLinger(true, 0);
         }
 
+        // socket buffer sizes must be set before connecting, for TCP window scaling
+        int receiveBufferSize =
+                Integer.parseInt(conf.nonMappedOptions().getProperty("tcpRcvBuf", "0"));
+        if (receiveBufferSize > 0) {
+            socket.setReceiveBufferSize(receiveBufferSize);
+        }
+        int sendBufferSize =
+                Integer.parseInt(conf.nonMappedOptions().getProperty("tcpSndBuf", "0"));
+        if (sendBufferSize > 0) {
+            socket.setSendBufferSize(sendBufferSize);
+        }
+
         // java 11 only
         if (conf.tcpKeepIdle() > 0) {
             socket.setOption(ExtendedSocketOptions.TCP_KEEPIDLE, conf.tcpKeepIdle());
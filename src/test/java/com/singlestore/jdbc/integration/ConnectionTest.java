@@ -8,6 +8,8 @@ package com.singlestore.jdbc.integration;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.singlestore.jdbc.*;
+import com.singlestore.jdbc.client.ControlConnections;
+import com.singlestore.jdbc.client.socket.ChannelSocket;
 import com.singlestore.jdbc.integration.util.SocketFactoryTest;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
@@ -294,6 +296,51 @@ public class ConnectionTest extends Common {
     }
   }
 
+  @Test
+  public void lazySessionState() throws SQLException {
+    try (Connection con = createCon("&lazySessionState=true")) {
+      Statement stmt = con.createStatement();
+      stmt.execute("drop database if exists _test_db");
+      stmt.execute("create database _test_db");
+      String initialCatalog = con.getCatalog();
+
+      con.setAutoCommit(false);
+      con.setCatalog("_test_db");
+      con.setTransactionIsolation(java.sql.Connection.TRANSACTION_READ_COMMITTED);
+      assertFalse(con.getAutoCommit());
+      assertEquals("_test_db", con.getCatalog());
+
+      // changes are applied with next command
+      ResultSet rs = stmt.executeQuery("SELECT @@autocommit, DATABASE()");
+      assertTrue(rs.next());
+      assertEquals(0, rs.getInt(1));
+      assertEquals("_test_db", rs.getString(2));
+      assertFalse(con.getAutoCommit());
+      assertEquals("_test_db", con.getCatalog());
+
+      // cancelled change is not sent
+      con.setAutoCommit(true);
+      con.setAutoCommit(false);
+      con.setCatalog(initialCatalog);
+      rs = stmt.executeQuery("SELECT @@autocommit, DATABASE()");
+      assertTrue(rs.next());
+      assertEquals(0, rs.getInt(1));
+      assertEquals(initialCatalog, rs.getString(2));
+      con.commit();
+
+      // failing session change is reported by next command, which is not executed
+      stmt.execute("CREATE TABLE _test_db.lazy_state (id int)");
+      con.setCatalog("_non_existing_db");
+      assertThrows(
+          SQLException.class, () -> stmt.execute("INSERT INTO _test_db.lazy_state VALUES (1)"));
+      assertEquals(initialCatalog, con.getCatalog());
+      rs = stmt.executeQuery("SELECT COUNT(*) FROM _test_db.lazy_state");
+      assertTrue(rs.next());
+      assertEquals(0, rs.getInt(1));
+      stmt.execute("drop database _test_db");
+    }
+  }
+
   @Test
   public void checkFixedData() throws SQLException {
     sharedConn.unwrap(java.sql.Connection.class);
@@ -390,6 +437,48 @@ public class ConnectionTest extends Common {
     }
   }
 
+  @Test
+  public void cancelUsingControlConnection() throws Throwable {
+    for (String controlConnection : new String[] {"true", "false"}) {
+      try (com.singlestore.jdbc.Connection connection =
+          createCon("controlConnection=" + controlConnection)) {
+        // no running query: KILL QUERY has no effect
+        for (int i = 0; i < 3; i++) connection.cancelCurrentQuery();
+        Statement stmt = connection.createStatement();
+        ResultSet rs = stmt.executeQuery("SELECT 1");
+        assertTrue(rs.next());
+
+        Timer timer = new Timer();
+        timer.schedule(
+            new TimerTask() {
+              @Override
+              public void run() {
+                try {
+                  stmt.cancel();
+                } catch (SQLException sqle) {
+                  fail(sqle.getMessage());
+                }
+              }
+            },
+            50);
+        assertThrows(
+            SQLException.class,
+            () ->
+                stmt.executeQuery(
+                    "select * from information_schema.columns as c1, "
+                        + "information_schema.tables, information_schema.tables as t2"));
+        timer.cancel();
+        rs = stmt.executeQuery("SELECT 2");
+        assertTrue(rs.next());
+        assertEquals(2, rs.getInt(1));
+
+        // closed control connections are created again on next command
+        ControlConnections.closeAll();
+        connection.cancelCurrentQuery();
+      }
+    }
+  }
+
   @Test
   public void networkTimeoutTest() throws SQLException {
     try (Connection connection = createCon()) {
@@ -724,6 +813,21 @@ public class ConnectionTest extends Common {
       assertTrue(rs.next());
     }
 
+    for (String transport : new String[] {"native", "nio"}) {
+      if ("nio".equals(transport) && !ChannelSocket.isUnixDomainSupported()) continue;
+      try (java.sql.Connection connection =
+          DriverManager.getConnection(
+              "jdbc:singlestore:///"
+                  + sharedConn.getCatalog()
+                  + "?user=testSocket&password=MySup5%rPassw@ord&localSocketTransport="
+                  + transport
+                  + "&localSocket="
+                  + path)) {
+        rs = connection.createStatement().executeQuery("select 1");
+        assertTrue(rs.next());
+      }
+    }
+
     assertThrowsContains(
         SQLException.class,
         () ->
@@ -134,6 +134,40 @@ public class DatabaseMetadataTest extends Common {
     assertEquals(2, counter);
   }
 
+  @Test
+  public void metadataCache() throws SQLException {
+    try (Connection con = createCon("metadataCacheTtl=60")) {
+      DatabaseMetaData meta = con.getMetaData();
+      ResultSet rs = meta.getPrimaryKeys(con.getCatalog(), null, "dbpk_test");
+      for (int i = 1; i <= 2; i++) {
+        assertTrue(rs.next());
+        assertEquals(con.getCatalog(), rs.getString("table_cat"));
+        assertEquals("dbpk_test", rs.getString("table_name"));
+        assertEquals("id" + i, rs.getString("column_name"));
+        assertEquals("PRIMARY", rs.getString("PK_NAME"));
+      }
+      assertFalse(rs.next());
+
+      ResultSet cached = meta.getColumns(null, null, "getTime%", null);
+      ResultSet expected = sharedConn.getMetaData().getColumns(null, null, "getTime%", null);
+      while (expected.next()) {
+        assertTrue(cached.next());
+        for (int i = 1; i <= expected.getMetaData().getColumnCount(); i++) {
+          assertEquals(expected.getString(i), cached.getString(i));
+        }
+      }
+      assertFalse(cached.next());
+
+      // DDL command invalidates cache
+      java.sql.Statement stmt = con.createStatement();
+      stmt.execute("CREATE TABLE metadata_cache_test (id int)");
+      assertTrue(meta.getTables(null, null, "metadata_cache_test", null).next());
+      assertTrue(meta.getIndexInfo(null, null, "dbpk_test", true, false).next());
+      stmt.execute("/* leading comment */ -- other\n DROP TABLE metadata_cache_test");
+      assertFalse(meta.getTables(null, null, "metadata_cache_test", null).next());
+    }
+  }
+
   @Test
   public void datetimeTest() throws SQLException {
     java.sql.Statement stmt = sharedConn.createStatement();
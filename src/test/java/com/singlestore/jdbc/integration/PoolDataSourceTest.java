@@ -13,6 +13,7 @@ import com.singlestore.jdbc.pool.PoolThreadFactory;
 import com.singlestore.jdbc.pool.Pools;
 import java.lang.management.ManagementFactory;
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -359,6 +360,22 @@ public class PoolDataSourceTest extends Common {
     }
   }
 
+  @Test
+  public void testAwaitMinimumIdle() throws Throwable {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName filter = new ObjectName("com.singlestore.jdbc.pool:type=testAwaitMinimumIdle-*");
+    try (SingleStorePoolDataSource pool =
+        new SingleStorePoolDataSource(
+            mDefUrl
+                + "&maxPoolSize=10&minPoolSize=8&poolFillParallelism=4&poolName=testAwaitMinimumIdle")) {
+      // pool is filled in background
+      assertTrue(pool.awaitMinimumIdle(10, TimeUnit.SECONDS));
+      Set<ObjectName> objectNames = server.queryNames(filter, null);
+      ObjectName name = objectNames.iterator().next();
+      checkJmxInfo(server, name, 0, 8, 8, 0);
+    }
+  }
+
   @Test
   public void testIdleTimeout() throws Throwable {
     // appveyor is so slow wait time are not relevant.
@@ -615,6 +632,108 @@ public class PoolDataSourceTest extends Common {
     }
   }
 
+  @Test
+  public void poolWithOtherUserSamePassword() throws SQLException {
+    Statement stmt = sharedConn.createStatement();
+    stmt.execute(
+        "GRANT SELECT ON "
+            + sharedConn.getCatalog()
+            + ".* TO 'poolUser3'@'%' IDENTIFIED BY '"
+            + (password == null ? "" : password)
+            + "'");
+    stmt.execute("FLUSH PRIVILEGES");
+    try (SingleStorePoolDataSource pool =
+        new SingleStorePoolDataSource(mDefUrl + "&maxPoolSize=1&allowPublicKeyRetrieval")) {
+      // pool password, but other user: connection must not come from pool
+      try (Connection conn = pool.getConnection("poolUser3", password)) {
+        ResultSet rs = conn.createStatement().executeQuery("SELECT CURRENT_USER()");
+        assertTrue(rs.next());
+        assertTrue(rs.getString(1).startsWith("poolUser3"));
+      }
+    } finally {
+      stmt.execute("DROP USER IF EXISTS 'poolUser3'");
+    }
+  }
+
+  @Test
+  public void poolWithUserSubPools() throws SQLException {
+    Statement stmt = sharedConn.createStatement();
+    stmt.execute(
+        "GRANT SELECT ON "
+            + sharedConn.getCatalog()
+            + ".* TO 'poolUser2'@'%' IDENTIFIED BY '!Passw0rd3Works'");
+    stmt.execute("FLUSH PRIVILEGES");
+    try (SingleStorePoolDataSource pool =
+        new SingleStorePoolDataSource(
+            mDefUrl
+                + "&maxPoolSize=1&maxTotalPoolSize=2&userPoolMaxSize=1&allowPublicKeyRetrieval")) {
+      long threadId;
+      try (Connection conn = pool.getConnection("poolUser", "!Passw0rd3Works")) {
+        threadId = ((com.singlestore.jdbc.Connection) conn).getThreadId();
+      }
+      // connection is pooled
+      try (Connection conn = pool.getConnection("poolUser", "!Passw0rd3Works")) {
+        assertEquals(threadId, ((com.singlestore.jdbc.Connection) conn).getThreadId());
+      }
+
+      // total limit reached: idle connection of least recently used user is closed
+      try (Connection conn = pool.getConnection("poolUser2", "!Passw0rd3Works")) {
+        assertTrue(conn.isValid(1));
+      }
+      try (Connection conn = pool.getConnection("poolUser", "!Passw0rd3Works")) {
+        assertNotEquals(threadId, ((com.singlestore.jdbc.Connection) conn).getThreadId());
+      }
+    } finally {
+      stmt.execute("DROP USER IF EXISTS 'poolUser2'");
+    }
+  }
+
+  @Test
+  public void parallelBatch() throws SQLException {
+    Statement stmt = sharedConn.createStatement();
+    stmt.execute("DROP TABLE IF EXISTS parallelBatch");
+    stmt.execute("CREATE TABLE parallelBatch(id int not null primary key, test varchar(20))");
+    List<Object[]> parameters = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) parameters.add(new Object[] {i, "test" + i});
+
+    try (SingleStorePoolDataSource pool =
+        new SingleStorePoolDataSource(mDefUrl + "&maxPoolSize=4")) {
+      int[] res =
+          pool.executeParallelBatch("INSERT INTO parallelBatch VALUES (?, ?)", parameters, 4, true);
+      assertEquals(1000, res.length);
+      for (int count : res) assertEquals(1, count);
+      ResultSet rs = stmt.executeQuery("SELECT COUNT(*), SUM(id) FROM parallelBatch");
+      assertTrue(rs.next());
+      assertEquals(1000, rs.getInt(1));
+      assertEquals(499500, rs.getInt(2));
+
+      // parallelism is limited to pool size
+      stmt.execute("TRUNCATE parallelBatch");
+      res =
+          pool.executeParallelBatch(
+              "INSERT INTO parallelBatch VALUES (?, ?)", parameters, 16, true);
+      assertEquals(1000, res.length);
+      for (int count : res) assertEquals(1, count);
+
+      // duplicate key in last chunk: nothing is committed
+      stmt.execute("TRUNCATE parallelBatch");
+      parameters.set(999, new Object[] {998, "dup"});
+      BatchUpdateException e =
+          assertThrows(
+              BatchUpdateException.class,
+              () ->
+                  pool.executeParallelBatch(
+                      "INSERT INTO parallelBatch VALUES (?, ?)", parameters, 4, false));
+      assertEquals(1000, e.getUpdateCounts().length);
+      for (int count : e.getUpdateCounts()) assertEquals(Statement.EXECUTE_FAILED, count);
+      rs = stmt.executeQuery("SELECT COUNT(*) FROM parallelBatch");
+      assertTrue(rs.next());
+      assertEquals(0, rs.getInt(1));
+    } finally {
+      stmt.execute("DROP TABLE IF EXISTS parallelBatch");
+    }
+  }
+
   @Test
   public void various() throws SQLException {
     assertThrowsContains(
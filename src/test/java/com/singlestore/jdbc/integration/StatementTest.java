@@ -341,6 +341,47 @@ public class StatementTest extends Common {
     assertEquals(10, i);
   }
 
+  @Test
+  public void clientSideQueryTimeout() throws SQLException {
+    try (Connection con = createCon()) {
+      Statement stmt = con.createStatement();
+      stmt.setQueryTimeout(1);
+      long start = System.currentTimeMillis();
+      assertThrows(
+          SQLTimeoutException.class,
+          () ->
+              stmt.executeQuery(
+                  "select * from information_schema.columns as c1, "
+                      + "information_schema.tables, information_schema.tables as t2"));
+      assertTrue(System.currentTimeMillis() - start < 10_000);
+
+      // connection still usable, and timeout disarmed once query ends
+      ResultSet rs = stmt.executeQuery("SELECT 1");
+      assertTrue(rs.next());
+      assertEquals(1, rs.getInt(1));
+    }
+  }
+
+  @Test
+  public void closeStreamingWithQueryTimeout() throws SQLException {
+    try (Connection con = createCon()) {
+      Statement stmt = con.createStatement();
+      stmt.setQueryTimeout(10);
+      stmt.setFetchSize(2);
+      ResultSet rs = stmt.executeQuery("SELECT * FROM information_schema.columns");
+      assertTrue(rs.next());
+
+      // closing statement fetches remaining rows, arming fetch timeout on a closed statement
+      stmt.close();
+      assertTrue(rs.isClosed());
+
+      // remaining rows have been read: connection is still usable
+      ResultSet rs2 = con.createStatement().executeQuery("SELECT 1");
+      assertTrue(rs2.next());
+      assertEquals(1, rs2.getInt(1));
+    }
+  }
+
   @Test
   public void largeMaxRows() throws SQLException {
     Assumptions.assumeTrue(isMariaDBServer());
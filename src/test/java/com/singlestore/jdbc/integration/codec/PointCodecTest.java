@@ -206,6 +206,19 @@ public class PointCodecTest extends CommonCodecTest {
     assertEquals("", meta.getSchemaName(1));
   }
 
+  @Test
+  public void getCoordinates() throws Exception {
+    getCoordinates(get());
+    getCoordinates(getPrepare(sharedConnBinary));
+  }
+
+  private void getCoordinates(ResultSet rs) throws Exception {
+    assertArrayEquals(new double[] {10, 1}, rs.getObject(1, double[].class));
+    assertArrayEquals(new double[] {1.5, 18}, rs.getObject("t2alias", double[].class));
+    assertArrayEquals(new double[] {-1, 0.55}, rs.getObject(3, double[].class));
+    assertNull(rs.getObject(4, double[].class));
+  }
+
   @Test
   public void sendParam() throws Exception {
     sendParam(sharedConn);
@@ -0,0 +1,159 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.integration.codec;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.singlestore.jdbc.Connection;
+import com.singlestore.jdbc.Statement;
+import java.sql.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class VectorCodecTest extends CommonCodecTest {
+
+  @AfterAll
+  public static void drop() throws SQLException {
+    Statement stmt = sharedConn.createStatement();
+    stmt.execute("DROP TABLE IF EXISTS VectorCodec");
+  }
+
+  @BeforeAll
+  public static void beforeAll2() throws SQLException {
+    drop();
+    Statement stmt = sharedConn.createStatement();
+    stmt.execute(
+        createRowstore()
+            + " TABLE VectorCodec (id int not null primary key, f BLOB, d BLOB, i BLOB, l BLOB)");
+  }
+
+  @Test
+  public void jsonArrayPack() throws SQLException {
+    ResultSet rs =
+        sharedConn
+            .createStatement()
+            .executeQuery("SELECT JSON_ARRAY_PACK('[1.5, -2, 0.25]'), JSON_ARRAY_PACK('[]')");
+    assertTrue(rs.next());
+    assertArrayEquals(new float[] {1.5f, -2f, 0.25f}, rs.getObject(1, float[].class));
+    assertArrayEquals(new float[0], rs.getObject(2, float[].class));
+  }
+
+  @Test
+  public void sendAndRead() throws SQLException {
+    sendAndRead(sharedConn);
+    sendAndRead(sharedConnBinary);
+  }
+
+  @Test
+  public void floatIntLongRoundTrip() throws SQLException {
+    floatIntLongRoundTrip(sharedConn);
+    floatIntLongRoundTrip(sharedConnBinary);
+  }
+
+  private void floatIntLongRoundTrip(Connection con) throws SQLException {
+    con.createStatement().execute("TRUNCATE TABLE VectorCodec");
+    float[] floats = {Float.MIN_VALUE, Float.MAX_VALUE, Float.NEGATIVE_INFINITY, Float.NaN, -0f};
+    // values containing bytes to escape: 0, \, '
+    int[] ints = {Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -1, 0x27005c00};
+    long[] longs = {Long.MIN_VALUE, Long.MAX_VALUE, 0L, -1L, 0x5c0027005c00L};
+
+    try (PreparedStatement prep =
+        con.prepareStatement("INSERT INTO VectorCodec(id, f, i, l) VALUES (?, ?, ?, ?)")) {
+      prep.setInt(1, 1);
+      prep.setObject(2, floats);
+      prep.setObject(3, ints);
+      prep.setObject(4, longs);
+      prep.execute();
+      prep.setInt(1, 2);
+      prep.setObject(2, null);
+      prep.setNull(3, Types.BLOB);
+      prep.setObject(4, (long[]) null);
+      prep.execute();
+    }
+
+    try (PreparedStatement prep =
+        con.prepareStatement("SELECT f, i, l FROM VectorCodec ORDER BY id")) {
+      ResultSet rs = prep.executeQuery();
+      assertTrue(rs.next());
+      assertArrayEquals(floats, rs.getObject(1, float[].class));
+      assertArrayEquals(ints, rs.getObject(2, int[].class));
+      assertArrayEquals(longs, rs.getObject(3, long[].class));
+      assertTrue(rs.next());
+      assertNull(rs.getObject(1, float[].class));
+      assertTrue(rs.wasNull());
+      assertNull(rs.getObject(2, int[].class));
+      assertTrue(rs.wasNull());
+      assertNull(rs.getObject(3, long[].class));
+      assertTrue(rs.wasNull());
+      assertFalse(rs.next());
+    }
+
+    ResultSet rs = con.createStatement().executeQuery("SELECT _binary'abcde'");
+    assertTrue(rs.next());
+    assertThrowsContains(
+        SQLDataException.class,
+        () -> rs.getObject(1, int[].class),
+        "Data length 5 is not a multiple of int size (4)");
+    assertThrowsContains(
+        SQLDataException.class,
+        () -> rs.getObject(1, long[].class),
+        "Data length 5 is not a multiple of long size (8)");
+  }
+
+  private void sendAndRead(Connection con) throws SQLException {
+    con.createStatement().execute("TRUNCATE TABLE VectorCodec");
+    float[] floats = new float[1536];
+    double[] doubles = new double[300];
+    int[] ints = new int[300];
+    long[] longs = new long[300];
+    for (int i = 0; i < floats.length; i++) floats[i] = (float) Math.sin(i) * i;
+    for (int i = 0; i < doubles.length; i++) {
+      doubles[i] = Math.cos(i) * i;
+      // values containing bytes to escape: 0, \, '
+      ints[i] = i * 0x5c27;
+      longs[i] = Long.MIN_VALUE + i * 0x5c2700L;
+    }
+
+    try (PreparedStatement prep =
+        con.prepareStatement("INSERT INTO VectorCodec VALUES (?, ?, ?, ?, ?)")) {
+      prep.setInt(1, 1);
+      prep.setObject(2, floats);
+      prep.setObject(3, doubles);
+      prep.setObject(4, ints);
+      prep.setObject(5, longs);
+      prep.execute();
+      prep.setInt(1, 2);
+      prep.setObject(2, new float[0]);
+      prep.setObject(3, new double[0]);
+      prep.setObject(4, new int[0]);
+      prep.setObject(5, new long[0]);
+      prep.execute();
+    }
+
+    try (PreparedStatement prep =
+        con.prepareStatement("SELECT f, d, i, l FROM VectorCodec ORDER BY id")) {
+      ResultSet rs = prep.executeQuery();
+      assertTrue(rs.next());
+      assertArrayEquals(floats, rs.getObject(1, float[].class));
+      assertArrayEquals(doubles, rs.getObject(2, double[].class));
+      assertArrayEquals(ints, rs.getObject(3, int[].class));
+      assertArrayEquals(longs, rs.getObject(4, long[].class));
+      assertTrue(rs.next());
+      assertEquals(0, rs.getObject(1, float[].class).length);
+      assertEquals(0, rs.getObject(4, long[].class).length);
+      assertFalse(rs.next());
+    }
+
+    // length not multiple of element size
+    ResultSet rs = con.createStatement().executeQuery("SELECT _binary'abc'");
+    assertTrue(rs.next());
+    assertThrowsContains(
+        SQLDataException.class,
+        () -> rs.getObject(1, float[].class),
+        "Data length 3 is not a multiple of float size (4)");
+  }
+}
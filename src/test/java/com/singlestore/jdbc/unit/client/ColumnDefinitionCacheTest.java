@@ -0,0 +1,85 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.unit.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.singlestore.jdbc.Configuration;
+import com.singlestore.jdbc.client.ColumnDefinitionCache;
+import com.singlestore.jdbc.client.socket.PacketReader;
+import com.singlestore.jdbc.codec.DataType;
+import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
+import com.singlestore.jdbc.util.MutableInt;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class ColumnDefinitionCacheTest {
+
+  private static byte[] column(String name, DataType type) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (String s : new String[] {"def", "db", "t_alias", "t", name, name}) {
+      byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+      out.write(bytes.length);
+      out.write(bytes, 0, bytes.length);
+    }
+    out.write(new byte[] {0x0c, 33, 0, 11, 0, 0, 0, (byte) type.get(), 0, 0, 0, 0, 0}, 0, 13);
+    return out.toByteArray();
+  }
+
+  private static PacketReader reader(byte[]... packets) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    int seq = 1;
+    for (byte[] packet : packets) {
+      out.write(new byte[] {(byte) packet.length, 0, 0, (byte) seq++}, 0, 4);
+      out.write(packet, 0, packet.length);
+    }
+    return new PacketReader(
+        new ByteArrayInputStream(out.toByteArray()),
+        Configuration.parse("jdbc:singlestore://localhost/db"),
+        new MutableInt());
+  }
+
+  @Test
+  public void reuseIdenticalDefinitions() throws Exception {
+    ColumnDefinitionCache cache = new ColumnDefinitionCache(10);
+    PacketReader reader =
+        reader(
+            column("a", DataType.INTEGER),
+            column("b", DataType.VARSTRING),
+            column("a", DataType.INTEGER),
+            column("b", DataType.VARSTRING),
+            column("a", DataType.INTEGER),
+            column("c", DataType.VARSTRING));
+
+    ColumnDefinitionPacket[] first = cache.read("SELECT a, b FROM t", 2, reader, false, false);
+    assertEquals("a", first[0].getColumn());
+    assertEquals("b", first[1].getColumnAlias());
+    assertEquals("t", first[1].getTable());
+    assertEquals("db", first[1].getSchema());
+
+    // identical packets: same definitions
+    ColumnDefinitionPacket[] second = cache.read("SELECT a, b FROM t", 2, reader, false, false);
+    assertSame(first, second);
+
+    // second column differs: only first one is reused
+    ColumnDefinitionPacket[] third = cache.read("SELECT a, b FROM t", 2, reader, false, false);
+    assertNotSame(first, third);
+    assertSame(first[0], third[0]);
+    assertEquals("c", third[1].getColumn());
+    assertEquals("b", first[1].getColumn());
+  }
+
+  @Test
+  public void aliasDoesNotChangeSharedDefinition() throws Exception {
+    ColumnDefinitionCache cache = new ColumnDefinitionCache(10);
+    ColumnDefinitionPacket[] cols =
+        cache.read("SELECT a", 1, reader(column("a", DataType.INTEGER)), false, false);
+    assertEquals("t_alias", cols[0].withAliasAsName().getTable());
+    assertEquals("t", cols[0].getTable());
+  }
+}
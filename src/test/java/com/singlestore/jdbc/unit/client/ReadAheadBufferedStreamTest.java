@@ -0,0 +1,73 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.unit.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.singlestore.jdbc.client.socket.ReadAheadBufferedStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+public class ReadAheadBufferedStreamTest {
+
+  /** Stream returning at most <code>chunk</code> bytes by read, as a socket would. */
+  private static class ChunkedStream extends ByteArrayInputStream {
+    int chunk;
+
+    ChunkedStream(byte[] buf, int chunk) {
+      super(buf);
+      this.chunk = chunk;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) {
+      return super.read(b, off, Math.min(len, chunk));
+    }
+  }
+
+  private static void readFully(ReadAheadBufferedStream in, byte[] data, int pos, int len)
+      throws IOException {
+    byte[] b = new byte[100];
+    int end = pos + len;
+    while (pos < end) {
+      int read = in.read(b, 0, Math.min(b.length, end - pos));
+      assertTrue(read > 0);
+      for (int i = 0; i < read; i++) assertEquals(data[pos++], b[i]);
+    }
+  }
+
+  @Test
+  public void adaptiveBuffer() throws IOException {
+    byte[] data = new byte[4 * 1024 * 1024];
+    for (int i = 0; i < data.length; i++) data[i] = (byte) (i * 31);
+    ChunkedStream source = new ChunkedStream(data, Integer.MAX_VALUE);
+    ReadAheadBufferedStream in = new ReadAheadBufferedStream(source, 128 * 1024);
+    assertEquals(16384, in.bufferSize());
+
+    // streaming: buffer grows up to maximum size
+    readFully(in, data, 0, 1024 * 1024);
+    assertEquals(128 * 1024, in.bufferSize());
+
+    // small reads: buffer shrinks back
+    source.chunk = 1000;
+    readFully(in, data, 1024 * 1024, 1024 * 1024);
+    assertEquals(16384, in.bufferSize());
+
+    readFully(in, data, 2 * 1024 * 1024, 2 * 1024 * 1024);
+    assertEquals(-1, in.read());
+  }
+
+  @Test
+  public void fixedBuffer() throws IOException {
+    byte[] data = new byte[1024 * 1024];
+    for (int i = 0; i < data.length; i++) data[i] = (byte) i;
+    ReadAheadBufferedStream in = new ReadAheadBufferedStream(new ByteArrayInputStream(data));
+    readFully(in, data, 0, data.length);
+    assertEquals(16384, in.bufferSize());
+    assertEquals(-1, in.read());
+  }
+}
@@ -0,0 +1,45 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.unit.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.singlestore.jdbc.HostAddress;
+import com.singlestore.jdbc.client.ServerVariablesCache;
+import org.junit.jupiter.api.Test;
+
+public class ServerVariablesCacheTest {
+
+  @Test
+  public void cacheByHost() throws Exception {
+    ServerVariablesCache.clear();
+    HostAddress host = HostAddress.from("localhost", 3306);
+    assertNull(ServerVariablesCache.get(host, 10_000));
+
+    ServerVariablesCache.put(host, 16_777_216, 28_800);
+    ServerVariablesCache.Entry entry = ServerVariablesCache.get(host, 10_000);
+    assertNotNull(entry);
+    assertEquals(16_777_216, entry.getMaxAllowedPacket());
+    assertEquals(28_800, entry.getWaitTimeout());
+
+    // same host, other instance
+    assertNotNull(ServerVariablesCache.get(HostAddress.from("localhost", 3306), 10_000));
+    assertNull(ServerVariablesCache.get(HostAddress.from("localhost", 3307), 10_000));
+
+    // disabled
+    assertNull(ServerVariablesCache.get(host, 0));
+    assertNull(ServerVariablesCache.get(null, 10_000));
+
+    // expired
+    Thread.sleep(20);
+    assertNull(ServerVariablesCache.get(host, 10));
+    assertNull(ServerVariablesCache.get(host, 10_000));
+
+    ServerVariablesCache.put(host, 1024, 10);
+    ServerVariablesCache.invalidate(host);
+    assertNull(ServerVariablesCache.get(host, 10_000));
+  }
+}
@@ -0,0 +1,112 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.unit.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.singlestore.jdbc.client.TransactionSaver;
+import com.singlestore.jdbc.client.socket.PacketWriter;
+import com.singlestore.jdbc.message.client.QueryPacket;
+import com.singlestore.jdbc.message.client.ReplayPacket;
+import com.singlestore.jdbc.util.MutableInt;
+import java.io.ByteArrayOutputStream;
+import org.junit.jupiter.api.Test;
+
+public class TransactionSaverTest {
+
+  private static void send(TransactionSaver saver, PacketWriter writer, String sql)
+      throws Exception {
+    QueryPacket packet = new QueryPacket(sql);
+    saver.startMessage(packet);
+    writer.setTransactionSaver(saver);
+    saver.endMessage(packet.encode(writer, null));
+    writer.setTransactionSaver(null);
+  }
+
+  private static byte[] replay(TransactionSaver saver) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PacketWriter writer = new PacketWriter(out, 1024, new MutableInt(), new MutableInt());
+    TransactionSaver.Iterator journal = saver.iterator();
+    while (journal.next()) {
+      assertNull(journal.getPrepareCommand());
+      assertEquals(1, new ReplayPacket(journal, null).encode(writer, null));
+    }
+    return out.toByteArray();
+  }
+
+  private static void replayIdentical(long maxSize, long spillSize) throws Exception {
+    TransactionSaver saver = new TransactionSaver(maxSize, spillSize);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PacketWriter writer = new PacketWriter(out, 1024, new MutableInt(), new MutableInt());
+    send(saver, writer, "START TRANSACTION");
+    StringBuilder sb = new StringBuilder("INSERT INTO t VALUES ('");
+    for (int i = 0; i < 20_000; i++) sb.append('a');
+    send(saver, writer, sb.append("')").toString());
+    saver.commit();
+    assertTrue(saver.isReplayable());
+    assertTrue(saver.size() > 20_000);
+    assertArrayEquals(out.toByteArray(), replay(saver));
+  }
+
+  @Test
+  public void replayOnHeap() throws Exception {
+    replayIdentical(1024 * 1024, 1024 * 1024);
+  }
+
+  @Test
+  public void replaySpilled() throws Exception {
+    replayIdentical(1024 * 1024, 16);
+  }
+
+  @Test
+  public void discardFailedCommands() throws Exception {
+    TransactionSaver saver = new TransactionSaver(1024 * 1024, 1024 * 1024);
+    PacketWriter writer =
+        new PacketWriter(new ByteArrayOutputStream(), 1024, new MutableInt(), new MutableInt());
+    send(saver, writer, "INSERT INTO t VALUES (1)");
+    saver.commit();
+    long size = saver.size();
+    send(saver, writer, "INSERT INTO t VALUES (2)");
+    saver.discardPending();
+    assertEquals(size, saver.size());
+
+    TransactionSaver.Iterator journal = saver.iterator();
+    assertTrue(journal.next());
+    assertNotNull(journal.nextPacket());
+    assertNull(journal.nextPacket());
+    assertFalse(journal.next());
+
+    saver.clear();
+    assertEquals(0, saver.size());
+    assertFalse(saver.iterator().next());
+  }
+
+  @Test
+  public void overflow() throws Exception {
+    TransactionSaver saver = new TransactionSaver(100, 100);
+    PacketWriter writer =
+        new PacketWriter(new ByteArrayOutputStream(), 1024, new MutableInt(), new MutableInt());
+    send(saver, writer, "INSERT INTO t VALUES (1)");
+    saver.commit();
+    assertTrue(saver.isReplayable());
+    send(saver, writer, "INSERT INTO t VALUES (2), (3), (4), (5), (6), (7), (8), (9), (10), (11)");
+    saver.commit();
+    assertFalse(saver.isReplayable());
+    assertEquals(0, saver.size());
+
+    // transaction stays not replayable until its end
+    send(saver, writer, "INSERT INTO t VALUES (12)");
+    saver.commit();
+    assertFalse(saver.isReplayable());
+    assertEquals(0, saver.size());
+
+    saver.clear();
+    assertTrue(saver.isReplayable());
+    send(saver, writer, "INSERT INTO t VALUES (1)");
+    saver.commit();
+    assertTrue(saver.size() > 0);
+  }
+}
@@ -0,0 +1,111 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.unit.client.result;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.singlestore.jdbc.Configuration;
+import com.singlestore.jdbc.client.ReadableByteBuf;
+import com.singlestore.jdbc.client.context.BaseContext;
+import com.singlestore.jdbc.client.context.Context;
+import com.singlestore.jdbc.client.result.CompleteResult;
+import com.singlestore.jdbc.client.socket.PacketReader;
+import com.singlestore.jdbc.codec.DataType;
+import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
+import com.singlestore.jdbc.message.server.InitialHandshakePacket;
+import com.singlestore.jdbc.util.MutableInt;
+import com.singlestore.jdbc.util.exceptions.ExceptionFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.junit.jupiter.api.Test;
+
+public class CompleteResultSpillTest {
+
+  private static final int ROWS = 5000;
+
+  private static CompleteResult result(String url) throws Exception {
+    Configuration conf = Configuration.parse(url);
+    // handshake without capabilities: results end with an EOF packet
+    byte[] handshake = new byte[37];
+    handshake[0] = 0x0a;
+    handshake[1] = '5';
+    Context context =
+        new BaseContext(
+            InitialHandshakePacket.decode(new ReadableByteBuf(null, handshake, handshake.length)),
+            0,
+            conf,
+            new ExceptionFactory(conf, null),
+            null,
+            null);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    int seq = 1;
+    for (int i = 0; i < ROWS; i++) {
+      byte[] value = ("row-" + i).getBytes(StandardCharsets.UTF_8);
+      out.write(new byte[] {(byte) (value.length + 1), 0, 0, (byte) seq++}, 0, 4);
+      out.write(value.length);
+      out.write(value, 0, value.length);
+    }
+    out.write(new byte[] {5, 0, 0, (byte) seq, (byte) 0xfe, 0, 0, 2, 0}, 0, 9);
+    PacketReader reader =
+        new PacketReader(new ByteArrayInputStream(out.toByteArray()), conf, new MutableInt());
+
+    return new CompleteResult(
+        null,
+        false,
+        0,
+        new ColumnDefinitionPacket[] {ColumnDefinitionPacket.create("a", DataType.VARSTRING)},
+        reader,
+        context,
+        ResultSet.TYPE_SCROLL_INSENSITIVE,
+        false,
+        false);
+  }
+
+  private static void checkNavigation(ResultSet rs) throws SQLException {
+    for (int i = 0; i < ROWS; i++) {
+      assertTrue(rs.next());
+      assertEquals("row-" + i, rs.getString(1));
+    }
+    assertFalse(rs.next());
+    assertTrue(rs.isAfterLast());
+
+    assertTrue(rs.last());
+    assertEquals(ROWS, rs.getRow());
+    assertEquals("row-" + (ROWS - 1), rs.getString(1));
+    assertTrue(rs.previous());
+    assertEquals("row-" + (ROWS - 2), rs.getString(1));
+    assertTrue(rs.absolute(3));
+    assertEquals("row-2", rs.getString(1));
+    assertTrue(rs.absolute(-10));
+    assertEquals("row-" + (ROWS - 10), rs.getString(1));
+    assertTrue(rs.relative(-1000));
+    assertEquals("row-" + (ROWS - 1010), rs.getString(1));
+    assertTrue(rs.first());
+    assertEquals("row-0", rs.getString(1));
+    assertFalse(rs.absolute(ROWS + 1));
+  }
+
+  @Test
+  public void inMemory() throws Exception {
+    try (CompleteResult rs = result("jdbc:singlestore://localhost/db")) {
+      assertEquals(ROWS, rs.loadedRows());
+      checkNavigation(rs);
+    }
+  }
+
+  @Test
+  public void spilled() throws Exception {
+    CompleteResult rs = result("jdbc:singlestore://localhost/db?resultSetSpillSize=1000");
+    assertEquals(ROWS, rs.loadedRows());
+    checkNavigation(rs);
+    rs.close();
+    assertThrows(SQLException.class, () -> rs.absolute(1));
+  }
+}
@@ -0,0 +1,106 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.unit.client.result;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.singlestore.jdbc.Configuration;
+import com.singlestore.jdbc.client.ReadableByteBuf;
+import com.singlestore.jdbc.client.context.BaseContext;
+import com.singlestore.jdbc.client.context.Context;
+import com.singlestore.jdbc.client.result.CompleteResult;
+import com.singlestore.jdbc.client.socket.PacketReader;
+import com.singlestore.jdbc.codec.DataType;
+import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
+import com.singlestore.jdbc.message.server.InitialHandshakePacket;
+import com.singlestore.jdbc.util.MutableInt;
+import com.singlestore.jdbc.util.exceptions.ExceptionFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import org.junit.jupiter.api.Test;
+
+public class ResultRowStorageTest {
+
+  private static final int ROWS = 3000;
+
+  private static String value(int i) {
+    StringBuilder sb = new StringBuilder().append(i).append(':');
+    // mostly small rows, sharing chunks, and some rows bigger than chunk copy limit
+    int length = i % 100 == 0 ? 2000 + i : i % 200;
+    for (int j = 0; j < length; j++) sb.append((char) ('a' + (i + j) % 26));
+    return sb.toString();
+  }
+
+  @Test
+  public void mixedRowSizes() throws Exception {
+    Configuration conf = Configuration.parse("jdbc:singlestore://localhost/db");
+    byte[] handshake = new byte[37];
+    handshake[0] = 0x0a;
+    handshake[1] = '5';
+    Context context =
+        new BaseContext(
+            InitialHandshakePacket.decode(new ReadableByteBuf(null, handshake, handshake.length)),
+            0,
+            conf,
+            new ExceptionFactory(conf, null),
+            null,
+            null);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    int seq = 1;
+    for (int i = 0; i < ROWS; i++) {
+      byte[] value = value(i).getBytes(StandardCharsets.UTF_8);
+      int length = value.length < 251 ? value.length + 1 : value.length + 3;
+      out.write(new byte[] {(byte) length, (byte) (length >> 8), 0, (byte) seq++}, 0, 4);
+      if (value.length < 251) {
+        out.write(value.length);
+      } else {
+        out.write(0xfc);
+        out.write(value.length);
+        out.write(value.length >> 8);
+      }
+      out.write(value, 0, value.length);
+    }
+    out.write(new byte[] {5, 0, 0, (byte) seq, (byte) 0xfe, 0, 0, 2, 0}, 0, 9);
+    PacketReader reader =
+        new PacketReader(new ByteArrayInputStream(out.toByteArray()), conf, new MutableInt());
+
+    try (CompleteResult rs =
+        new CompleteResult(
+            null,
+            false,
+            0,
+            new ColumnDefinitionPacket[] {ColumnDefinitionPacket.create("a", DataType.VARSTRING)},
+            reader,
+            context,
+            ResultSet.TYPE_SCROLL_INSENSITIVE,
+            false,
+            false)) {
+      for (int i = 0; i < ROWS; i++) {
+        assertTrue(rs.next());
+        assertEquals(value(i), rs.getString(1));
+        // decoder must restart from row start when reading a column again
+        assertEquals(value(i), rs.getString(1));
+      }
+      assertFalse(rs.next());
+      for (int i = ROWS; i > 0; i -= 7) {
+        assertTrue(rs.absolute(i));
+        assertEquals(value(i - 1), rs.getString(1));
+      }
+
+      CompleteResult subset = rs.subset(new int[] {0, 100, 1999});
+      assertTrue(subset.next());
+      assertEquals(value(0), subset.getString(1));
+      assertTrue(subset.next());
+      assertEquals(value(100), subset.getString(1));
+      assertTrue(subset.next());
+      assertEquals(value(1999), subset.getString(1));
+      assertFalse(subset.next());
+    }
+  }
+}
@@ -0,0 +1,83 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.unit.client.tls;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.singlestore.jdbc.Configuration;
+import com.singlestore.jdbc.client.tls.DefaultTlsSocketPlugin;
+import com.singlestore.jdbc.util.exceptions.ExceptionFactory;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.security.KeyStore;
+import javax.net.ssl.SSLSocketFactory;
+import org.junit.jupiter.api.Test;
+
+public class DefaultTlsSocketPluginTest {
+
+  @Test
+  public void cachedSocketFactory() throws Exception {
+    DefaultTlsSocketPlugin plugin = new DefaultTlsSocketPlugin();
+    Configuration conf = Configuration.parse("jdbc:singlestore://localhost/test?sslMode=trust");
+    Configuration conf2 = Configuration.parse("jdbc:singlestore://otherhost/test?sslMode=trust");
+    Configuration confCa =
+        Configuration.parse("jdbc:singlestore://localhost/test?sslMode=verify-ca");
+    ExceptionFactory exceptionFactory = new ExceptionFactory(conf, null);
+
+    SSLSocketFactory factory = plugin.getSocketFactory(conf, exceptionFactory);
+    assertSame(factory, plugin.getSocketFactory(conf, exceptionFactory));
+    assertSame(factory, plugin.getSocketFactory(conf2, exceptionFactory));
+    assertNotSame(factory, plugin.getSocketFactory(confCa, exceptionFactory));
+
+    DefaultTlsSocketPlugin.clearCache();
+    assertNotSame(factory, plugin.getSocketFactory(conf, exceptionFactory));
+  }
+
+  @Test
+  public void fileKeyStoreReloaded() throws Exception {
+    File file = File.createTempFile("keystore", ".p12");
+    file.deleteOnExit();
+    KeyStore ks = KeyStore.getInstance("PKCS12");
+    ks.load(null, "pwd".toCharArray());
+    try (FileOutputStream out = new FileOutputStream(file)) {
+      ks.store(out, "pwd".toCharArray());
+    }
+    file.setLastModified(System.currentTimeMillis() - 60_000);
+
+    DefaultTlsSocketPlugin plugin = new DefaultTlsSocketPlugin();
+    Configuration conf =
+        Configuration.parse(
+            "jdbc:singlestore://localhost/test?sslMode=trust&keyStoreType=PKCS12"
+                + "&keyStorePassword=pwd&keyStore="
+                + file.toURI());
+    ExceptionFactory exceptionFactory = new ExceptionFactory(conf, null);
+    SSLSocketFactory factory = plugin.getSocketFactory(conf, exceptionFactory);
+    assertSame(factory, plugin.getSocketFactory(conf, exceptionFactory));
+
+    // keystore renewed: file URL modification time is checked
+    file.setLastModified(System.currentTimeMillis());
+    assertNotSame(factory, plugin.getSocketFactory(conf, exceptionFactory));
+  }
+
+  @Test
+  public void failedSystemKeyStoreNotCached() throws Exception {
+    String previous = System.getProperty("javax.net.ssl.keyStore");
+    System.setProperty("javax.net.ssl.keyStore", "/non/existent/keystore.p12");
+    try {
+      DefaultTlsSocketPlugin plugin = new DefaultTlsSocketPlugin();
+      Configuration conf = Configuration.parse("jdbc:singlestore://localhost/test?sslMode=trust");
+      ExceptionFactory exceptionFactory = new ExceptionFactory(conf, null);
+      SSLSocketFactory factory = plugin.getSocketFactory(conf, exceptionFactory);
+      assertNotSame(factory, plugin.getSocketFactory(conf, exceptionFactory));
+    } finally {
+      if (previous == null) {
+        System.clearProperty("javax.net.ssl.keyStore");
+      } else {
+        System.setProperty("javax.net.ssl.keyStore", previous);
+      }
+    }
+  }
+}
@@ -0,0 +1,196 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.unit.codec;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.singlestore.jdbc.client.ReadableByteBuf;
+import com.singlestore.jdbc.codec.DataType;
+import com.singlestore.jdbc.codec.list.DoubleArrayCodec;
+import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
+import com.singlestore.jdbc.util.MutableInt;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.SQLDataException;
+import org.junit.jupiter.api.Test;
+
+public class DoubleArrayCodecTest {
+
+  private static final ColumnDefinitionPacket GEOMETRY_COLUMN =
+      ColumnDefinitionPacket.create("g", DataType.GEOMETRY);
+
+  @Test
+  public void point() throws SQLDataException {
+    assertArrayEquals(
+        new double[] {1.5, -2}, coordinates(new Wkb().header(1).point(1.5, -2).bytes()));
+    assertArrayEquals(new double[0], coordinates(new byte[0]));
+  }
+
+  @Test
+  public void lineString() throws SQLDataException {
+    byte[] wkb = new Wkb().header(2).count(3).point(0, 0).point(10, 10).point(20, 25).bytes();
+    assertArrayEquals(new double[] {0, 0, 10, 10, 20, 25}, coordinates(wkb));
+  }
+
+  @Test
+  public void polygon() throws SQLDataException {
+    byte[] wkb =
+        new Wkb()
+            .header(3)
+            .count(2)
+            .count(4)
+            .point(0, 0)
+            .point(10, 0)
+            .point(0, 10)
+            .point(0, 0)
+            .count(4)
+            .point(1, 1)
+            .point(2, 1)
+            .point(1, 2)
+            .point(1, 1)
+            .bytes();
+    assertArrayEquals(
+        new double[] {0, 0, 10, 0, 0, 10, 0, 0, 1, 1, 2, 1, 1, 2, 1, 1}, coordinates(wkb));
+  }
+
+  @Test
+  public void multiGeometries() throws SQLDataException {
+    byte[] multiPoint =
+        new Wkb().header(4).count(2).header(1).point(1, 2).header(1).point(3, 4).bytes();
+    assertArrayEquals(new double[] {1, 2, 3, 4}, coordinates(multiPoint));
+
+    byte[] multiLineString =
+        new Wkb()
+            .header(5)
+            .count(2)
+            .header(2)
+            .count(2)
+            .point(1, 2)
+            .point(3, 4)
+            .header(2)
+            .count(1)
+            .point(5, 6)
+            .bytes();
+    assertArrayEquals(new double[] {1, 2, 3, 4, 5, 6}, coordinates(multiLineString));
+
+    byte[] multiPolygon =
+        new Wkb()
+            .header(6)
+            .count(2)
+            .header(3)
+            .count(1)
+            .count(2)
+            .point(1, 2)
+            .point(3, 4)
+            .header(3)
+            .count(0)
+            .bytes();
+    assertArrayEquals(new double[] {1, 2, 3, 4}, coordinates(multiPolygon));
+
+    byte[] collection =
+        new Wkb()
+            .header(7)
+            .count(2)
+            .header(1)
+            .point(1, 2)
+            .header(4)
+            .count(1)
+            .header(1)
+            .point(3, 4)
+            .bytes();
+    assertArrayEquals(new double[] {1, 2, 3, 4}, coordinates(collection));
+  }
+
+  @Test
+  public void bigEndian() throws SQLDataException {
+    ByteBuffer bb = ByteBuffer.allocate(4 + 9 + 4 * 16).order(ByteOrder.BIG_ENDIAN);
+    bb.putInt(0).put((byte) 0).putInt(2).putInt(2);
+    bb.putDouble(1).putDouble(2).putDouble(3).putDouble(4);
+    assertArrayEquals(new double[] {1, 2, 3, 4}, coordinates(bb.array()));
+  }
+
+  @Test
+  public void malformed() {
+    // more points than value length
+    assertThrows(
+        SQLDataException.class,
+        () -> coordinates(new Wkb().header(2).count(1000).point(1, 2).bytes()));
+    // unknown type
+    assertThrows(SQLDataException.class, () -> coordinates(new Wkb().header(9).count(0).bytes()));
+    // truncated value
+    assertThrows(SQLDataException.class, () -> coordinates(new Wkb().header(7).bytes()));
+  }
+
+  @Test
+  public void nestingLimit() throws SQLDataException {
+    Wkb wkb = new Wkb();
+    for (int i = 0; i < 32; i++) wkb.header(7).count(1);
+    assertArrayEquals(new double[] {1, 2}, coordinates(wkb.header(1).point(1, 2).bytes()));
+
+    // deeply nested collections fail without exhausting stack
+    Wkb deep = new Wkb();
+    for (int i = 0; i < 100_000; i++) deep.header(7).count(1);
+    byte[] bytes = deep.header(1).point(1, 2).bytes();
+    SQLDataException e = assertThrows(SQLDataException.class, () -> coordinates(bytes));
+    assertTrue(e.getMessage().contains("nesting deeper than 32"));
+  }
+
+  private static double[] coordinates(byte[] value) throws SQLDataException {
+    byte[] bytes = new byte[value.length + 1];
+    System.arraycopy(value, 0, bytes, 0, value.length);
+    // trailing byte, to check that whole value is consumed
+    bytes[value.length] = 0x7f;
+    ReadableByteBuf buf = new ReadableByteBuf(new MutableInt(), bytes, bytes.length);
+    try {
+      return DoubleArrayCodec.INSTANCE.decodeBinary(buf, value.length, GEOMETRY_COLUMN, null);
+    } finally {
+      assertEquals(value.length, buf.pos());
+    }
+  }
+
+  /** Little-endian WKB value builder, with SRID prefix. */
+  private static final class Wkb {
+    private ByteBuffer bb = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+
+    Wkb() {
+      bb.putInt(0); // SRID
+    }
+
+    Wkb header(int wkbType) {
+      ensure(5);
+      bb.put((byte) 0x01).putInt(wkbType);
+      return this;
+    }
+
+    Wkb count(int count) {
+      ensure(4);
+      bb.putInt(count);
+      return this;
+    }
+
+    Wkb point(double x, double y) {
+      ensure(16);
+      bb.putDouble(x).putDouble(y);
+      return this;
+    }
+
+    byte[] bytes() {
+      byte[] bytes = new byte[bb.position()];
+      System.arraycopy(bb.array(), 0, bytes, 0, bytes.length);
+      return bytes;
+    }
+
+    private void ensure(int len) {
+      if (bb.remaining() < len) {
+        ByteBuffer newBb =
+            ByteBuffer.allocate(bb.capacity() * 2 + len).order(ByteOrder.LITTLE_ENDIAN);
+        bb.flip();
+        newBb.put(bb);
+        bb = newBb;
+      }
+    }
+  }
+}
@@ -0,0 +1,157 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.unit.codec;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.singlestore.jdbc.client.ReadableByteBuf;
+import com.singlestore.jdbc.client.context.Context;
+import com.singlestore.jdbc.client.socket.PacketWriter;
+import com.singlestore.jdbc.codec.DataType;
+import com.singlestore.jdbc.codec.list.FloatArrayCodec;
+import com.singlestore.jdbc.codec.list.IntArrayCodec;
+import com.singlestore.jdbc.codec.list.LongArrayCodec;
+import com.singlestore.jdbc.codec.list.PackedArrayCodec;
+import com.singlestore.jdbc.message.server.ColumnDefinitionPacket;
+import com.singlestore.jdbc.util.MutableInt;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+public class PackedArrayCodecTest {
+
+  private static final ColumnDefinitionPacket BLOB_COLUMN =
+      ColumnDefinitionPacket.create("v", DataType.BLOB);
+
+  @Test
+  public void floatArray() throws Exception {
+    float[] values = {1.5f, -2f, Float.NaN, Float.MAX_VALUE, -0f};
+    byte[] packed = FloatArrayCodec.pack(values);
+    assertEquals(20, packed.length);
+    assertArrayEquals(values, decodeText(FloatArrayCodec.INSTANCE, packed));
+    assertArrayEquals(values, decodeBinary(FloatArrayCodec.INSTANCE, packed));
+    assertArrayEquals(packed, encodeBinary(FloatArrayCodec.INSTANCE, values));
+    assertArrayEquals(new float[0], decodeBinary(FloatArrayCodec.INSTANCE, new byte[0]));
+    assertEquals("[F", FloatArrayCodec.INSTANCE.className());
+    assertTrue(FloatArrayCodec.INSTANCE.canEncode(values));
+    assertFalse(FloatArrayCodec.INSTANCE.canEncode(new double[0]));
+    assertTrue(FloatArrayCodec.INSTANCE.canDecode(BLOB_COLUMN, float[].class));
+    assertFalse(FloatArrayCodec.INSTANCE.canDecode(BLOB_COLUMN, int[].class));
+  }
+
+  @Test
+  public void intArray() throws Exception {
+    int[] values = {Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -1, 0x01020304};
+    byte[] packed = IntArrayCodec.pack(values);
+    assertEquals(20, packed.length);
+    assertArrayEquals(new byte[] {4, 3, 2, 1}, Arrays.copyOfRange(packed, 16, 20));
+    assertArrayEquals(values, decodeText(IntArrayCodec.INSTANCE, packed));
+    assertArrayEquals(values, decodeBinary(IntArrayCodec.INSTANCE, packed));
+    assertArrayEquals(packed, encodeBinary(IntArrayCodec.INSTANCE, values));
+    assertEquals(
+        "_binary '\u0004\u0003\u0002\u0001'",
+        new String(
+            encodeText(IntArrayCodec.INSTANCE, new int[] {0x01020304}),
+            StandardCharsets.ISO_8859_1));
+    assertTrue(IntArrayCodec.INSTANCE.canEncode(values));
+    assertFalse(IntArrayCodec.INSTANCE.canEncode(new long[0]));
+    assertTrue(IntArrayCodec.INSTANCE.canDecode(BLOB_COLUMN, int[].class));
+  }
+
+  @Test
+  public void longArray() throws Exception {
+    long[] values = {Long.MIN_VALUE, Long.MAX_VALUE, 0L, -1L, 0x0102030405060708L};
+    byte[] packed = LongArrayCodec.pack(values);
+    assertEquals(40, packed.length);
+    assertArrayEquals(values, decodeText(LongArrayCodec.INSTANCE, packed));
+    assertArrayEquals(values, decodeBinary(LongArrayCodec.INSTANCE, packed));
+    assertArrayEquals(packed, encodeBinary(LongArrayCodec.INSTANCE, values));
+    assertTrue(LongArrayCodec.INSTANCE.canEncode(values));
+    assertFalse(LongArrayCodec.INSTANCE.canEncode(null));
+    assertTrue(LongArrayCodec.INSTANCE.canDecode(BLOB_COLUMN, long[].class));
+  }
+
+  @Test
+  public void wrongLength() {
+    byte[] bytes = new byte[] {1, 2, 3, 4, 5, 6};
+    ReadableByteBuf buf = new ReadableByteBuf(new MutableInt(), bytes, bytes.length);
+    SQLDataException e =
+        assertThrows(
+            SQLDataException.class,
+            () -> LongArrayCodec.INSTANCE.decodeBinary(buf, bytes.length, BLOB_COLUMN, null));
+    assertEquals("Data length 6 is not a multiple of long size (8)", e.getMessage());
+    // value is skipped
+    assertEquals(6, buf.pos());
+  }
+
+  @Test
+  public void wrongType() {
+    byte[] bytes = new byte[] {1, 2, 3, 4};
+    ReadableByteBuf buf = new ReadableByteBuf(new MutableInt(), bytes, bytes.length);
+    ColumnDefinitionPacket column = ColumnDefinitionPacket.create("v", DataType.INTEGER);
+    assertFalse(IntArrayCodec.INSTANCE.canDecode(column, int[].class));
+    SQLDataException e =
+        assertThrows(
+            SQLDataException.class,
+            () -> IntArrayCodec.INSTANCE.decodeText(buf, bytes.length, column, null));
+    assertEquals("Data type INTEGER cannot be decoded as int[]", e.getMessage());
+    assertEquals(4, buf.pos());
+  }
+
+  private static <T> T decodeText(PackedArrayCodec<T> codec, byte[] packed)
+      throws SQLDataException {
+    ReadableByteBuf buf = new ReadableByteBuf(new MutableInt(), packed, packed.length);
+    T values = codec.decodeText(buf, packed.length, BLOB_COLUMN, null);
+    assertEquals(packed.length, buf.pos());
+    return values;
+  }
+
+  private static <T> T decodeBinary(PackedArrayCodec<T> codec, byte[] packed)
+      throws SQLDataException {
+    ReadableByteBuf buf = new ReadableByteBuf(new MutableInt(), packed, packed.length);
+    T values = codec.decodeBinary(buf, packed.length, BLOB_COLUMN, null);
+    assertEquals(packed.length, buf.pos());
+    return values;
+  }
+
+  /** Binary protocol value, without packet header and length prefix. */
+  private static byte[] encodeBinary(PackedArrayCodec<?> codec, Object value)
+      throws IOException, SQLException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PacketWriter writer = new PacketWriter(out, 0, new MutableInt(), new MutableInt());
+    codec.encodeBinary(writer, value, null, null);
+    writer.flush();
+    byte[] packet = out.toByteArray();
+    // small values have a 1 byte length prefix
+    assertEquals(packet.length - 5, packet[4]);
+    return Arrays.copyOfRange(packet, 5, packet.length);
+  }
+
+  /** Text protocol value, without packet header. */
+  static byte[] encodeText(PackedArrayCodec<?> codec, Object value)
+      throws IOException, SQLException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PacketWriter writer = new PacketWriter(out, 0, new MutableInt(), new MutableInt());
+    codec.encodeText(writer, context(), value, null, null);
+    writer.flush();
+    byte[] packet = out.toByteArray();
+    return Arrays.copyOfRange(packet, 4, packet.length);
+  }
+
+  /** Context with default server status, backslash escapes enabled. */
+  static Context context() {
+    return (Context)
+        Proxy.newProxyInstance(
+            Context.class.getClassLoader(),
+            new Class<?>[] {Context.class},
+            (proxy, method, args) -> method.getName().equals("getServerStatus") ? 0 : null);
+  }
+}
@@ -0,0 +1,159 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.unit.codec;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.singlestore.jdbc.client.ReadableByteBuf;
+import com.singlestore.jdbc.client.context.Context;
+import com.singlestore.jdbc.client.socket.PacketWriter;
+import com.singlestore.jdbc.codec.Codec;
+import com.singlestore.jdbc.codec.list.*;
+import com.singlestore.jdbc.type.*;
+import com.singlestore.jdbc.util.MutableInt;
+import com.singlestore.jdbc.util.constants.ServerStatus;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+/** Geometry text encoding, written as WKB literal by package-private WkbEncoder. */
+public class WkbEncoderTest {
+
+  @Test
+  public void point() throws Exception {
+    byte[] wkb = encode(PointCodec.INSTANCE, "ST_PointFromWKB", new Point(1.5, -2));
+    ByteBuffer expected = ByteBuffer.allocate(21).order(ByteOrder.LITTLE_ENDIAN);
+    expected.put((byte) 0x01).putInt(1).putDouble(1.5).putDouble(-2);
+    assertArrayEquals(expected.array(), wkb);
+  }
+
+  @Test
+  public void geometries() throws Exception {
+    LineString line = new LineString(new Point[] {new Point(0, 0), new Point(10, 25)}, true);
+    Polygon polygon =
+        new Polygon(
+            new LineString[] {
+              new LineString(
+                  new Point[] {
+                    new Point(0, 0), new Point(10, 0), new Point(0, 10), new Point(0, 0)
+                  },
+                  false)
+            });
+    roundTrip(LineStringCodec.INSTANCE, "ST_LineFromWKB", line);
+    roundTrip(PolygonCodec.INSTANCE, "ST_PolyFromWKB", polygon);
+    roundTrip(
+        MultiPointCodec.INSTANCE,
+        "ST_MPointFromWKB",
+        new MultiPoint(new Point[] {new Point(1, 2), new Point(3, 4)}));
+    roundTrip(
+        MultiLinestringCodec.INSTANCE,
+        "ST_MLineFromWKB",
+        new MultiLineString(new LineString[] {line, line}));
+    roundTrip(
+        MultiPolygonCodec.INSTANCE,
+        "ST_MPolyFromWKB",
+        new MultiPolygon(new Polygon[] {polygon, polygon}));
+    roundTrip(
+        GeometryCollectionCodec.INSTANCE,
+        "ST_GeomCollFromWKB",
+        new GeometryCollection(new Geometry[] {new Point(1, 2), line, polygon}));
+  }
+
+  @Test
+  public void escapedAndLarge() throws Exception {
+    // coordinate bytes containing quotes
+    double quoted = Double.longBitsToDouble(0x2727272727272727L);
+    roundTrip(PointCodec.INSTANCE, "ST_PointFromWKB", new Point(quoted, quoted));
+
+    // larger than scratch buffer kept by packet writer
+    for (int size : new int[] {100, 100_000, 10}) {
+      Point[] points = new Point[size];
+      for (int i = 0; i < size; i++) points[i] = new Point(i, -i);
+      roundTrip(LineStringCodec.INSTANCE, "ST_LineFromWKB", new LineString(points, true));
+    }
+  }
+
+  @Test
+  public void scratchBuffer() {
+    PacketWriter writer = new PacketWriter(null, 0, new MutableInt(), new MutableInt());
+    byte[] buf = writer.scratchBuffer(21);
+    assertSame(buf, writer.scratchBuffer(100));
+    byte[] bigger = writer.scratchBuffer(1000);
+    assertTrue(bigger.length >= 1000);
+    assertSame(bigger, writer.scratchBuffer(21));
+
+    // large buffers are not kept
+    assertEquals(100_000, writer.scratchBuffer(100_000).length);
+    assertSame(bigger, writer.scratchBuffer(1000));
+  }
+
+  private static void roundTrip(Codec<?> codec, String function, Geometry geometry)
+      throws Exception {
+    byte[] wkb = encode(codec, function, geometry);
+    ReadableByteBuf buf = new ReadableByteBuf(new MutableInt(), wkb, wkb.length);
+    assertEquals(geometry, Geometry.getGeometry(buf, wkb.length, null));
+    assertEquals(wkb.length, buf.pos());
+  }
+
+  /**
+   * Encode geometry in text protocol, and return WKB value.
+   *
+   * @param codec geometry codec
+   * @param function expected WKB function
+   * @param geometry geometry
+   * @return WKB bytes, unescaped
+   */
+  private static byte[] encode(Codec<?> codec, String function, Geometry geometry)
+      throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PacketWriter writer = new PacketWriter(out, 0, new MutableInt(), new MutableInt());
+    codec.encodeText(writer, noBackslashEscapesContext(), geometry, null, null);
+    writer.flush();
+    byte[] packets = out.toByteArray();
+
+    // remove packet headers
+    ByteArrayOutputStream payload = new ByteArrayOutputStream();
+    for (int pos = 0; pos < packets.length; ) {
+      int len =
+          (packets[pos] & 0xff)
+              | (packets[pos + 1] & 0xff) << 8
+              | (packets[pos + 2] & 0xff) << 16;
+      payload.write(packets, pos + 4, len);
+      pos += 4 + len;
+    }
+    byte[] value = payload.toByteArray();
+
+    byte[] prefix = (function + "(_binary'").getBytes(StandardCharsets.US_ASCII);
+    assertArrayEquals(prefix, Arrays.copyOfRange(value, 0, prefix.length));
+    assertEquals('\'', value[value.length - 2]);
+    assertEquals(')', value[value.length - 1]);
+
+    // without backslash escapes, only quotes are escaped, by doubling them
+    ByteArrayOutputStream wkb = new ByteArrayOutputStream();
+    for (int i = prefix.length; i < value.length - 2; i++) {
+      wkb.write(value[i]);
+      if (value[i] == '\'') {
+        assertEquals('\'', value[++i]);
+      }
+    }
+    return wkb.toByteArray();
+  }
+
+  private static Context noBackslashEscapesContext() {
+    return (Context)
+        Proxy.newProxyInstance(
+            Context.class.getClassLoader(),
+            new Class<?>[] {Context.class},
+            (proxy, method, args) ->
+                method.getName().equals("getServerStatus")
+                    ? (int) ServerStatus.NO_BACKSLASH_ESCAPES
+                    : null);
+  }
+}
@@ -0,0 +1,71 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.unit.plugin;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.singlestore.jdbc.plugin.listener.QueryListener;
+import com.singlestore.jdbc.plugin.listener.QueryListenerLoader;
+import com.singlestore.jdbc.plugin.listener.histogram.LatencyHistogram;
+import com.singlestore.jdbc.plugin.listener.histogram.LatencyHistogramListener;
+import java.sql.SQLException;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class QueryListenerTest {
+
+  @Test
+  public void loader() throws SQLException {
+    assertNull(QueryListenerLoader.get(null));
+    QueryListener listener = QueryListenerLoader.get("latencyHistogram");
+    assertTrue(listener instanceof LatencyHistogramListener);
+    assertSame(listener, QueryListenerLoader.get("latencyHistogram"));
+    SQLException e = assertThrows(SQLException.class, () -> QueryListenerLoader.get("UNKNOWN"));
+    assertTrue(e.getMessage().contains("No query listener registered with the type \"UNKNOWN\""));
+    assertEquals("08004", e.getSQLState());
+  }
+
+  @Test
+  public void histogram() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.getValueAtPercentile(50));
+    for (long i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000);
+    }
+    assertEquals(1000, histogram.getCount());
+    assertEquals(1_000_000, histogram.getMax());
+    assertEquals(500_500, histogram.getMean(), 0.1);
+    assertEquals(500_000, histogram.getValueAtPercentile(50), 500_000 * 0.07);
+    assertEquals(990_000, histogram.getValueAtPercentile(99), 990_000 * 0.07);
+    assertTrue(histogram.getValueAtPercentile(100) >= 1_000_000);
+    histogram.reset();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+  }
+
+  @Test
+  public void templates() {
+    LatencyHistogramListener listener = new LatencyHistogramListener();
+    listener.afterComplete("SELECT * FROM t WHERE id = 1", 1000, 10, 10, 1, true, false);
+    listener.afterComplete("SELECT * FROM t WHERE id = 2", 3000, 10, 10, 1, true, false);
+    listener.afterComplete(
+        "INSERT INTO t VALUES (1, 'a'), (2, 'b')", 2000, 10, 10, 0, true, false);
+    listener.afterComplete(null, 2000, 10, 10, 0, false, false);
+
+    Map<String, LatencyHistogram> histograms = listener.getHistograms();
+    assertEquals(3, histograms.size());
+    assertEquals(2, histograms.get("SELECT * FROM t WHERE id = ?").getCount());
+    assertEquals(3000, histograms.get("SELECT * FROM t WHERE id = ?").getMax());
+    assertEquals(1, histograms.get("INSERT INTO t VALUES (?), (?)").getCount());
+    assertEquals(1, histograms.get(LatencyHistogramListener.OTHER_TEMPLATES).getCount());
+
+    // backslash is not an escape character in NO_BACKSLASH_ESCAPES mode
+    listener.afterComplete("SELECT 'a\\' + id FROM t", 1000, 10, 10, 1, true, true);
+    assertEquals(1, listener.getHistograms().get("SELECT ? + id FROM t").getCount());
+    listener.reset();
+    assertTrue(listener.getHistograms().isEmpty());
+  }
+}
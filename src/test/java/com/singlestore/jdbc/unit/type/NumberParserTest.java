@@ -0,0 +1,86 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.unit.type;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.singlestore.jdbc.client.ReadableByteBuf;
+import com.singlestore.jdbc.codec.NumberParser;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class NumberParserTest {
+
+  private static ReadableByteBuf buf(String value) {
+    byte[] bytes = ("xx" + value).getBytes(StandardCharsets.UTF_8);
+    ReadableByteBuf buf = new ReadableByteBuf(null, bytes, bytes.length);
+    buf.skip(2);
+    return buf;
+  }
+
+  private static void sameAsJdk(String value) {
+    ReadableByteBuf buf = buf(value);
+    double d = NumberParser.parseDouble(buf, value.length());
+    if (!Double.isNaN(d)) {
+      long expected = Double.doubleToRawLongBits(Double.parseDouble(value));
+      assertEquals(expected, Double.doubleToRawLongBits(d), value);
+    }
+    float f = NumberParser.parseFloat(buf, value.length());
+    if (!Float.isNaN(f)) {
+      assertEquals(
+          Float.floatToRawIntBits(Float.parseFloat(value)), Float.floatToRawIntBits(f), value);
+    }
+    BigDecimal decimal = NumberParser.parseDecimal(buf, value.length());
+    if (decimal != null) assertEquals(new BigDecimal(value), decimal, value);
+    assertEquals(2, buf.pos());
+  }
+
+  @Test
+  public void parseDecimal() {
+    assertEquals(new BigDecimal("12345.6789"), NumberParser.parseDecimal(buf("12345.6789"), 10));
+    assertEquals(new BigDecimal("-0.00"), NumberParser.parseDecimal(buf("-0.00"), 5));
+    assertEquals(new BigDecimal("5"), NumberParser.parseDecimal(buf("+5"), 2));
+    assertEquals(new BigDecimal(".5"), NumberParser.parseDecimal(buf(".5"), 2));
+    assertEquals(
+        new BigDecimal("-999999999999999.999"),
+        NumberParser.parseDecimal(buf("-999999999999999.999"), 20));
+    assertNull(NumberParser.parseDecimal(buf("1234567890.123456789"), 20));
+    assertNull(NumberParser.parseDecimal(buf("1e5"), 3));
+    assertNull(NumberParser.parseDecimal(buf("1.2.3"), 5));
+    assertNull(NumberParser.parseDecimal(buf("-"), 1));
+    assertNull(NumberParser.parseDecimal(buf("."), 1));
+  }
+
+  @Test
+  public void parseFloatingPoint() {
+    String[] values = {
+      "0", "-0", "-0.0", "1", "+1", "1.", "-.5", "1e-400", "1e400", "4.9e-324",
+      "2.4703282292062327e-324", "2.4703282292062328e-324", "1.7976931348623157e308",
+      "1.7976931348623159e308", "9007199254740993", "3.4028235e38", "3.4028236e38", "1.4e-45",
+      "7e-46", "16777217", "33554435", "1234567890123456789", "0.000000000000000000001234"
+    };
+    for (String value : values) sameAsJdk(value);
+
+    assertTrue(Double.isNaN(NumberParser.parseDouble(buf("1e"), 2)));
+    assertTrue(Double.isNaN(NumberParser.parseDouble(buf(" 1"), 2)));
+    assertTrue(Double.isNaN(NumberParser.parseDouble(buf("NaN"), 3)));
+    assertTrue(Double.isNaN(NumberParser.parseDouble(buf("Infinity"), 8)));
+    assertTrue(Double.isNaN(NumberParser.parseDouble(buf("12345678901234567890"), 20)));
+    assertTrue(Float.isNaN(NumberParser.parseFloat(buf("1.5f"), 4)));
+
+    Random rnd = new Random(42);
+    for (int i = 0; i < 100_000; i++) {
+      double value = Double.longBitsToDouble(rnd.nextLong());
+      if (Double.isNaN(value) || Double.isInfinite(value)) continue;
+      sameAsJdk(Double.toString(value));
+      sameAsJdk(Float.toString((float) value));
+      sameAsJdk(new BigDecimal(value).round(new MathContext(1 + rnd.nextInt(19))).toString());
+    }
+  }
+}
@@ -0,0 +1,113 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.unit.type;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.singlestore.jdbc.client.ReadableByteBuf;
+import com.singlestore.jdbc.codec.TemporalParser;
+import com.singlestore.jdbc.codec.ZoneOffsetCache;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+import org.junit.jupiter.api.Test;
+
+public class TemporalParserTest {
+
+  private static long parse(String value) {
+    byte[] bytes = ("xx" + value).getBytes(StandardCharsets.UTF_8);
+    ReadableByteBuf buf = new ReadableByteBuf(null, bytes, bytes.length);
+    buf.skip(2);
+    long packed = TemporalParser.parseDateTime(buf, value.length());
+    assertEquals(2, buf.pos());
+    return packed;
+  }
+
+  @Test
+  public void parseDateTime() {
+    long packed = parse("2021-03-28 02:30:15.123456");
+    assertEquals(2021, TemporalParser.year(packed));
+    assertEquals(3, TemporalParser.month(packed));
+    assertEquals(28, TemporalParser.day(packed));
+    assertEquals(2, TemporalParser.hour(packed));
+    assertEquals(30, TemporalParser.minute(packed));
+    assertEquals(15, TemporalParser.second(packed));
+    assertEquals(123456, TemporalParser.micros(packed));
+
+    assertEquals(120000, TemporalParser.micros(parse("9999-12-31 23:59:59.12")));
+    assertEquals(0, TemporalParser.micros(parse("1000-01-01 00:00:00")));
+    assertEquals(TemporalParser.pack(2020, 2, 29, 0, 0, 0, 0), parse("2020-02-29"));
+
+    assertEquals(0, parse("0000-00-00 00:00:00"));
+    assertEquals(0, parse("0000-00-00"));
+    long zeroDate = parse("0000-00-00 10:00:00");
+    assertTrue(TemporalParser.isZeroDate(zeroDate));
+    assertEquals(10, TemporalParser.hour(zeroDate));
+    assertFalse(TemporalParser.isZeroDate(packed));
+
+    assertEquals(TemporalParser.INVALID, parse("2021-03-28T02:30:15"));
+    assertEquals(TemporalParser.INVALID, parse("2021-03-28 02:30:15."));
+    assertEquals(TemporalParser.INVALID, parse("2021-03-28 02:30:15.1234567"));
+    assertEquals(TemporalParser.INVALID, parse("2021-13-28 02:30:15"));
+    assertEquals(TemporalParser.INVALID, parse("2021-00-28"));
+    assertEquals(TemporalParser.INVALID, parse("2021-03-28 24:00:00"));
+    assertEquals(TemporalParser.INVALID, parse("2021-3-28"));
+    assertEquals(TemporalParser.INVALID, parse("-021-03-28"));
+    assertEquals(TemporalParser.INVALID, parse("2021-03-28 1:00:00"));
+  }
+
+  @Test
+  public void epochDay() {
+    for (LocalDate date = LocalDate.of(1600, 1, 1);
+        date.getYear() < 2500;
+        date = date.plusDays(17)) {
+      assertEquals(
+          date.toEpochDay(),
+          TemporalParser.epochDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth()));
+    }
+  }
+
+  private static void sameAsCalendar(TimeZone tz) {
+    ZoneOffsetCache zone = ZoneOffsetCache.get(tz);
+    Calendar cal = new GregorianCalendar(tz);
+    // dates around DST transitions, and old dates
+    int[][] dates = {
+      {2021, 3, 28}, {2021, 10, 31}, {2021, 3, 14}, {2021, 11, 7}, {2021, 7, 1}, {1950, 1, 1},
+      {1901, 6, 1}, {1899, 12, 31}, {1500, 1, 1}, {2100, 3, 28}
+    };
+    for (int[] date : dates) {
+      for (int hour = 0; hour < 24; hour++) {
+        for (int minute = 0; minute < 60; minute += 15) {
+          cal.clear();
+          cal.set(date[0], date[1] - 1, date[2], hour, minute, 7);
+          String value = date[0] + "-" + date[1] + "-" + date[2] + " " + hour + ":" + minute;
+          assertEquals(
+              cal.getTimeInMillis(),
+              zone.toEpochMillis(date[0], date[1], date[2], hour, minute, 7),
+              tz.getID() + " " + value);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void zoneOffsetCache() {
+    for (String id :
+        new String[] {"UTC", "Europe/Paris", "America/New_York", "Australia/Lord_Howe", "GMT+5"}) {
+      sameAsCalendar(TimeZone.getTimeZone(id));
+    }
+    sameAsCalendar(new SimpleTimeZone(3_600_000, "custom"));
+
+    assertSame(
+        ZoneOffsetCache.get(TimeZone.getTimeZone("Europe/Paris")),
+        ZoneOffsetCache.get(new GregorianCalendar(TimeZone.getTimeZone("Europe/Paris"))));
+    assertEquals(
+        TimeZone.getDefault().toZoneId(), ZoneOffsetCache.get((Calendar) null).getZoneId());
+  }
+}
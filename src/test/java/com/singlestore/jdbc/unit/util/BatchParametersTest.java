@@ -0,0 +1,80 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.unit.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.singlestore.jdbc.codec.DataType;
+import com.singlestore.jdbc.codec.Parameter;
+import com.singlestore.jdbc.codec.list.BigDecimalCodec;
+import com.singlestore.jdbc.util.BatchParameters;
+import com.singlestore.jdbc.util.ParameterList;
+import com.singlestore.jdbc.util.Parameters;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+public class BatchParametersTest {
+
+  @Test
+  public void storeRows() {
+    BatchParameters batch = new BatchParameters();
+    ParameterList p = new ParameterList();
+    for (int i = 0; i < 100; i++) {
+      p.setInt(0, i);
+      p.setLong(1, i * 10_000_000_000L);
+      p.setDouble(2, i + 0.5d);
+      if (i % 2 == 0) {
+        p.setString(3, "s" + i + "é🎤");
+      } else {
+        p.setNull(3);
+      }
+      p.setBytes(4, new byte[] {(byte) i});
+      p.set(5, new Parameter<>(BigDecimalCodec.INSTANCE, BigDecimal.valueOf(i)));
+      batch.add(p);
+      p.clear();
+    }
+    assertEquals(100, batch.size());
+    assertEquals(0, p.size());
+
+    for (int i = 0; i < 100; i++) {
+      Parameters row = batch.get(i);
+      assertEquals(6, row.size());
+      assertFalse(row.containsKey(0));
+      assertEquals(DataType.INTEGER.get(), row.getBinaryEncodeType(0));
+      assertEquals(DataType.BIGINT.get(), row.getBinaryEncodeType(1));
+      assertEquals(DataType.DOUBLE.get(), row.getBinaryEncodeType(2));
+      assertEquals(DataType.BLOB.get(), row.getBinaryEncodeType(4));
+      assertEquals(DataType.DECIMAL.get(), row.getBinaryEncodeType(5));
+      assertEquals(i % 2 != 0, row.isNull(3));
+      ParameterList copy = (ParameterList) row.clone();
+      assertEquals(6, copy.size());
+      assertEquals(row.getBinaryEncodeType(3), copy.getBinaryEncodeType(3));
+    }
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> batch.get(100));
+
+    BatchParameters saved = batch.clone();
+    batch.clear();
+    assertTrue(batch.isEmpty());
+    assertEquals(100, saved.size());
+    assertFalse(saved.get(42).isNull(3));
+  }
+
+  @Test
+  public void differentParameterNumber() {
+    BatchParameters batch = new BatchParameters();
+    ParameterList p = new ParameterList();
+    p.setInt(0, 1);
+    batch.add(p);
+    p.setInt(0, 2);
+    p.setInt(1, 3);
+    batch.add(p);
+    assertEquals(1, batch.parameterCount(0));
+    assertEquals(2, batch.parameterCount(1));
+    assertEquals(DataType.INTEGER.get(), batch.get(0).getBinaryEncodeType(0));
+    assertTrue(batch.get(0).containsKey(1));
+    assertFalse(batch.get(1).containsKey(1));
+  }
+}
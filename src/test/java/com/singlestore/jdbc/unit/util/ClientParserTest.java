@@ -55,4 +55,21 @@ public class ClientParserTest {
         new String[] {"DO '\\\"', \"\\'\""},
         new String[] {"DO '\\\"', \"\\'\""});
   }
+
+  @Test
+  public void normalize() {
+    assertEquals(
+        "SELECT * FROM t WHERE id IN (?) AND name = ?",
+        ClientParser.normalize("SELECT * FROM t WHERE id IN (1, 2,3) AND name = 'a'", false));
+    assertEquals(
+        "select a1, b_2 from t where x=-? and y = ? and z=? and w = ?",
+        ClientParser.normalize(
+            "select a1, b_2 from t where x=-1.5e10 and y = 0x1F -- c\n and z='it''s' /* x */"
+                + " and w = \"q\\\"r\"",
+            false));
+    assertEquals(
+        "INSERT INTO t VALUES (?)", ClientParser.normalize("INSERT INTO t VALUES (?, ?)", false));
+    assertEquals("select `a 1` from t", ClientParser.normalize("select  `a 1`\nfrom t#c", false));
+    assertEquals("SELECT ?", ClientParser.normalize("SELECT 'a\\'", true));
+  }
 }
@@ -341,6 +341,181 @@ public class ConfigurationTest extends Common {
     assertEquals(240, jdbc.prepStmtCacheSize());
   }
 
+  @Test
+  public void testServerVariablesCacheTtl() throws Throwable {
+    assertEquals(
+        0, Configuration.parse("jdbc:singlestore://localhost/test").serverVariablesCacheTtl());
+    Configuration conf = parseOptions("serverVariablesCacheTtl=500", "serverVariablesCacheTtl=500");
+    assertEquals(500, conf.serverVariablesCacheTtl());
+  }
+
+  @Test
+  public void testColumnDefinitionCacheSize() throws Throwable {
+    assertEquals(
+        100, Configuration.parse("jdbc:singlestore://localhost/test").columnDefinitionCacheSize());
+    Configuration conf =
+        parseOptions("columnDefinitionCacheSize=20", "columnDefinitionCacheSize=20");
+    assertEquals(20, conf.columnDefinitionCacheSize());
+  }
+
+  @Test
+  public void testTraceOptions() throws Throwable {
+    Configuration conf = Configuration.parse("jdbc:singlestore://localhost/test");
+    assertEquals(0.0, conf.traceSampleRate());
+    assertFalse(conf.tracePackets());
+
+    conf =
+        parseOptions("tracePackets&traceSampleRate=0.5", "traceSampleRate=0.5&tracePackets=true");
+    assertEquals(0.5, conf.traceSampleRate());
+    assertTrue(conf.tracePackets());
+
+    assertThrowsContains(
+        SQLException.class,
+        () -> Configuration.parse("jdbc:singlestore://localhost/test?traceSampleRate=2"),
+        "Value for traceSampleRate must be between 0 and 1");
+    assertThrowsContains(
+        SQLException.class,
+        () -> Configuration.parse("jdbc:singlestore://localhost/test?traceSampleRate=a"),
+        "Optional parameter traceSampleRate must be Double, was 'a'");
+  }
+
+  @Test
+  public void testQueryListener() throws Throwable {
+    assertNull(Configuration.parse("jdbc:singlestore://localhost/test").queryListener());
+    Configuration conf =
+        parseOptions(
+            "queryListener=com.example.TimingListener", "queryListener=com.example.TimingListener");
+    assertEquals("com.example.TimingListener", conf.queryListener());
+  }
+
+  @Test
+  public void testTransactionReplaySize() throws Throwable {
+    Configuration conf = Configuration.parse("jdbc:singlestore://localhost/test");
+    assertEquals(67108864, conf.transactionReplaySize());
+    assertEquals(67108864, conf.transactionReplaySpillSize());
+    conf =
+        parseOptions(
+            "transactionReplaySize=4096&transactionReplaySpillSize=1024",
+            "transactionReplaySize=4096&transactionReplaySpillSize=1024");
+    assertEquals(4096, conf.transactionReplaySize());
+    assertEquals(1024, conf.transactionReplaySpillSize());
+  }
+
+  @Test
+  public void testResultSetSpillSize() throws Throwable {
+    assertEquals(0, Configuration.parse("jdbc:singlestore://localhost/test").resultSetSpillSize());
+    Configuration conf = parseOptions("resultSetSpillSize=4096", "resultSetSpillSize=4096");
+    assertEquals(4096, conf.resultSetSpillSize());
+  }
+
+  @Test
+  public void testPoolFillParallelism() throws Throwable {
+    assertEquals(4, Configuration.parse("jdbc:singlestore://localhost/test").poolFillParallelism());
+    Configuration conf = parseOptions("poolFillParallelism=2", "poolFillParallelism=2");
+    assertEquals(2, conf.poolFillParallelism());
+    assertThrowsContains(
+        SQLException.class,
+        () -> Configuration.parse("jdbc:singlestore://localhost/test?poolFillParallelism=0"),
+        "Value for poolFillParallelism must be >= 1");
+  }
+
+  @Test
+  public void testLazySessionState() throws Throwable {
+    assertFalse(Configuration.parse("jdbc:singlestore://localhost/test").lazySessionState());
+    assertTrue(parseOptions("lazySessionState", "lazySessionState=true").lazySessionState());
+  }
+
+  @Test
+  public void testUserPoolOptions() throws Throwable {
+    Configuration conf = Configuration.parse("jdbc:singlestore://localhost/test?maxPoolSize=10");
+    assertEquals(0, conf.maxTotalPoolSize());
+    assertEquals(0, conf.userPoolMinSize());
+    assertEquals(10, conf.userPoolMaxSize());
+
+    conf =
+        parseOptions(
+            "maxTotalPoolSize=20&userPoolMinSize=1&userPoolMaxSize=3",
+            "maxTotalPoolSize=20&userPoolMinSize=1&userPoolMaxSize=3");
+    assertEquals(20, conf.maxTotalPoolSize());
+    assertEquals(1, conf.userPoolMinSize());
+    assertEquals(3, conf.userPoolMaxSize());
+
+    assertThrowsContains(
+        SQLException.class,
+        () ->
+            Configuration.parse(
+                "jdbc:singlestore://localhost/test?userPoolMinSize=4&userPoolMaxSize=2"),
+        "Value for userPoolMinSize must be <= userPoolMaxSize");
+  }
+
+  @Test
+  public void testMetadataCacheTtl() throws Throwable {
+    assertEquals(0, Configuration.parse("jdbc:singlestore://localhost/test").metadataCacheTtl());
+    assertEquals(5, parseOptions("metadataCacheTtl=5", "metadataCacheTtl=5").metadataCacheTtl());
+  }
+
+  @Test
+  public void testLocalSocketTransport() throws Throwable {
+    assertNull(Configuration.parse("jdbc:singlestore://localhost/test").localSocketTransport());
+    Configuration conf = parseOptions("localSocketTransport=nio", "localSocketTransport=nio");
+    assertEquals("nio", conf.localSocketTransport());
+    assertThrowsContains(
+        SQLException.class,
+        () -> Configuration.parse("jdbc:singlestore://localhost/test?localSocketTransport=udp"),
+        "Value for localSocketTransport must be 'nio' or 'native'");
+  }
+
+  @Test
+  public void testSocketBufferSizes() throws Throwable {
+    Configuration conf = Configuration.parse("jdbc:singlestore://localhost/test");
+    assertEquals(0, conf.tcpRcvBuf());
+    assertEquals(0, conf.tcpSndBuf());
+    assertEquals(262144, conf.readAheadMaxBufferSize());
+    conf =
+        parseOptions(
+            "tcpRcvBuf=65536&tcpSndBuf=32768&readAheadMaxBufferSize=1024",
+            "tcpRcvBuf=65536&tcpSndBuf=32768&readAheadMaxBufferSize=1024");
+    assertEquals(65536, conf.tcpRcvBuf());
+    assertEquals(32768, conf.tcpSndBuf());
+    assertEquals(1024, conf.readAheadMaxBufferSize());
+  }
+
+  @Test
+  public void testControlConnection() throws Throwable {
+    Configuration conf = Configuration.parse("jdbc:singlestore://localhost/test");
+    assertTrue(conf.controlConnection());
+    assertEquals(32, conf.controlConnectionMaxPending());
+    conf =
+        parseOptions(
+            "controlConnection=false&controlConnectionMaxPending=8",
+            "controlConnection=false&controlConnectionMaxPending=8");
+    assertFalse(conf.controlConnection());
+    assertEquals(8, conf.controlConnectionMaxPending());
+    assertThrowsContains(
+        SQLException.class,
+        () ->
+            Configuration.parse("jdbc:singlestore://localhost/test?controlConnectionMaxPending=0"),
+        "Value for controlConnectionMaxPending must be >= 1");
+  }
+
+  /**
+   * Parse url options, checking they are mapped to configuration fields and kept by toString.
+   *
+   * @param options url options
+   * @param expected expected toString options
+   * @return configuration
+   * @throws SQLException if options are invalid
+   */
+  private static Configuration parseOptions(String options, String expected) throws SQLException {
+    Configuration conf = Configuration.parse("jdbc:singlestore://localhost/test?" + options);
+    assertTrue(conf.nonMappedOptions().isEmpty());
+    assertEquals(
+        "jdbc:singlestore://address=(host=localhost)(port=3306)(type=primary)/test?" + expected,
+        conf.toString());
+    assertEquals(conf, Configuration.parse(conf.toString()));
+    return conf;
+  }
+
   @Test
   public void testWithoutDb() throws Throwable {
     Configuration jdbc =
@@ -836,4 +1011,31 @@ public class ConfigurationTest extends Common {
     assertNotEquals("", conf);
     assertNotEquals(Configuration.parse("jdbc:singlestore://localhost/test2"), conf);
   }
+
+  @Test
+  public void parseCached() throws SQLException {
+    String url = "jdbc:singlestore://localhost/test?useServerPrepStmts";
+    Properties props = new Properties();
+    props.setProperty("user", "me");
+    Configuration conf = Configuration.parseCached(url, props);
+    assertEquals("me", conf.user());
+    assertTrue(conf.useServerPrepStmts());
+    assertEquals(1, props.size());
+    assertSame(conf, Configuration.parseCached(url, props));
+    assertEquals(Configuration.parse(url, props), conf);
+    assertSame(conf.codecs(), Configuration.parse(url).codecs());
+
+    props.setProperty("user", "other");
+    Configuration other = Configuration.parseCached(url, props);
+    assertEquals("other", other.user());
+    assertNotSame(conf, other);
+    assertNull(Configuration.parseCached("jdbc:other://localhost", null));
+
+    // least recently used configurations are evicted first
+    for (int i = 0; i < 300; i++) {
+      assertSame(other, Configuration.parseCached(url, props));
+      Configuration.parseCached(url + "&connectTimeout=" + (i + 1), null);
+    }
+    assertSame(other, Configuration.parseCached(url, props));
+  }
 }
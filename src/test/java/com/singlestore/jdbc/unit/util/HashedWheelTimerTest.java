@@ -0,0 +1,71 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.unit.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.singlestore.jdbc.util.HashedWheelTimer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class HashedWheelTimerTest {
+
+  @Test
+  public void expire() throws InterruptedException {
+    // small wheel: 60ms delay needs more than one round
+    HashedWheelTimer timer = new HashedWheelTimer(5, TimeUnit.MILLISECONDS, 4, "test-timer");
+    CountDownLatch latch = new CountDownLatch(2);
+    long start = System.nanoTime();
+    HashedWheelTimer.Timeout t1 = timer.newTimeout(latch::countDown, 60, TimeUnit.MILLISECONDS);
+    HashedWheelTimer.Timeout t2 = timer.newTimeout(latch::countDown, 0, TimeUnit.MILLISECONDS);
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(60));
+    assertFalse(t1.cancel());
+    assertTrue(t1.isExpired());
+    assertTrue(t2.isExpired());
+  }
+
+  @Test
+  public void cancel() throws InterruptedException {
+    HashedWheelTimer timer = new HashedWheelTimer(5, TimeUnit.MILLISECONDS, 8, "test-timer");
+    AtomicInteger fired = new AtomicInteger();
+    for (int i = 0; i < 1000; i++) {
+      HashedWheelTimer.Timeout timeout =
+          timer.newTimeout(fired::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+      assertTrue(timeout.cancel());
+      assertFalse(timeout.isExpired());
+    }
+    CountDownLatch latch = new CountDownLatch(1);
+    timer.newTimeout(latch::countDown, 50, TimeUnit.MILLISECONDS);
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    assertEquals(0, fired.get());
+  }
+
+  @Test
+  public void cancelWaitsRunningTask() throws InterruptedException {
+    HashedWheelTimer timer = new HashedWheelTimer(5, TimeUnit.MILLISECONDS, 8, "test-timer");
+    CountDownLatch started = new CountDownLatch(1);
+    AtomicInteger ended = new AtomicInteger();
+    HashedWheelTimer.Timeout timeout =
+        timer.newTimeout(
+            () -> {
+              started.countDown();
+              try {
+                Thread.sleep(100);
+              } catch (InterruptedException e) {
+                // eat
+              }
+              ended.incrementAndGet();
+            },
+            0,
+            TimeUnit.MILLISECONDS);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    assertFalse(timeout.cancel());
+    assertEquals(1, ended.get());
+  }
+}
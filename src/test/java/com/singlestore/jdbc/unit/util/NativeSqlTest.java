@@ -0,0 +1,40 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.unit.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.singlestore.jdbc.util.NativeSql;
+import java.sql.SQLException;
+import org.junit.jupiter.api.Test;
+
+public class NativeSqlTest {
+
+  @Test
+  public void noEscape() throws SQLException {
+    String sql = "SELECT * FROM t WHERE a = ?";
+    assertSame(sql, NativeSql.parse(sql, null));
+  }
+
+  @Test
+  public void cached() throws SQLException {
+    String sql = "SELECT {fn ucase('a')}, {d '1997-05-24'}, {ts '1997-05-24 10:30:29'}";
+    String nativeSql = NativeSql.parse(sql, null);
+    assertEquals("SELECT ucase('a'), '1997-05-24', '1997-05-24 10:30:29'", nativeSql);
+    assertSame(nativeSql, NativeSql.parse(new String(sql), null));
+  }
+
+  @Test
+  public void bounded() throws SQLException {
+    // more distinct commands than cache memory bound: translations stay correct
+    for (int i = 0; i < 20_000; i++) {
+      assertEquals(
+          "SELECT " + i + ", now()", NativeSql.parse("SELECT " + i + ", {fn now()}", null));
+    }
+    assertThrows(SQLException.class, () -> NativeSql.parse("SELECT {unknown}", null));
+    assertThrows(SQLException.class, () -> NativeSql.parse("SELECT {unknown}", null));
+  }
+}
@@ -7,9 +7,12 @@ package com.singlestore.jdbc.unit.util;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.singlestore.jdbc.codec.DataType;
 import com.singlestore.jdbc.codec.Parameter;
 import com.singlestore.jdbc.codec.list.StringCodec;
+import com.singlestore.jdbc.util.BatchParameters;
 import com.singlestore.jdbc.util.ParameterList;
+import com.singlestore.jdbc.util.Parameters;
 import org.junit.jupiter.api.Test;
 
 public class ParameterListTest {
@@ -22,4 +25,27 @@ public class ParameterListTest {
     assertNotNull(p.get(2));
     assertThrows(ArrayIndexOutOfBoundsException.class, () -> p.get(3));
   }
+
+  @Test
+  public void typedNull() {
+    ParameterList p = new ParameterList();
+    p.setString(0, null);
+    p.setBytes(1, null);
+    p.setNull(2);
+    BatchParameters batch = new BatchParameters();
+    batch.add(p);
+
+    // null string and bytes keep binary type, to not split bulk batches on type change
+    for (Parameters params : new Parameters[] {p, batch.get(0), batch.get(0).clone()}) {
+      for (int i = 0; i < 3; i++) {
+        assertTrue(params.isNull(i));
+        assertTrue(params.get(i).isNull());
+      }
+      assertEquals(DataType.VARSTRING.get(), params.getBinaryEncodeType(0));
+      assertEquals(DataType.BLOB.get(), params.getBinaryEncodeType(1));
+      assertEquals(DataType.VARCHAR.get(), params.getBinaryEncodeType(2));
+      assertEquals(DataType.VARSTRING.get(), params.get(0).getBinaryEncodeType());
+      assertEquals(DataType.BLOB.get(), params.get(1).getBinaryEncodeType());
+    }
+  }
 }
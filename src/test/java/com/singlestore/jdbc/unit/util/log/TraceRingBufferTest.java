@@ -0,0 +1,61 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+// Copyright (c) 2021 SingleStore, Inc.
+
+package com.singlestore.jdbc.unit.util.log;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.singlestore.jdbc.util.log.TraceRingBuffer;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class TraceRingBufferTest {
+
+  @Test
+  public void dropWhenFull() {
+    TraceRingBuffer<Integer> buffer = new TraceRingBuffer<>(3);
+    assertEquals(4, buffer.capacity());
+    assertTrue(buffer.isEmpty());
+    assertNull(buffer.poll());
+    for (int i = 0; i < 4; i++) assertTrue(buffer.offer(i));
+    assertFalse(buffer.offer(4));
+    assertEquals(1, buffer.dropped());
+    assertEquals(0, buffer.poll());
+    assertTrue(buffer.offer(5));
+    assertEquals(1, buffer.poll());
+    assertEquals(2, buffer.poll());
+    assertEquals(3, buffer.poll());
+    assertEquals(5, buffer.poll());
+    assertNull(buffer.poll());
+    assertTrue(buffer.isEmpty());
+  }
+
+  @Test
+  public void concurrentProducers() throws Exception {
+    TraceRingBuffer<Integer> buffer = new TraceRingBuffer<>(1024);
+    Thread[] producers = new Thread[4];
+    for (int t = 0; t < producers.length; t++) {
+      final int base = t * 10_000;
+      producers[t] =
+          new Thread(
+              () -> {
+                for (int i = 0; i < 10_000; i++) {
+                  while (!buffer.offer(base + i)) {
+                    Thread.yield();
+                  }
+                }
+              });
+      producers[t].start();
+    }
+    Set<Integer> received = new HashSet<>();
+    while (received.size() < 40_000) {
+      Integer value = buffer.poll();
+      if (value != null) assertTrue(received.add(value));
+    }
+    for (Thread producer : producers) producer.join();
+    assertTrue(buffer.isEmpty());
+  }
+}